@@ -18,7 +18,7 @@ public class CorsConfig implements WebMvcConfigurer {
                 .allowedOriginPatterns("http://localhost:*")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
-                .allowCredentials(false) // Fixed: Set to false to work with allowedOriginPatterns
+                .allowCredentials(true) // Session cookie carries the selected task, see TaskContextResolver
                 .maxAge(3600);
     }
 
@@ -28,7 +28,7 @@ public class CorsConfig implements WebMvcConfigurer {
         configuration.addAllowedOriginPattern("http://localhost:*");
         configuration.addAllowedMethod("*");
         configuration.addAllowedHeader("*");
-        configuration.setAllowCredentials(false); // Fixed: Set to false to work with allowedOriginPatterns
+        configuration.setAllowCredentials(true); // Session cookie carries the selected task
         configuration.setMaxAge(3600L);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
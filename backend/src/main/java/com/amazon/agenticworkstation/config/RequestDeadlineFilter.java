@@ -0,0 +1,49 @@
+package com.amazon.agenticworkstation.config;
+
+import java.io.IOException;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.amazon.agenticworkstation.service.RequestDeadline;
+
+/**
+ * Picks up a caller-supplied deadline so outbound Tau Bench calls made while
+ * serving the request are cut off when the caller stops waiting
+ */
+@Component
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RequestDeadline.set(parseDeadline(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    private static Long parseDeadline(HttpServletRequest request) {
+        try {
+            String deadline = request.getHeader(RequestDeadline.DEADLINE_HEADER);
+            if (deadline != null && !deadline.isBlank()) {
+                return Long.parseLong(deadline.trim());
+            }
+            String timeout = request.getHeader(RequestDeadline.TIMEOUT_HEADER);
+            if (timeout != null && !timeout.isBlank()) {
+                return System.currentTimeMillis() + Long.parseLong(timeout.trim());
+            }
+        } catch (NumberFormatException e) {
+            // Malformed header: serve the request without a deadline
+        }
+        return null;
+    }
+}
@@ -1,5 +1,8 @@
 package com.amazon.agenticworkstation.config;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,6 +17,8 @@ public class TauBenchConfig {
     
     private Api api = new Api();
     
+    private Resilience resilience = new Resilience();
+    
     @Bean
     public RestTemplate restTemplate() {
         return new RestTemplate();
@@ -27,10 +32,22 @@ public class TauBenchConfig {
         this.api = api;
     }
     
+    public Resilience getResilience() {
+        return resilience;
+    }
+    
+    public void setResilience(Resilience resilience) {
+        this.resilience = resilience;
+    }
+    
     public static class Api {
         private String baseUrl = "https://tau-bench.turing.com";
         private int connectTimeout = 30000; // 30 seconds
         private int readTimeout = 300000;   // 5 minutes
+        // Threads running response callbacks (parsing, result handling)
+        private int callbackThreads = 8;
+        // Per-endpoint response timeouts in ms, keyed by lower-case endpoint name (run_task, evaluate, ...)
+        private Map<String, Integer> endpointTimeouts = new HashMap<>();
         
         public String getBaseUrl() {
             return baseUrl;
@@ -55,5 +72,132 @@ public class TauBenchConfig {
         public void setReadTimeout(int readTimeout) {
             this.readTimeout = readTimeout;
         }
+        
+        public int getCallbackThreads() {
+            return callbackThreads;
+        }
+        
+        public void setCallbackThreads(int callbackThreads) {
+            this.callbackThreads = callbackThreads;
+        }
+        
+        public Map<String, Integer> getEndpointTimeouts() {
+            return endpointTimeouts;
+        }
+        
+        public void setEndpointTimeouts(Map<String, Integer> endpointTimeouts) {
+            this.endpointTimeouts = endpointTimeouts;
+        }
+        
+        /**
+         * Response timeout for an endpoint, falling back to readTimeout
+         */
+        public int timeoutFor(String endpointName) {
+            Integer timeout = endpointTimeouts.get(endpointName);
+            return timeout != null && timeout > 0 ? timeout : readTimeout;
+        }
+    }
+    
+    /**
+     * Bulkhead, circuit breaker and retry settings, applied per endpoint
+     */
+    public static class Resilience {
+        // Concurrent calls allowed per endpoint, keyed like Api.endpointTimeouts
+        private Map<String, Integer> maxConcurrent = new HashMap<>();
+        private int defaultMaxConcurrent = 32;
+        private long bulkheadMaxWaitMs = 1000;
+        // Breaker opens when this % of the last windowSize calls failed (once minimumCalls were made)
+        private int failureRateThreshold = 50;
+        private int windowSize = 20;
+        private int minimumCalls = 10;
+        private long openDurationMs = 30000;
+        private int maxAttempts = 3;
+        private long backoffBaseMs = 500;
+        private long backoffMaxMs = 8000;
+        
+        public int maxConcurrentFor(String endpointName) {
+            Integer max = maxConcurrent.get(endpointName);
+            return max != null && max > 0 ? max : defaultMaxConcurrent;
+        }
+        
+        public Map<String, Integer> getMaxConcurrent() {
+            return maxConcurrent;
+        }
+        
+        public void setMaxConcurrent(Map<String, Integer> maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+        
+        public int getDefaultMaxConcurrent() {
+            return defaultMaxConcurrent;
+        }
+        
+        public void setDefaultMaxConcurrent(int defaultMaxConcurrent) {
+            this.defaultMaxConcurrent = defaultMaxConcurrent;
+        }
+        
+        public long getBulkheadMaxWaitMs() {
+            return bulkheadMaxWaitMs;
+        }
+        
+        public void setBulkheadMaxWaitMs(long bulkheadMaxWaitMs) {
+            this.bulkheadMaxWaitMs = bulkheadMaxWaitMs;
+        }
+        
+        public int getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+        
+        public void setFailureRateThreshold(int failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+        
+        public int getWindowSize() {
+            return windowSize;
+        }
+        
+        public void setWindowSize(int windowSize) {
+            this.windowSize = windowSize;
+        }
+        
+        public int getMinimumCalls() {
+            return minimumCalls;
+        }
+        
+        public void setMinimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+        }
+        
+        public long getOpenDurationMs() {
+            return openDurationMs;
+        }
+        
+        public void setOpenDurationMs(long openDurationMs) {
+            this.openDurationMs = openDurationMs;
+        }
+        
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+        
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+        
+        public long getBackoffBaseMs() {
+            return backoffBaseMs;
+        }
+        
+        public void setBackoffBaseMs(long backoffBaseMs) {
+            this.backoffBaseMs = backoffBaseMs;
+        }
+        
+        public long getBackoffMaxMs() {
+            return backoffMaxMs;
+        }
+        
+        public void setBackoffMaxMs(long backoffMaxMs) {
+            this.backoffMaxMs = backoffMaxMs;
+        }
     }
 }
\ No newline at end of file
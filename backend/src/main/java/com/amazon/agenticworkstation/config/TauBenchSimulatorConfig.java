@@ -0,0 +1,105 @@
+package com.amazon.agenticworkstation.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Behaviour of the embedded Tau Bench simulator (tau-sim profile)
+ */
+@Configuration
+@Profile("tau-sim")
+@ConfigurationProperties(prefix = "tau.sim")
+public class TauBenchSimulatorConfig {
+    
+    // Keyed by endpoint path: compute_complexity, task_verification, run-task, evaluate
+    private Map<String, EndpointProfile> endpoints = new HashMap<>();
+    // Share of simulated run-task trials that get full reward
+    private double passRate = 0.7;
+    
+    public Map<String, EndpointProfile> getEndpoints() {
+        return endpoints;
+    }
+    
+    public void setEndpoints(Map<String, EndpointProfile> endpoints) {
+        this.endpoints = endpoints;
+    }
+    
+    public double getPassRate() {
+        return passRate;
+    }
+    
+    public void setPassRate(double passRate) {
+        this.passRate = passRate;
+    }
+    
+    public EndpointProfile profileFor(String path) {
+        return endpoints.getOrDefault(path, new EndpointProfile());
+    }
+    
+    /**
+     * Latency is drawn from a log-normal distribution fitted to the median and
+     * p99; failures answer with failureStatus and an error body
+     */
+    public static class EndpointProfile {
+        private long latencyMedianMs = 500;
+        private long latencyP99Ms = 3000;
+        private double failureRate = 0.0;
+        private int failureStatus = 503;
+        // Approximate size of a successful response body, before any plot
+        private int payloadBytes = 2048;
+        // Size of the plot image returned as plot_base64; 0 for none
+        private int plotBytes = 0;
+        
+        public long getLatencyMedianMs() {
+            return latencyMedianMs;
+        }
+        
+        public void setLatencyMedianMs(long latencyMedianMs) {
+            this.latencyMedianMs = latencyMedianMs;
+        }
+        
+        public long getLatencyP99Ms() {
+            return latencyP99Ms;
+        }
+        
+        public void setLatencyP99Ms(long latencyP99Ms) {
+            this.latencyP99Ms = latencyP99Ms;
+        }
+        
+        public double getFailureRate() {
+            return failureRate;
+        }
+        
+        public void setFailureRate(double failureRate) {
+            this.failureRate = failureRate;
+        }
+        
+        public int getFailureStatus() {
+            return failureStatus;
+        }
+        
+        public void setFailureStatus(int failureStatus) {
+            this.failureStatus = failureStatus;
+        }
+        
+        public int getPayloadBytes() {
+            return payloadBytes;
+        }
+        
+        public void setPayloadBytes(int payloadBytes) {
+            this.payloadBytes = payloadBytes;
+        }
+        
+        public int getPlotBytes() {
+            return plotBytes;
+        }
+        
+        public void setPlotBytes(int plotBytes) {
+            this.plotBytes = plotBytes;
+        }
+    }
+}
@@ -4,10 +4,17 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
+
+import jakarta.servlet.http.HttpSession;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -16,10 +23,16 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.amazon.agenticworkstation.controller.TaskContextResolver.TaskContext;
 import com.amazon.agenticworkstation.dto.CacheUpdateRequest;
+import com.amazon.agenticworkstation.service.TaskCacheEventStream;
 import com.amazon.agenticworkstation.service.TaskCacheService;
+import com.amazon.agenticworkstation.service.TaskVersionConflictException;
 import com.amazon.agenticworkstation.service.TauBenchValidationService;
+import com.amazon.agenticworkstation.service.ValidationRejectedException;
+import com.amazon.agenticworkstation.service.ValidationScheduler;
 
 @RestController
 @RequestMapping("/cache")
@@ -28,33 +41,68 @@ public class CacheController {
     
     private final TaskCacheService cacheService;
     private final TauBenchValidationService validationService;
+    private final TaskContextResolver contextResolver;
+    private final TaskCacheEventStream eventStream;
+    private final ValidationScheduler validationScheduler;
 
-    public CacheController(TaskCacheService cacheService, TauBenchValidationService validationService) {
+    public CacheController(TaskCacheService cacheService, TauBenchValidationService validationService,
+                           TaskContextResolver contextResolver, TaskCacheEventStream eventStream,
+                           ValidationScheduler validationScheduler) {
         this.cacheService = cacheService;
         this.validationService = validationService;
+        this.contextResolver = contextResolver;
+        this.eventStream = eventStream;
+        this.validationScheduler = validationScheduler;
+    }
+
+    /**
+     * 409 body for a stale write: the current version and document, so the
+     * client can merge its edit and retry with expectedVersion
+     */
+    private ResponseEntity<?> conflict(TaskVersionConflictException e, TaskContext ctx, boolean pretty) {
+        log.info("Version conflict for user '{}' task '{}': {}", ctx.getUserId(), ctx.getTaskId(), e.getMessage());
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", "conflict");
+        body.put("error", e.getMessage());
+        body.put("expectedVersion", e.getExpectedVersion());
+        body.put("currentVersion", cacheService.getVersion(ctx.getUserId(), ctx.getTaskId()));
+        try {
+            body.put("aggregated", cacheService.aggregatedJson(ctx.getUserId(), ctx.getTaskId(), pretty));
+        } catch (Exception ex) {
+            log.warn("Could not attach current task to conflict response: {}", ex.getMessage());
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
+    /**
+     * Repository path of the session's task, or null when no task is selected
+     */
+    private String repositoryPathFor(HttpSession session, String userId, String taskId) {
+        return contextResolver.resolve(session, userId, taskId)
+                .map(ctx -> cacheService.getRepositoryPath(ctx.getUserId(), ctx.getTaskId()))
+                .orElse(null);
     }
 
     @PostMapping("/update")
-    public ResponseEntity<?> update(@RequestBody CacheUpdateRequest req) {
+    public ResponseEntity<?> update(@RequestBody CacheUpdateRequest req,
+                                    @RequestParam(defaultValue = "false") boolean pretty,
+                                    @RequestParam(required = false) String userId,
+                                    @RequestParam(required = false) String taskId,
+                                    HttpSession session) {
         log.info("Cache update request received: {}", req);
         
-        // Debug: Check if edges contain escaped connection strings
-        if (req.getEdges() != null) {
-            for (int i = 0; i < req.getEdges().size(); i++) {
-                Map<String, Object> edge = req.getEdges().get(i);
-                Object connection = edge.get("connection");
-                System.out.println("DEBUG Edge " + i + " connection type: " + (connection != null ? connection.getClass().getSimpleName() : "null"));
-                System.out.println("DEBUG Edge " + i + " connection value: " + connection);
-            }
-        }
-        
+        TaskContext ctx = null;
         try {
-            cacheService.applyUpdate(req);
+            ctx = contextResolver.require(session, userId, taskId);
+            cacheService.applyUpdate(ctx.getUserId(), ctx.getTaskId(), req);
             log.debug("Cache update applied successfully");
             return ResponseEntity.ok(Map.of(
                     "status", "ok",
-                    "aggregated", cacheService.aggregatedJson()
+                    "version", cacheService.getVersion(ctx.getUserId(), ctx.getTaskId()),
+                    "aggregated", cacheService.aggregatedJson(ctx.getUserId(), ctx.getTaskId(), pretty)
             ));
+        } catch (TaskVersionConflictException e) {
+            return conflict(e, ctx, pretty);
         } catch (Exception e) {
             log.error("Failed to update cache: {}", e.getMessage(), e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -65,12 +113,23 @@ public class CacheController {
     }
 
     @GetMapping("/current")
-    public ResponseEntity<?> current() {
+    public ResponseEntity<?> current(@RequestParam(defaultValue = "false") boolean pretty,
+                                     @RequestParam(required = false) String userId,
+                                     @RequestParam(required = false) String taskId,
+                                     HttpSession session) {
         log.info("Get current cache request received");
         try {
-            String aggregated = cacheService.aggregatedJson();
+            Optional<TaskContext> ctx = contextResolver.resolve(session, userId, taskId);
+            if (ctx.isEmpty()) {
+                return ResponseEntity.ok(cacheService.emptyTaskJson(pretty));
+            }
+            String aggregated = cacheService.aggregatedJson(ctx.get().getUserId(), ctx.get().getTaskId(), pretty);
             log.debug("Current cache retrieved successfully, length: {} characters", aggregated.length());
-            return ResponseEntity.ok(aggregated);
+            // Version to send back as expectedVersion on the next update
+            return ResponseEntity.ok()
+                    .header("X-Task-Version",
+                            String.valueOf(cacheService.getVersion(ctx.get().getUserId(), ctx.get().getTaskId())))
+                    .body(aggregated);
         } catch (IOException e) {
             log.error("Failed to get current cache: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
@@ -78,31 +137,64 @@ public class CacheController {
     }
 
     @PostMapping("/save-file")
-    public ResponseEntity<?> saveFile(@RequestBody(required = false) Map<String,String> body) {
+    public ResponseEntity<?> saveFile(@RequestBody(required = false) Map<String,String> body,
+                                      @RequestParam(required = false) String userId,
+                                      @RequestParam(required = false) String taskId,
+                                      HttpSession session) {
         String dir = body != null ? body.get("directory") : null;
         log.info("Save file request received with directory: '{}'", dir);
         try {
-            String json = cacheService.writeTaskJsonToRepository(dir);
-            String effectiveDir = dir != null ? dir : cacheService.getRepositoryPath();
+            TaskContext ctx = contextResolver.require(session, userId, taskId);
+            String json = cacheService.writeTaskJsonToRepository(ctx.getUserId(), ctx.getTaskId(), dir);
+            String effectiveDir = dir != null ? dir : cacheService.getRepositoryPath(ctx.getUserId(), ctx.getTaskId());
             log.info("Task JSON saved successfully to directory: '{}'", effectiveDir);
             return ResponseEntity.ok(Map.of(
                     "status", "saved",
                     "directory", effectiveDir,
                     "taskJson", json
             ));
-        } catch (IOException e) {
+        } catch (IOException | IllegalStateException e) {
             log.error("Failed to save task JSON to directory '{}': {}", dir, e.getMessage(), e);
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
+    /**
+     * 429 for a validation refused by the scheduler, with Retry-After
+     */
+    private ResponseEntity<?> validationRejected(String step, ValidationRejectedException e) {
+        long retryAfterSeconds = Math.max(1, (e.getRetryAfterMs() + 999) / 1000);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("step", step);
+        body.put("status", "rejected");
+        body.put("error", e.getMessage());
+        body.put("queued", e.getQueued());
+        body.put("retryAfterMs", e.getRetryAfterMs());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(body);
+    }
+
+    /**
+     * Validation queue as seen by one user: running and waiting counts and
+     * the positions of their own queued validations
+     */
+    @GetMapping("/validation-queue")
+    public ResponseEntity<?> validationQueue(@RequestParam String userId) {
+        return ResponseEntity.ok(validationScheduler.status(userId));
+    }
+
     @PostMapping("/validate/{step}")
-    public ResponseEntity<?> validateStep(@PathVariable String step, @RequestBody(required = false) Map<String,String> body) {
+    public ResponseEntity<?> validateStep(@PathVariable String step, @RequestBody(required = false) Map<String,String> body,
+                                          @RequestParam(required = false) String userId,
+                                          @RequestParam(required = false) String taskId,
+                                          HttpSession session) {
         String dir = body != null ? body.get("directory") : null;
         log.info("===POST=== Validation request for step: '{}' with directory: '{}'", step, dir);
         
         try {
-            String effectiveDir = dir != null ? dir : cacheService.getRepositoryPath();
+            Optional<TaskContext> ctx = contextResolver.resolve(session, userId, taskId);
+            String effectiveDir = dir != null ? dir : repositoryPathFor(session, userId, taskId);
             log.info("POST Effective directory: '{}'", effectiveDir);
             
             Map<String,Object> result;
@@ -118,7 +210,8 @@ public class CacheController {
                 );
             } else if (effectiveDir != null) {
                 log.info("POST Running validation service for step: {}", step);
-                result = validationService.run(step, Path.of(effectiveDir));
+                result = validationService.run(step, Path.of(effectiveDir),
+                        ctx.map(TaskContext::getUserId).orElse(userId));
                 log.info("POST Validation result success: {}, result keys: {}", result.get("success"), result.keySet());
                 
                 // If run_task step completed successfully, save result.json to database (FAIL-FAST)
@@ -147,8 +240,8 @@ public class CacheController {
                     log.info("POST Result.json loaded: {} bytes", resultJsonContent.length());
                     
                     // Extract userId and taskId from the directory path or load from task.json
-                    String userId = null;
-                    String taskId = null;
+                    String resultUserId = null;
+                    String resultTaskId = null;
                     
                     // Try to read task.json to get userId and taskId
                     Path taskJsonPath = Path.of(effectiveDir, "task.json");
@@ -161,13 +254,13 @@ public class CacheController {
                                 new com.fasterxml.jackson.databind.ObjectMapper().readTree(taskJsonContent);
                             
                             if (taskNode.has("task_details") && taskNode.get("task_details").has("user_id")) {
-                                userId = taskNode.get("task_details").get("user_id").asText();
+                                resultUserId = taskNode.get("task_details").get("user_id").asText();
                             }
                             if (taskNode.has("task_details") && taskNode.get("task_details").has("task_id")) {
-                                taskId = taskNode.get("task_details").get("task_id").asText();
+                                resultTaskId = taskNode.get("task_details").get("task_id").asText();
                             }
                             
-                            log.info("POST Extracted from task.json - userId: '{}', taskId: '{}'", userId, taskId);
+                            log.info("POST Extracted from task.json - userId: '{}', taskId: '{}'", resultUserId, resultTaskId);
                         } catch (Exception e) {
                             log.warn("POST Failed to extract userId/taskId from task.json: {}", e.getMessage());
                         }
@@ -175,28 +268,26 @@ public class CacheController {
                         log.warn("POST task.json NOT FOUND at {}", taskJsonPath);
                     }
                     
-                    // If we couldn't extract from task.json, try current cache context
-                    if (userId == null || userId.isEmpty()) {
-                        String cachedUserId = cacheService.getCurrentUserId();
-                        log.info("POST Fallback to cache userId: {}", cachedUserId);
-                        userId = cachedUserId;
+                    // If we couldn't extract from task.json, use this session's task context
+                    if ((resultUserId == null || resultUserId.isEmpty()) && ctx.isPresent()) {
+                        resultUserId = ctx.get().getUserId();
+                        log.info("POST Fallback to session userId: {}", resultUserId);
                     }
-                    if (taskId == null || taskId.isEmpty()) {
-                        String cachedTaskId = cacheService.getCurrentTaskId();
-                        log.info("POST Fallback to cache taskId: {}", cachedTaskId);
-                        taskId = cachedTaskId;
+                    if ((resultTaskId == null || resultTaskId.isEmpty()) && ctx.isPresent()) {
+                        resultTaskId = ctx.get().getTaskId();
+                        log.info("POST Fallback to session taskId: {}", resultTaskId);
                     }
                     
-                    log.info("POST Final IDs - userId: '{}', taskId: '{}'", userId, taskId);
+                    log.info("POST Final IDs - userId: '{}', taskId: '{}'", resultUserId, resultTaskId);
                     
-                    if (userId == null || userId.isEmpty() || taskId == null || taskId.isEmpty()) {
-                        String error = "Cannot save result.json to database: userId or taskId not found in task.json or cache context (userId=" + userId + ", taskId=" + taskId + ")";
+                    if (resultUserId == null || resultUserId.isEmpty() || resultTaskId == null || resultTaskId.isEmpty()) {
+                        String error = "Cannot save result.json to database: userId or taskId not found in task.json or session context (userId=" + resultUserId + ", taskId=" + resultTaskId + ")";
                         log.error("POST ERROR: {}", error);
                         throw new IllegalStateException(error);
                     }
                     
-                    log.info("POST *** Calling saveResultJsonToDatabase for user={}, task={} ***", userId, taskId);
-                    cacheService.saveResultJsonToDatabase(userId, taskId, resultJsonContent);
+                    log.info("POST *** Calling saveResultJsonToDatabase for user={}, task={} ***", resultUserId, resultTaskId);
+                    cacheService.saveResultJsonToDatabase(resultUserId, resultTaskId, resultJsonContent);
                     log.info("POST *** SUCCESS: result.json saved to database! ***");
                 } else {
                     log.info("POST Skipping result.json save (step={}, success={})", step, result.get("success"));
@@ -209,6 +300,8 @@ public class CacheController {
                     step, result != null ? result.keySet() : "null");
             
             return ResponseEntity.ok(result);
+        } catch (ValidationRejectedException e) {
+            return validationRejected(step, e);
         } catch (Exception e) {
             log.error("Validation failed for step '{}' in directory '{}': {}", step, dir, e.getMessage(), e);
             return ResponseEntity.badRequest().body(Map.of(
@@ -220,9 +313,13 @@ public class CacheController {
     }
 
     @GetMapping("/validate/{step}")
-    public ResponseEntity<?> validateStepGet(@PathVariable String step, @RequestParam(required = false) String directory) {
+    public ResponseEntity<?> validateStepGet(@PathVariable String step, @RequestParam(required = false) String directory,
+                                             @RequestParam(required = false) String userId,
+                                             @RequestParam(required = false) String taskId,
+                                             HttpSession session) {
         try {
-            String effectiveDir = directory != null ? directory : cacheService.getRepositoryPath();
+            Optional<TaskContext> ctx = contextResolver.resolve(session, userId, taskId);
+            String effectiveDir = directory != null ? directory : repositoryPathFor(session, userId, taskId);
             
             Map<String,Object> result;
             // Handle web directories differently since they're not real filesystem paths
@@ -235,7 +332,8 @@ public class CacheController {
                     "isWebDirectory", true
                 );
             } else if (effectiveDir != null) {
-                result = validationService.run(step, Path.of(effectiveDir));
+                result = validationService.run(step, Path.of(effectiveDir),
+                        ctx.map(TaskContext::getUserId).orElse(userId));
                 
                 // If run_task step completed successfully, save result.json to database (FAIL-FAST)
                 if ("run_task".equalsIgnoreCase(step) && result != null && Boolean.TRUE.equals(result.get("success"))) {
@@ -260,8 +358,8 @@ public class CacheController {
                     String resultJsonContent = Files.readString(resultFilePath);
                     
                     // Extract userId and taskId from the directory path or load from task.json
-                    String userId = null;
-                    String taskId = null;
+                    String resultUserId = null;
+                    String resultTaskId = null;
                     
                     // Try to read task.json to get userId and taskId
                     Path taskJsonPath = Path.of(effectiveDir, "task.json");
@@ -272,48 +370,43 @@ public class CacheController {
                                 new com.fasterxml.jackson.databind.ObjectMapper().readTree(taskJsonContent);
                             
                             if (taskNode.has("task_details") && taskNode.get("task_details").has("user_id")) {
-                                userId = taskNode.get("task_details").get("user_id").asText();
+                                resultUserId = taskNode.get("task_details").get("user_id").asText();
                             }
                             if (taskNode.has("task_details") && taskNode.get("task_details").has("task_id")) {
-                                taskId = taskNode.get("task_details").get("task_id").asText();
+                                resultTaskId = taskNode.get("task_details").get("task_id").asText();
                             }
                             
-                            log.info("Extracted from task.json - userId: '{}', taskId: '{}'", userId, taskId);
+                            log.info("Extracted from task.json - userId: '{}', taskId: '{}'", resultUserId, resultTaskId);
                         } catch (Exception e) {
                             log.warn("Failed to extract userId/taskId from task.json: {}", e.getMessage());
                         }
                     }
                     
-                    // If we couldn't extract from task.json, try current cache context
-                    if (userId == null || userId.isEmpty()) {
-                        userId = cacheService.getCurrentUserId();
+                    // If we couldn't extract from task.json, use this session's task context
+                    if ((resultUserId == null || resultUserId.isEmpty()) && ctx.isPresent()) {
+                        resultUserId = ctx.get().getUserId();
                     }
-                    if (taskId == null || taskId.isEmpty()) {
-                        taskId = cacheService.getCurrentTaskId();
-                    }
-                    // If we couldn't extract from task.json, try current cache context
-                    if (userId == null || userId.isEmpty()) {
-                        userId = cacheService.getCurrentUserId();
-                    }
-                    if (taskId == null || taskId.isEmpty()) {
-                        taskId = cacheService.getCurrentTaskId();
+                    if ((resultTaskId == null || resultTaskId.isEmpty()) && ctx.isPresent()) {
+                        resultTaskId = ctx.get().getTaskId();
                     }
                     
-                    if (userId == null || userId.isEmpty() || taskId == null || taskId.isEmpty()) {
-                        String error = "Cannot save result.json to database: userId or taskId not found in task.json or cache context (userId=" + userId + ", taskId=" + taskId + ")";
+                    if (resultUserId == null || resultUserId.isEmpty() || resultTaskId == null || resultTaskId.isEmpty()) {
+                        String error = "Cannot save result.json to database: userId or taskId not found in task.json or session context (userId=" + resultUserId + ", taskId=" + resultTaskId + ")";
                         log.error(error);
                         throw new IllegalStateException(error);
                     }
                     
-                    log.info("Saving result.json to database for user {} task {}", userId, taskId);
-                    cacheService.saveResultJsonToDatabase(userId, taskId, resultJsonContent);
-                    log.info("Successfully saved result.json to database for user {} task {}", userId, taskId);
+                    log.info("Saving result.json to database for user {} task {}", resultUserId, resultTaskId);
+                    cacheService.saveResultJsonToDatabase(resultUserId, resultTaskId, resultJsonContent);
+                    log.info("Successfully saved result.json to database for user {} task {}", resultUserId, resultTaskId);
                 }
             } else {
                 throw new IllegalArgumentException("No directory available for validation");
             }
             
             return ResponseEntity.ok(result);
+        } catch (ValidationRejectedException e) {
+            return validationRejected(step, e);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of(
                     "step", step,
@@ -324,7 +417,11 @@ public class CacheController {
     }
 
     @PostMapping("/load")
-    public ResponseEntity<?> loadExisting(@RequestBody Map<String,String> body) {
+    public ResponseEntity<?> loadExisting(@RequestBody Map<String,String> body,
+                                          @RequestParam(defaultValue = "false") boolean pretty,
+                                          @RequestParam(required = false) String userId,
+                                          @RequestParam(required = false) String taskId,
+                                          HttpSession session) {
         log.info("Load existing task request received with body: {}", body);
         
         String dir = body.get("directory");
@@ -335,9 +432,11 @@ public class CacheController {
             return ResponseEntity.badRequest().body(Map.of("error","directory required"));
         }
         
+        TaskContext ctx = null;
         try {
-            log.debug("Applying cache update with repository path: '{}'", dir);
-            cacheService.applyUpdate(new CacheUpdateRequest() {{ setRepositoryPath(dir); }});
+            ctx = contextResolver.require(session, userId, taskId);
+            log.debug("Setting repository path: '{}'", dir);
+            cacheService.setRepositoryPath(ctx.getUserId(), ctx.getTaskId(), dir);
             
             log.debug("Loading existing task from path: '{}'", dir);
             // Handle web directories differently since they're not real filesystem paths
@@ -345,10 +444,10 @@ public class CacheController {
                 log.info("Web directory detected, skipping filesystem operations: '{}'", dir);
                 // For web directories, we don't load from filesystem, just use current state
             } else {
-                cacheService.loadExistingTask(Path.of(dir));
+                cacheService.loadExistingTask(ctx.getUserId(), ctx.getTaskId(), Path.of(dir));
             }
             
-            String aggregatedJson = cacheService.aggregatedJson();
+            String aggregatedJson = cacheService.aggregatedJson(ctx.getUserId(), ctx.getTaskId(), pretty);
             log.info("Successfully loaded task from directory: '{}', aggregated JSON length: {} characters", 
                     dir, aggregatedJson != null ? aggregatedJson.length() : 0);
             
@@ -362,12 +461,56 @@ public class CacheController {
                     "status","loaded",
                     "aggregated", aggregatedJson
             ));
+        } catch (TaskVersionConflictException e) {
+            return conflict(e, ctx, pretty);
         } catch (Exception e) {
             log.error("Failed to load existing task from directory '{}': {}", dir, e.getMessage(), e);
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
+    /**
+     * Revert the last edit of a task
+     */
+    @PostMapping("/undo")
+    public ResponseEntity<?> undo(@RequestParam(defaultValue = "false") boolean pretty,
+                                  @RequestParam String userId,
+                                  @RequestParam String taskId) {
+        return stepHistory(true, pretty, new TaskContext(userId, taskId));
+    }
+
+    /**
+     * Re-apply the last undone edit of a task
+     */
+    @PostMapping("/redo")
+    public ResponseEntity<?> redo(@RequestParam(defaultValue = "false") boolean pretty,
+                                  @RequestParam String userId,
+                                  @RequestParam String taskId) {
+        return stepHistory(false, pretty, new TaskContext(userId, taskId));
+    }
+
+    private ResponseEntity<?> stepHistory(boolean undo, boolean pretty, TaskContext ctx) {
+        String action = undo ? "undo" : "redo";
+        try {
+            boolean applied = undo
+                    ? cacheService.undo(ctx.getUserId(), ctx.getTaskId())
+                    : cacheService.redo(ctx.getUserId(), ctx.getTaskId());
+            log.info("{} for user '{}' task '{}': {}", action, ctx.getUserId(), ctx.getTaskId(),
+                    applied ? "applied" : "nothing to " + action);
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("status", applied ? "ok" : "nothing-to-" + action);
+            body.put("version", cacheService.getVersion(ctx.getUserId(), ctx.getTaskId()));
+            body.put("history", cacheService.historyDepth(ctx.getUserId(), ctx.getTaskId()));
+            body.put("aggregated", cacheService.aggregatedJson(ctx.getUserId(), ctx.getTaskId(), pretty));
+            return ResponseEntity.ok(body);
+        } catch (TaskVersionConflictException e) {
+            return conflict(e, ctx, pretty);
+        } catch (Exception e) {
+            log.error("Failed to {}: {}", action, e.getMessage(), e);
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage(), "status", "failed"));
+        }
+    }
+
     /**
      * Clear cache for specific user and task
      * This ensures old task data doesn't interfere with new imports
@@ -403,14 +546,45 @@ public class CacheController {
         }
     }
 
+    /**
+     * Cache statistics with a per-user breakdown and the top N largest entries
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<?> stats(@RequestParam(defaultValue = "10") int top) {
+        return ResponseEntity.ok(cacheService.statistics(top));
+    }
+
+    /**
+     * Server-sent events for the selected task: version bumps with small deltas
+     * on edits, undo/redo, new results and refreshes from other nodes. Clients
+     * refetch /cache/current only when an event arrives instead of polling.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> events(@RequestParam String userId, @RequestParam String taskId) {
+        if (!cacheService.canRead(userId, taskId)) {
+            log.warn("Refusing cache event stream for task '{}' to user '{}'", taskId, userId);
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        log.info("Opening cache event stream for user '{}' task '{}'", userId, taskId);
+        SseEmitter emitter = eventStream.subscribe(userId, taskId, cacheService.getVersion(userId, taskId));
+        // Keep intermediaries from buffering the stream
+        return ResponseEntity.ok()
+                .header("Cache-Control", "no-cache")
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
     @GetMapping("/policy")
     public ResponseEntity<?> getPolicy(@RequestParam(required = false) String directory,
                                       @RequestParam String env,
-                                      @RequestParam int interfaceNum) {
+                                      @RequestParam int interfaceNum,
+                                      @RequestParam(required = false) String userId,
+                                      @RequestParam(required = false) String taskId,
+                                      HttpSession session) {
         log.info("Policy request received - directory: '{}', env: '{}', interface: {}", directory, env, interfaceNum);
         
         try {
-            String effectiveDir = directory != null ? directory : cacheService.getRepositoryPath();
+            String effectiveDir = directory != null ? directory : repositoryPathFor(session, userId, taskId);
             
             if (effectiveDir == null || effectiveDir.isBlank()) {
                 return ResponseEntity.badRequest().body(Map.of("error", "No directory specified"));
@@ -463,9 +637,12 @@ public class CacheController {
     }
 
     @GetMapping("/image/{filename}")
-    public ResponseEntity<?> getImage(@PathVariable String filename, @RequestParam(required = false) String directory) {
+    public ResponseEntity<?> getImage(@PathVariable String filename, @RequestParam(required = false) String directory,
+                                      @RequestParam(required = false) String userId,
+                                      @RequestParam(required = false) String taskId,
+                                      HttpSession session) {
         try {
-            String effectiveDir = directory != null ? directory : cacheService.getRepositoryPath();
+            String effectiveDir = directory != null ? directory : repositoryPathFor(session, userId, taskId);
             
             if (effectiveDir == null) {
                 throw new IllegalArgumentException("No directory available for image retrieval");
@@ -0,0 +1,50 @@
+package com.amazon.agenticworkstation.controller;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.amazon.agenticworkstation.entity.PlotBlobEntity;
+import com.amazon.agenticworkstation.service.PlotStore;
+
+/**
+ * Serves stored plot images. The URL contains the hash of the image, so
+ * responses can be cached indefinitely.
+ */
+@RestController
+@RequestMapping("/api/plots")
+public class PlotController {
+
+	@Autowired
+	private PlotStore plotStore;
+
+	@GetMapping("/{hash}")
+	public ResponseEntity<Resource> plot(@PathVariable String hash, WebRequest request) {
+		String etag = "\"" + hash + "\"";
+		// Same hash, same bytes: a client that has it needs nothing more
+		if (request.checkNotModified(etag)) {
+			return null;
+		}
+		Optional<PlotBlobEntity> plot = plotStore.find(hash);
+		if (plot.isEmpty()) {
+			return ResponseEntity.notFound().build();
+		}
+		return ResponseEntity.ok()
+				.contentType(MediaType.parseMediaType(plot.get().getContentType()))
+				.contentLength(plot.get().getSizeBytes())
+				.eTag(etag)
+				.cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+				.body(new ByteArrayResource(plot.get().getData()));
+	}
+}
@@ -0,0 +1,87 @@
+package com.amazon.agenticworkstation.controller;
+
+import java.util.Optional;
+
+import jakarta.servlet.http.HttpSession;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves which (userId, taskId) a cache request applies to. Endpoints that
+ * select a task bind it to the caller's HTTP session; the legacy /cache
+ * endpoints that carry no ids read it back from there, so concurrent users
+ * never share a context. Explicit request parameters always take precedence.
+ * <p>
+ * The session lives in a cookie: a cross-origin frontend has to send
+ * credentials (see CorsConfig), and with several backend replicas the load
+ * balancer has to keep a client on one replica. Newer endpoints (undo/redo,
+ * events, validation-queue) therefore take userId and taskId explicitly and do
+ * not consult the session at all.
+ */
+@Component
+public class TaskContextResolver {
+
+    static final String SESSION_USER_ID = "cacheUserId";
+    static final String SESSION_TASK_ID = "cacheTaskId";
+
+    /**
+     * The task a request is working on
+     */
+    public static final class TaskContext {
+        private final String userId;
+        private final String taskId;
+
+        public TaskContext(String userId, String taskId) {
+            this.userId = userId;
+            this.taskId = taskId;
+        }
+
+        public String getUserId() {
+            return userId;
+        }
+
+        public String getTaskId() {
+            return taskId;
+        }
+    }
+
+    /**
+     * Remember the selected task for subsequent requests in this session
+     */
+    public void bind(HttpSession session, String userId, String taskId) {
+        session.setAttribute(SESSION_USER_ID, userId);
+        session.setAttribute(SESSION_TASK_ID, taskId);
+    }
+
+    /**
+     * Resolve the context from explicit parameters, falling back to the session
+     */
+    public Optional<TaskContext> resolve(HttpSession session, String userId, String taskId) {
+        String effectiveUserId = hasText(userId) ? userId : attribute(session, SESSION_USER_ID);
+        String effectiveTaskId = hasText(taskId) ? taskId : attribute(session, SESSION_TASK_ID);
+        if (!hasText(effectiveUserId) || !hasText(effectiveTaskId)) {
+            return Optional.empty();
+        }
+        return Optional.of(new TaskContext(effectiveUserId, effectiveTaskId));
+    }
+
+    /**
+     * Resolve the context or fail when no task has been selected
+     */
+    public TaskContext require(HttpSession session, String userId, String taskId) {
+        return resolve(session, userId, taskId).orElseThrow(() -> new IllegalStateException(
+                "No task selected: pass userId and taskId or load a task into this session first"));
+    }
+
+    private static String attribute(HttpSession session, String name) {
+        if (session == null) {
+            return null;
+        }
+        Object value = session.getAttribute(name);
+        return value != null ? value.toString() : null;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
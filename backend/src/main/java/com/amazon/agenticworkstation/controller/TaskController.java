@@ -2,6 +2,8 @@ package com.amazon.agenticworkstation.controller;
 
 import java.util.Map;
 
+import jakarta.servlet.http.HttpSession;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,6 +35,9 @@ public class TaskController {
     @Autowired
     private TaskCacheService taskCacheService;
 
+    @Autowired
+    private TaskContextResolver contextResolver;
+
     // 1. Validate instruction
     @PostMapping("/validate-instruction")
     public ResponseEntity<String> validateInstruction(@RequestBody TaskDto dto) {
@@ -41,8 +46,9 @@ public class TaskController {
 
     // 2. Generate task.json
     @PostMapping("/generate-task")
-    public ResponseEntity<String> generateTask(@RequestBody TaskDto dto) {
-        return ResponseEntity.ok(taskService.generateTaskJson(dto));
+    public ResponseEntity<String> generateTask(@RequestBody TaskDto dto,
+                                               @RequestParam(defaultValue = "false") boolean pretty) {
+        return ResponseEntity.ok(taskService.generateTaskJson(dto, pretty));
     }
 
     // 3. Validate task.json (legacy method with JSON payload)
@@ -71,12 +77,13 @@ public class TaskController {
     
     // Load task into cache endpoint
     @PostMapping("/load-task-cache")
-    public ResponseEntity<Map<String, Object>> loadTaskIntoCache(@RequestParam String userId, @RequestParam String taskId) {
+    public ResponseEntity<Map<String, Object>> loadTaskIntoCache(@RequestParam String userId, @RequestParam String taskId,
+                                                                 HttpSession session) {
         try {
             taskCacheService.loadTaskIntoCache(userId, taskId);
             
-            // Set current context for legacy compatibility
-            taskCacheService.setCurrentContext(userId, taskId);
+            // Remember the task for this session's legacy /cache calls
+            contextResolver.bind(session, userId, taskId);
             
             return ResponseEntity.ok(Map.of(
                 "success", true,
@@ -113,7 +120,7 @@ public class TaskController {
     
     // Import task from JSON content
     @PostMapping("/import-task")
-    public ResponseEntity<Map<String, Object>> importTask(@RequestBody TaskImportRequest request) {
+    public ResponseEntity<Map<String, Object>> importTask(@RequestBody TaskImportRequest request, HttpSession session) {
         try {
             String userId = request.getUserId();
             String dbUserId = request.getDbUserId() != null ? request.getDbUserId() : userId; // Use dbUserId for DB constraint, fallback to userId
@@ -127,6 +134,8 @@ public class TaskController {
             boolean success = taskCacheService.importTaskFromJson(dbUserId, taskId, taskJsonContent);
             
             if (success) {
+                // Select the imported task for this session's legacy /cache calls
+                contextResolver.bind(session, dbUserId, taskId);
                 logger.info("Successfully imported task {} for user {} (dbUserId: {}) into database", taskId, userId, dbUserId);
                 return ResponseEntity.ok(Map.of(
                     "success", true,
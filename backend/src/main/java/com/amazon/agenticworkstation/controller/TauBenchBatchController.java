@@ -0,0 +1,65 @@
+package com.amazon.agenticworkstation.controller;
+
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.amazon.agenticworkstation.dto.TauBenchBatchRequest;
+import com.amazon.agenticworkstation.service.TauBenchBatchService;
+
+/**
+ * Batch runs of a Tau Bench endpoint over a task filter or id list
+ */
+@RestController
+@RequestMapping("/api/tau-bench/batches")
+public class TauBenchBatchController {
+
+	private static final Logger logger = LoggerFactory.getLogger(TauBenchBatchController.class);
+
+	@Autowired
+	private TauBenchBatchService batchService;
+
+	/**
+	 * Queue a batch; poll GET /{batchId} for the summary
+	 */
+	@PostMapping
+	public ResponseEntity<Map<String, Object>> submit(@RequestBody TauBenchBatchRequest request) {
+		try {
+			return ResponseEntity.status(HttpStatus.ACCEPTED).body(batchService.submit(request));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
+		} catch (IllegalStateException e) {
+			logger.warn("Rejected batch: {}", e.getMessage());
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+					.body(Map.of("success", false, "message", e.getMessage()));
+		}
+	}
+
+	@GetMapping("/{batchId}")
+	public ResponseEntity<Map<String, Object>> summary(@PathVariable String batchId) {
+		try {
+			return ResponseEntity.ok(batchService.summary(batchId));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("success", false, "message", e.getMessage()));
+		}
+	}
+
+	/**
+	 * Cancel jobs of the batch that have not started; running ones finish
+	 */
+	@DeleteMapping("/{batchId}")
+	public ResponseEntity<Map<String, Object>> cancel(@PathVariable String batchId) {
+		return ResponseEntity.ok(Map.of("success", true, "batchId", batchId, "cancelled", batchService.cancel(batchId)));
+	}
+}
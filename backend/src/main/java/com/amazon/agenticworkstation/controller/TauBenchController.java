@@ -4,18 +4,24 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import jakarta.servlet.http.HttpSession;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -23,6 +29,11 @@ import com.amazon.agenticworkstation.service.ComputeComplexityService;
 import com.amazon.agenticworkstation.service.ComputeComplexityService.ApiResponse;
 import com.amazon.agenticworkstation.service.ComputeComplexityService.Endpoint;
 import com.amazon.agenticworkstation.service.TaskCacheService;
+import com.amazon.agenticworkstation.service.TauBenchExecutionService;
+import com.amazon.agenticworkstation.service.PlotStore;
+import com.amazon.agenticworkstation.service.TauBenchPipelineService;
+import com.amazon.agenticworkstation.service.TauBenchResilience;
+import com.amazon.agenticworkstation.service.TauBenchResponseCache;
 import com.fasterxml.jackson.databind.JsonNode;
 
 /**
@@ -45,6 +56,24 @@ public class TauBenchController {
 	@Autowired
 	private ObjectMapper objectMapper;
 
+	@Autowired
+	private TaskContextResolver contextResolver;
+
+	@Autowired
+	private TauBenchExecutionService executionService;
+
+	@Autowired
+	private TauBenchResponseCache responseCache;
+
+	@Autowired
+	private TauBenchResilience resilience;
+
+	@Autowired
+	private TauBenchPipelineService pipelineService;
+
+	@Autowired
+	private PlotStore plotStore;
+
 	/**
 	 * Execute a task using the specified endpoint
 	 */
@@ -55,8 +84,7 @@ public class TauBenchController {
 			Endpoint endpoint = Endpoint.valueOf(request.getEndpoint().toUpperCase());
 			ApiResponse response = computeComplexityService.executeTask(endpoint, request.getTaskFilePath());
 
-			return ResponseEntity.ok(new TaskExecutionResponse(response.isSuccess(), response.getMessage(),
-					response.getData(), response.getPlotBase64(), response.hasPlot()));
+			return ResponseEntity.ok(toResponse(response));
 		} catch (Exception e) {
 			return ResponseEntity.ok(new TaskExecutionResponse(false, "Task execution failed: " + e.getMessage(),
 					null, null, false));
@@ -67,34 +95,35 @@ public class TauBenchController {
 	 * Execute task validation using user_id and task_id (database-based, no temp files)
 	 */
 	@PostMapping("/validate-by-id")
-	public ResponseEntity<TaskExecutionResponse> validateTaskById(
+	public CompletableFuture<ResponseEntity<TaskExecutionResponse>> validateTaskById(
 			@RequestParam String userId, 
-			@RequestParam String taskId) {
+			@RequestParam String taskId,
+			HttpSession session) {
 		
 		try {
 			// Load task into cache if not already present
 			taskCacheService.loadTaskIntoCache(userId, taskId);
 			
-			// Set current context for legacy compatibility
-			taskCacheService.setCurrentContext(userId, taskId);
+			// Remember the task for this session's legacy /cache calls
+			contextResolver.bind(session, userId, taskId);
 			
 			// Get task JSON directly from cache/database
 			String taskJson = taskCacheService.aggregatedJson(userId, taskId);
 			
 			if (taskJson == null || taskJson.trim().isEmpty()) {
-				return ResponseEntity.ok(new TaskExecutionResponse(false, 
+				return CompletableFuture.completedFuture(ResponseEntity.ok(new TaskExecutionResponse(false, 
 					"Task not found in database for userId: " + userId + ", taskId: " + taskId,
-					null, null, false));
+					null, null, false)));
 			}
 			
-			// Execute validation using JSON content directly (no file needed)
-			ApiResponse response = computeComplexityService.executeTaskFromJson(Endpoint.TASK_VERIFICATION, taskJson, userId, taskId);
-			
-			return ResponseEntity.ok(new TaskExecutionResponse(response.isSuccess(), response.getMessage(),
-					response.getData(), response.getPlotBase64(), response.hasPlot()));
+			// Execute validation using JSON content directly (no file needed); the
+			// servlet thread is released while the Tau Bench API works
+			return computeComplexityService
+					.executeTaskFromJsonAsync(Endpoint.TASK_VERIFICATION, taskJson, userId, taskId)
+					.thenApply(response -> ResponseEntity.ok(toResponse(response)));
 		} catch (Exception e) {
-			return ResponseEntity.ok(new TaskExecutionResponse(false, "Validation failed: " + e.getMessage(),
-					null, null, false));
+			return CompletableFuture.completedFuture(ResponseEntity.ok(new TaskExecutionResponse(false,
+					"Validation failed: " + e.getMessage(), null, null, false)));
 		}
 	}
 	
@@ -102,64 +131,48 @@ public class TauBenchController {
 	 * Execute task using user_id and task_id (database-based, no temp files)
 	 */
 	@PostMapping("/execute-by-id")
-	public ResponseEntity<TaskExecutionResponse> executeTaskById(
+	public CompletableFuture<ResponseEntity<TaskExecutionResponse>> executeTaskById(
 			@RequestParam String userId, 
 			@RequestParam String taskId,
-			@RequestParam String endpoint) {
+			@RequestParam String endpoint,
+			HttpSession session) {
 		
 		try {
-			// Load task into cache if not already present
-			taskCacheService.loadTaskIntoCache(userId, taskId);
-			
-			// Set current context for legacy compatibility
-			taskCacheService.setCurrentContext(userId, taskId);
-			
-			// Get task JSON directly from cache/database
-			String taskJson = taskCacheService.aggregatedJson(userId, taskId);
-			
-			if (taskJson == null || taskJson.trim().isEmpty()) {
-				return ResponseEntity.ok(new TaskExecutionResponse(false, 
-					"Task not found in database for userId: " + userId + ", taskId: " + taskId,
-					null, null, false));
-			}
-			
-			// Execute task using JSON content directly (no file needed)
 			Endpoint ep = Endpoint.valueOf(endpoint.toUpperCase());
-			ApiResponse response = computeComplexityService.executeTaskFromJson(ep, taskJson, userId, taskId);
-			
-			// Store result in cache if available (skip run_task as it's handled in response handler)
-			if (response.isSuccess() && response.getData() != null && !"run_task".equalsIgnoreCase(endpoint)) {
-				// For non-run_task endpoints, wrap with metadata and store in cache
-				Map<String, Object> resultData = new HashMap<>();
-				resultData.put("endpoint", endpoint);
-				resultData.put("result", response.getData());
-				resultData.put("timestamp", System.currentTimeMillis());
-				
-				taskCacheService.storeResultData(userId, taskId, resultData, "memory://" + userId + "_" + taskId);
-			}
 			
-			// Special handling for evaluate endpoint to match frontend expectations
-			if ("evaluate".equalsIgnoreCase(endpoint) && response.isSuccess() && response.getData() != null) {
-				// Create the notebook_result structure that the frontend expects
-				Map<String, Object> notebookResult = new HashMap<>();
-				notebookResult.put("evaluation_data", response.getData());
-				
-				// Wrap the response data to match frontend expectations
-				Map<String, Object> wrappedData = new HashMap<>();
-				wrappedData.put("notebook_result", notebookResult);
-				
-				// Convert to JsonNode for consistency with existing response structure
-				JsonNode wrappedDataNode = objectMapper.valueToTree(wrappedData);
-				
-				return ResponseEntity.ok(new TaskExecutionResponse(response.isSuccess(), response.getMessage(),
-						wrappedDataNode, response.getPlotBase64(), response.hasPlot()));
-			}
+			// Remember the task for this session's legacy /cache calls
+			contextResolver.bind(session, userId, taskId);
 			
-			return ResponseEntity.ok(new TaskExecutionResponse(response.isSuccess(), response.getMessage(),
-					response.getData(), response.getPlotBase64(), response.hasPlot()));
+			// The servlet thread is released while the Tau Bench API works
+			return executionService.executeById(userId, taskId, ep)
+					.thenApply(response -> ResponseEntity.ok(toResponse(response)))
+					.exceptionally(e -> ResponseEntity.ok(new TaskExecutionResponse(false,
+							"Task execution failed: " + e.getMessage(), null, null, false)));
 		} catch (Exception e) {
-			return ResponseEntity.ok(new TaskExecutionResponse(false, "Task execution failed: " + e.getMessage(),
-					null, null, false));
+			return CompletableFuture.completedFuture(ResponseEntity.ok(new TaskExecutionResponse(false,
+					"Task execution failed: " + e.getMessage(), null, null, false)));
+		}
+	}
+
+	/**
+	 * Run a task and evaluate the run in one request. Streams "stage" events,
+	 * then a "result" event shaped like execute-by-id's evaluate response.
+	 */
+	@PostMapping(value = "/run-and-evaluate", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public ResponseEntity<SseEmitter> runAndEvaluate(@RequestParam String userId, @RequestParam String taskId,
+			HttpSession session) {
+		try {
+			// Remember the task for this session's legacy /cache calls
+			contextResolver.bind(session, userId, taskId);
+			return ResponseEntity.ok()
+					.header("Cache-Control", "no-cache")
+					.header("X-Accel-Buffering", "no")
+					.body(pipelineService.runAndEvaluate(userId, taskId));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.notFound().build();
+		} catch (Exception e) {
+			logger.error("Could not start run/evaluate for task {}", taskId, e);
+			return ResponseEntity.internalServerError().build();
 		}
 	}
 
@@ -171,8 +184,7 @@ public class TauBenchController {
 
 		ApiResponse response = computeComplexityService.executeTask(taskFilePath);
 
-		return ResponseEntity.ok(new TaskExecutionResponse(response.isSuccess(), response.getMessage(),
-				response.getData(), response.getPlotBase64(), response.hasPlot()));
+		return ResponseEntity.ok(toResponse(response));
 	}
 
 	/**
@@ -184,8 +196,7 @@ public class TauBenchController {
 
 		ApiResponse response = computeComplexityService.executeTask(Endpoint.COMPUTE_COMPLEXITY, taskFilePath);
 
-		return ResponseEntity.ok(new TaskExecutionResponse(response.isSuccess(), response.getMessage(),
-				response.getData(), response.getPlotBase64(), response.hasPlot()));
+		return ResponseEntity.ok(toResponse(response));
 	}
 
 	/**
@@ -197,8 +208,7 @@ public class TauBenchController {
 
 		ApiResponse response = computeComplexityService.executeTask(Endpoint.TASK_VERIFICATION, taskFilePath);
 
-		return ResponseEntity.ok(new TaskExecutionResponse(response.isSuccess(), response.getMessage(),
-				response.getData(), response.getPlotBase64(), response.hasPlot()));
+		return ResponseEntity.ok(toResponse(response));
 	}
 
 	/**
@@ -210,8 +220,7 @@ public class TauBenchController {
 
 		ApiResponse response = computeComplexityService.executeTask(Endpoint.RUN_TASK, taskFilePath);
 
-		return ResponseEntity.ok(new TaskExecutionResponse(response.isSuccess(), response.getMessage(),
-				response.getData(), response.getPlotBase64(), response.hasPlot()));
+		return ResponseEntity.ok(toResponse(response));
 	}
 
 	/**
@@ -222,8 +231,7 @@ public class TauBenchController {
 
 		ApiResponse response = computeComplexityService.executeTask(Endpoint.EVALUATE, taskFilePath);
 
-		return ResponseEntity.ok(new TaskExecutionResponse(response.isSuccess(), response.getMessage(),
-				response.getData(), response.getPlotBase64(), response.hasPlot()));
+		return ResponseEntity.ok(toResponse(response));
 	}
 
 	/**
@@ -236,6 +244,41 @@ public class TauBenchController {
 		return ResponseEntity.ok(status);
 	}
 
+	/**
+	 * Drop cached compute_complexity / task_verification responses for a task,
+	 * an endpoint, or everything when neither is given
+	 */
+	@DeleteMapping("/response-cache")
+	public ResponseEntity<Map<String, Object>> invalidateResponseCache(@RequestParam(required = false) String taskId,
+			@RequestParam(required = false) String endpoint) {
+		try {
+			Endpoint ep = endpoint != null ? TauBenchExecutionService.parseEndpoint(endpoint) : null;
+			int removed = responseCache.invalidate(taskId, ep);
+			Map<String, Object> response = new HashMap<>();
+			response.put("success", true);
+			response.put("removed", removed);
+			return ResponseEntity.ok(response);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
+		}
+	}
+
+	/**
+	 * Hit/miss counts of the response cache
+	 */
+	@GetMapping("/response-cache/stats")
+	public ResponseEntity<Map<String, Object>> responseCacheStats() {
+		return ResponseEntity.ok(responseCache.statistics());
+	}
+
+	/**
+	 * Circuit breaker and bulkhead state per endpoint
+	 */
+	@GetMapping("/resilience")
+	public ResponseEntity<Map<String, Object>> resilienceStatus() {
+		return ResponseEntity.ok(resilience.status());
+	}
+
 	/**
 	 * Get available endpoints
 	 */
@@ -361,7 +404,8 @@ public class TauBenchController {
 	@GetMapping("/result")
 	public ResponseEntity<Map<String, Object>> getResult(
 			@RequestParam String userId, 
-			@RequestParam String taskId) {
+			@RequestParam String taskId,
+			HttpSession session) {
 		try {
 			// Look up the ACTUAL userId from database first
 			String actualUserId = taskCacheService.getUserIdForTask(taskId);
@@ -381,8 +425,8 @@ public class TauBenchController {
 				userId = actualUserId;  // Auto-correct to actual userId
 			}
 			
-			// Set current context for the specified user and task
-			taskCacheService.setCurrentContext(userId, taskId);
+			// Remember the task for this session's legacy /cache calls
+			contextResolver.bind(session, userId, taskId);
 			
 			// Try to get from database first
 			String resultJson = taskCacheService.getResultJsonFromDatabase(userId, taskId);
@@ -403,9 +447,9 @@ public class TauBenchController {
 			}
 			
 			// If not in database, check memory cache
-			if (resultData == null && taskCacheService.hasResultData()) {
-				resultData = taskCacheService.getResultData();
-				filePath = taskCacheService.getResultFilePath();
+			if (resultData == null && taskCacheService.hasResultData(userId, taskId)) {
+				resultData = taskCacheService.getResultData(userId, taskId);
+				filePath = taskCacheService.getResultFilePath(userId, taskId);
 				logger.info("Result.json retrieved from memory cache for user {} task {}", userId, taskId);
 			}
 			
@@ -440,10 +484,15 @@ public class TauBenchController {
 	 * Generate edges using EdgeGenerator service
 	 */
 	@PostMapping("/generate-edges")
-	public ResponseEntity<Map<String, Object>> generateEdges(@RequestParam String taskFilePath) {
+	public ResponseEntity<Map<String, Object>> generateEdges(@RequestParam String taskFilePath,
+			@RequestParam(required = false) String userId,
+			@RequestParam(required = false) String taskId,
+			HttpSession session) {
 		try {
-			// Get the current task from cache service
-			com.amazon.agenticworkstation.dto.TaskDto currentTask = taskCacheService.buildAggregatedTaskDto();
+			// Get the session's task from cache service
+			com.amazon.agenticworkstation.dto.TaskDto currentTask = contextResolver.resolve(session, userId, taskId)
+					.map(ctx -> taskCacheService.buildAggregatedTaskDto(ctx.getUserId(), ctx.getTaskId()))
+					.orElse(null);
 			
 			if (currentTask == null || currentTask.getTask() == null || 
 				currentTask.getTask().getActions() == null || currentTask.getTask().getActions().isEmpty()) {
@@ -491,6 +540,19 @@ public class TauBenchController {
 		}
 	}
 
+	/**
+	 * Response body for an API call; the plot is referenced by plotUrl and
+	 * inlined only while plotBase64 compatibility is on
+	 */
+	private TaskExecutionResponse toResponse(ApiResponse response) {
+		String plotBase64 = response.getPlotBase64() != null ? response.getPlotBase64()
+				: plotStore.inlineBase64(response.getPlotHash());
+		TaskExecutionResponse body = new TaskExecutionResponse(response.isSuccess(), response.getMessage(),
+				response.getData(), plotBase64, response.hasPlot());
+		body.setPlotUrl(response.getPlotUrl());
+		return body;
+	}
+
 	/**
 	 * Request DTO for task execution
 	 */
@@ -534,6 +596,7 @@ public class TauBenchController {
 		private JsonNode data;
 		private String plotBase64;
 		private boolean hasPlot;
+		private String plotUrl;
 
 		public TaskExecutionResponse() {
 		}
@@ -587,5 +650,13 @@ public class TauBenchController {
 		public void setHasPlot(boolean hasPlot) {
 			this.hasPlot = hasPlot;
 		}
+
+		public String getPlotUrl() {
+			return plotUrl;
+		}
+
+		public void setPlotUrl(String plotUrl) {
+			this.plotUrl = plotUrl;
+		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.amazon.agenticworkstation.controller;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.amazon.agenticworkstation.entity.TauBenchJobEntity;
+import com.amazon.agenticworkstation.entity.TauBenchJobEntity.JobLane;
+import com.amazon.agenticworkstation.service.ComputeComplexityService.Endpoint;
+import com.amazon.agenticworkstation.service.TauBenchExecutionService;
+import com.amazon.agenticworkstation.service.TauBenchJobService;
+
+/**
+ * Background Tau Bench executions. Submit returns a job id immediately; the
+ * outcome is available by polling the job or over its event stream.
+ */
+@RestController
+@RequestMapping("/api/tau-bench/jobs")
+public class TauBenchJobController {
+
+	private static final Logger logger = LoggerFactory.getLogger(TauBenchJobController.class);
+
+	@Autowired
+	private TauBenchJobService jobService;
+
+	/**
+	 * Queue an endpoint run for a task
+	 */
+	@PostMapping
+	public ResponseEntity<Map<String, Object>> submit(@RequestParam String userId, @RequestParam String taskId,
+			@RequestParam String endpoint, @RequestParam(defaultValue = "interactive") String lane) {
+		try {
+			Endpoint ep = TauBenchExecutionService.parseEndpoint(endpoint);
+			JobLane jobLane = "batch".equalsIgnoreCase(lane) ? JobLane.BATCH : JobLane.INTERACTIVE;
+			TauBenchJobEntity job = jobService.submit(userId, taskId, ep, jobLane);
+			return ResponseEntity.status(HttpStatus.ACCEPTED).body(jobService.describe(job));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
+		} catch (IllegalStateException e) {
+			logger.warn("Rejected job for task {}: {}", taskId, e.getMessage());
+			return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+					.body(Map.of("success", false, "message", e.getMessage()));
+		}
+	}
+
+	/**
+	 * Status, progress and (once finished) result of a job
+	 */
+	@GetMapping("/{jobId}")
+	public ResponseEntity<Map<String, Object>> status(@PathVariable String jobId) {
+		return jobService.find(jobId)
+				.map(job -> ResponseEntity.ok(jobService.describe(job)))
+				.orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+						.body(Map.of("success", false, "message", "Job not found: " + jobId)));
+	}
+
+	/**
+	 * Server-sent "status" events until the job finishes
+	 */
+	@GetMapping(value = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public ResponseEntity<SseEmitter> events(@PathVariable String jobId) {
+		Optional<TauBenchJobEntity> job = jobService.find(jobId);
+		if (job.isEmpty()) {
+			return ResponseEntity.notFound().build();
+		}
+		return ResponseEntity.ok()
+				.header("Cache-Control", "no-cache")
+				.header("X-Accel-Buffering", "no")
+				.body(jobService.watch(job.get()));
+	}
+
+	/**
+	 * Recent jobs for a user, newest first
+	 */
+	@GetMapping
+	public ResponseEntity<List<Map<String, Object>>> list(@RequestParam String userId,
+			@RequestParam(defaultValue = "20") int limit) {
+		return ResponseEntity.ok(jobService.recentJobs(userId, limit).stream()
+				.map(jobService::describe)
+				.collect(Collectors.toList()));
+	}
+
+	/**
+	 * Cancel a job that has not started
+	 */
+	@DeleteMapping("/{jobId}")
+	public ResponseEntity<Map<String, Object>> cancel(@PathVariable String jobId) {
+		if (jobService.cancel(jobId)) {
+			return ResponseEntity.ok(Map.of("success", true, "jobId", jobId, "status", "cancelled"));
+		}
+		return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("success", false, "jobId", jobId,
+				"message", "Job is not queued (already running, finished or unknown)"));
+	}
+}
@@ -0,0 +1,38 @@
+package com.amazon.agenticworkstation.controller;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.amazon.agenticworkstation.service.TauBenchSimulator;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Embedded stand-in for the Tau Bench API, active with the tau-sim profile.
+ * That profile points tau.bench.api.base-url here.
+ */
+@RestController
+@Profile("tau-sim")
+@RequestMapping("/tau-sim")
+public class TauBenchSimulatorController {
+
+	@Autowired
+	private TauBenchSimulator simulator;
+
+	@PostMapping("/{endpoint}")
+	public CompletableFuture<ResponseEntity<JsonNode>> call(@PathVariable String endpoint,
+			@RequestBody JsonNode request) {
+		if (!simulator.isKnown(endpoint)) {
+			return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+		}
+		return simulator.respond(endpoint, request);
+	}
+}
@@ -0,0 +1,80 @@
+package com.amazon.agenticworkstation.controller;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.amazon.agenticworkstation.service.TauBenchTrialService;
+import com.amazon.agenticworkstation.service.TauBenchTrialService.TrialRun;
+
+/**
+ * Multi-trial run_task. Start returns a run id immediately; per-trial progress
+ * and the aggregated summary are available by polling or over the event stream.
+ */
+@RestController
+@RequestMapping("/api/tau-bench/trials")
+public class TauBenchTrialController {
+
+	private static final Logger logger = LoggerFactory.getLogger(TauBenchTrialController.class);
+
+	@Autowired
+	private TauBenchTrialService trialService;
+
+	/**
+	 * Run a task k times in parallel
+	 */
+	@PostMapping
+	public ResponseEntity<Map<String, Object>> start(@RequestParam String userId, @RequestParam String taskId,
+			@RequestParam(defaultValue = "4") int trials) {
+		try {
+			TrialRun run = trialService.start(userId, taskId, trials);
+			return ResponseEntity.status(HttpStatus.ACCEPTED).body(trialService.describe(run));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(Map.of("success", false, "message", e.getMessage()));
+		} catch (IOException e) {
+			logger.error("Could not start trials for task {}", taskId, e);
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+					.body(Map.of("success", false, "message", "Failed to load task: " + e.getMessage()));
+		}
+	}
+
+	/**
+	 * Progress of a run and, once all trials are back, its summary
+	 */
+	@GetMapping("/{runId}")
+	public ResponseEntity<Map<String, Object>> status(@PathVariable String runId) {
+		return trialService.find(runId)
+				.map(run -> ResponseEntity.ok(trialService.describe(run)))
+				.orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+						.body(Map.of("success", false, "message", "Trial run not found: " + runId)));
+	}
+
+	/**
+	 * Server-sent "trial" events as trials finish, then one "summary" event
+	 */
+	@GetMapping(value = "/{runId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public ResponseEntity<SseEmitter> events(@PathVariable String runId) {
+		Optional<TrialRun> run = trialService.find(runId);
+		if (run.isEmpty()) {
+			return ResponseEntity.notFound().build();
+		}
+		return ResponseEntity.ok()
+				.header("Cache-Control", "no-cache")
+				.header("X-Accel-Buffering", "no")
+				.body(trialService.watch(run.get()));
+	}
+}
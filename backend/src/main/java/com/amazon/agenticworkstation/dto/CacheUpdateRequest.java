@@ -19,6 +19,7 @@ public class CacheUpdateRequest {
     private List<Map<String, Object>> actionObjects; // full action objects with arguments/output
     private List<String> outputs; // list of output names
     private List<Map<String, Object>> edges; // raw edge objects (from, to, etc.)
+    private Long expectedVersion; // task version the client edited; null means the version this session last saw
 
     public String getRepositoryPath() { return repositoryPath; }
     public void setRepositoryPath(String repositoryPath) { this.repositoryPath = repositoryPath; }
@@ -38,4 +39,6 @@ public class CacheUpdateRequest {
     public void setOutputs(List<String> outputs) { this.outputs = outputs; }
     public List<Map<String, Object>> getEdges() { return edges; }
     public void setEdges(List<Map<String, Object>> edges) { this.edges = edges; }
+    public Long getExpectedVersion() { return expectedVersion; }
+    public void setExpectedVersion(Long expectedVersion) { this.expectedVersion = expectedVersion; }
 }
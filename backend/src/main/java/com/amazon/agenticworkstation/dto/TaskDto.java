@@ -3,8 +3,12 @@ package com.amazon.agenticworkstation.dto;
 import java.util.List;
 import java.util.Map;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
  * Complete DTO representing the full task.json structure
@@ -112,9 +116,35 @@ public class TaskDto {
      */
     @JsonPropertyOrder({"output", "input"})
     public static class ConnectionDto {
+        private static final ObjectMapper CONNECTION_MAPPER = new ObjectMapper();
+
         private String output;
         private String input;
 
+        /**
+         * Accept connections that older clients sent as a JSON-encoded string
+         * (e.g. "{\"output\":\"x\",\"input\":\"y\"}") so they are normalized to the
+         * typed form as soon as they are read
+         */
+        @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+        public static ConnectionDto fromJson(String json) {
+            ConnectionDto dto = new ConnectionDto();
+            if (json == null || json.isBlank()) {
+                return dto;
+            }
+            try {
+                JsonNode node = CONNECTION_MAPPER.readTree(json);
+                if (node != null && node.isObject()) {
+                    dto.setOutput(node.hasNonNull("output") ? node.get("output").asText() : null);
+                    dto.setInput(node.hasNonNull("input") ? node.get("input").asText() : null);
+                    return dto;
+                }
+            } catch (JsonProcessingException e) {
+                // fall through to the error below
+            }
+            throw new IllegalArgumentException("Invalid edge connection: " + json);
+        }
+
         // Getters and setters
         public String getOutput() { return output; }
         public void setOutput(String output) { this.output = output; }
@@ -0,0 +1,30 @@
+package com.amazon.agenticworkstation.dto;
+
+import java.util.List;
+
+/**
+ * Batch run of one Tau Bench endpoint. Either an explicit taskIds list or a
+ * filter (any combination of userId, env, interfaceNum, status); filter
+ * fields left null match all active tasks.
+ */
+public class TauBenchBatchRequest {
+    private String endpoint = "task_verification";
+    private List<String> taskIds;
+    private String userId;
+    private String env;
+    private Integer interfaceNum;
+    private String status; // TaskEntity.TaskStatus name, e.g. APPROVED
+
+    public String getEndpoint() { return endpoint; }
+    public void setEndpoint(String endpoint) { this.endpoint = endpoint; }
+    public List<String> getTaskIds() { return taskIds; }
+    public void setTaskIds(List<String> taskIds) { this.taskIds = taskIds; }
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+    public String getEnv() { return env; }
+    public void setEnv(String env) { this.env = env; }
+    public Integer getInterfaceNum() { return interfaceNum; }
+    public void setInterfaceNum(Integer interfaceNum) { this.interfaceNum = interfaceNum; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+}
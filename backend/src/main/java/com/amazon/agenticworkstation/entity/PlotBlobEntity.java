@@ -0,0 +1,98 @@
+package com.amazon.agenticworkstation.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Plot image stored once by the SHA-256 of its bytes. The image is never
+ * updated, so a hash always names the same image; only last_used_at moves.
+ */
+@Entity
+@Table(name = "plot_blob")
+public class PlotBlobEntity {
+    
+    @Id
+    @Column(name = "hash", length = 64)
+    private String hash;
+    
+    @Column(name = "content_type", length = 50, nullable = false)
+    private String contentType;
+    
+    @Column(name = "size_bytes", nullable = false)
+    private Integer sizeBytes;
+    
+    @Column(name = "data", nullable = false)
+    private byte[] data;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    // Last time the plot was stored or handed out again; cleanup keys off it
+    @Column(name = "last_used_at")
+    private LocalDateTime lastUsedAt;
+    
+    // Constructors
+    public PlotBlobEntity() {}
+    
+    public PlotBlobEntity(String hash, String contentType, byte[] data) {
+        this.hash = hash;
+        this.contentType = contentType;
+        this.sizeBytes = data.length;
+        this.data = data;
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+        this.lastUsedAt = this.createdAt;
+    }
+    
+    // Getters and Setters
+    public String getHash() {
+        return hash;
+    }
+    
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+    
+    public Integer getSizeBytes() {
+        return sizeBytes;
+    }
+    
+    public void setSizeBytes(Integer sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+    
+    public byte[] getData() {
+        return data;
+    }
+    
+    public void setData(byte[] data) {
+        this.data = data;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getLastUsedAt() {
+        return lastUsedAt;
+    }
+    
+    public void setLastUsedAt(LocalDateTime lastUsedAt) {
+        this.lastUsedAt = lastUsedAt;
+    }
+}
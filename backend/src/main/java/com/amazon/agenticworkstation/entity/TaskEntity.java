@@ -38,7 +38,9 @@ public class TaskEntity {
     @Column(name = "task_json", columnDefinition = "TEXT")
     private String taskJson;
     
-    @Column(name = "result_json", columnDefinition = "TEXT")
+    // Written only by TaskRepository.updateResultJson; left out of entity updates so a
+    // task save cannot write back the copy it read
+    @Column(name = "result_json", columnDefinition = "TEXT", updatable = false)
     private String resultJson;
     
     @Column(name = "user_id", length = 50, nullable = false)
@@ -58,6 +60,11 @@ public class TaskEntity {
     @Column(name = "updated_date_time")
     private LocalDateTime updatedDateTime;
     
+    // Optimistic lock: every update is conditioned on the version it was read at
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
     // Enum for task status
     public enum TaskStatus {
         DRAFT, DISCARDED, SUBMITTED, APPROVED, REJECTED, NEEDS_CHANGES, MERGED
@@ -174,6 +181,14 @@ public class TaskEntity {
         this.updatedDateTime = updatedDateTime;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     @PrePersist
     protected void onCreate() {
         this.createdDateTime = LocalDateTime.now();
@@ -194,6 +209,7 @@ public class TaskEntity {
                 ", userId='" + userId + '\'' +
                 ", taskStatus=" + taskStatus +
                 ", isActive=" + isActive +
+                ", version=" + version +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,278 @@
+package com.amazon.agenticworkstation.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Background Tau Bench execution. Rows outlive the process, so queued and
+ * interrupted jobs are picked up again after a restart.
+ */
+@Entity
+@Table(name = "tau_bench_job")
+public class TauBenchJobEntity {
+    
+    @Id
+    @Column(name = "job_id", length = 36)
+    private String jobId;
+    
+    @Column(name = "user_id", length = 50, nullable = false)
+    private String userId;
+    
+    @Column(name = "task_id", length = 100, nullable = false)
+    private String taskId;
+    
+    @Column(name = "endpoint", length = 50, nullable = false)
+    private String endpoint;
+    
+    // Set when the job was submitted as part of a batch run
+    @Column(name = "batch_id", length = 36)
+    private String batchId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "lane", length = 20, nullable = false)
+    private JobLane lane = JobLane.INTERACTIVE;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private JobStatus status = JobStatus.QUEUED;
+    
+    @Column(name = "progress", nullable = false)
+    private Integer progress = 0;
+    
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+    
+    @Column(name = "success")
+    private Boolean success;
+    
+    // Pass/fail judged from the response (run_task reward, task_verification
+    // verdict); null when the call failed or the endpoint gives no verdict
+    @Column(name = "verdict")
+    private Boolean verdict;
+    
+    @Column(name = "message", columnDefinition = "TEXT")
+    private String message;
+    
+    @Column(name = "result_json", columnDefinition = "TEXT")
+    private String resultJson;
+    
+    @Column(name = "plot_base64", columnDefinition = "TEXT")
+    private String plotBase64;
+    
+    // Plot in the plot store; plotBase64 is only set when it could not be stored
+    @Column(name = "plot_hash", length = 64)
+    private String plotHash;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+    
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // Interactive jobs come from a user waiting on the screen; batch jobs run on their own workers
+    public enum JobLane {
+        INTERACTIVE, BATCH
+    }
+    
+    public enum JobStatus {
+        QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED;
+        
+        public boolean isTerminal() {
+            return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+        }
+    }
+    
+    // Constructors
+    public TauBenchJobEntity() {}
+    
+    public TauBenchJobEntity(String jobId, String userId, String taskId, String endpoint, JobLane lane) {
+        this.jobId = jobId;
+        this.userId = userId;
+        this.taskId = taskId;
+        this.endpoint = endpoint;
+        this.lane = lane;
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public String getJobId() {
+        return jobId;
+    }
+    
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+    
+    public String getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+    
+    public String getTaskId() {
+        return taskId;
+    }
+    
+    public void setTaskId(String taskId) {
+        this.taskId = taskId;
+    }
+    
+    public String getEndpoint() {
+        return endpoint;
+    }
+    
+    public void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+    
+    public String getBatchId() {
+        return batchId;
+    }
+    
+    public void setBatchId(String batchId) {
+        this.batchId = batchId;
+    }
+    
+    public JobLane getLane() {
+        return lane;
+    }
+    
+    public void setLane(JobLane lane) {
+        this.lane = lane;
+    }
+    
+    public JobStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(JobStatus status) {
+        this.status = status;
+    }
+    
+    public Integer getProgress() {
+        return progress;
+    }
+    
+    public void setProgress(Integer progress) {
+        this.progress = progress;
+    }
+    
+    public Integer getAttempts() {
+        return attempts;
+    }
+    
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+    
+    public Boolean getSuccess() {
+        return success;
+    }
+    
+    public void setSuccess(Boolean success) {
+        this.success = success;
+    }
+    
+    public Boolean getVerdict() {
+        return verdict;
+    }
+    
+    public void setVerdict(Boolean verdict) {
+        this.verdict = verdict;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+    
+    public String getResultJson() {
+        return resultJson;
+    }
+    
+    public void setResultJson(String resultJson) {
+        this.resultJson = resultJson;
+    }
+    
+    public String getPlotBase64() {
+        return plotBase64;
+    }
+    
+    public void setPlotBase64(String plotBase64) {
+        this.plotBase64 = plotBase64;
+    }
+    
+    public String getPlotHash() {
+        return plotHash;
+    }
+    
+    public void setPlotHash(String plotHash) {
+        this.plotHash = plotHash;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+    
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+    
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+    
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+    
+    @Override
+    public String toString() {
+        return "TauBenchJobEntity{" +
+                "jobId='" + jobId + '\'' +
+                ", userId='" + userId + '\'' +
+                ", taskId='" + taskId + '\'' +
+                ", endpoint='" + endpoint + '\'' +
+                ", lane=" + lane +
+                ", status=" + status +
+                ", attempts=" + attempts +
+                '}';
+    }
+}
@@ -0,0 +1,123 @@
+package com.amazon.agenticworkstation.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Stored response of a deterministic Tau Bench endpoint, keyed by a hash of
+ * the canonical request payload, endpoint and service version
+ */
+@Entity
+@Table(name = "tau_bench_response_cache")
+public class TauBenchResponseCacheEntity {
+    
+    @Id
+    @Column(name = "cache_key", length = 64)
+    private String cacheKey;
+    
+    @Column(name = "endpoint", length = 50, nullable = false)
+    private String endpoint;
+    
+    @Column(name = "service_version", length = 50, nullable = false)
+    private String serviceVersion;
+    
+    // Task the response was first computed for; tasks served later are in tau_bench_response_cache_task
+    @Column(name = "task_id", length = 100)
+    private String taskId;
+    
+    @Column(name = "response_json", columnDefinition = "TEXT", nullable = false)
+    private String responseJson;
+    
+    // Rows from before the plot store; new rows reference the plot by hash
+    @Column(name = "plot_base64", columnDefinition = "TEXT")
+    private String plotBase64;
+    
+    @Column(name = "plot_hash", length = 64)
+    private String plotHash;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public TauBenchResponseCacheEntity() {}
+    
+    public TauBenchResponseCacheEntity(String cacheKey, String endpoint, String serviceVersion, String taskId,
+                                       String responseJson, String plotBase64) {
+        this.cacheKey = cacheKey;
+        this.endpoint = endpoint;
+        this.serviceVersion = serviceVersion;
+        this.taskId = taskId;
+        this.responseJson = responseJson;
+        this.plotBase64 = plotBase64;
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public String getCacheKey() {
+        return cacheKey;
+    }
+    
+    public void setCacheKey(String cacheKey) {
+        this.cacheKey = cacheKey;
+    }
+    
+    public String getEndpoint() {
+        return endpoint;
+    }
+    
+    public void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+    
+    public String getServiceVersion() {
+        return serviceVersion;
+    }
+    
+    public void setServiceVersion(String serviceVersion) {
+        this.serviceVersion = serviceVersion;
+    }
+    
+    public String getTaskId() {
+        return taskId;
+    }
+    
+    public void setTaskId(String taskId) {
+        this.taskId = taskId;
+    }
+    
+    public String getResponseJson() {
+        return responseJson;
+    }
+    
+    public void setResponseJson(String responseJson) {
+        this.responseJson = responseJson;
+    }
+    
+    public String getPlotBase64() {
+        return plotBase64;
+    }
+    
+    public void setPlotBase64(String plotBase64) {
+        this.plotBase64 = plotBase64;
+    }
+    
+    public String getPlotHash() {
+        return plotHash;
+    }
+    
+    public void setPlotHash(String plotHash) {
+        this.plotHash = plotHash;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,79 @@
+package com.amazon.agenticworkstation.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Task a cached Tau Bench response was served for. Cache keys ignore which task
+ * sent the payload, so one response can belong to several tasks; invalidating
+ * a task drops every response it was served.
+ */
+@Entity
+@Table(name = "tau_bench_response_cache_task")
+@IdClass(TauBenchResponseCacheTaskEntity.Key.class)
+public class TauBenchResponseCacheTaskEntity {
+    
+    @Id
+    @Column(name = "cache_key", length = 64)
+    private String cacheKey;
+    
+    @Id
+    @Column(name = "task_id", length = 100)
+    private String taskId;
+    
+    // Constructors
+    public TauBenchResponseCacheTaskEntity() {}
+    
+    public TauBenchResponseCacheTaskEntity(String cacheKey, String taskId) {
+        this.cacheKey = cacheKey;
+        this.taskId = taskId;
+    }
+    
+    // Getters and Setters
+    public String getCacheKey() {
+        return cacheKey;
+    }
+    
+    public void setCacheKey(String cacheKey) {
+        this.cacheKey = cacheKey;
+    }
+    
+    public String getTaskId() {
+        return taskId;
+    }
+    
+    public void setTaskId(String taskId) {
+        this.taskId = taskId;
+    }
+    
+    /**
+     * Composite primary key
+     */
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+        
+        private String cacheKey;
+        private String taskId;
+        
+        public Key() {}
+        
+        public Key(String cacheKey, String taskId) {
+            this.cacheKey = cacheKey;
+            this.taskId = taskId;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return Objects.equals(cacheKey, other.cacheKey) && Objects.equals(taskId, other.taskId);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(cacheKey, taskId);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.amazon.agenticworkstation.repository;
 
 import com.amazon.agenticworkstation.entity.LoginHistoryEntity;
 import com.amazon.agenticworkstation.entity.LoginHistoryEntity.LoginStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -58,4 +59,10 @@ public interface LoginHistoryRepository extends JpaRepository<LoginHistoryEntity
      */
     @Query("SELECT lh FROM LoginHistoryEntity lh WHERE lh.userId = :userId AND lh.loginStatus = 'SUCCESS' ORDER BY lh.loginTimestamp DESC LIMIT 1")
     LoginHistoryEntity findLatestSuccessfulLogin(@Param("userId") String userId);
-}
\ No newline at end of file
+    
+    /**
+     * Users with a successful login since the given time, most recent first
+     */
+    @Query("SELECT lh.userId FROM LoginHistoryEntity lh WHERE lh.loginStatus = 'SUCCESS' AND lh.loginTimestamp >= :since GROUP BY lh.userId ORDER BY MAX(lh.loginTimestamp) DESC")
+    List<String> findRecentlyActiveUserIds(@Param("since") LocalDateTime since, Pageable pageable);
+}
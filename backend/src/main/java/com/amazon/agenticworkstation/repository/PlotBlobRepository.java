@@ -0,0 +1,37 @@
+package com.amazon.agenticworkstation.repository;
+
+import com.amazon.agenticworkstation.entity.PlotBlobEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository interface for PlotBlobEntity
+ */
+@Repository
+public interface PlotBlobRepository extends JpaRepository<PlotBlobEntity, String> {
+    
+    /**
+     * Mark a plot as handed out again; 0 if it is not stored
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE PlotBlobEntity p SET p.lastUsedAt = :now WHERE p.hash = :hash")
+    int touch(@Param("hash") String hash, @Param("now") LocalDateTime now);
+    
+    /**
+     * Delete plots not used since the cutoff that no job or cached response
+     * references
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("DELETE FROM PlotBlobEntity p WHERE COALESCE(p.lastUsedAt, p.createdAt) < :cutoff " +
+           "AND NOT EXISTS (SELECT 1 FROM TauBenchJobEntity j WHERE j.plotHash = p.hash) " +
+           "AND NOT EXISTS (SELECT 1 FROM TauBenchResponseCacheEntity c WHERE c.plotHash = p.hash)")
+    int deleteUnreferencedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -4,9 +4,11 @@ import com.amazon.agenticworkstation.entity.TaskEntity;
 import com.amazon.agenticworkstation.entity.TaskEntity.TaskStatus;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -99,7 +101,7 @@ public interface TaskRepository extends JpaRepository<TaskEntity, String> {
     /**
      * Soft delete task by setting isActive to false
      */
-    @Query("UPDATE TaskEntity t SET t.isActive = false, t.updatedDateTime = CURRENT_TIMESTAMP WHERE t.taskId = :taskId")
+    @Query("UPDATE TaskEntity t SET t.isActive = false, t.updatedDateTime = CURRENT_TIMESTAMP, t.version = t.version + 1 WHERE t.taskId = :taskId")
     int softDeleteTask(@Param("taskId") String taskId);
     
     // ====================================================================
@@ -135,4 +137,49 @@ public interface TaskRepository extends JpaRepository<TaskEntity, String> {
      * Find recent tasks by user ID with pagination
      */
     List<TaskEntity> findByUserIdAndIsActiveTrueOrderByCreatedDateTimeDesc(String userId, Pageable pageable);
-}
\ No newline at end of file
+    
+    /**
+     * Current optimistic-lock version of a task, read from the database
+     */
+    @Query("SELECT t.version FROM TaskEntity t WHERE t.taskId = :taskId")
+    Optional<Long> findVersionByTaskId(@Param("taskId") String taskId);
+    
+    /**
+     * Set result_json in a single statement. Touches no other column and leaves
+     * the version alone, so it does not conflict with a concurrent task edit;
+     * entity saves leave result_json out of their UPDATE, so the edit does not
+     * clobber it either. This is the only way result_json changes after insert.
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE TaskEntity t SET t.resultJson = :resultJson, t.updatedDateTime = CURRENT_TIMESTAMP WHERE t.taskId = :taskId")
+    int updateResultJson(@Param("taskId") String taskId, @Param("resultJson") String resultJson);
+    
+    /**
+     * Current version of each of the given tasks that exists. Returns
+     * [taskId, version] pairs.
+     */
+    @Query("SELECT t.taskId, t.version FROM TaskEntity t WHERE t.taskId IN :taskIds")
+    List<Object[]> findVersionsByTaskIds(@Param("taskIds") List<String> taskIds);
+    
+    /**
+     * Task id and owner of active tasks matching a batch filter; null
+     * parameters match everything. Returns [taskId, userId] pairs.
+     */
+    @Query("SELECT t.taskId, t.userId FROM TaskEntity t WHERE t.isActive = true " +
+           "AND (:userId IS NULL OR t.userId = :userId) " +
+           "AND (:envName IS NULL OR t.envName = :envName) " +
+           "AND (:interfaceNum IS NULL OR t.interfaceNum = :interfaceNum) " +
+           "AND (:status IS NULL OR t.taskStatus = :status) " +
+           "ORDER BY t.createdDateTime")
+    List<Object[]> findTaskOwnersForBatch(@Param("userId") String userId,
+                                          @Param("envName") String envName,
+                                          @Param("interfaceNum") Integer interfaceNum,
+                                          @Param("status") TaskStatus status);
+    
+    /**
+     * Task id and owner for an explicit list of active tasks
+     */
+    @Query("SELECT t.taskId, t.userId FROM TaskEntity t WHERE t.isActive = true AND t.taskId IN :taskIds")
+    List<Object[]> findTaskOwnersByTaskIds(@Param("taskIds") List<String> taskIds);
+}
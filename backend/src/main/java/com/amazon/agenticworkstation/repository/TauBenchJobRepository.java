@@ -0,0 +1,129 @@
+package com.amazon.agenticworkstation.repository;
+
+import com.amazon.agenticworkstation.entity.TauBenchJobEntity;
+import com.amazon.agenticworkstation.entity.TauBenchJobEntity.JobStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for TauBenchJobEntity
+ */
+@Repository
+public interface TauBenchJobRepository extends JpaRepository<TauBenchJobEntity, String> {
+    
+    /**
+     * Jobs in a status, oldest first
+     */
+    List<TauBenchJobEntity> findByStatusOrderByCreatedAtAsc(JobStatus status);
+    
+    /**
+     * Recent jobs for a user
+     */
+    List<TauBenchJobEntity> findByUserIdOrderByCreatedAtDesc(String userId, Pageable pageable);
+    
+    /**
+     * Job counts of a batch grouped by status and verdict: [status, verdict, count]
+     */
+    @Query("SELECT j.status, j.verdict, COUNT(j) FROM TauBenchJobEntity j WHERE j.batchId = :batchId " +
+           "GROUP BY j.status, j.verdict")
+    List<Object[]> countBatchOutcomes(@Param("batchId") String batchId);
+    
+    /**
+     * First submission, last completion and endpoint of a batch: [min createdAt, max finishedAt, endpoint]
+     */
+    @Query("SELECT MIN(j.createdAt), MAX(j.finishedAt), MIN(j.endpoint) FROM TauBenchJobEntity j WHERE j.batchId = :batchId")
+    List<Object[]> findBatchTimes(@Param("batchId") String batchId);
+    
+    /**
+     * Jobs of a batch in a status, for listing failures
+     */
+    List<TauBenchJobEntity> findByBatchIdAndStatusOrderByFinishedAtAsc(String batchId, JobStatus status, Pageable pageable);
+    
+    /**
+     * Cancel every job of a batch that has not started yet
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE TauBenchJobEntity j SET j.status = :cancelled, j.finishedAt = :now, j.updatedAt = :now, " +
+           "j.message = 'Cancelled' WHERE j.batchId = :batchId AND j.status = :queued")
+    int cancelQueuedBatch(@Param("batchId") String batchId, @Param("now") LocalDateTime now,
+                          @Param("queued") JobStatus queued, @Param("cancelled") JobStatus cancelled);
+    
+    /**
+     * Move a queued job to RUNNING. Returns 0 if another worker or node already
+     * took it, or it was cancelled.
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE TauBenchJobEntity j SET j.status = :running, j.startedAt = :now, j.updatedAt = :now, " +
+           "j.attempts = j.attempts + 1, j.progress = 10 WHERE j.jobId = :jobId AND j.status = :queued")
+    int claim(@Param("jobId") String jobId, @Param("now") LocalDateTime now,
+              @Param("queued") JobStatus queued, @Param("running") JobStatus running);
+    
+    /**
+     * Cancel a job that has not started yet
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE TauBenchJobEntity j SET j.status = :cancelled, j.finishedAt = :now, j.updatedAt = :now, " +
+           "j.message = 'Cancelled' WHERE j.jobId = :jobId AND j.status = :queued")
+    int cancelQueued(@Param("jobId") String jobId, @Param("now") LocalDateTime now,
+                     @Param("queued") JobStatus queued, @Param("cancelled") JobStatus cancelled);
+    
+    /**
+     * Return a running job to the queue, e.g. when its node shuts down
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE TauBenchJobEntity j SET j.status = :queued, j.progress = 0, j.updatedAt = :now " +
+           "WHERE j.jobId = :jobId AND j.status = :running")
+    int requeue(@Param("jobId") String jobId, @Param("now") LocalDateTime now,
+                @Param("running") JobStatus running, @Param("queued") JobStatus queued);
+    
+    /**
+     * Record that the worker running this attempt of a job is still alive.
+     * Returns 0 if the job was requeued or taken over in the meantime.
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE TauBenchJobEntity j SET j.updatedAt = :now " +
+           "WHERE j.jobId = :jobId AND j.status = :running AND j.attempts = :attempt")
+    int heartbeat(@Param("jobId") String jobId, @Param("attempt") Integer attempt, @Param("now") LocalDateTime now,
+                  @Param("running") JobStatus running);
+    
+    /**
+     * Store the outcome of one attempt of a job. Returns 0 if that attempt no
+     * longer owns the job (it was requeued and possibly claimed again), in
+     * which case nothing is written.
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE TauBenchJobEntity j SET j.status = :status, j.success = :success, j.verdict = :verdict, " +
+           "j.message = :message, j.resultJson = :resultJson, j.plotBase64 = :plotBase64, j.plotHash = :plotHash, " +
+           "j.progress = 100, j.finishedAt = :now, j.updatedAt = :now " +
+           "WHERE j.jobId = :jobId AND j.status = :running AND j.attempts = :attempt")
+    int complete(@Param("jobId") String jobId, @Param("attempt") Integer attempt, @Param("status") JobStatus status,
+                 @Param("success") Boolean success, @Param("verdict") Boolean verdict,
+                 @Param("message") String message, @Param("resultJson") String resultJson,
+                 @Param("plotBase64") String plotBase64, @Param("plotHash") String plotHash,
+                 @Param("now") LocalDateTime now, @Param("running") JobStatus running);
+    
+    /**
+     * Put jobs whose worker died (no heartbeat since the cutoff) back in the
+     * queue
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE TauBenchJobEntity j SET j.status = :queued, j.progress = 0, j.updatedAt = :now " +
+           "WHERE j.status = :running AND j.updatedAt < :cutoff")
+    int requeueStale(@Param("cutoff") LocalDateTime cutoff, @Param("now") LocalDateTime now,
+                     @Param("running") JobStatus running, @Param("queued") JobStatus queued);
+}
@@ -0,0 +1,45 @@
+package com.amazon.agenticworkstation.repository;
+
+import com.amazon.agenticworkstation.entity.TauBenchResponseCacheEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Repository interface for TauBenchResponseCacheEntity
+ */
+@Repository
+public interface TauBenchResponseCacheRepository extends JpaRepository<TauBenchResponseCacheEntity, String> {
+    
+    /**
+     * Drop cached responses computed for a task, optionally for one endpoint only
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TauBenchResponseCacheEntity c WHERE (:taskId IS NULL OR c.taskId = :taskId) " +
+           "AND (:endpoint IS NULL OR c.endpoint = :endpoint)")
+    int deleteMatching(@Param("taskId") String taskId, @Param("endpoint") String endpoint);
+    
+    /**
+     * Drop cached responses by key, optionally for one endpoint only
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TauBenchResponseCacheEntity c WHERE c.cacheKey IN :keys " +
+           "AND (:endpoint IS NULL OR c.endpoint = :endpoint)")
+    int deleteByKeys(@Param("keys") Collection<String> keys, @Param("endpoint") String endpoint);
+    
+    /**
+     * Drop responses older than a cutoff
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TauBenchResponseCacheEntity c WHERE c.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,44 @@
+package com.amazon.agenticworkstation.repository;
+
+import com.amazon.agenticworkstation.entity.TauBenchResponseCacheTaskEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for TauBenchResponseCacheTaskEntity
+ */
+@Repository
+public interface TauBenchResponseCacheTaskRepository
+        extends JpaRepository<TauBenchResponseCacheTaskEntity, TauBenchResponseCacheTaskEntity.Key> {
+    
+    /**
+     * Keys of the cached responses served for a task, optionally for one endpoint only
+     */
+    @Query("SELECT m.cacheKey FROM TauBenchResponseCacheTaskEntity m, TauBenchResponseCacheEntity c " +
+           "WHERE m.cacheKey = c.cacheKey AND m.taskId = :taskId AND (:endpoint IS NULL OR c.endpoint = :endpoint)")
+    List<String> findKeysForTask(@Param("taskId") String taskId, @Param("endpoint") String endpoint);
+    
+    /**
+     * Drop the task links of responses that are being removed
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TauBenchResponseCacheTaskEntity m WHERE m.cacheKey IN :keys")
+    int deleteByKeys(@Param("keys") Collection<String> keys);
+    
+    /**
+     * Drop links whose response no longer exists
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TauBenchResponseCacheTaskEntity m WHERE NOT EXISTS " +
+           "(SELECT 1 FROM TauBenchResponseCacheEntity c WHERE c.cacheKey = m.cacheKey)")
+    int deleteOrphans();
+}
@@ -36,6 +36,9 @@ public class AuthenticationService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private TaskCachePrewarmer cachePrewarmer;
+    
     // Simple in-memory session storage (in production, use Redis or database)
     private final Map<String, String> activeSessions = new HashMap<>();
     
@@ -72,6 +75,9 @@ public class AuthenticationService {
             logLoginAttempt(userId, LoginStatus.SUCCESS, null, ipAddress, userAgent, sessionId);
             
             logger.info("Authentication successful for user: {}", userId);
+            
+            // Warm the cache with the user's recent tasks so the editor opens instantly
+            cachePrewarmer.prewarmUser(userId);
             return AuthenticationResult.success(sessionId, userId);
             
         } catch (Exception e) {
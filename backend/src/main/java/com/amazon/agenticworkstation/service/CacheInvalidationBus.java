@@ -0,0 +1,28 @@
+package com.amazon.agenticworkstation.service;
+
+import java.util.function.Consumer;
+
+/**
+ * Transport for task cache invalidations between backend replicas. Selected
+ * with the task-cache.invalidation.bus property.
+ */
+public interface CacheInvalidationBus {
+
+	/**
+	 * Broadcast an invalidation to all subscribers, including other replicas
+	 */
+	void publish(CacheInvalidationEvent event);
+
+	/**
+	 * Register a listener for invalidations published by any replica
+	 */
+	void subscribe(Consumer<CacheInvalidationEvent> listener);
+
+	/**
+	 * Register a callback for when invalidations may have been missed, such as
+	 * after the transport reconnects, so subscribers can revalidate what they
+	 * hold. Transports that cannot lose events never call it.
+	 */
+	default void subscribeResync(Runnable listener) {
+	}
+}
@@ -0,0 +1,59 @@
+package com.amazon.agenticworkstation.service;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Broadcast after a task write has been persisted so that other backend
+ * replicas can drop or refresh their cached copy of the task.
+ */
+public class CacheInvalidationEvent {
+
+	private final String userId;
+	private final String taskId;
+	private final long version;
+	private final String originNodeId;
+	// Only result_json changed; the task itself and its version did not
+	private final boolean resultOnly;
+
+	public CacheInvalidationEvent(String userId, String taskId, long version, String originNodeId) {
+		this(userId, taskId, version, originNodeId, false);
+	}
+
+	@JsonCreator
+	public CacheInvalidationEvent(@JsonProperty("userId") String userId, @JsonProperty("taskId") String taskId,
+			@JsonProperty("version") long version, @JsonProperty("originNodeId") String originNodeId,
+			@JsonProperty("resultOnly") boolean resultOnly) {
+		this.userId = userId;
+		this.taskId = taskId;
+		this.version = version;
+		this.originNodeId = originNodeId;
+		this.resultOnly = resultOnly;
+	}
+
+	public String getUserId() {
+		return userId;
+	}
+
+	public String getTaskId() {
+		return taskId;
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	public String getOriginNodeId() {
+		return originNodeId;
+	}
+
+	public boolean isResultOnly() {
+		return resultOnly;
+	}
+
+	@Override
+	public String toString() {
+		return "CacheInvalidationEvent{" + "userId='" + userId + '\'' + ", taskId='" + taskId + '\'' + ", version="
+				+ version + ", originNodeId='" + originNodeId + '\'' + ", resultOnly=" + resultOnly + '}';
+	}
+}
@@ -7,6 +7,10 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
 import jakarta.annotation.PostConstruct;
 
@@ -14,13 +18,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+
+import com.amazon.agenticworkstation.config.TauBenchConfig;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -36,32 +36,45 @@ public class ComputeComplexityService {
 
 	private static final Logger logger = LoggerFactory.getLogger(ComputeComplexityService.class);
 
-	private final RestTemplate restTemplate;
 	private final ObjectMapper objectMapper;
 	
+	@Autowired
+	private TauBenchHttpClient httpClient;
+	
 	@Autowired
 	private TaskCacheService taskCacheService;
 
+	@Autowired(required = false)
+	private TauBenchResponseCache responseCache;
+
+	@Autowired(required = false)
+	private TauBenchRequestCoalescer coalescer;
+
+	@Autowired(required = false)
+	private TauBenchResilience resilience;
+
+	@Autowired(required = false)
+	private PlotStore plotStore;
+
 	@Value("${tau.bench.api.base-url:https://tau-bench.turing.com}")
 	private String apiBaseUrl;
 
 	// Default constructor for Spring
 	public ComputeComplexityService() {
-		this.restTemplate = new RestTemplate();
 		this.objectMapper = new ObjectMapper();
 	}
 
 	// Constructor with TaskCacheService dependency injection (for testing)
 	public ComputeComplexityService(TaskCacheService taskCacheService) {
-		this.restTemplate = new RestTemplate();
 		this.objectMapper = new ObjectMapper();
+		this.httpClient = new TauBenchHttpClient(new TauBenchConfig.Api());
 		this.taskCacheService = taskCacheService;
 	}
 
 	// Constructor for testing with explicit API base URL
 	public ComputeComplexityService(String apiBaseUrl, TaskCacheService taskCacheService) {
-		this.restTemplate = new RestTemplate();
 		this.objectMapper = new ObjectMapper();
+		this.httpClient = new TauBenchHttpClient(new TauBenchConfig.Api());
 		this.apiBaseUrl = apiBaseUrl;
 		this.taskCacheService = taskCacheService;
 	}
@@ -117,19 +130,8 @@ public class ComputeComplexityService {
 			// Prepare request payload based on endpoint
 			JsonNode requestPayload = prepareRequestPayload(endpoint, taskJson, taskFilePath, numTrials);
 
-			// Make API request
-			String endpointUrl = apiBaseUrl + "/" + endpoint.getPath();
-			logger.info("Using endpoint: {}", endpointUrl);
-
-			HttpHeaders headers = new HttpHeaders();
-			headers.setContentType(MediaType.APPLICATION_JSON);
-
-			HttpEntity<JsonNode> request = new HttpEntity<>(requestPayload, headers);
-
-			ResponseEntity<JsonNode> response = restTemplate.postForEntity(endpointUrl, request, JsonNode.class);
-
-			// Handle response based on endpoint type
-			return handleResponse(endpoint, response, taskFilePath);
+			// Make API request and handle response based on endpoint type
+			return post(endpoint, requestPayload, taskFilePath, null).join();
 
 		} catch (Exception e) {
 			logger.error("Error executing task", e);
@@ -154,9 +156,19 @@ public class ComputeComplexityService {
 	 * @return API response as JsonNode
 	 */
 	public ApiResponse executeTaskFromJson(Endpoint endpoint, String taskJsonContent, String userId, String taskId) {
+		return executeTaskFromJsonAsync(endpoint, taskJsonContent, userId, taskId).join();
+	}
+
+	/**
+	 * Non-blocking variant of {@link #executeTaskFromJson}. The returned future
+	 * always completes normally; failures are reported as unsuccessful
+	 * responses.
+	 */
+	public CompletableFuture<ApiResponse> executeTaskFromJsonAsync(Endpoint endpoint, String taskJsonContent,
+			String userId, String taskId) {
 		try {
 			if (taskJsonContent == null || taskJsonContent.trim().isEmpty()) {
-				return new ApiResponse(false, "Task JSON content is required", null, null);
+				return CompletableFuture.completedFuture(new ApiResponse(false, "Task JSON content is required", null, null));
 			}
 			
 			int numTrials = 1;
@@ -164,7 +176,7 @@ public class ComputeComplexityService {
 			JsonNode taskJson = objectMapper.readTree(taskJsonContent);
 
 			if (taskJson == null) {
-				return new ApiResponse(false, "Failed to parse task JSON content", null, null);
+				return CompletableFuture.completedFuture(new ApiResponse(false, "Failed to parse task JSON content", null, null));
 			}
 
 			// Use a logical path for reference (no actual file needed)
@@ -173,26 +185,147 @@ public class ComputeComplexityService {
 			// Prepare request payload based on endpoint
 			JsonNode requestPayload = prepareRequestPayload(endpoint, taskJson, logicalPath, numTrials);
 
-			// Make API request
-			String endpointUrl = apiBaseUrl + "/" + endpoint.getPath();
-			logger.info("Using endpoint: {} for task {}:{}", endpointUrl, userId, taskId);
+			logger.info("Using endpoint: {} for task {}:{}", endpoint.getPath(), userId, taskId);
 			
 			// Debug: Log the request payload
 			logger.info("Request payload for task {}:{}: {}", userId, taskId, requestPayload.toString());
 
-			HttpHeaders headers = new HttpHeaders();
-			headers.setContentType(MediaType.APPLICATION_JSON);
+			// Make API request and handle response based on endpoint type
+			return post(endpoint, requestPayload, logicalPath, taskId).exceptionally(e -> {
+				Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+				logger.error("Error executing task from JSON for {}:{}", userId, taskId, cause);
+				return new ApiResponse(false, "Error executing task: " + cause.getMessage(), null, null);
+			});
+
+		} catch (Exception e) {
+			logger.error("Error executing task from JSON for {}:{}", userId, taskId, e);
+			return CompletableFuture.completedFuture(new ApiResponse(false, "Error executing task: " + e.getMessage(), null, null));
+		}
+	}
+
+	/**
+	 * Send a prepared payload to an endpoint; the response is handled on the
+	 * HTTP client's callback thread. Deterministic endpoints are answered from
+	 * the response cache when the same payload was seen before.
+	 */
+	private CompletableFuture<ApiResponse> post(Endpoint endpoint, JsonNode requestPayload, String taskFilePath,
+			String taskId) {
+		String cacheKey = null;
+		if (responseCache != null && responseCache.isCacheable(endpoint)) {
+			cacheKey = responseCache.keyFor(endpoint, requestPayload);
+			Optional<ApiResponse> cached = responseCache.lookup(cacheKey, taskId,
+					requestPayload.path("task_file_name").asText(null));
+			if (cached.isPresent()) {
+				logger.info("Serving {} for task {} from the response cache", endpoint.getPath(), taskId);
+				return CompletableFuture.completedFuture(cached.get());
+			}
+		}
 
-			HttpEntity<JsonNode> request = new HttpEntity<>(requestPayload, headers);
+		String key = cacheKey;
+		// Identical concurrent calls share one remote request; the handling below still runs per caller
+		return callRemote(endpoint, requestPayload, true).thenApply(response -> {
+			ApiResponse apiResponse = handleResponse(endpoint, response, taskFilePath);
+			if (key != null) {
+				responseCache.store(key, endpoint, taskId, apiResponse);
+			}
+			return apiResponse;
+		});
+	}
 
-			ResponseEntity<JsonNode> response = restTemplate.postForEntity(endpointUrl, request, JsonNode.class);
+	/**
+	 * Call the API through the resilience guards, optionally sharing the call
+	 * with identical in-flight requests
+	 */
+	private CompletableFuture<TauBenchHttpClient.Response> callRemote(Endpoint endpoint, JsonNode requestPayload,
+			boolean shareable) {
+		String endpointUrl = apiBaseUrl + "/" + endpoint.getPath();
+		logger.info("Using endpoint: {}", endpointUrl);
+		// Captured here: the callbacks run off the request thread
+		Long deadline = RequestDeadline.current();
+		Supplier<CompletableFuture<TauBenchHttpClient.Response>> attempt = () -> httpClient.postJson(endpointUrl,
+				endpoint.name().toLowerCase(), requestPayload, deadline);
+		Supplier<CompletableFuture<TauBenchHttpClient.Response>> call = resilience != null
+				? () -> resilience.execute(endpoint, deadline, attempt)
+				: attempt;
+		return shareable && coalescer != null ? coalescer.execute(endpoint, requestPayload, call) : call.get();
+	}
 
-			// Handle response based on endpoint type
-			return handleResponse(endpoint, response, logicalPath);
+	/**
+	 * Run a single run_task trial and return its raw results without storing
+	 * them. Trials of the same task send identical payloads, so they are never
+	 * coalesced. The returned future always completes normally.
+	 */
+	public CompletableFuture<ApiResponse> runTrialAsync(String taskJsonContent, String userId, String taskId) {
+		try {
+			JsonNode taskJson = objectMapper.readTree(taskJsonContent);
+			String logicalPath = "memory://" + userId + "_" + taskId + ".json";
+			JsonNode requestPayload = prepareRequestPayload(Endpoint.RUN_TASK, taskJson, logicalPath, 1);
+			return callRemote(Endpoint.RUN_TASK, requestPayload, false).thenApply(response -> {
+				if (response.getStatusCode() != 200) {
+					return new ApiResponse(false, "API request failed with status: " + response.getStatusCode(), null,
+							null);
+				}
+				return new ApiResponse(true, "Success", response.getBody(), null);
+			}).exceptionally(e -> {
+				Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+				logger.warn("Trial for task {}:{} failed: {}", userId, taskId, cause.toString());
+				return new ApiResponse(false, "Error executing trial: " + cause.getMessage(), null, null);
+			});
+		} catch (Exception e) {
+			logger.error("Error preparing trial for {}:{}", userId, taskId, e);
+			return CompletableFuture.completedFuture(new ApiResponse(false, "Error executing trial: " + e.getMessage(), null, null));
+		}
+	}
 
+	/**
+	 * Evaluate run results held in memory instead of the stored result.json.
+	 * The returned future always completes normally.
+	 */
+	public CompletableFuture<ApiResponse> evaluateResultsAsync(String taskJsonContent, String userId, String taskId,
+			JsonNode resultsData) {
+		try {
+			JsonNode taskJson = objectMapper.readTree(taskJsonContent);
+			String logicalPath = "memory://" + userId + "_" + taskId + ".json";
+			JsonNode requestPayload = buildErrorEvaluationPayload(logicalPath, taskJson, resultsData,
+					"run_task response for " + taskId);
+			return post(Endpoint.EVALUATE, requestPayload, logicalPath, taskId).exceptionally(e -> {
+				Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+				logger.error("Error evaluating results for {}:{}", userId, taskId, cause);
+				return new ApiResponse(false, "Error executing task: " + cause.getMessage(), null, null);
+			});
 		} catch (Exception e) {
-			logger.error("Error executing task from JSON for {}:{}", userId, taskId, e);
-			return new ApiResponse(false, "Error executing task: " + e.getMessage(), null, null);
+			logger.error("Error evaluating results for {}:{}", userId, taskId, e);
+			return CompletableFuture.completedFuture(new ApiResponse(false, "Error executing task: " + e.getMessage(), null, null));
+		}
+	}
+
+	/**
+	 * Call an endpoint for a task file and return the remote body as is: no
+	 * result storage, formatting or plot extraction. evaluate reads the
+	 * result.json next to the task file. The returned future always completes
+	 * normally.
+	 */
+	public CompletableFuture<ApiResponse> executeRawAsync(Endpoint endpoint, String taskFilePath) {
+		try {
+			JsonNode taskJson = loadTaskJson(taskFilePath);
+			if (taskJson == null) {
+				return CompletableFuture.completedFuture(new ApiResponse(false, "Failed to load task JSON", null, null));
+			}
+			JsonNode requestPayload = prepareRequestPayload(endpoint, taskJson, taskFilePath, 1);
+			return callRemote(endpoint, requestPayload, endpoint != Endpoint.RUN_TASK).thenApply(response -> {
+				if (response.getStatusCode() != 200) {
+					return new ApiResponse(false, "API request failed with status: " + response.getStatusCode(), null,
+							null);
+				}
+				return new ApiResponse(true, "Success", response.getBody(), null);
+			}).exceptionally(e -> {
+				Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+				logger.error("Error executing {} for {}", endpoint.getPath(), taskFilePath, cause);
+				return new ApiResponse(false, "Error executing task: " + cause.getMessage(), null, null);
+			});
+		} catch (Exception e) {
+			logger.error("Error executing {} for {}", endpoint.getPath(), taskFilePath, e);
+			return CompletableFuture.completedFuture(new ApiResponse(false, "Error executing task: " + e.getMessage(), null, null));
 		}
 	}
 
@@ -353,103 +486,111 @@ public class ComputeComplexityService {
 				throw new IllegalArgumentException("No task file path provided for error evaluation");
 			}
 
-			// Create error evaluation payload - send results_data exactly as loaded, like Python
-			ObjectNode payload = objectMapper.createObjectNode();
-			
-			// Use the exact same approach as Python notebook
-			// Python: "env": "fund_finance",  # Changed to match the results file environment
-			// Let's just use the same hardcoded value for now to match Python exactly
-			payload.put("env", "fund_finance");
-			
-			// For evaluation endpoint, use OpenAI models as shown in the Python reference
-			String evaluationModelProvider = "openai";
-			String evaluationModel = "gpt-4o"; // Use gpt-4o as in Python reference
-			
-			payload.put("model_provider", evaluationModelProvider);
-			payload.put("model", evaluationModel);
-			
-			// Use default values as shown in Python
-			payload.put("max_concurrency", 1);
-			payload.put("max_num_failed_results", 10);
-			
-			// Send results_data exactly as loaded from database/file - NO PROCESSING
-			// This matches the Python approach: results_data = json.load(f)
-			payload.set("results_data", resultsData);
+			return buildErrorEvaluationPayload(taskFilePath, taskJson, resultsData, dataSource);
+
+		} catch (Exception e) {
+			logger.error("Error preparing error evaluation payload", e);
+			throw new IllegalStateException("Failed to prepare error evaluation payload: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Build the evaluate request around results that are already loaded
+	 */
+	private ObjectNode buildErrorEvaluationPayload(String taskFilePath, JsonNode taskJson, JsonNode resultsData,
+			String dataSource) {
+		// Create error evaluation payload - send results_data exactly as loaded, like Python
+		ObjectNode payload = objectMapper.createObjectNode();
+		
+		// Use the exact same approach as Python notebook
+		// Python: "env": "fund_finance",  # Changed to match the results file environment
+		// Let's just use the same hardcoded value for now to match Python exactly
+		payload.put("env", "fund_finance");
+		
+		// For evaluation endpoint, use OpenAI models as shown in the Python reference
+		String evaluationModelProvider = "openai";
+		String evaluationModel = "gpt-4o"; // Use gpt-4o as in Python reference
+		
+		payload.put("model_provider", evaluationModelProvider);
+		payload.put("model", evaluationModel);
+		
+		// Use default values as shown in Python
+		payload.put("max_concurrency", 1);
+		payload.put("max_num_failed_results", 10);
+		
+		// Send results_data exactly as loaded from database/file - NO PROCESSING
+		// This matches the Python approach: results_data = json.load(f)
+		payload.set("results_data", resultsData);
+		
+		// For evaluation, the task_file_name must point to the actual task definition file
+		// that the evaluation API can access to load ground truth data
+		String taskFileNameForEvaluation;
+		if (taskFilePath.startsWith("memory://")) {
+			// For memory paths, the API can't access the file, so we need to provide the task data inline
+			// Include the task definition directly in the payload
+			payload.set("task_data", taskJson);
 			
-			// For evaluation, the task_file_name must point to the actual task definition file
-			// that the evaluation API can access to load ground truth data
-			String taskFileNameForEvaluation;
-			if (taskFilePath.startsWith("memory://")) {
-				// For memory paths, the API can't access the file, so we need to provide the task data inline
-				// Include the task definition directly in the payload
-				payload.set("task_data", taskJson);
-				
-				// Extract taskId from memory path for the file name reference
-				String pathPart = taskFilePath.replace("memory://", "").replace(".json", "");
-				String[] parts = pathPart.split("_", 2);
-				if (parts.length == 2) {
-					String taskId = parts[1];
-					taskFileNameForEvaluation = "tasks/" + taskId + ".json";
-				} else {
-					taskFileNameForEvaluation = taskFilePath;
-				}
-				logger.info("Added task_data to payload since task_file_name is not accessible: {}", taskFileNameForEvaluation);
+			// Extract taskId from memory path for the file name reference
+			String pathPart = taskFilePath.replace("memory://", "").replace(".json", "");
+			String[] parts = pathPart.split("_", 2);
+			if (parts.length == 2) {
+				String taskId = parts[1];
+				taskFileNameForEvaluation = "tasks/" + taskId + ".json";
 			} else {
 				taskFileNameForEvaluation = taskFilePath;
 			}
-			
-			payload.put("task_file_name", taskFileNameForEvaluation);
+			logger.info("Added task_data to payload since task_file_name is not accessible: {}", taskFileNameForEvaluation);
+		} else {
+			taskFileNameForEvaluation = taskFilePath;
+		}
+		
+		payload.put("task_file_name", taskFileNameForEvaluation);
 
-			logger.info("Prepared error evaluation request with data from: {}", dataSource);
-			
-			// Debug: Log the complete request payload structure  
-			logger.info("EVALUATION REQUEST PAYLOAD DEBUG:");
-			logger.info("  env: {}", payload.get("env"));
-			logger.info("  model_provider: {}", payload.get("model_provider"));
-			logger.info("  model: {}", payload.get("model"));
-			logger.info("  max_concurrency: {}", payload.get("max_concurrency"));
-			logger.info("  max_num_failed_results: {}", payload.get("max_num_failed_results"));
-			logger.info("  task_file_name: {}", payload.get("task_file_name"));
-			logger.info("  has_task_data: {}", payload.has("task_data"));
-			logger.info("  original_task_file_path: {}", taskFilePath);
+		logger.info("Prepared error evaluation request with data from: {}", dataSource);
+		
+		// Debug: Log the complete request payload structure  
+		logger.info("EVALUATION REQUEST PAYLOAD DEBUG:");
+		logger.info("  env: {}", payload.get("env"));
+		logger.info("  model_provider: {}", payload.get("model_provider"));
+		logger.info("  model: {}", payload.get("model"));
+		logger.info("  max_concurrency: {}", payload.get("max_concurrency"));
+		logger.info("  max_num_failed_results: {}", payload.get("max_num_failed_results"));
+		logger.info("  task_file_name: {}", payload.get("task_file_name"));
+		logger.info("  has_task_data: {}", payload.has("task_data"));
+		logger.info("  original_task_file_path: {}", taskFilePath);
+		
+		if (resultsData != null) {
+			logger.info("  results_data type: {}", resultsData.getNodeType());
+			logger.info("  results_data size: {}", resultsData.isArray() ? resultsData.size() : "not an array");
 			
-			if (resultsData != null) {
-				logger.info("  results_data type: {}", resultsData.getNodeType());
-				logger.info("  results_data size: {}", resultsData.isArray() ? resultsData.size() : "not an array");
-				
-				if (resultsData.isArray() && !resultsData.isEmpty()) {
-					JsonNode firstResult = resultsData.get(0);
-					StringBuilder keys = new StringBuilder();
-					firstResult.fieldNames().forEachRemaining(key -> {
-						if (keys.length() > 0) keys.append(", ");
-						keys.append(key);
-					});
-					logger.info("  first result keys: [{}]", keys.toString());
-					if (firstResult.has("reward")) {
-						logger.info("  first result reward: {}", firstResult.get("reward"));
-					}
-					if (firstResult.has("task_id")) {
-						logger.info("  first result task_id: {}", firstResult.get("task_id"));
-					}
+			if (resultsData.isArray() && !resultsData.isEmpty()) {
+				JsonNode firstResult = resultsData.get(0);
+				StringBuilder keys = new StringBuilder();
+				firstResult.fieldNames().forEachRemaining(key -> {
+					if (keys.length() > 0) keys.append(", ");
+					keys.append(key);
+				});
+				logger.info("  first result keys: [{}]", keys.toString());
+				if (firstResult.has("reward")) {
+					logger.info("  first result reward: {}", firstResult.get("reward"));
+				}
+				if (firstResult.has("task_id")) {
+					logger.info("  first result task_id: {}", firstResult.get("task_id"));
 				}
-			} else {
-				logger.warn("  results_data is null!");
 			}
-			
-			return payload;
-
-		} catch (Exception e) {
-			logger.error("Error preparing error evaluation payload", e);
-			throw new IllegalStateException("Failed to prepare error evaluation payload: " + e.getMessage(), e);
+		} else {
+			logger.warn("  results_data is null!");
 		}
+		
+		return payload;
 	}
 
 	/**
 	 * Handle API response based on endpoint type
 	 */
-	private ApiResponse handleResponse(Endpoint endpoint, ResponseEntity<JsonNode> response, String taskFilePath) {
+	private ApiResponse handleResponse(Endpoint endpoint, TauBenchHttpClient.Response response, String taskFilePath) {
 		try {
-			if (response.getStatusCode() != HttpStatus.OK) {
+			if (response.getStatusCode() != 200) {
 				return new ApiResponse(false, "API request failed with status: " + response.getStatusCode(), null,
 						null);
 			}
@@ -464,7 +605,7 @@ public class ComputeComplexityService {
 				return handleEvaluateResponse(responseData);
 			} else {
 				// For other endpoints (compute_complexity, task_verification)
-				return new ApiResponse(true, "Success", responseData, extractPlotData(responseData));
+				return withStoredPlot(responseData);
 			}
 
 		} catch (Exception e) {
@@ -481,7 +622,7 @@ public class ComputeComplexityService {
 			// Directly store the result.json data in the database
 			if (taskCacheService != null) {
 				// Convert response data to JSON string for database storage
-				String resultJsonString = objectMapper.writeValueAsString(responseData);
+				String resultJsonString = TaskJsonCodec.write(responseData);
 				
 				// Extract taskId from memory path
 				String taskId = null;
@@ -531,7 +672,7 @@ public class ComputeComplexityService {
 				Path resultFilePath = taskDir.resolve("result.json");
 				
 				Files.createDirectories(resultFilePath.getParent());
-				objectMapper.writerWithDefaultPrettyPrinter().writeValue(resultFilePath.toFile(), responseData);
+				Files.writeString(resultFilePath, TaskJsonCodec.write(responseData));
 				
 				logger.info("Response saved to file: {}", resultFilePath);
 				
@@ -738,6 +879,23 @@ public class ComputeComplexityService {
 		}
 	}
 
+	/**
+	 * Successful response whose plot, if any, is moved to the plot store and
+	 * referenced by hash. The plot stays inline if it cannot be stored.
+	 */
+	private ApiResponse withStoredPlot(JsonNode responseData) {
+		String plotBase64 = extractPlotData(responseData);
+		String plotHash = plotStore != null ? plotStore.putBase64(plotBase64) : null;
+		if (plotHash == null) {
+			return new ApiResponse(true, "Success", responseData, plotBase64);
+		}
+		// Copied: with coalescing, the body may be shared with other callers
+		ObjectNode data = ((ObjectNode) responseData).deepCopy();
+		data.remove("plot_base64");
+		data.put("plot_hash", plotHash);
+		return new ApiResponse(true, "Success", data, null, plotHash);
+	}
+
 	/**
 	 * Extract plot data from response if available
 	 */
@@ -812,12 +970,21 @@ public class ComputeComplexityService {
 		private final String message;
 		private final JsonNode data;
 		private final String plotBase64;
+		private final String plotHash;
 
 		public ApiResponse(boolean success, String message, JsonNode data, String plotBase64) {
+			this(success, message, data, plotBase64, null);
+		}
+
+		/**
+		 * @param plotHash hash of a plot held in the {@link PlotStore}
+		 */
+		public ApiResponse(boolean success, String message, JsonNode data, String plotBase64, String plotHash) {
 			this.success = success;
 			this.message = message;
 			this.data = data;
 			this.plotBase64 = plotBase64;
+			this.plotHash = plotHash;
 		}
 
 		public boolean isSuccess() {
@@ -836,8 +1003,16 @@ public class ComputeComplexityService {
 			return plotBase64;
 		}
 
+		public String getPlotHash() {
+			return plotHash;
+		}
+
+		public String getPlotUrl() {
+			return PlotStore.urlFor(plotHash);
+		}
+
 		public boolean hasPlot() {
-			return plotBase64 != null && !plotBase64.isEmpty();
+			return plotHash != null || (plotBase64 != null && !plotBase64.isEmpty());
 		}
 	}
 
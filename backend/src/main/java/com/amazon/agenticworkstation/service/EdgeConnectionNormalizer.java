@@ -0,0 +1,72 @@
+package com.amazon.agenticworkstation.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.amazon.agenticworkstation.dto.TaskDto;
+
+/**
+ * Normalizes edge maps as they enter the task cache. Clients and older task
+ * files sometimes carry the edge connection as a JSON-encoded string instead of
+ * an object; converting it once at ingest keeps the cache typed so aggregated
+ * output never needs to be rewritten afterwards.
+ */
+public final class EdgeConnectionNormalizer {
+
+	private static final Logger logger = LoggerFactory.getLogger(EdgeConnectionNormalizer.class);
+
+	private EdgeConnectionNormalizer() {
+	}
+
+	/**
+	 * Copy a list of raw edge maps, normalizing each connection field
+	 */
+	public static List<Map<String, Object>> normalizeEdges(List<? extends Map<?, ?>> edges) {
+		List<Map<String, Object>> normalized = new ArrayList<>();
+		if (edges == null) {
+			return normalized;
+		}
+		for (Map<?, ?> edge : edges) {
+			if (edge != null) {
+				normalized.add(normalizeEdge(edge));
+			}
+		}
+		return normalized;
+	}
+
+	/**
+	 * Copy a single raw edge map, replacing a string-encoded connection with its
+	 * object form
+	 */
+	public static Map<String, Object> normalizeEdge(Map<?, ?> edge) {
+		Map<String, Object> normalized = new LinkedHashMap<>();
+		edge.forEach((key, value) -> normalized.put(String.valueOf(key), value));
+
+		Object connection = normalized.get("connection");
+		if (connection instanceof String connStr && connStr.trim().startsWith("{")) {
+			try {
+				TaskDto.ConnectionDto dto = TaskDto.ConnectionDto.fromJson(connStr);
+				normalized.put("connection", toMap(dto));
+			} catch (IllegalArgumentException e) {
+				// Leave unparseable values untouched rather than dropping user data
+				logger.warn("Failed to parse connection string: {}", connStr);
+			}
+		}
+		return normalized;
+	}
+
+	/**
+	 * Object form of a connection as stored in the cache
+	 */
+	public static Map<String, Object> toMap(TaskDto.ConnectionDto connection) {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("output", connection.getOutput());
+		map.put("input", connection.getInput());
+		return map;
+	}
+}
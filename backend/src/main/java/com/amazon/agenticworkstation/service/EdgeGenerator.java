@@ -10,8 +10,6 @@ import java.util.Map;
 
 import com.amazon.agenticworkstation.constants.EdgeGeneratorUtility;
 import com.amazon.agenticworkstation.dto.TaskDto;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
 
 /**
  * Clean and simplified edge generator that creates connections between actions
@@ -26,8 +24,6 @@ import com.fasterxml.jackson.databind.SerializationFeature;
  */
 public final class EdgeGenerator {
 
-	private static final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
-
 	private EdgeGenerator() {
 	}
 
@@ -354,7 +350,7 @@ public final class EdgeGenerator {
 				return new ArrayList<>();
 			}
 			String content = Files.readString(taskJsonPath);
-			TaskDto dto = mapper.readValue(content, TaskDto.class);
+			TaskDto dto = TaskJsonCodec.readTask(content);
 			if (dto == null || dto.getTask() == null) {
 				return new ArrayList<>();
 			}
@@ -392,7 +388,7 @@ public final class EdgeGenerator {
 				return new ArrayList<>();
 			}
 			String content = Files.readString(taskJsonPath);
-			TaskDto dto = mapper.readValue(content, TaskDto.class);
+			TaskDto dto = TaskJsonCodec.readTask(content);
 			if (dto == null || dto.getTask() == null) {
 				return new ArrayList<>();
 			}
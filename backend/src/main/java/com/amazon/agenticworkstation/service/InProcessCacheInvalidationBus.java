@@ -0,0 +1,40 @@
+package com.amazon.agenticworkstation.service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invalidation bus that delivers events synchronously inside the JVM. Used for
+ * single-instance deployments and for wiring several cache instances together
+ * in tests.
+ */
+@Component
+@ConditionalOnProperty(name = "task-cache.invalidation.bus", havingValue = "in-process", matchIfMissing = true)
+public class InProcessCacheInvalidationBus implements CacheInvalidationBus {
+
+	private static final Logger logger = LoggerFactory.getLogger(InProcessCacheInvalidationBus.class);
+
+	private final List<Consumer<CacheInvalidationEvent>> listeners = new CopyOnWriteArrayList<>();
+
+	@Override
+	public void publish(CacheInvalidationEvent event) {
+		for (Consumer<CacheInvalidationEvent> listener : listeners) {
+			try {
+				listener.accept(event);
+			} catch (Exception e) {
+				logger.warn("Cache invalidation listener failed for {}: {}", event, e.getMessage());
+			}
+		}
+	}
+
+	@Override
+	public void subscribe(Consumer<CacheInvalidationEvent> listener) {
+		listeners.add(listener);
+	}
+}
@@ -0,0 +1,369 @@
+package com.amazon.agenticworkstation.service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Long-lived {@code run_notebook.py --worker} processes for validation. Each
+ * worker keeps its interpreter and notebook kernel running and takes one job
+ * at a time over a line-delimited JSON protocol on stdin/stdout.
+ * <p>
+ * Workers are started on first use, up to {@code size}. A worker is replaced
+ * after {@code max-jobs} jobs, when a job fails at the protocol level or times
+ * out, when it reports that its kernel died during a job, and when an idle
+ * worker does not answer a ping within {@code health-check-timeout-ms}. If a worker cannot be started (no
+ * Python, missing packages) the pool steps aside for a while and callers fall
+ * back to one-off processes.
+ */
+@Component
+public class NotebookWorkerPool {
+
+	private static final Logger logger = LoggerFactory.getLogger(NotebookWorkerPool.class);
+
+	private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+	};
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${tau.bench.validation.python:python}")
+	private String python;
+
+	@Value("${tau.bench.validation.workers.enabled:true}")
+	private boolean enabled;
+
+	@Value("${tau.bench.validation.workers.size:2}")
+	private int size;
+
+	@Value("${tau.bench.validation.workers.max-jobs:50}")
+	private int maxJobs;
+
+	@Value("${tau.bench.validation.workers.startup-timeout-ms:60000}")
+	private long startupTimeoutMs;
+
+	@Value("${tau.bench.validation.workers.job-timeout-ms:600000}")
+	private long jobTimeoutMs;
+
+	@Value("${tau.bench.validation.workers.health-check-interval-ms:30000}")
+	private long healthCheckIntervalMs;
+
+	@Value("${tau.bench.validation.workers.health-check-timeout-ms:5000}")
+	private long healthCheckTimeoutMs;
+
+	private final ObjectMapper mapper = new ObjectMapper();
+	private final BlockingQueue<Worker> idle = new LinkedBlockingQueue<>();
+	private final AtomicInteger live = new AtomicInteger();
+	private final AtomicLong requestIds = new AtomicLong();
+	private final AtomicBoolean closed = new AtomicBoolean();
+	// After a failed start, skip the pool until then instead of paying for
+	// another failed start on every validation
+	private volatile long nextStartAttemptMs;
+
+	// One permit per worker slot, busy or idle
+	private Semaphore slots;
+	private ScheduledThreadPoolExecutor watchdog;
+
+	private Counter jobs;
+	private Counter recycled;
+	private Counter startFailures;
+
+	@PostConstruct
+	public void init() {
+		slots = new Semaphore(Math.max(1, size), true);
+		AtomicInteger counter = new AtomicInteger();
+		watchdog = new ScheduledThreadPoolExecutor(1, runnable -> {
+			Thread thread = new Thread(runnable, "notebook-worker-watchdog-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		watchdog.setRemoveOnCancelPolicy(true);
+		if (enabled && healthCheckIntervalMs > 0) {
+			watchdog.scheduleWithFixedDelay(this::checkIdleWorkers, healthCheckIntervalMs, healthCheckIntervalMs,
+					TimeUnit.MILLISECONDS);
+		}
+
+		jobs = Counter.builder("notebook.workers.jobs").description("Validation jobs run on pooled workers")
+				.register(meterRegistry);
+		recycled = Counter.builder("notebook.workers.recycled").description("Workers stopped and replaced")
+				.register(meterRegistry);
+		startFailures = Counter.builder("notebook.workers.start.failures")
+				.description("Workers that did not come up").register(meterRegistry);
+		Gauge.builder("notebook.workers.live", live, AtomicInteger::get).description("Running worker processes")
+				.register(meterRegistry);
+		Gauge.builder("notebook.workers.idle", idle, BlockingQueue::size).description("Workers waiting for a job")
+				.register(meterRegistry);
+	}
+
+	public boolean isEnabled() {
+		return enabled && !closed.get();
+	}
+
+	/**
+	 * Run one validation step on a pooled worker, waiting for a free worker if
+	 * all are busy.
+	 *
+	 * @return the notebook result, the same map {@code --json-output} prints, or
+	 *         null when no worker could be started (the caller should fall back
+	 *         to a one-off process)
+	 * @throws IOException if the worker died or timed out during the job
+	 */
+	public Map<String, Object> execute(String scriptPath, String notebookPath, String taskPath, String step,
+			Path outputNotebook, Path workdir) throws IOException, InterruptedException {
+		slots.acquire();
+		Worker worker = null;
+		boolean healthy = false;
+		try {
+			worker = idle.poll();
+			if (worker == null) {
+				worker = start(scriptPath, workdir);
+				if (worker == null) {
+					return null;
+				}
+			}
+			ObjectNode request = mapper.createObjectNode();
+			request.put("op", "run");
+			request.put("notebook_path", notebookPath);
+			request.put("task_path", taskPath);
+			request.put("step", step);
+			request.put("output", outputNotebook.toString());
+			request.put("workdir", workdir.toAbsolutePath().toString());
+			JsonNode reply = worker.call(request, jobTimeoutMs);
+			jobs.increment();
+			if (!reply.has("result")) {
+				throw new IOException("Notebook worker error: " + reply.path("error").asText("no result"));
+			}
+			// The job's own errors are in the result; a dead kernel would fail every later job too
+			healthy = reply.path("kernel_alive").asBoolean(true);
+			if (!healthy) {
+				logger.warn("Notebook worker {} lost its kernel during a {} job, replacing it", worker.pid(), step);
+			}
+			return mapper.convertValue(reply.get("result"), MAP_TYPE);
+		} finally {
+			release(worker, healthy);
+		}
+	}
+
+	private void release(Worker worker, boolean healthy) {
+		try {
+			if (worker != null) {
+				if (healthy && worker.jobs < maxJobs && !closed.get()) {
+					idle.offer(worker);
+				} else {
+					logger.debug("Recycling notebook worker {} after {} jobs (healthy={})", worker.pid(), worker.jobs,
+							healthy);
+					stop(worker);
+				}
+			}
+		} finally {
+			slots.release();
+		}
+	}
+
+	private Worker start(String scriptPath, Path workdir) {
+		if (System.currentTimeMillis() < nextStartAttemptMs) {
+			return null;
+		}
+		ProcessBuilder builder = new ProcessBuilder(python, scriptPath, "--worker");
+		builder.directory(workdir.toFile());
+		Worker worker;
+		try {
+			worker = new Worker(builder.start());
+		} catch (IOException e) {
+			startFailed();
+			logger.warn("Could not start notebook worker: {}", e.getMessage());
+			return null;
+		}
+		live.incrementAndGet();
+		try {
+			JsonNode ready = worker.read(null, startupTimeoutMs);
+			if (!"ready".equals(ready.path("op").asText())) {
+				throw new IOException("unexpected first line " + ready);
+			}
+			logger.info("Started notebook worker {}", worker.pid());
+			return worker;
+		} catch (IOException e) {
+			startFailed();
+			logger.warn("Notebook worker {} did not start: {}", worker.pid(), e.getMessage());
+			stop(worker);
+			return null;
+		}
+	}
+
+	private void startFailed() {
+		startFailures.increment();
+		nextStartAttemptMs = System.currentTimeMillis() + startupTimeoutMs;
+	}
+
+	/**
+	 * Ping each worker that is idle right now; busy workers are skipped rather
+	 * than waited for
+	 */
+	void checkIdleWorkers() {
+		int toCheck = idle.size();
+		for (int i = 0; i < toCheck && slots.tryAcquire(); i++) {
+			Worker worker = idle.poll();
+			boolean healthy = false;
+			try {
+				if (worker == null) {
+					return;
+				}
+				ObjectNode ping = mapper.createObjectNode();
+				ping.put("op", "ping");
+				healthy = worker.process.isAlive()
+						&& "pong".equals(worker.call(ping, healthCheckTimeoutMs).path("op").asText());
+			} catch (IOException e) {
+				logger.warn("Notebook worker {} failed its health check: {}", worker.pid(), e.getMessage());
+			} catch (RuntimeException e) {
+				logger.warn("Notebook worker health check failed", e);
+			} finally {
+				if (worker != null) {
+					// Pings do not count towards max-jobs
+					worker.jobs--;
+				}
+				release(worker, healthy);
+			}
+		}
+	}
+
+	private void stop(Worker worker) {
+		recycled.increment();
+		live.decrementAndGet();
+		try {
+			// Closing stdin ends the worker loop, which shuts its kernel down
+			worker.stdin.close();
+		} catch (IOException ignored) {
+		}
+		try {
+			if (!worker.process.waitFor(5, TimeUnit.SECONDS)) {
+				worker.process.destroyForcibly();
+			}
+		} catch (InterruptedException e) {
+			worker.process.destroyForcibly();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		closed.set(true);
+		watchdog.shutdownNow();
+		Worker worker;
+		while ((worker = idle.poll()) != null) {
+			stop(worker);
+		}
+	}
+
+	/**
+	 * One worker process; used by a single thread at a time
+	 */
+	private final class Worker {
+		private final Process process;
+		private final BufferedWriter stdin;
+		private final BufferedReader stdout;
+		private int jobs;
+
+		Worker(Process process) {
+			this.process = process;
+			this.stdin = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+			this.stdout = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+			Thread stderr = new Thread(this::drainStderr, "notebook-worker-stderr-" + process.pid());
+			stderr.setDaemon(true);
+			stderr.start();
+		}
+
+		long pid() {
+			return process.pid();
+		}
+
+		JsonNode call(ObjectNode request, long timeoutMs) throws IOException {
+			jobs++;
+			long id = requestIds.incrementAndGet();
+			request.put("id", id);
+			stdin.write(mapper.writeValueAsString(request));
+			stdin.newLine();
+			stdin.flush();
+			return read(id, timeoutMs);
+		}
+
+		/**
+		 * Next protocol line answering {@code id} (any line when id is null).
+		 * The process is killed on timeout, which unblocks the read.
+		 */
+		JsonNode read(Long id, long timeoutMs) throws IOException {
+			AtomicBoolean timedOut = new AtomicBoolean();
+			ScheduledFuture<?> timer = watchdog.schedule(() -> {
+				timedOut.set(true);
+				process.destroyForcibly();
+			}, timeoutMs, TimeUnit.MILLISECONDS);
+			try {
+				String line;
+				while ((line = stdout.readLine()) != null) {
+					JsonNode message;
+					try {
+						message = mapper.readTree(line);
+					} catch (IOException e) {
+						logger.debug("Notebook worker {} wrote a non-protocol line: {}", pid(), line);
+						continue;
+					}
+					if (id == null || message.path("id").asLong(-1) == id) {
+						return message;
+					}
+				}
+				throw new IOException(timedOut.get() ? "Notebook worker timed out after " + timeoutMs + " ms"
+						: "Notebook worker exited");
+			} catch (IOException e) {
+				if (timedOut.get()) {
+					throw new IOException("Notebook worker timed out after " + timeoutMs + " ms", e);
+				}
+				throw e;
+			} finally {
+				timer.cancel(false);
+			}
+		}
+
+		private void drainStderr() {
+			try (BufferedReader reader = new BufferedReader(
+					new InputStreamReader(process.getErrorStream(), StandardCharsets.UTF_8))) {
+				String line;
+				while ((line = reader.readLine()) != null) {
+					logger.debug("Notebook worker {}: {}", process.pid(), line);
+				}
+			} catch (IOException ignored) {
+				// Process ended
+			}
+		}
+	}
+}
@@ -0,0 +1,217 @@
+package com.amazon.agenticworkstation.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.amazon.agenticworkstation.entity.PlotBlobEntity;
+import com.amazon.agenticworkstation.repository.PlotBlobRepository;
+
+/**
+ * Content-addressed plot images. A plot is stored once under the SHA-256 of
+ * its bytes and results carry only the hash; clients fetch the image from
+ * {@code /api/plots/{hash}}, which never changes for a given hash.
+ * <p>
+ * Responses still include the image inline as plotBase64 while
+ * tau.bench.plots.inline-base64 is on, for clients that have not moved to
+ * plotUrl. The encoded form of recent plots is kept in a small in-memory
+ * cache so inlining does not read plot_blob back on every response.
+ * <p>
+ * Plots that no job or cached response references any more are deleted once
+ * they have not been stored or handed out for the retention period.
+ */
+@Service
+public class PlotStore {
+
+	private static final Logger logger = LoggerFactory.getLogger(PlotStore.class);
+
+	private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+	private static final String URL_PREFIX = "/api/plots/";
+
+	@Autowired
+	private PlotBlobRepository repository;
+
+	@Value("${tau.bench.plots.inline-base64:true}")
+	private boolean inlineBase64;
+
+	@Value("${tau.bench.plots.inline-cache-bytes:16777216}")
+	private long inlineCacheBytes;
+
+	@Value("${tau.bench.plots.retention-ms:604800000}")
+	private long retentionMs;
+
+	// Base64 of recently stored or inlined plots, least recently used first; guarded by itself
+	private final LinkedHashMap<String, String> encoded = new LinkedHashMap<>(16, 0.75f, true);
+	private long encodedChars;
+
+	/**
+	 * Store an image and return its hash, or null if it could not be stored
+	 */
+	public String put(byte[] content) {
+		return put(content, null);
+	}
+
+	private String put(byte[] content, String base64) {
+		if (content == null || content.length == 0) {
+			return null;
+		}
+		String hash = sha256(content);
+		try {
+			// Storing an existing plot hands its hash out again, so restart its retention
+			if (repository.touch(hash, LocalDateTime.now()) == 0) {
+				repository.save(new PlotBlobEntity(hash, contentTypeOf(content), content));
+			}
+			if (inlineBase64) {
+				remember(hash, base64 != null ? base64 : Base64.getEncoder().encodeToString(content));
+			}
+			return hash;
+		} catch (DataIntegrityViolationException e) {
+			// Stored concurrently by another request; same hash, same bytes
+			return hash;
+		} catch (Exception e) {
+			logger.warn("Could not store plot {}: {}", hash, e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Store a base64 image (optionally a data: URI); null if it is not valid
+	 * base64 or could not be stored
+	 */
+	public String putBase64(String base64) {
+		if (base64 == null || base64.isBlank()) {
+			return null;
+		}
+		String payload = base64.startsWith("data:") ? base64.substring(base64.indexOf(',') + 1) : base64;
+		try {
+			byte[] content = Base64.getMimeDecoder().decode(payload.getBytes(StandardCharsets.US_ASCII));
+			// The caller's encoding can be inlined as is unless it is wrapped
+			return put(content, payload.indexOf('\n') < 0 && payload.indexOf('\r') < 0 ? payload : null);
+		} catch (IllegalArgumentException e) {
+			logger.warn("Plot is not valid base64, keeping it inline: {}", e.getMessage());
+			return null;
+		}
+	}
+
+	public Optional<PlotBlobEntity> find(String hash) {
+		if (hash == null || !HASH.matcher(hash).matches()) {
+			return Optional.empty();
+		}
+		return repository.findById(hash);
+	}
+
+	/**
+	 * The stored image as base64 for responses that still carry it inline;
+	 * null when inlining is off or the plot is unknown
+	 */
+	public String inlineBase64(String hash) {
+		if (!inlineBase64 || hash == null) {
+			return null;
+		}
+		synchronized (encoded) {
+			String cached = encoded.get(hash);
+			if (cached != null) {
+				return cached;
+			}
+		}
+		String base64 = find(hash).map(plot -> Base64.getEncoder().encodeToString(plot.getData())).orElse(null);
+		if (base64 != null) {
+			remember(hash, base64);
+		}
+		return base64;
+	}
+
+	private void remember(String hash, String base64) {
+		if (base64.length() > inlineCacheBytes) {
+			return;
+		}
+		synchronized (encoded) {
+			String previous = encoded.put(hash, base64);
+			encodedChars += base64.length() - (previous != null ? previous.length() : 0);
+			Iterator<Map.Entry<String, String>> eldest = encoded.entrySet().iterator();
+			while (encodedChars > inlineCacheBytes && eldest.hasNext()) {
+				encodedChars -= eldest.next().getValue().length();
+				eldest.remove();
+			}
+		}
+	}
+
+	/**
+	 * Delete plots unused for the retention period that no job or cached
+	 * response refers to. Every put marks the plot used, so a hash handed out
+	 * in a response stays fetchable for at least retention-ms after that
+	 * response.
+	 */
+	@Scheduled(fixedDelayString = "${tau.bench.plots.gc-interval-ms:3600000}", initialDelayString = "${tau.bench.plots.gc-interval-ms:3600000}")
+	public void collectUnreferenced() {
+		try {
+			int deleted = repository.deleteUnreferencedBefore(LocalDateTime.now().minusNanos(retentionMs * 1_000_000L));
+			if (deleted > 0) {
+				logger.info("Deleted {} unreferenced plots unused for {} ms", deleted, retentionMs);
+				synchronized (encoded) {
+					encoded.clear();
+					encodedChars = 0;
+				}
+			}
+		} catch (Exception e) {
+			logger.warn("Plot cleanup failed: {}", e.getMessage());
+		}
+	}
+
+	public static String urlFor(String hash) {
+		return hash != null ? URL_PREFIX + hash : null;
+	}
+
+	static String contentTypeOf(byte[] content) {
+		if (startsWith(content, 0x89, 'P', 'N', 'G')) {
+			return "image/png";
+		}
+		if (startsWith(content, 0xFF, 0xD8, 0xFF)) {
+			return "image/jpeg";
+		}
+		if (startsWith(content, 'G', 'I', 'F', '8')) {
+			return "image/gif";
+		}
+		String head = new String(content, 0, Math.min(content.length, 256), StandardCharsets.UTF_8).trim();
+		if (head.startsWith("<svg") || (head.startsWith("<?xml") && head.contains("<svg"))) {
+			return "image/svg+xml";
+		}
+		return "application/octet-stream";
+	}
+
+	private static boolean startsWith(byte[] content, int... prefix) {
+		if (content.length < prefix.length) {
+			return false;
+		}
+		for (int i = 0; i < prefix.length; i++) {
+			if ((content[i] & 0xFF) != prefix[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static String sha256(byte[] content) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+}
@@ -0,0 +1,179 @@
+package com.amazon.agenticworkstation.service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Invalidation bus backed by Postgres LISTEN/NOTIFY, so replicas sharing the
+ * database see each other's writes. LISTEN runs on its own connection, opened
+ * outside the application's pool so it neither takes a pool slot for good nor
+ * trips leak detection. It must be a session-level connection (a
+ * transaction-mode pooler such as PgBouncer in transaction mode does not
+ * deliver notifications), so listen-url can point it at a different endpoint
+ * than the pool. Notifications sent while that connection is down are lost,
+ * so subscribers are asked to resync after every reconnect.
+ */
+@Component
+@ConditionalOnProperty(name = "task-cache.invalidation.bus", havingValue = "postgres")
+public class PostgresCacheInvalidationBus implements CacheInvalidationBus {
+
+	private static final Logger logger = LoggerFactory.getLogger(PostgresCacheInvalidationBus.class);
+	private static final long RECONNECT_DELAY_MS = 5000;
+
+	private final ObjectMapper mapper = new ObjectMapper();
+	private final List<Consumer<CacheInvalidationEvent>> listeners = new CopyOnWriteArrayList<>();
+	private final List<Runnable> resyncListeners = new CopyOnWriteArrayList<>();
+	private final DataSourceProperties dataSourceProperties;
+	private final JdbcTemplate jdbcTemplate;
+
+	@Value("${task-cache.invalidation.channel:task_cache_invalidation}")
+	private String channel;
+
+	// JDBC URL for the LISTEN connection; defaults to spring.datasource.url
+	@Value("${task-cache.invalidation.listen-url:}")
+	private String listenUrl;
+
+	@Value("${task-cache.invalidation.poll-timeout-ms:5000}")
+	private int pollTimeoutMs;
+
+	private volatile boolean running;
+	private Thread listenerThread;
+
+	public PostgresCacheInvalidationBus(DataSourceProperties dataSourceProperties, JdbcTemplate jdbcTemplate) {
+		this.dataSourceProperties = dataSourceProperties;
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	@PostConstruct
+	public void start() {
+		if (!channel.matches("[a-z_][a-z0-9_]*")) {
+			throw new IllegalStateException("Invalid task cache invalidation channel name: " + channel);
+		}
+		running = true;
+		listenerThread = new Thread(this::listenLoop, "task-cache-invalidation-listener");
+		listenerThread.setDaemon(true);
+		listenerThread.start();
+		logger.info("Listening for task cache invalidations on channel '{}'", channel);
+	}
+
+	@PreDestroy
+	public void stop() {
+		running = false;
+		if (listenerThread != null) {
+			listenerThread.interrupt();
+		}
+	}
+
+	@Override
+	public void publish(CacheInvalidationEvent event) {
+		try {
+			String payload = mapper.writeValueAsString(event);
+			jdbcTemplate.execute("SELECT pg_notify(?, ?)", (PreparedStatementCallback<Boolean>) ps -> {
+				ps.setString(1, channel);
+				ps.setString(2, payload);
+				return ps.execute();
+			});
+		} catch (Exception e) {
+			// Other replicas fall back to their TTL; never fail the write itself
+			logger.warn("Failed to publish task cache invalidation {}: {}", event, e.getMessage());
+		}
+	}
+
+	@Override
+	public void subscribe(Consumer<CacheInvalidationEvent> listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public void subscribeResync(Runnable listener) {
+		resyncListeners.add(listener);
+	}
+
+	private Connection openListenConnection() throws SQLException {
+		String url = listenUrl != null && !listenUrl.isBlank() ? listenUrl : dataSourceProperties.determineUrl();
+		return DriverManager.getConnection(url, dataSourceProperties.determineUsername(),
+				dataSourceProperties.determinePassword());
+	}
+
+	private void listenLoop() {
+		boolean reconnecting = false;
+		while (running) {
+			try (Connection connection = openListenConnection()) {
+				connection.setAutoCommit(true);
+				try (Statement statement = connection.createStatement()) {
+					statement.execute("LISTEN " + channel);
+				}
+				if (reconnecting) {
+					// Anything published while we were away is gone; now that LISTEN is
+					// active again, let subscribers catch up
+					resync();
+				}
+				reconnecting = true;
+				PGConnection pgConnection = connection.unwrap(PGConnection.class);
+				while (running) {
+					PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+					if (notifications != null) {
+						for (PGNotification notification : notifications) {
+							dispatch(notification.getParameter());
+						}
+					}
+				}
+			} catch (SQLException e) {
+				if (!running) {
+					return;
+				}
+				logger.warn("Task cache invalidation listener lost its connection: {}. Reconnecting in {} ms",
+						e.getMessage(), RECONNECT_DELAY_MS);
+				try {
+					Thread.sleep(RECONNECT_DELAY_MS);
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+
+	private void resync() {
+		logger.info("Task cache invalidation listener reconnected, resyncing subscribers");
+		for (Runnable listener : resyncListeners) {
+			try {
+				listener.run();
+			} catch (Exception e) {
+				logger.warn("Task cache invalidation resync failed: {}", e.getMessage());
+			}
+		}
+	}
+
+	private void dispatch(String payload) {
+		try {
+			CacheInvalidationEvent event = mapper.readValue(payload, CacheInvalidationEvent.class);
+			for (Consumer<CacheInvalidationEvent> listener : listeners) {
+				listener.accept(event);
+			}
+		} catch (Exception e) {
+			logger.warn("Ignoring malformed task cache invalidation '{}': {}", payload, e.getMessage());
+		}
+	}
+}
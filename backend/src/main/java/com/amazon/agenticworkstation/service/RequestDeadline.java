@@ -0,0 +1,37 @@
+package com.amazon.agenticworkstation.service;
+
+/**
+ * Deadline of the HTTP request being served, as an epoch-millisecond instant.
+ * Set by the request filter from the X-Request-Deadline (absolute) or
+ * X-Request-Timeout-Ms (relative) header and read on the request thread by
+ * code that makes outbound calls, so they never outlive their caller.
+ */
+public final class RequestDeadline {
+
+	public static final String DEADLINE_HEADER = "X-Request-Deadline";
+	public static final String TIMEOUT_HEADER = "X-Request-Timeout-Ms";
+
+	private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+	private RequestDeadline() {
+	}
+
+	public static void set(Long deadlineEpochMs) {
+		if (deadlineEpochMs == null) {
+			CURRENT.remove();
+		} else {
+			CURRENT.set(deadlineEpochMs);
+		}
+	}
+
+	public static void clear() {
+		CURRENT.remove();
+	}
+
+	/**
+	 * Deadline of the current request, or null when it has none
+	 */
+	public static Long current() {
+		return CURRENT.get();
+	}
+}
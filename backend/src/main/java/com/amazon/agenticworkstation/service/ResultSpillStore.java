@@ -0,0 +1,237 @@
+package com.amazon.agenticworkstation.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.UUID;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+/**
+ * Disk tier for large result payloads held by {@link TaskCacheService}.
+ * Results over the threshold (trajectories, base64 plots) are written as Smile
+ * files and the cache entry keeps only a {@link SpilledResult} handle; reads
+ * memory-map the file and decode a fresh map each time. Spill files only live
+ * as long as the process. Each instance writes to its own subdirectory of the
+ * configured directory, which it holds a file lock on and removes at
+ * shutdown; at startup, subdirectories whose lock is free belong to instances
+ * that are gone and are removed.
+ */
+@Component
+public class ResultSpillStore {
+
+	private static final Logger logger = LoggerFactory.getLogger(ResultSpillStore.class);
+	private static final String INSTANCE_PREFIX = "instance-";
+	private static final String LOCK_FILE = ".lock";
+	private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+	};
+
+	private final ObjectMapper smileMapper = new SmileMapper();
+
+	@Value("${task-cache.spill.enabled:true}")
+	private boolean enabled;
+
+	@Value("${task-cache.spill.threshold-bytes:262144}")
+	private long thresholdBytes;
+
+	@Value("${task-cache.spill.dir:${java.io.tmpdir}/task-cache-spill}")
+	private String spillDir;
+
+	private Path directory;
+	// Held for the life of the process to mark the directory as in use
+	private FileChannel lockChannel;
+	private FileLock lock;
+
+	/**
+	 * Handle to a spilled result file
+	 */
+	public static final class SpilledResult {
+		private final Path file;
+		private final long bytes;
+
+		SpilledResult(Path file, long bytes) {
+			this.file = file;
+			this.bytes = bytes;
+		}
+
+		public long getBytes() {
+			return bytes;
+		}
+	}
+
+	@PostConstruct
+	void init() {
+		if (!enabled) {
+			return;
+		}
+		try {
+			Path root = Files.createDirectories(Path.of(spillDir));
+			int removed = removeAbandoned(root);
+			if (removed > 0) {
+				logger.info("Removed {} leftover result spill directories from {}", removed, root);
+			}
+			directory = Files.createDirectories(
+					root.resolve(INSTANCE_PREFIX + ProcessHandle.current().pid() + "-" + UUID.randomUUID()));
+			lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+					StandardOpenOption.WRITE);
+			lock = lockChannel.tryLock();
+			logger.info("Spilling large results to {}", directory);
+		} catch (IOException e) {
+			logger.warn("Result spilling disabled, cannot use directory {}: {}", spillDir, e.getMessage());
+			directory = null;
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		if (directory != null) {
+			releaseLock();
+			removeDirectory(directory);
+		}
+	}
+
+	/**
+	 * Write the result to disk if its estimated size is over the threshold
+	 * 
+	 * @return the handle, or null if the result should stay on heap
+	 */
+	public SpilledResult spill(Map<String, Object> data) {
+		if (directory == null || data == null || TaskCacheMetrics.estimateBytes(data) < thresholdBytes) {
+			return null;
+		}
+		Path file = directory.resolve(UUID.randomUUID() + ".smile");
+		try (OutputStream out = Files.newOutputStream(file)) {
+			smileMapper.writeValue(out, data);
+		} catch (IOException e) {
+			logger.warn("Failed to spill result to {}, keeping it on heap: {}", file, e.getMessage());
+			deleteQuietly(file);
+			return null;
+		}
+		try {
+			return new SpilledResult(file, Files.size(file));
+		} catch (IOException e) {
+			return new SpilledResult(file, 0);
+		}
+	}
+
+	/**
+	 * Decode a spilled result into a new map
+	 * 
+	 * @return the result, or null if the file can no longer be read
+	 */
+	public Map<String, Object> read(SpilledResult spilled) {
+		try (FileChannel channel = FileChannel.open(spilled.file, StandardOpenOption.READ)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			try (InputStream in = new ByteBufferBackedInputStream(buffer)) {
+				return smileMapper.readValue(in, MAP_TYPE);
+			}
+		} catch (IOException e) {
+			logger.warn("Failed to read spilled result {}: {}", spilled.file, e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Remove a spilled result's file
+	 */
+	public void delete(SpilledResult spilled) {
+		if (spilled != null) {
+			deleteQuietly(spilled.file);
+		}
+	}
+
+	/**
+	 * Remove instance directories whose owner no longer holds the lock, and
+	 * spill files left directly in the root by older versions
+	 */
+	private int removeAbandoned(Path root) {
+		int removed = 0;
+		try (DirectoryStream<Path> entries = Files.newDirectoryStream(root)) {
+			for (Path entry : entries) {
+				String name = entry.getFileName().toString();
+				if (name.endsWith(".smile")) {
+					deleteQuietly(entry);
+				} else if (name.startsWith(INSTANCE_PREFIX) && Files.isDirectory(entry) && isAbandoned(entry)) {
+					removeDirectory(entry);
+					removed++;
+				}
+			}
+		} catch (IOException e) {
+			logger.warn("Failed to clean result spill directory {}: {}", root, e.getMessage());
+		}
+		return removed;
+	}
+
+	private static boolean isAbandoned(Path instanceDirectory) {
+		Path lockFile = instanceDirectory.resolve(LOCK_FILE);
+		if (!Files.exists(lockFile)) {
+			// Owner removed its lock on shutdown, or crashed while starting up
+			return true;
+		}
+		try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.WRITE)) {
+			FileLock probe = channel.tryLock();
+			if (probe == null) {
+				return false;
+			}
+			probe.release();
+			return true;
+		} catch (OverlappingFileLockException e) {
+			return false; // held by this JVM
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	private void releaseLock() {
+		try {
+			if (lock != null) {
+				lock.release();
+			}
+			if (lockChannel != null) {
+				lockChannel.close();
+			}
+		} catch (IOException e) {
+			logger.debug("Failed to release spill directory lock: {}", e.getMessage());
+		}
+	}
+
+	private static void removeDirectory(Path dir) {
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+			for (Path file : files) {
+				deleteQuietly(file);
+			}
+		} catch (IOException e) {
+			logger.warn("Failed to clean result spill directory {}: {}", dir, e.getMessage());
+		}
+		deleteQuietly(dir);
+	}
+
+	private static boolean deleteQuietly(Path file) {
+		try {
+			return Files.deleteIfExists(file);
+		} catch (IOException e) {
+			logger.warn("Failed to delete result spill file {}: {}", file, e.getMessage());
+			return false;
+		}
+	}
+}
@@ -0,0 +1,57 @@
+package com.amazon.agenticworkstation.service;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Published by {@link TaskCacheService} whenever a cached task changes: an
+ * edit, undo/redo, a new result, or a refresh after another node's write.
+ * Carries the new version and a small delta, never the whole task.
+ */
+public class TaskCacheChangedEvent {
+
+	public static final String UPDATE = "update";
+	public static final String UNDO = "undo";
+	public static final String REDO = "redo";
+	public static final String RESULT = "result";
+	public static final String REFRESH = "refresh";
+
+	private final String userId;
+	private final String taskId;
+	private final long version;
+	private final String kind;
+	private final Map<String, Object> delta;
+	private final long timestamp = System.currentTimeMillis();
+
+	public TaskCacheChangedEvent(String userId, String taskId, long version, String kind, Map<String, Object> delta) {
+		this.userId = userId;
+		this.taskId = taskId;
+		this.version = version;
+		this.kind = kind;
+		this.delta = delta != null ? Collections.unmodifiableMap(delta) : Collections.emptyMap();
+	}
+
+	public String getUserId() {
+		return userId;
+	}
+
+	public String getTaskId() {
+		return taskId;
+	}
+
+	public long getVersion() {
+		return version;
+	}
+
+	public String getKind() {
+		return kind;
+	}
+
+	public Map<String, Object> getDelta() {
+		return delta;
+	}
+
+	public long getTimestamp() {
+		return timestamp;
+	}
+}
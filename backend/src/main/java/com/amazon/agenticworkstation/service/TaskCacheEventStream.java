@@ -0,0 +1,242 @@
+package com.amazon.agenticworkstation.service;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+/**
+ * Server-sent event fan-out for {@link TaskCacheChangedEvent}s. Clients
+ * subscribe per task and receive version bumps with small deltas, so they can
+ * stop polling /cache/current and only refetch when something changed.
+ * Subscriptions are keyed by task so every open view of a task sees edits made
+ * elsewhere.
+ * <p>
+ * Each subscriber has its own small outbox, drained in order by a bounded
+ * sender pool, so a slow client only delays its own stream. A client whose
+ * outbox overflows, or whose send has been stuck longer than send-timeout-ms,
+ * is dropped and reconnects.
+ */
+@Component
+public class TaskCacheEventStream {
+
+	private static final Logger logger = LoggerFactory.getLogger(TaskCacheEventStream.class);
+
+	private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+	private ThreadPoolExecutor sender;
+
+	@Value("${task-cache.events.timeout-ms:1800000}")
+	private long timeoutMs;
+
+	@Value("${task-cache.events.send-threads:4}")
+	private int sendThreads;
+
+	@Value("${task-cache.events.send-timeout-ms:10000}")
+	private long sendTimeoutMs;
+
+	@Value("${task-cache.events.max-pending:32}")
+	private int maxPending;
+
+	/**
+	 * One open stream and the events not yet written to it
+	 */
+	private final class Subscriber implements Runnable {
+		private final String taskId;
+		private final SseEmitter emitter;
+		// Guarded by this
+		private final Deque<SseEventBuilder> outbox = new ArrayDeque<>();
+		private boolean draining;
+		private boolean closed;
+		// Start of the send in progress, 0 when idle
+		private volatile long sendingSince;
+
+		Subscriber(String taskId, SseEmitter emitter) {
+			this.taskId = taskId;
+			this.emitter = emitter;
+		}
+
+		void offer(SseEventBuilder event) {
+			synchronized (this) {
+				if (closed) {
+					return;
+				}
+				if (outbox.size() < maxPending) {
+					outbox.addLast(event);
+					if (!draining) {
+						draining = true;
+						sender.execute(this);
+					}
+					return;
+				}
+			}
+			logger.debug("SSE subscriber for task {} fell {} events behind, dropping it", taskId, maxPending);
+			drop(this, null);
+		}
+
+		@Override
+		public void run() {
+			while (true) {
+				SseEventBuilder event;
+				synchronized (this) {
+					event = closed ? null : outbox.pollFirst();
+					if (event == null) {
+						draining = false;
+						return;
+					}
+				}
+				sendingSince = System.currentTimeMillis();
+				try {
+					emitter.send(event);
+				} catch (IOException | IllegalStateException e) {
+					// Client went away; the servlet container will not call onCompletion for us
+					unsubscribe(this);
+				} finally {
+					sendingSince = 0;
+				}
+			}
+		}
+
+		synchronized void close() {
+			closed = true;
+			outbox.clear();
+		}
+	}
+
+	@PostConstruct
+	void start() {
+		AtomicInteger counter = new AtomicInteger();
+		int threads = Math.max(1, sendThreads);
+		sender = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+				runnable -> {
+					Thread thread = new Thread(runnable, "task-cache-events-" + counter.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		sender.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * Open a stream for one task. The first event ("subscribed") carries the
+	 * current version. Callers check that the user may read the task.
+	 */
+	public SseEmitter subscribe(String userId, String taskId, long currentVersion) {
+		SseEmitter emitter = new SseEmitter(timeoutMs);
+		Subscriber subscriber = new Subscriber(taskId, emitter);
+		Set<Subscriber> taskSubscribers = subscribers.computeIfAbsent(taskId, k -> ConcurrentHashMap.newKeySet());
+		taskSubscribers.add(subscriber);
+		Runnable remove = () -> unsubscribe(subscriber);
+		emitter.onCompletion(remove);
+		emitter.onTimeout(remove);
+		emitter.onError(e -> remove.run());
+
+		Map<String, Object> hello = new LinkedHashMap<>();
+		hello.put("userId", userId);
+		hello.put("taskId", taskId);
+		hello.put("version", currentVersion);
+		subscriber.offer(event("subscribed", String.valueOf(currentVersion), hello));
+		logger.debug("SSE subscriber added for task {} ({} open)", taskId, taskSubscribers.size());
+		return emitter;
+	}
+
+	@EventListener
+	public void onCacheChanged(TaskCacheChangedEvent event) {
+		Set<Subscriber> taskSubscribers = subscribers.get(event.getTaskId());
+		if (taskSubscribers == null || taskSubscribers.isEmpty()) {
+			return;
+		}
+		Map<String, Object> payload = new LinkedHashMap<>();
+		payload.put("userId", event.getUserId());
+		payload.put("taskId", event.getTaskId());
+		payload.put("version", event.getVersion());
+		payload.put("kind", event.getKind());
+		payload.put("delta", event.getDelta());
+		payload.put("timestamp", event.getTimestamp());
+		for (Subscriber subscriber : taskSubscribers) {
+			subscriber.offer(event(event.getKind(), String.valueOf(event.getVersion()), payload));
+		}
+	}
+
+	/**
+	 * Comment heartbeat so proxies keep idle streams open and dead clients are
+	 * noticed; also drops clients whose current send is stuck
+	 */
+	@Scheduled(fixedRateString = "${task-cache.events.heartbeat-ms:25000}")
+	public void heartbeat() {
+		long now = System.currentTimeMillis();
+		subscribers.values().forEach(taskSubscribers -> {
+			for (Subscriber subscriber : taskSubscribers) {
+				long since = subscriber.sendingSince;
+				if (since != 0 && now - since > sendTimeoutMs) {
+					logger.debug("SSE send to a subscriber of task {} stuck for {} ms, dropping it",
+							subscriber.taskId, now - since);
+					drop(subscriber, new TimeoutException("SSE send timed out"));
+				} else {
+					subscriber.offer(SseEmitter.event().comment("keep-alive"));
+				}
+			}
+		});
+	}
+
+	public int subscriberCount() {
+		return subscribers.values().stream().mapToInt(Set::size).sum();
+	}
+
+	@PreDestroy
+	void shutdown() {
+		subscribers.values().forEach(taskSubscribers -> taskSubscribers.forEach(subscriber -> {
+			subscriber.close();
+			subscriber.emitter.complete();
+		}));
+		subscribers.clear();
+		sender.shutdownNow();
+	}
+
+	private static SseEventBuilder event(String name, String id, Object data) {
+		return SseEmitter.event().name(name).id(id).data(data, MediaType.APPLICATION_JSON);
+	}
+
+	/**
+	 * Stop sending to a subscriber and end its stream so the client reconnects
+	 */
+	private void drop(Subscriber subscriber, Throwable cause) {
+		unsubscribe(subscriber);
+		try {
+			if (cause != null) {
+				subscriber.emitter.completeWithError(cause);
+			} else {
+				subscriber.emitter.complete();
+			}
+		} catch (IllegalStateException e) {
+			// Already completed
+		}
+	}
+
+	private void unsubscribe(Subscriber subscriber) {
+		subscriber.close();
+		subscribers.computeIfPresent(subscriber.taskId, (key, taskSubscribers) -> {
+			taskSubscribers.remove(subscriber);
+			return taskSubscribers.isEmpty() ? null : taskSubscribers;
+		});
+	}
+}
@@ -0,0 +1,134 @@
+package com.amazon.agenticworkstation.service;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Micrometer meters for {@link TaskCacheService}. Published under the
+ * {@code task.cache.*} names so they show up at /actuator/metrics, and read
+ * back for the /cache/stats summary.
+ */
+class TaskCacheMetrics {
+
+	private final Counter hits;
+	private final Counter misses;
+	private final Counter coalesced;
+	private final Counter evictions;
+	private final Counter expirations;
+	private final Timer loadTimer;
+	private final Timer saveTimer;
+
+	TaskCacheMetrics(MeterRegistry registry, Supplier<Number> entryCount, Supplier<Number> estimatedBytes) {
+		hits = Counter.builder("task.cache.requests").tag("result", "hit")
+				.description("Cache lookups served from memory").register(registry);
+		misses = Counter.builder("task.cache.requests").tag("result", "miss")
+				.description("Cache lookups that had to load from the database").register(registry);
+		coalesced = Counter.builder("task.cache.requests").tag("result", "coalesced")
+				.description("Cache lookups that waited for another caller's database load").register(registry);
+		evictions = Counter.builder("task.cache.evictions").description("Entries removed explicitly")
+				.register(registry);
+		expirations = Counter.builder("task.cache.expirations").description("Entries dropped after their TTL")
+				.register(registry);
+		loadTimer = Timer.builder("task.cache.load").description("Time to load a task from the database")
+				.register(registry);
+		saveTimer = Timer.builder("task.cache.save").description("Time to persist a task to the database")
+				.register(registry);
+		Gauge.builder("task.cache.entries", entryCount).description("Live cache entries").register(registry);
+		Gauge.builder("task.cache.size", estimatedBytes).description("Estimated heap used by cache entries")
+				.baseUnit("bytes").register(registry);
+	}
+
+	void hit() {
+		hits.increment();
+	}
+
+	void miss() {
+		misses.increment();
+	}
+
+	void coalesced() {
+		coalesced.increment();
+	}
+
+	void evicted(int count) {
+		evictions.increment(count);
+	}
+
+	void expired(int count) {
+		expirations.increment(count);
+	}
+
+	Timer loadTimer() {
+		return loadTimer;
+	}
+
+	Timer saveTimer() {
+		return saveTimer;
+	}
+
+	/**
+	 * Point-in-time view of the counters and timers
+	 */
+	Map<String, Object> summary() {
+		Map<String, Object> summary = new LinkedHashMap<>();
+		double hitCount = hits.count();
+		double missCount = misses.count();
+		double coalescedCount = coalesced.count();
+		// Coalesced lookups were not served from memory, so they count against the ratio
+		double lookups = hitCount + missCount + coalescedCount;
+		summary.put("hits", (long) hitCount);
+		summary.put("misses", (long) missCount);
+		summary.put("coalesced", (long) coalescedCount);
+		summary.put("hitRatio", lookups > 0 ? hitCount / lookups : 0.0);
+		summary.put("evictions", (long) evictions.count());
+		summary.put("expirations", (long) expirations.count());
+		summary.put("load", timerSummary(loadTimer));
+		summary.put("save", timerSummary(saveTimer));
+		return summary;
+	}
+
+	/**
+	 * Rough heap footprint of a cached value (strings, maps, lists and boxed
+	 * scalars as produced by Jackson). Good enough for sizing, not exact.
+	 */
+	static long estimateBytes(Object value) {
+		if (value == null) {
+			return 0;
+		}
+		if (value instanceof CharSequence text) {
+			return 40 + text.length();
+		}
+		if (value instanceof Map<?, ?> map) {
+			long size = 48;
+			for (Map.Entry<?, ?> e : map.entrySet()) {
+				size += 32 + estimateBytes(e.getKey()) + estimateBytes(e.getValue());
+			}
+			return size;
+		}
+		if (value instanceof Collection<?> items) {
+			long size = 24 + 8L * items.size();
+			for (Object item : items) {
+				size += estimateBytes(item);
+			}
+			return size;
+		}
+		return 16;
+	}
+
+	private static Map<String, Object> timerSummary(Timer timer) {
+		Map<String, Object> summary = new LinkedHashMap<>();
+		summary.put("count", timer.count());
+		summary.put("meanMs", timer.mean(TimeUnit.MILLISECONDS));
+		summary.put("maxMs", timer.max(TimeUnit.MILLISECONDS));
+		summary.put("totalMs", timer.totalTime(TimeUnit.MILLISECONDS));
+		return summary;
+	}
+}
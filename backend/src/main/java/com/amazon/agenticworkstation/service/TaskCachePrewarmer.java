@@ -0,0 +1,154 @@
+package com.amazon.agenticworkstation.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.amazon.agenticworkstation.entity.TaskEntity;
+import com.amazon.agenticworkstation.repository.LoginHistoryRepository;
+import com.amazon.agenticworkstation.repository.TaskRepository;
+
+/**
+ * Loads a user's most recent tasks into {@link TaskCacheService} in the
+ * background after login (and optionally for recently active users at
+ * startup), so opening task history or the editor does not pay for the
+ * database fetch and JSON parse. Best effort: work runs on a small pool of
+ * minimum-priority threads and is skipped when the queue is full.
+ */
+@Service
+public class TaskCachePrewarmer {
+
+	private static final Logger logger = LoggerFactory.getLogger(TaskCachePrewarmer.class);
+
+	private final TaskCacheService taskCacheService;
+	private final TaskRepository taskRepository;
+	private final LoginHistoryRepository loginHistoryRepository;
+
+	// Users with a prewarm queued or running, so repeated logins do not pile up
+	private final Set<String> pendingUsers = ConcurrentHashMap.newKeySet();
+
+	@Value("${task-cache.prewarm.enabled:true}")
+	private boolean enabled;
+
+	@Value("${task-cache.prewarm.tasks-per-user:5}")
+	private int tasksPerUser;
+
+	@Value("${task-cache.prewarm.threads:1}")
+	private int threads;
+
+	@Value("${task-cache.prewarm.queue-size:100}")
+	private int queueSize;
+
+	@Value("${task-cache.prewarm.on-startup:false}")
+	private boolean onStartup;
+
+	@Value("${task-cache.prewarm.startup-users:20}")
+	private int startupUsers;
+
+	@Value("${task-cache.prewarm.startup-window-hours:24}")
+	private int startupWindowHours;
+
+	private ThreadPoolExecutor executor;
+
+	public TaskCachePrewarmer(TaskCacheService taskCacheService, TaskRepository taskRepository,
+			LoginHistoryRepository loginHistoryRepository) {
+		this.taskCacheService = taskCacheService;
+		this.taskRepository = taskRepository;
+		this.loginHistoryRepository = loginHistoryRepository;
+	}
+
+	@PostConstruct
+	void start() {
+		AtomicInteger counter = new AtomicInteger();
+		executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(queueSize), runnable -> {
+					Thread thread = new Thread(runnable, "task-cache-prewarm-" + counter.incrementAndGet());
+					thread.setDaemon(true);
+					thread.setPriority(Thread.MIN_PRIORITY);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+	}
+
+	@PreDestroy
+	void stop() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * Queue a background load of the user's most recent tasks. Returns
+	 * immediately; never throws.
+	 */
+	public void prewarmUser(String userId) {
+		if (!enabled || userId == null || userId.isBlank() || !pendingUsers.add(userId)) {
+			return;
+		}
+		try {
+			executor.execute(() -> {
+				try {
+					loadRecentTasks(userId);
+				} finally {
+					pendingUsers.remove(userId);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			// Queue full or shutting down; the tasks will simply load on first use
+			pendingUsers.remove(userId);
+			logger.debug("Cache prewarm queue full, skipping user {}", userId);
+		}
+	}
+
+	/**
+	 * Prewarm users who logged in recently, so a restarted instance is warm
+	 * before they come back
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void prewarmOnStartup() {
+		if (!enabled || !onStartup) {
+			return;
+		}
+		try {
+			List<String> userIds = loginHistoryRepository.findRecentlyActiveUserIds(
+					LocalDateTime.now().minusHours(startupWindowHours), PageRequest.of(0, startupUsers));
+			logger.info("Prewarming task cache for {} recently active users", userIds.size());
+			userIds.forEach(this::prewarmUser);
+		} catch (Exception e) {
+			logger.warn("Skipping startup cache prewarm: {}", e.getMessage());
+		}
+	}
+
+	private void loadRecentTasks(String userId) {
+		long start = System.currentTimeMillis();
+		try {
+			List<TaskEntity> tasks = taskRepository.findByUserIdAndIsActiveTrueOrderByCreatedDateTimeDesc(userId,
+					PageRequest.of(0, tasksPerUser));
+			for (TaskEntity task : tasks) {
+				if (Thread.currentThread().isInterrupted()) {
+					return;
+				}
+				taskCacheService.loadTaskIntoCache(userId, task.getTaskId());
+			}
+			logger.debug("Prewarmed {} tasks for user {} in {} ms", tasks.size(), userId,
+					System.currentTimeMillis() - start);
+		} catch (Exception e) {
+			logger.warn("Cache prewarm failed for user {}: {}", userId, e.getMessage());
+		}
+	}
+}
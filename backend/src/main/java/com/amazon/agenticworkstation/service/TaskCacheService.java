@@ -3,19 +3,32 @@ package com.amazon.agenticworkstation.service;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+import jakarta.annotation.PostConstruct;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
@@ -24,8 +37,6 @@ import com.amazon.agenticworkstation.dto.TaskDto;
 import com.amazon.agenticworkstation.entity.TaskEntity;
 import com.amazon.agenticworkstation.repository.TaskRepository;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
 
 /**
  * Enhanced multi-user task cache with automatic expiration and database
@@ -36,13 +47,36 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 public class TaskCacheService {
 
 	private static final Logger logger = LoggerFactory.getLogger(TaskCacheService.class);
-	private final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+	// Task ids per version lookup when revalidating the whole cache
+	private static final int REVALIDATE_BATCH = 500;
 
 	@Autowired
 	private TaskRepository taskRepository;
 
+	@Autowired
+	private CacheInvalidationBus invalidationBus;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private ResultSpillStore resultSpillStore;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	private TaskCacheMetrics metrics;
+
+	@Value("${task-cache.history.max-steps:100}")
+	private int historyMaxSteps;
+
+	// Identifies this instance on the invalidation bus so it can skip its own events
+	private final String nodeId = UUID.randomUUID().toString();
+
 	// Multi-user cache storage with automatic expiration
 	private final Map<String, TaskCacheEntry> userTaskCache = new ConcurrentHashMap<>();
+	// Loads in progress, one per cache key
+	private final Map<String, CompletableFuture<TaskCacheEntry>> loading = new ConcurrentHashMap<>();
 
 	// Cache entry with expiration and task data
 	private static class TaskCacheEntry {
@@ -59,10 +93,22 @@ public class TaskCacheService {
 		private final List<String> outputs = new ArrayList<>();
 		private final List<Map<String, Object>> edges = new ArrayList<>();
 		private Map<String, Object> resultData;
+		// Set instead of resultData when the result was too large to keep on heap
+		private ResultSpillStore.SpilledResult resultSpill;
 		private String resultFilePath;
+		// task_json as persisted at version; the aggregate is built from it so it keeps model configuration
+		private String taskJson;
+		// Persisted version this entry reflects, and whether another node has written since
+		private volatile long version;
+		private volatile boolean stale;
+		private TaskEditHistory history;
 
 		public TaskCacheEntry() {
-			this.createdTime = LocalDateTime.now();
+			this(LocalDateTime.now());
+		}
+
+		public TaskCacheEntry(LocalDateTime createdTime) {
+			this.createdTime = createdTime;
 			this.expirationTime = createdTime.plusHours(4); // 4-hour expiration
 		}
 
@@ -92,23 +138,340 @@ public class TaskCacheService {
 	private TaskCacheEntry getOrCreateCacheEntry(String userId, String taskId) {
 		String cacheKey = generateCacheKey(userId, taskId);
 		TaskCacheEntry entry = userTaskCache.get(cacheKey);
+		if (entry != null && !entry.isExpired() && !entry.stale) {
+			metrics.hit();
+			return entry;
+		}
+
+		// One loader per key; concurrent callers for the same key wait for its
+		// future. The database load runs outside any map lock.
+		CompletableFuture<TaskCacheEntry> load = new CompletableFuture<>();
+		CompletableFuture<TaskCacheEntry> inProgress = loading.putIfAbsent(cacheKey, load);
+		if (inProgress != null) {
+			metrics.coalesced();
+			try {
+				return inProgress.join();
+			} catch (CompletionException e) {
+				throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+			}
+		}
+		try {
+			TaskCacheEntry loaded = loadEntry(cacheKey, userId, taskId);
+			load.complete(loaded);
+			return loaded;
+		} catch (RuntimeException e) {
+			load.completeExceptionally(e);
+			throw e;
+		} finally {
+			loading.remove(cacheKey, load);
+		}
+	}
 
-		if (entry == null || entry.isExpired()) {
-			if (entry != null && entry.isExpired()) {
+	/**
+	 * Load, refresh or reuse the entry for a key and install it in the cache.
+	 * Called by the key's single loader.
+	 */
+	private TaskCacheEntry loadEntry(String cacheKey, String userId, String taskId) {
+		TaskCacheEntry current = userTaskCache.get(cacheKey);
+		if (current != null && !current.isExpired() && !current.stale) {
+			// Loaded by the previous loader just before this one started
+			metrics.hit();
+			return current;
+		}
+		metrics.miss();
+		TaskCacheEntry loaded;
+		if (current != null && !current.isExpired()) {
+			loaded = refreshStaleEntry(userId, taskId, current);
+		} else {
+			if (current != null) {
 				logger.info("Cache expired for user {} task {}, creating new entry", userId, taskId);
 			}
-			entry = new TaskCacheEntry();
-			entry.userId = userId;
-			entry.taskId = taskId;
-			userTaskCache.put(cacheKey, entry);
+			TaskCacheEntry created = new TaskCacheEntry();
+			created.userId = userId;
+			created.taskId = taskId;
 
 			// Try to load task from database
-			loadTaskFromDatabase(userId, taskId, entry);
+			metrics.loadTimer().record(() -> loadTaskFromDatabase(userId, taskId, created));
+			loaded = created;
 		}
 
+		boolean installed = current == null ? userTaskCache.putIfAbsent(cacheKey, loaded) == null
+				: userTaskCache.replace(cacheKey, current, loaded);
+		if (!installed) {
+			// An import or clear got there first; theirs wins
+			if (current == null || loaded.resultSpill != current.resultSpill) {
+				discardResult(loaded);
+			}
+			TaskCacheEntry winner = userTaskCache.get(cacheKey);
+			return winner != null ? winner : getOrCreateCacheEntry(userId, taskId);
+		}
+		if (current != null && current.isExpired()) {
+			metrics.expired(1);
+			synchronized (current) {
+				discardResult(current);
+			}
+		}
+		return loaded;
+	}
+
+	/**
+	 * Reload an entry that another node has written to since it was cached.
+	 * Local-only state (repository path, results not yet persisted) is carried
+	 * over.
+	 */
+	private TaskCacheEntry refreshStaleEntry(String userId, String taskId, TaskCacheEntry stale) {
+		logger.info("Refreshing task {} for user {} after a write from another node", taskId, userId);
+		TaskCacheEntry entry = new TaskCacheEntry();
+		entry.userId = userId;
+		entry.taskId = taskId;
+		metrics.loadTimer().record(() -> loadTaskFromDatabase(userId, taskId, entry));
+		synchronized (stale) {
+			entry.repositoryPath = stale.repositoryPath;
+			entry.resultFilePath = stale.resultFilePath;
+			if (!hasResult(entry)) {
+				// Hand the in-memory or spilled result over to the new entry
+				entry.resultData = stale.resultData;
+				entry.resultSpill = stale.resultSpill;
+			} else {
+				discardResult(stale);
+			}
+		}
 		return entry;
 	}
 
+	/**
+	 * Register meters and listen for writes made by other nodes
+	 */
+	@PostConstruct
+	void init() {
+		metrics = new TaskCacheMetrics(meterRegistry, userTaskCache::size, this::estimatedBytes);
+		invalidationBus.subscribe(this::onInvalidation);
+		invalidationBus.subscribeResync(this::revalidateEntries);
+	}
+
+	/**
+	 * Compare every cached task with its persisted version and mark stale the
+	 * entries that another writer has moved on. For when invalidations may have
+	 * been missed: after the bus reconnects, or for entries restored from a
+	 * snapshot. If the versions cannot be read, every entry is marked stale.
+	 * 
+	 * @return number of entries marked stale
+	 */
+	public int revalidateEntries() {
+		return revalidate(new ArrayList<>(userTaskCache.entrySet()));
+	}
+
+	private int revalidate(List<Map.Entry<String, TaskCacheEntry>> entries) {
+		List<String> taskIds = entries.stream().map(cached -> cached.getValue().taskId).distinct()
+				.collect(Collectors.toList());
+		Map<String, Long> persisted = new HashMap<>();
+		boolean known = true;
+		try {
+			for (int from = 0; from < taskIds.size(); from += REVALIDATE_BATCH) {
+				List<String> batch = taskIds.subList(from, Math.min(from + REVALIDATE_BATCH, taskIds.size()));
+				for (Object[] row : taskRepository.findVersionsByTaskIds(batch)) {
+					persisted.put((String) row[0], row[1] != null ? ((Number) row[1]).longValue() : 0L);
+				}
+			}
+		} catch (Exception e) {
+			logger.warn("Could not read task versions to revalidate the cache, marking all entries stale: {}",
+					e.getMessage());
+			known = false;
+		}
+
+		int marked = 0;
+		for (Map.Entry<String, TaskCacheEntry> cached : entries) {
+			TaskCacheEntry entry = cached.getValue();
+			Long version = persisted.get(entry.taskId);
+			if (known && (version == null || version <= entry.version)) {
+				continue;
+			}
+			entry.stale = true;
+			marked++;
+			publishChange(ownerOf(cached.getKey(), entry), entry.taskId, version != null ? version : entry.version,
+					TaskCacheChangedEvent.REFRESH, null);
+		}
+		if (marked > 0) {
+			logger.info("Revalidated {} cached tasks, {} entries were out of date", taskIds.size(), marked);
+		}
+		return marked;
+	}
+
+	/**
+	 * Mark cached copies of a task as stale; they are reloaded on next access
+	 * rather than eagerly, so idle entries cost nothing. Writes from this node
+	 * still reach its other copies of the task, such as a reviewer's view of
+	 * someone else's task; only the writer's own entry is already current.
+	 */
+	private void onInvalidation(CacheInvalidationEvent event) {
+		boolean local = nodeId.equals(event.getOriginNodeId());
+		if (event.isResultOnly()) {
+			// A local result save has already refreshed every local copy
+			if (!local) {
+				refreshResultsFromDatabase(event);
+			}
+			return;
+		}
+		String taskId = event.getTaskId();
+		String writerKey = generateCacheKey(event.getUserId(), taskId);
+		String keySuffix = "_" + taskId;
+		List<String> refreshedUsers = new ArrayList<>();
+		for (Map.Entry<String, TaskCacheEntry> cached : userTaskCache.entrySet()) {
+			TaskCacheEntry entry = cached.getValue();
+			String key = cached.getKey();
+			if (local && writerKey.equals(key)) {
+				continue;
+			}
+			if (taskId.equals(entry.taskId) && event.getVersion() > entry.version) {
+				entry.stale = true;
+				logger.debug("Marked cached task {} stale (version {} -> {})", entry.taskId, entry.version,
+						event.getVersion());
+				if (key.endsWith(keySuffix)) {
+					refreshedUsers.add(key.substring(0, key.length() - keySuffix.length()));
+				}
+			}
+		}
+		// Tell each affected view, under the user it is cached for
+		for (String userId : refreshedUsers) {
+			publishChange(userId, taskId, event.getVersion(), TaskCacheChangedEvent.REFRESH, null);
+		}
+	}
+
+	/**
+	 * Another node saved result_json: reload it into this node's copies of the
+	 * task, if there are any. Edits and undo history are kept.
+	 */
+	private void refreshResultsFromDatabase(CacheInvalidationEvent event) {
+		String taskId = event.getTaskId();
+		boolean cached = userTaskCache.values().stream().anyMatch(entry -> taskId.equals(entry.taskId));
+		if (!cached) {
+			return;
+		}
+		try {
+			String resultJson = taskRepository.findById(taskId).map(TaskEntity::getResultJson).orElse(null);
+			refreshCachedResults(taskId, parseResult(taskId, resultJson));
+			publishChange(event.getUserId(), taskId, event.getVersion(), TaskCacheChangedEvent.RESULT, null);
+		} catch (Exception e) {
+			logger.warn("Could not reload result for task {}: {}", taskId, e.getMessage());
+		}
+	}
+
+	/**
+	 * Replace the result held by every cached copy of a task, whichever user
+	 * key it is cached under
+	 */
+	private void refreshCachedResults(String taskId, Map<String, Object> result) {
+		for (TaskCacheEntry entry : userTaskCache.values()) {
+			if (taskId.equals(entry.taskId)) {
+				synchronized (entry) {
+					setResult(entry, result != null ? new HashMap<>(result) : null);
+				}
+			}
+		}
+	}
+
+	private static Map<String, Object> parseResult(String taskId, String resultJson) {
+		if (resultJson == null || resultJson.trim().isEmpty()) {
+			return null;
+		}
+		try {
+			return TaskJsonCodec.readMap(resultJson);
+		} catch (Exception e) {
+			logger.warn("Failed to parse result JSON for task {}: {}", taskId, e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Announce a change to listeners such as the SSE stream. Called after the
+	 * entry's lock is released so listeners never run under it.
+	 */
+	private void publishChange(String userId, String taskId, long version, String kind, Map<String, Object> delta) {
+		try {
+			eventPublisher.publishEvent(new TaskCacheChangedEvent(userId, taskId, version, kind, delta));
+		} catch (RuntimeException e) {
+			logger.warn("Failed to publish cache change for task {}: {}", taskId, e.getMessage());
+		}
+	}
+
+	/**
+	 * Small description of what an update touched: scalar fields with their new
+	 * values, list fields by size only
+	 */
+	private static Map<String, Object> deltaOf(CacheUpdateRequest req) {
+		Map<String, Object> delta = new LinkedHashMap<>();
+		if (req.getEnv() != null)
+			delta.put("env", req.getEnv());
+		if (req.getInterfaceNum() != null)
+			delta.put("interfaceNum", req.getInterfaceNum());
+		if (req.getInstruction() != null)
+			delta.put("instruction", req.getInstruction());
+		if (req.getUserId() != null)
+			delta.put("userId", req.getUserId());
+		if (req.getActions() != null)
+			delta.put("actionsCount", req.getActions().size());
+		if (req.getActionObjects() != null)
+			delta.put("actionObjectsCount", req.getActionObjects().size());
+		if (req.getOutputs() != null)
+			delta.put("outputsCount", req.getOutputs().size());
+		if (req.getEdges() != null)
+			delta.put("edgesCount", req.getEdges().size());
+		return delta;
+	}
+
+	/**
+	 * Save a task entity, timing the round trip
+	 */
+	private TaskEntity persist(TaskEntity taskEntity) {
+		return metrics.saveTimer().record(() -> taskRepository.save(taskEntity));
+	}
+
+	/**
+	 * Record the persisted version on the local entry and build the
+	 * invalidation that tells other copies about it
+	 */
+	private CacheInvalidationEvent recordSave(String userId, String taskId, TaskEntity saved, TaskCacheEntry entry) {
+		long version = toVersion(saved);
+		if (entry != null) {
+			entry.version = version;
+			entry.taskJson = saved.getTaskJson();
+		}
+		return new CacheInvalidationEvent(userId, taskId, version, nodeId);
+	}
+
+	/**
+	 * Send an invalidation built by {@link #recordSave}. Called after the
+	 * entry's lock is released: the in-process bus runs listeners, which mark
+	 * other entries and publish changes, on the calling thread.
+	 */
+	private void publishInvalidation(CacheInvalidationEvent event) {
+		if (event != null) {
+			invalidationBus.publish(event);
+		}
+	}
+
+	private static long toVersion(TaskEntity task) {
+		return task.getVersion() != null ? task.getVersion() : 0L;
+	}
+
+	/**
+	 * Current persisted version of a task, straight from the database
+	 */
+	private long currentVersion(String taskId, long fallback) {
+		try {
+			return taskRepository.findVersionByTaskId(taskId).orElse(fallback);
+		} catch (Exception e) {
+			return fallback;
+		}
+	}
+
+	/**
+	 * Version this node's cache entry was loaded or last saved at
+	 */
+	public long getVersion(String userId, String taskId) {
+		return getOrCreateCacheEntry(userId, taskId).version;
+	}
+
 	/**
 	 * Load task data from database into cache entry
 	 */
@@ -122,11 +485,13 @@ public class TaskCacheService {
 				entry.env = task.getEnvName();
 				entry.interfaceNum = task.getInterfaceNum();
 				entry.instruction = task.getInstruction();
+				entry.version = toVersion(task);
+				entry.taskJson = task.getTaskJson();
 
 				// Parse and load task JSON if available
 				if (task.getTaskJson() != null && !task.getTaskJson().trim().isEmpty()) {
 					try {
-						JsonNode taskNode = mapper.readTree(task.getTaskJson());
+						JsonNode taskNode = TaskJsonCodec.readTree(task.getTaskJson());
 						populateCacheFromTaskJson(entry, taskNode);
 						logger.info("Loaded task {} from database for user {}", taskId, userId);
 					} catch (Exception e) {
@@ -137,9 +502,8 @@ public class TaskCacheService {
 				// Load result JSON if available
 				if (task.getResultJson() != null && !task.getResultJson().trim().isEmpty()) {
 					try {
-						@SuppressWarnings("unchecked")
-						Map<String, Object> resultMap = mapper.readValue(task.getResultJson(), Map.class);
-						entry.resultData = resultMap;
+						Map<String, Object> resultMap = TaskJsonCodec.readMap(task.getResultJson());
+						setResult(entry, resultMap);
 						logger.info("Loaded result data for task {} user {}", taskId, userId);
 					} catch (Exception e) {
 						logger.warn("Failed to parse result JSON for task {}: {}", taskId, e.getMessage());
@@ -187,7 +551,7 @@ public class TaskCacheService {
 				entry.actionObjects.clear();
 				taskDetails.get("actions").forEach(actionNode -> {
 					if (actionNode.isObject()) {
-						Map<String, Object> actionMap = mapper.convertValue(actionNode, Map.class);
+						Map<String, Object> actionMap = TaskJsonCodec.toMap(actionNode);
 						entry.actionObjects.add(actionMap);
 						if (actionMap.containsKey("name")) {
 							entry.actions.add(actionMap.get("name").toString());
@@ -202,8 +566,8 @@ public class TaskCacheService {
 			if (taskDetails.has("edges")) {
 				entry.edges.clear();
 				taskDetails.get("edges").forEach(edgeNode -> {
-					Map<String, Object> edgeMap = mapper.convertValue(edgeNode, Map.class);
-					entry.edges.add(edgeMap);
+					Map<String, Object> edgeMap = TaskJsonCodec.toMap(edgeNode);
+					entry.edges.add(EdgeConnectionNormalizer.normalizeEdge(edgeMap));
 				});
 			}
 		}
@@ -212,7 +576,7 @@ public class TaskCacheService {
 	/**
 	 * Load task into cache for specific user and task ID
 	 */
-	public synchronized void loadTaskIntoCache(String userId, String taskId) {
+	public void loadTaskIntoCache(String userId, String taskId) {
 		logger.info("Loading task {} into cache for user {}", taskId, userId);
 		getOrCreateCacheEntry(userId, taskId);
 	}
@@ -223,85 +587,157 @@ public class TaskCacheService {
 	@Scheduled(fixedRate = 3600000) // Run every hour
 	public void clearExpiredEntries() {
 		int initialSize = userTaskCache.size();
-		userTaskCache.entrySet().removeIf(entry -> entry.getValue().isExpired());
+		userTaskCache.forEach((key, entry) -> {
+			if (entry.isExpired() && userTaskCache.remove(key, entry)) {
+				// A reader that fetched the entry before removal may still be in it
+				synchronized (entry) {
+					discardResult(entry);
+				}
+			}
+		});
 		int finalSize = userTaskCache.size();
 		if (initialSize > finalSize) {
+			metrics.expired(initialSize - finalSize);
 			logger.info("Cleared {} expired cache entries, {} entries remaining", initialSize - finalSize, finalSize);
 		}
 	}
 
-	// Legacy compatibility methods (using current user context)
-	private String currentUserId = "";
-	private String currentTaskId = "";
-
 	/**
-	 * Build aggregated task DTO for specific user and task ID
+	 * Export a copy of all live cache entries for the warm-restart snapshot
 	 */
-	public synchronized TaskDto buildAggregatedTaskDto(String userId, String taskId) {
-		// Try to get task from database first (preserves original JSON with model
-		// configuration)
-		Optional<TaskEntity> taskEntityOpt = taskRepository.findById(taskId);
-		if (taskEntityOpt.isPresent()) {
-			TaskEntity taskEntity = taskEntityOpt.get();
-			String originalJson = taskEntity.getTaskJson();
-			if (originalJson != null && !originalJson.trim().isEmpty()) {
-				try {
-					TaskDto taskDto = mapper.readValue(originalJson, TaskDto.class);
-
-					// Fix num_edges field to reflect actual number of edges
-					if (taskDto.getTask() != null && taskDto.getTask().getEdges() != null) {
-						int actualEdgeCount = taskDto.getTask().getEdges().size();
-						taskDto.getTask().setNumEdges(actualEdgeCount);
-						logger.debug("Fixed num_edges for task {}: {} edges", taskId, actualEdgeCount);
-					}
-
-					return taskDto;
-				} catch (Exception e) {
-					// If original JSON parsing fails, fall back to reconstructing from cache
-					// but this will lack model configuration
-				}
+	public List<TaskCacheSnapshot.Entry> exportSnapshotEntries() {
+		List<TaskCacheSnapshot.Entry> exported = new ArrayList<>();
+		userTaskCache.forEach((cacheKey, entry) -> {
+			if (entry.isExpired()) {
+				return;
 			}
-		}
-
-		// If no database record or original JSON, this is an error for task execution
-		throw new IllegalStateException("Task " + taskId + " not found in database with original JSON. "
-				+ "Cannot build TaskDto without model configuration.");
+			synchronized (entry) {
+				TaskCacheSnapshot.Entry snap = new TaskCacheSnapshot.Entry();
+				snap.setCacheKey(cacheKey);
+				snap.setCreatedTime(entry.getCreatedTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+				snap.setVersion(entry.version);
+				snap.setRepositoryPath(entry.repositoryPath);
+				snap.setEnv(entry.env);
+				snap.setInterfaceNum(entry.interfaceNum);
+				snap.setInstruction(entry.instruction);
+				snap.setUserId(entry.userId);
+				snap.setTaskId(entry.taskId);
+				snap.setActions(new ArrayList<>(entry.actions));
+				snap.setActionObjects(new ArrayList<>(entry.actionObjects));
+				snap.setOutputs(new ArrayList<>(entry.outputs));
+				snap.setEdges(new ArrayList<>(entry.edges));
+				snap.setResultData(readResult(entry));
+				snap.setResultFilePath(entry.resultFilePath);
+				snap.setTaskJson(entry.taskJson);
+				exported.add(snap);
+			}
+		});
+		return exported;
 	}
 
 	/**
-	 * Build aggregated task DTO using legacy method (for backward compatibility)
+	 * Restore entries from a warm-restart snapshot. Entries that expired while
+	 * the instance was down are skipped, and entries already loaded by requests
+	 * since startup are never overwritten. Restored entries are checked against
+	 * the database in bulk, and those saved elsewhere in the meantime are
+	 * marked stale.
+	 * 
+	 * @return number of entries restored
 	 */
-	public synchronized TaskDto buildAggregatedTaskDto() {
-		// Use current user/task context or default if not set
-		if (currentUserId.isEmpty() || currentTaskId.isEmpty()) {
-			logger.warn("No current user/task context set, creating empty DTO");
-			return createEmptyTaskDto();
+	public int restoreSnapshotEntries(List<TaskCacheSnapshot.Entry> entries) {
+		List<Map.Entry<String, TaskCacheEntry>> restored = new ArrayList<>();
+		for (TaskCacheSnapshot.Entry snap : entries) {
+			if (snap.getCacheKey() == null) {
+				continue;
+			}
+			LocalDateTime createdTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(snap.getCreatedTime()),
+					ZoneId.systemDefault());
+			TaskCacheEntry entry = new TaskCacheEntry(createdTime);
+			if (entry.isExpired()) {
+				continue;
+			}
+			entry.version = snap.getVersion();
+			entry.repositoryPath = snap.getRepositoryPath();
+			if (snap.getEnv() != null)
+				entry.env = snap.getEnv();
+			if (snap.getInterfaceNum() != null)
+				entry.interfaceNum = snap.getInterfaceNum();
+			if (snap.getInstruction() != null)
+				entry.instruction = snap.getInstruction();
+			if (snap.getUserId() != null)
+				entry.userId = snap.getUserId();
+			if (snap.getTaskId() != null)
+				entry.taskId = snap.getTaskId();
+			if (snap.getActions() != null)
+				entry.actions.addAll(snap.getActions());
+			if (snap.getActionObjects() != null)
+				entry.actionObjects.addAll(snap.getActionObjects());
+			if (snap.getOutputs() != null)
+				entry.outputs.addAll(snap.getOutputs());
+			if (snap.getEdges() != null)
+				entry.edges.addAll(snap.getEdges());
+			entry.resultFilePath = snap.getResultFilePath();
+			entry.taskJson = snap.getTaskJson();
+
+			if (userTaskCache.putIfAbsent(snap.getCacheKey(), entry) == null) {
+				synchronized (entry) {
+					setResult(entry, snap.getResultData());
+				}
+				restored.add(Map.entry(snap.getCacheKey(), entry));
+			}
 		}
-		return buildAggregatedTaskDto(currentUserId, currentTaskId);
+		if (!restored.isEmpty()) {
+			revalidate(restored);
+		}
+		return restored.size();
 	}
 
 	/**
-	 * Set current user and task context for legacy compatibility
+	 * Build aggregated task DTO for specific user and task ID
 	 */
-	public synchronized void setCurrentContext(String userId, String taskId) {
-		this.currentUserId = userId;
-		this.currentTaskId = taskId;
-		// Load task into cache if not already present
-		loadTaskIntoCache(userId, taskId);
-	}
+	public TaskDto buildAggregatedTaskDto(String userId, String taskId) {
+		// Built from the persisted task JSON (preserves model configuration). The
+		// cache entry holds it as of its version and is reloaded when another
+		// writer moves the task on, so the database is only read on a miss.
+		TaskCacheEntry entry = getOrCreateCacheEntry(userId, taskId);
+		String originalJson;
+		synchronized (entry) {
+			originalJson = entry.taskJson;
+		}
+		if (originalJson == null) {
+			// Not held, e.g. the task was not yet saved when the entry was cached
+			Optional<TaskEntity> task = taskRepository.findById(taskId);
+			originalJson = task.map(TaskEntity::getTaskJson).orElse(null);
+			if (task.isPresent()) {
+				synchronized (entry) {
+					// Keep it only if it is the version the entry reflects
+					if (entry.taskJson == null && toVersion(task.get()) == entry.version) {
+						entry.taskJson = originalJson;
+					}
+				}
+			}
+		}
+		if (originalJson != null && !originalJson.trim().isEmpty()) {
+			try {
+				TaskDto taskDto = TaskJsonCodec.readTask(originalJson);
 
-	/**
-	 * Get current user ID from context
-	 */
-	public synchronized String getCurrentUserId() {
-		return this.currentUserId;
-	}
+				// Fix num_edges field to reflect actual number of edges
+				if (taskDto.getTask() != null && taskDto.getTask().getEdges() != null) {
+					int actualEdgeCount = taskDto.getTask().getEdges().size();
+					taskDto.getTask().setNumEdges(actualEdgeCount);
+					logger.debug("Fixed num_edges for task {}: {} edges", taskId, actualEdgeCount);
+				}
 
-	/**
-	 * Get current task ID from context
-	 */
-	public synchronized String getCurrentTaskId() {
-		return this.currentTaskId;
+				return taskDto;
+			} catch (Exception e) {
+				// Unparseable JSON cannot supply the model configuration either
+				logger.warn("Stored JSON for task {} could not be parsed: {}", taskId, e.getMessage());
+			}
+		}
+
+		// If no database record or original JSON, this is an error for task execution
+		throw new IllegalStateException("Task " + taskId + " not found in database with original JSON. "
+				+ "Cannot build TaskDto without model configuration.");
 	}
 
 	private TaskDto createEmptyTaskDto() {
@@ -325,17 +761,44 @@ public class TaskCacheService {
 	}
 
 	/**
-	 * Apply update to cache for specific user and task
+	 * Placeholder task JSON for clients that have not selected a task yet
+	 */
+	public String emptyTaskJson(boolean pretty) throws IOException {
+		return TaskJsonCodec.writeTask(createEmptyTaskDto(), pretty);
+	}
+
+	/**
+	 * Apply update to cache for specific user and task. Edits to task fields are
+	 * recorded in the entry's undo history.
 	 */
-	public synchronized void applyUpdate(String userId, String taskId, CacheUpdateRequest req) {
+	public void applyUpdate(String userId, String taskId, CacheUpdateRequest req) {
 		TaskCacheEntry entry = getOrCreateCacheEntry(userId, taskId);
+		long version;
+		CacheInvalidationEvent invalidation;
+		synchronized (entry) {
+			// Without an explicit version the edit is based on what this session last saw
+			long expectedVersion = req.getExpectedVersion() != null ? req.getExpectedVersion() : entry.version;
+			TaskEditHistory history = historyOf(entry);
+			TaskEditState before = captureState(entry, history.latest());
+
+			applyRequest(entry, req);
+
+			// Save updated cache to database
+			invalidation = saveTaskToDatabase(userId, taskId, entry, expectedVersion);
+
+			TaskEditState after = captureState(entry, before);
+			if (!after.sameAs(before)) {
+				history.record(before, after);
+			}
+			version = entry.version;
+		}
+		publishInvalidation(invalidation);
+		publishChange(userId, taskId, version, TaskCacheChangedEvent.UPDATE, deltaOf(req));
+	}
 
+	private void applyRequest(TaskCacheEntry entry, CacheUpdateRequest req) {
 		if (req.getRepositoryPath() != null) {
-			entry.repositoryPath = req.getRepositoryPath();
-			// Log a warning if web path is received
-			if (entry.repositoryPath.startsWith("web:")) {
-				logger.warn("Web directory path received ({}). File operations may be limited.", entry.repositoryPath);
-			}
+			applyRepositoryPath(entry, req.getRepositoryPath());
 		}
 		if (req.getEnv() != null)
 			entry.env = req.getEnv();
@@ -359,167 +822,258 @@ public class TaskCacheService {
 		}
 		if (req.getEdges() != null) {
 			entry.edges.clear();
-			// Clean up connection fields when receiving edges from frontend
-			for (Map<String, Object> edge : req.getEdges()) {
-				Map<String, Object> cleanedEdge = new LinkedHashMap<>(edge);
-				Object connectionObj = cleanedEdge.get("connection");
-				if (connectionObj instanceof String) {
-					String connStr = (String) connectionObj;
-					if (!connStr.trim().isEmpty() && connStr.trim().startsWith("{")) {
-						try {
-							@SuppressWarnings("unchecked")
-							Map<String, Object> parsed = (Map<String, Object>) mapper.readValue(connStr, Map.class);
-							cleanedEdge.put("connection", parsed);
-							logger.debug("Cleaned up connection string in applyUpdate: {} -> {}", connStr, parsed);
-						} catch (Exception ex) {
-							logger.warn("Failed to parse connection string: {}", connStr);
-						}
-					}
-				}
-				entry.edges.add(cleanedEdge);
-			}
+			// Normalize connection fields once when edges enter the cache
+			entry.edges.addAll(EdgeConnectionNormalizer.normalizeEdges(req.getEdges()));
+		}
+	}
+
+	private TaskEditHistory historyOf(TaskCacheEntry entry) {
+		if (entry.history == null) {
+			entry.history = new TaskEditHistory(historyMaxSteps);
 		}
+		return entry.history;
+	}
 
-		// Save updated cache to database
-		saveTaskToDatabase(userId, taskId, entry);
+	private static TaskEditState captureState(TaskCacheEntry entry, TaskEditState base) {
+		return TaskEditState.capture(entry.env, entry.interfaceNum, entry.instruction, entry.userId, entry.actions,
+				entry.actionObjects, entry.outputs, entry.edges, base);
 	}
 
 	/**
-	 * Legacy applyUpdate method for backward compatibility
+	 * Put a history state back into the entry and save it through the normal
+	 * versioned save path
+	 * 
+	 * @return the invalidation to publish once the entry's lock is released
 	 */
-	public synchronized void applyUpdate(CacheUpdateRequest req) {
-		if (currentUserId.isEmpty() || currentTaskId.isEmpty()) {
-			logger.warn("No current user/task context set for legacy applyUpdate");
-			return;
-		}
-		applyUpdate(currentUserId, currentTaskId, req);
+	private CacheInvalidationEvent restoreState(String userId, String taskId, TaskCacheEntry entry,
+			TaskEditState state) {
+		entry.env = state.getEnv();
+		entry.interfaceNum = state.getInterfaceNum();
+		entry.instruction = state.getInstruction();
+		entry.userId = state.getUserId();
+		entry.actions.clear();
+		entry.actions.addAll(state.getActions());
+		entry.actionObjects.clear();
+		entry.actionObjects.addAll(state.getActionObjects());
+		entry.outputs.clear();
+		entry.outputs.addAll(state.getOutputs());
+		entry.edges.clear();
+		entry.edges.addAll(state.getEdges());
+		return saveTaskToDatabase(userId, taskId, entry, entry.version);
 	}
 
 	/**
-	 * Get repository path for specific user and task
+	 * Revert the most recent edit
+	 * 
+	 * @return false if there is nothing to undo
 	 */
-	public synchronized String getRepositoryPath(String userId, String taskId) {
+	public boolean undo(String userId, String taskId) {
 		TaskCacheEntry entry = getOrCreateCacheEntry(userId, taskId);
-		return entry.repositoryPath;
+		long version;
+		CacheInvalidationEvent invalidation;
+		synchronized (entry) {
+			TaskEditHistory history = historyOf(entry);
+			TaskEditState target = history.peekUndo();
+			if (target == null) {
+				return false;
+			}
+			TaskEditState current = captureState(entry, history.latest());
+			invalidation = restoreState(userId, taskId, entry, target);
+			history.undone(current);
+			version = entry.version;
+		}
+		publishInvalidation(invalidation);
+		publishChange(userId, taskId, version, TaskCacheChangedEvent.UNDO, null);
+		return true;
 	}
 
 	/**
-	 * Legacy getRepositoryPath method
+	 * Re-apply the most recently undone edit
+	 * 
+	 * @return false if there is nothing to redo
 	 */
-	public synchronized String getRepositoryPath() {
-		if (currentUserId.isEmpty() || currentTaskId.isEmpty()) {
-			return null;
+	public boolean redo(String userId, String taskId) {
+		TaskCacheEntry entry = getOrCreateCacheEntry(userId, taskId);
+		long version;
+		CacheInvalidationEvent invalidation;
+		synchronized (entry) {
+			TaskEditHistory history = historyOf(entry);
+			TaskEditState target = history.peekRedo();
+			if (target == null) {
+				return false;
+			}
+			TaskEditState current = captureState(entry, history.latest());
+			invalidation = restoreState(userId, taskId, entry, target);
+			history.redone(current);
+			version = entry.version;
 		}
-		return getRepositoryPath(currentUserId, currentTaskId);
+		publishInvalidation(invalidation);
+		publishChange(userId, taskId, version, TaskCacheChangedEvent.REDO, null);
+		return true;
 	}
 
 	/**
-	 * Store result data in memory for specific user and task
+	 * Number of undo and redo steps available
 	 */
-	public synchronized void storeResultData(String userId, String taskId, Map<String, Object> data, String filePath) {
+	public Map<String, Integer> historyDepth(String userId, String taskId) {
 		TaskCacheEntry entry = getOrCreateCacheEntry(userId, taskId);
-		entry.resultData = data != null ? new HashMap<>(data) : null;
-		entry.resultFilePath = filePath;
-
-		// Save result to database
-		saveResultToDatabase(userId, taskId, data);
+		synchronized (entry) {
+			TaskEditHistory history = historyOf(entry);
+			Map<String, Integer> depth = new LinkedHashMap<>();
+			depth.put("undo", history.undoDepth());
+			depth.put("redo", history.redoDepth());
+			return depth;
+		}
 	}
 
 	/**
-	 * Legacy store result data method
+	 * Set the repository path for specific user and task. The path is local to
+	 * this node's cache entry and never persisted, so this is not a task edit:
+	 * no save, version bump, invalidation or undo step.
 	 */
-	public synchronized void storeResultData(Map<String, Object> data, String filePath) {
-		if (currentUserId.isEmpty() || currentTaskId.isEmpty()) {
-			logger.warn("No current user/task context set for storeResultData");
-			return;
+	public void setRepositoryPath(String userId, String taskId, String repositoryPath) {
+		TaskCacheEntry entry = getOrCreateCacheEntry(userId, taskId);
+		synchronized (entry) {
+			applyRepositoryPath(entry, repositoryPath);
+		}
+	}
+
+	private static void applyRepositoryPath(TaskCacheEntry entry, String repositoryPath) {
+		entry.repositoryPath = repositoryPath;
+		// Log a warning if web path is received
+		if (repositoryPath != null && repositoryPath.startsWith("web:")) {
+			logger.warn("Web directory path received ({}). File operations may be limited.", repositoryPath);
 		}
-		storeResultData(currentUserId, currentTaskId, data, filePath);
 	}
 
 	/**
-	 * Get result data from memory for specific user and task
+	 * Get repository path for specific user and task
 	 */
-	public synchronized Map<String, Object> getResultData(String userId, String taskId) {
+	public String getRepositoryPath(String userId, String taskId) {
 		TaskCacheEntry entry = getOrCreateCacheEntry(userId, taskId);
-		return entry.resultData != null ? new HashMap<>(entry.resultData) : null;
+		synchronized (entry) {
+			return entry.repositoryPath;
+		}
 	}
 
 	/**
-	 * Legacy get result data method
+	 * Store result data in memory for specific user and task
 	 */
-	public synchronized Map<String, Object> getResultData() {
-		if (currentUserId.isEmpty() || currentTaskId.isEmpty()) {
-			return null;
+	public void storeResultData(String userId, String taskId, Map<String, Object> data, String filePath) {
+		TaskCacheEntry entry = getOrCreateCacheEntry(userId, taskId);
+		synchronized (entry) {
+			setResult(entry, data != null ? new HashMap<>(data) : null);
+			entry.resultFilePath = filePath;
+		}
+
+		// Save result to database
+		saveResultToDatabase(userId, taskId, data);
+
+		Map<String, Object> delta = new LinkedHashMap<>();
+		delta.put("hasResult", data != null);
+		if (filePath != null) {
+			delta.put("resultFilePath", filePath);
 		}
-		return getResultData(currentUserId, currentTaskId);
+		publishChange(userId, taskId, entry.version, TaskCacheChangedEvent.RESULT, delta);
 	}
 
 	/**
-	 * Get result file path from memory for specific user and task
+	 * Replace the entry's result, spilling it to disk when it is large. Callers
+	 * hold the entry's lock (or own the entry exclusively).
 	 */
-	public synchronized String getResultFilePath(String userId, String taskId) {
-		TaskCacheEntry entry = getOrCreateCacheEntry(userId, taskId);
-		return entry.resultFilePath;
+	private void setResult(TaskCacheEntry entry, Map<String, Object> data) {
+		discardResult(entry);
+		if (data == null) {
+			return;
+		}
+		ResultSpillStore.SpilledResult spilled = resultSpillStore.spill(data);
+		if (spilled != null) {
+			entry.resultSpill = spilled;
+		} else {
+			entry.resultData = data;
+		}
 	}
 
 	/**
-	 * Legacy get result file path method
+	 * A private copy of the entry's result, read back from disk if spilled
 	 */
-	public synchronized String getResultFilePath() {
-		if (currentUserId.isEmpty() || currentTaskId.isEmpty()) {
-			return null;
+	private Map<String, Object> readResult(TaskCacheEntry entry) {
+		if (entry.resultData != null) {
+			return new HashMap<>(entry.resultData);
 		}
-		return getResultFilePath(currentUserId, currentTaskId);
+		return entry.resultSpill != null ? resultSpillStore.read(entry.resultSpill) : null;
+	}
+
+	private static boolean hasResult(TaskCacheEntry entry) {
+		return entry.resultData != null || entry.resultSpill != null;
+	}
+
+	private void discardResult(TaskCacheEntry entry) {
+		resultSpillStore.delete(entry.resultSpill);
+		entry.resultSpill = null;
+		entry.resultData = null;
 	}
 
 	/**
-	 * Clear result data from memory for specific user and task
+	 * Get result data from memory for specific user and task
 	 */
-	public synchronized void clearResultData(String userId, String taskId) {
+	public Map<String, Object> getResultData(String userId, String taskId) {
 		TaskCacheEntry entry = getOrCreateCacheEntry(userId, taskId);
-		entry.resultData = null;
-		entry.resultFilePath = null;
+		synchronized (entry) {
+			return readResult(entry);
+		}
 	}
 
 	/**
-	 * Legacy clear result data method
+	 * Get result file path from memory for specific user and task
 	 */
-	public synchronized void clearResultData() {
-		if (currentUserId.isEmpty() || currentTaskId.isEmpty()) {
-			logger.warn("No current user/task context set for clearResultData");
-			return;
+	public String getResultFilePath(String userId, String taskId) {
+		TaskCacheEntry entry = getOrCreateCacheEntry(userId, taskId);
+		synchronized (entry) {
+			return entry.resultFilePath;
 		}
-		clearResultData(currentUserId, currentTaskId);
 	}
 
 	/**
-	 * Check if result data exists in memory for specific user and task
+	 * Clear result data from memory for specific user and task
 	 */
-	public synchronized boolean hasResultData(String userId, String taskId) {
+	public void clearResultData(String userId, String taskId) {
 		TaskCacheEntry entry = getOrCreateCacheEntry(userId, taskId);
-		return entry.resultData != null;
+		synchronized (entry) {
+			discardResult(entry);
+			entry.resultFilePath = null;
+		}
 	}
 
 	/**
-	 * Legacy has result data method
+	 * Check if result data exists in memory for specific user and task
 	 */
-	public synchronized boolean hasResultData() {
-		if (currentUserId.isEmpty() || currentTaskId.isEmpty()) {
-			return false;
+	public boolean hasResultData(String userId, String taskId) {
+		TaskCacheEntry entry = getOrCreateCacheEntry(userId, taskId);
+		synchronized (entry) {
+			return hasResult(entry);
 		}
-		return hasResultData(currentUserId, currentTaskId);
 	}
 
 	/**
-	 * Save task data to database
+	 * Save task data to database, provided nobody else has saved it since
+	 * expectedVersion. On conflict the entry is marked stale so the next read
+	 * reloads the winning version.
+	 * 
+	 * @return the invalidation to publish once the entry's lock is released
 	 */
-	private void saveTaskToDatabase(String userId, String taskId, TaskCacheEntry entry) {
+	private CacheInvalidationEvent saveTaskToDatabase(String userId, String taskId, TaskCacheEntry entry,
+			long expectedVersion) {
 		try {
 			Optional<TaskEntity> taskEntityOpt = taskRepository.findById(taskId);
 			TaskEntity taskEntity;
 
 			if (taskEntityOpt.isPresent()) {
 				taskEntity = taskEntityOpt.get();
+				long persistedVersion = toVersion(taskEntity);
+				if (persistedVersion != expectedVersion) {
+					throw new TaskVersionConflictException(taskId, expectedVersion, persistedVersion);
+				}
 			} else {
 				// Create new task entity
 				taskEntity = new TaskEntity();
@@ -548,9 +1102,18 @@ public class TaskCacheService {
 			}
 
 			// Save to database
-			taskRepository.save(taskEntity);
+			TaskEntity saved = persist(taskEntity);
 			logger.info("Saved task {} to database for user {}", taskId, userId);
+			return recordSave(userId, taskId, saved, entry);
 
+		} catch (TaskVersionConflictException e) {
+			entry.stale = true;
+			logger.info("Rejected save of task {} for user {}: {}", taskId, userId, e.getMessage());
+			throw e;
+		} catch (ObjectOptimisticLockingFailureException e) {
+			// Lost the race between the version check and the conditional UPDATE
+			entry.stale = true;
+			throw new TaskVersionConflictException(taskId, expectedVersion, currentVersion(taskId, expectedVersion));
 		} catch (Exception e) {
 			logger.error("Error saving task {} to database for user {}: {}", taskId, userId, e.getMessage());
 			// Propagate with a clear message so callers can surface it to clients/UI
@@ -572,7 +1135,7 @@ public class TaskCacheService {
 			}
 
 			// Parse existing JSON to preserve model configuration
-			TaskDto taskDto = mapper.readValue(currentJson, TaskDto.class);
+			TaskDto taskDto = TaskJsonCodec.readTask(currentJson);
 
 			// Update task data with current cache values
 			if (taskDto.getTask() != null) {
@@ -637,8 +1200,8 @@ public class TaskCacheService {
 				taskDto.getTask().setNumEdges(edges.size());
 			}
 
-			// Update the taskJson with modified data
-			String updatedJson = mapper.writeValueAsString(taskDto);
+			// Update the taskJson with modified data (stored compact)
+			String updatedJson = TaskJsonCodec.writeTask(taskDto);
 			taskEntity.setTaskJson(updatedJson);
 
 			logger.debug("Updated taskJson for task {} with current cache data", taskEntity.getTaskId());
@@ -652,8 +1215,11 @@ public class TaskCacheService {
 	/**
 	 * Save task data to database with original JSON content (preserves model
 	 * configuration)
+	 * 
+	 * @return the invalidation to publish once the entry is in place
 	 */
-	private void saveTaskToDatabase(String userId, String taskId, TaskCacheEntry entry, String originalJsonContent) {
+	private CacheInvalidationEvent saveTaskToDatabase(String userId, String taskId, TaskCacheEntry entry,
+			String originalJsonContent) {
 		try {
 			Optional<TaskEntity> taskEntityOpt = taskRepository.findById(taskId);
 			TaskEntity taskEntity;
@@ -681,23 +1247,29 @@ public class TaskCacheService {
 			// Fix the num_edges field in the JSON content before storing
 			String correctedJsonContent = originalJsonContent;
 			try {
-				TaskDto taskDto = mapper.readValue(originalJsonContent, TaskDto.class);
+				TaskDto taskDto = TaskJsonCodec.readTask(originalJsonContent);
 				if (taskDto.getTask() != null) {
 					taskDto.getTask().setNumEdges(actualEdgeCount);
-					correctedJsonContent = mapper.writeValueAsString(taskDto);
+					correctedJsonContent = TaskJsonCodec.writeTask(taskDto);
 					logger.debug("Corrected num_edges in JSON for task {}: {} edges", taskId, actualEdgeCount);
 				}
 			} catch (Exception e) {
 				logger.warn("Failed to correct num_edges in JSON for task {}, using original: {}", taskId,
 						e.getMessage());
+				try {
+					correctedJsonContent = TaskJsonCodec.minify(originalJsonContent);
+				} catch (Exception minifyError) {
+					// Keep the content exactly as provided
+				}
 			}
 
 			// Use corrected JSON content to preserve model configuration
 			taskEntity.setTaskJson(correctedJsonContent);
 
 			// Save to database
-			taskRepository.save(taskEntity);
+			TaskEntity saved = persist(taskEntity);
 			logger.info("Saved task {} to database for user {} with original JSON content preserved", taskId, userId);
+			return recordSave(userId, taskId, saved, entry);
 
 		} catch (Exception e) {
 			logger.error("Error saving task {} to database for user {}: {}", taskId, userId, e.getMessage());
@@ -769,6 +1341,18 @@ public class TaskCacheService {
 		}
 	}
 
+	/**
+	 * Whether a user may read a task: they own it, or it exists only as their
+	 * own unsaved cache entry
+	 */
+	public boolean canRead(String userId, String taskId) {
+		String owner = getUserIdForTask(taskId);
+		if (owner != null) {
+			return owner.equals(userId);
+		}
+		return userTaskCache.containsKey(generateCacheKey(userId, taskId));
+	}
+
 	/**
 	 * Save result JSON string directly to database for a specific task
 	 * 
@@ -795,9 +1379,17 @@ public class TaskCacheService {
 				throw new IllegalStateException(error);
 			}
 
-			// Store the raw JSON string directly
-			taskEntity.setResultJson(resultJsonString);
-			taskRepository.save(taskEntity);
+			// Store the raw JSON string directly; result_json has no bearing on the task version, so
+			// clients holding the current version can keep editing
+			int updated = metrics.saveTimer().record(() -> taskRepository.updateResultJson(taskId, resultJsonString));
+			if (updated == 0) {
+				throw new IllegalStateException("Task " + taskId + " disappeared while saving result.json");
+			}
+			long version = toVersion(taskEntity);
+			refreshCachedResults(taskId, parseResult(taskId, resultJsonString));
+			invalidationBus.publish(new CacheInvalidationEvent(userId, taskId, version, nodeId, true));
+			publishChange(userId, taskId, version, TaskCacheChangedEvent.RESULT,
+					Map.of("resultJsonBytes", resultJsonString.length()));
 
 			logger.info("Saved result.json for task {} user {} - {} bytes", taskId, userId, resultJsonString.length());
 		} catch (IllegalStateException e) {
@@ -813,10 +1405,9 @@ public class TaskCacheService {
 	/**
 	 * Write task JSON to repository for specific user and task
 	 */
-	public synchronized String writeTaskJsonToRepository(String userId, String taskId, String overrideDirectory)
+	public String writeTaskJsonToRepository(String userId, String taskId, String overrideDirectory)
 			throws IOException {
-		TaskCacheEntry entry = getOrCreateCacheEntry(userId, taskId);
-		String dir = overrideDirectory != null ? overrideDirectory : entry.repositoryPath;
+		String dir = overrideDirectory != null ? overrideDirectory : getRepositoryPath(userId, taskId);
 		if (dir == null || dir.isBlank())
 			throw new IOException("Repository path not set");
 
@@ -825,88 +1416,60 @@ public class TaskCacheService {
 			// For web directories, we can't actually write to the filesystem
 			// Just return the aggregated JSON for display purposes
 			TaskDto dto = buildAggregatedTaskDto(userId, taskId);
-			String json = mapper.writeValueAsString(dto);
-			return fixDoubleEscapedConnections(json);
+			return TaskJsonCodec.writeTask(dto, true);
 		}
 
 		Path folder = Path.of(dir);
 		if (!Files.exists(folder))
 			throw new IOException("Directory does not exist: " + dir);
 		TaskDto dto = buildAggregatedTaskDto(userId, taskId);
-		String json = mapper.writeValueAsString(dto);
-
-		// Fix any double-escaped connection strings in the final JSON
-		json = fixDoubleEscapedConnections(json);
+		// task.json in the repository is a human-edited file, so keep it readable
+		String json = TaskJsonCodec.writeTask(dto, true);
 
 		Files.writeString(folder.resolve("task.json"), json);
 		return json;
 	}
 
 	/**
-	 * Legacy writeTaskJsonToRepository method
-	 */
-	public synchronized String writeTaskJsonToRepository(String overrideDirectory) throws IOException {
-		if (currentUserId.isEmpty() || currentTaskId.isEmpty()) {
-			throw new IOException("No current user/task context set");
-		}
-		return writeTaskJsonToRepository(currentUserId, currentTaskId, overrideDirectory);
-	}
-
-	/**
-	 * Get aggregated JSON for specific user and task
-	 */
-	public synchronized String aggregatedJson(String userId, String taskId) throws IOException {
-		String json = mapper.writeValueAsString(buildAggregatedTaskDto(userId, taskId));
-		return fixDoubleEscapedConnections(json);
-	}
-
-	/**
-	 * Legacy aggregatedJson method
+	 * Get aggregated JSON for specific user and task (compact)
 	 */
-	public synchronized String aggregatedJson() throws IOException {
-		if (currentUserId.isEmpty() || currentTaskId.isEmpty()) {
-			return mapper.writeValueAsString(createEmptyTaskDto());
-		}
-		return aggregatedJson(currentUserId, currentTaskId);
+	public String aggregatedJson(String userId, String taskId) throws IOException {
+		return aggregatedJson(userId, taskId, false);
 	}
 
 	/**
-	 * Fix double-escaped connection strings in the final JSON output
+	 * Get aggregated JSON for specific user and task, pretty printed on request
 	 */
-	private String fixDoubleEscapedConnections(String json) {
-		// Look for patterns like "connection": "{\"output\":\"...\",\"input\":\"...\"}"
-		// and replace them with "connection": {"output":"...","input":"..."}
-
-		// Handle the most common case: "connection":
-		// "{\"output\":\"value\",\"input\":\"value\"}"
-		String result = json.replaceAll(
-				"\"connection\"\\s*:\\s*\"\\{\\\\\"output\\\\\"\\s*:\\s*\\\\\"([^\"]*)\\\\\",\\s*\\\\\"input\\\\\"\\s*:\\s*\\\\\"([^\"]*)\\\\\"}\"",
-				"\"connection\":{\"output\":\"$1\",\"input\":\"$2\"}");
-
-		// Handle reverse order: "connection":
-		// "{\"input\":\"value\",\"output\":\"value\"}"
-		result = result.replaceAll(
-				"\"connection\"\\s*:\\s*\"\\{\\\\\"input\\\\\"\\s*:\\s*\\\\\"([^\"]*)\\\\\",\\s*\\\\\"output\\\\\"\\s*:\\s*\\\\\"([^\"]*)\\\\\"}\"",
-				"\"connection\":{\"input\":\"$1\",\"output\":\"$2\"}");
-
-		System.out.println("DEBUG: Fixed double-escaped connections in JSON");
-		return result;
+	public String aggregatedJson(String userId, String taskId, boolean pretty) throws IOException {
+		return TaskJsonCodec.writeTask(buildAggregatedTaskDto(userId, taskId), pretty);
 	}
 
 	/**
 	 * Load existing task from file for specific user and task ID
 	 */
-	public synchronized void loadExistingTask(String userId, String taskId, Path repo) throws IOException {
+	public void loadExistingTask(String userId, String taskId, Path repo) throws IOException {
 		if (repo == null)
 			return;
 		Path file = repo.resolve("task.json");
 		if (!Files.exists(file))
 			return; // nothing to load
 
+		Map<String, Object> root = TaskJsonCodec.readMap(Files.readString(file));
 		TaskCacheEntry entry = getOrCreateCacheEntry(userId, taskId);
+		CacheInvalidationEvent invalidation;
+		synchronized (entry) {
+			applyTaskFile(entry, root);
 
-		@SuppressWarnings("unchecked")
-		Map<String, Object> root = (Map<String, Object>) mapper.readValue(Files.readString(file), Map.class);
+			// Save the loaded task to database
+			invalidation = saveTaskToDatabase(userId, taskId, entry, entry.version);
+		}
+		publishInvalidation(invalidation);
+	}
+
+	/**
+	 * Copy the fields of a task.json document into a cache entry
+	 */
+	private void applyTaskFile(TaskCacheEntry entry, Map<String, Object> root) {
 		Object envVal = root.get("env");
 		if (envVal instanceof String)
 			entry.env = (String) envVal;
@@ -948,46 +1511,12 @@ public class TaskCacheService {
 				entry.edges.clear();
 				for (Object e : edgeList) {
 					if (e instanceof Map<?, ?> em) {
-						// store raw map (cast each key/value to Object)
-						@SuppressWarnings("unchecked")
-						Map<String, Object> edgeMap = (Map<String, Object>) em;
-
-						// Fix double-escaped connection fields when loading from existing task.json
-						Object connectionObj = edgeMap.get("connection");
-						if (connectionObj instanceof String) {
-							String connStr = (String) connectionObj;
-							if (!connStr.trim().isEmpty() && connStr.trim().startsWith("{")) {
-								try {
-									@SuppressWarnings("unchecked")
-									Map<String, Object> parsed = (Map<String, Object>) mapper.readValue(connStr,
-											Map.class);
-									// Replace the string with the parsed Map to prevent double-escaping
-									edgeMap.put("connection", parsed);
-								} catch (Exception ex) {
-									// If parsing fails, leave the original string
-								}
-							}
-						}
-
-						entry.edges.add(edgeMap);
+						// Normalize string-encoded connections when loading from existing task.json
+						entry.edges.add(EdgeConnectionNormalizer.normalizeEdge(em));
 					}
 				}
 			}
 		}
-
-		// Save the loaded task to database
-		saveTaskToDatabase(userId, taskId, entry);
-	}
-
-	/**
-	 * Legacy loadExistingTask method
-	 */
-	public synchronized void loadExistingTask(Path repo) throws IOException {
-		if (currentUserId.isEmpty() || currentTaskId.isEmpty()) {
-			logger.warn("No current user/task context set for loadExistingTask");
-			return;
-		}
-		loadExistingTask(currentUserId, currentTaskId, repo);
 	}
 
 	/**
@@ -998,12 +1527,12 @@ public class TaskCacheService {
 	 * @param taskJsonContent Task JSON content as string
 	 * @return true if successful, false otherwise
 	 */
-	public synchronized boolean importTaskFromJson(String userId, String taskId, String taskJsonContent) {
+	public boolean importTaskFromJson(String userId, String taskId, String taskJsonContent) {
 		try {
 			logger.info("Importing task {} for user {}", taskId, userId);
 
 			// Parse the task JSON
-			TaskDto taskDto = mapper.readValue(taskJsonContent, TaskDto.class);
+			TaskDto taskDto = TaskJsonCodec.readTask(taskJsonContent);
 
 			if (taskDto.getTask() == null) {
 				logger.error("Invalid task JSON: missing 'task' section");
@@ -1048,24 +1577,17 @@ public class TaskCacheService {
 					edgeMap.put("from", edge.getFrom());
 					edgeMap.put("to", edge.getTo());
 					if (edge.getConnection() != null) {
-						Map<String, Object> connectionMap = new LinkedHashMap<>();
-						connectionMap.put("output", edge.getConnection().getOutput());
-						connectionMap.put("input", edge.getConnection().getInput());
-						edgeMap.put("connection", connectionMap);
+						edgeMap.put("connection", EdgeConnectionNormalizer.toMap(edge.getConnection()));
 					}
 					entry.edges.add(edgeMap);
 				}
 			}
 
-			// Store in memory cache
-			String cacheKey = userId + ":" + taskId;
-			userTaskCache.put(cacheKey, entry);
-
-			// Save to database with original JSON content to preserve model configuration
-			saveTaskToDatabase(userId, taskId, entry, taskJsonContent);
-
-			// Set as current context for immediate use
-			setCurrentContext(userId, taskId);
+			// Save to database with original JSON content to preserve model configuration,
+			// then store under the same key every other lookup uses
+			CacheInvalidationEvent invalidation = saveTaskToDatabase(userId, taskId, entry, taskJsonContent);
+			userTaskCache.put(generateCacheKey(userId, taskId), entry);
+			publishInvalidation(invalidation);
 
 			logger.info("Successfully imported task {} for user {}", taskId, userId);
 			return true;
@@ -1086,11 +1608,15 @@ public class TaskCacheService {
 	 * Clear cache for a specific user and task This is useful when importing a new
 	 * task to ensure old data doesn't interfere
 	 */
-	public synchronized void clearCache(String userId, String taskId) {
+	public void clearCache(String userId, String taskId) {
 		String cacheKey = generateCacheKey(userId, taskId);
 		TaskCacheEntry removed = userTaskCache.remove(cacheKey);
 
 		if (removed != null) {
+			synchronized (removed) {
+				discardResult(removed);
+			}
+			metrics.evicted(1);
 			logger.info("Cleared cache entry for user {} task {}", userId, taskId);
 		} else {
 			logger.info("No cache entry found for user {} task {} (already clear)", userId, taskId);
@@ -1101,12 +1627,106 @@ public class TaskCacheService {
 	 * Clear all cache entries for a specific user Useful when user logs out or
 	 * wants to start fresh
 	 */
-	public synchronized void clearUserCache(String userId) {
+	public void clearUserCache(String userId) {
 		List<String> keysToRemove = userTaskCache.keySet().stream().filter(key -> key.startsWith(userId + "_"))
 				.collect(Collectors.toList());
 
-		keysToRemove.forEach(userTaskCache::remove);
+		int removed = 0;
+		for (String key : keysToRemove) {
+			TaskCacheEntry entry = userTaskCache.remove(key);
+			if (entry != null) {
+				synchronized (entry) {
+					discardResult(entry);
+				}
+				removed++;
+			}
+		}
+		metrics.evicted(removed);
 
 		logger.info("Cleared {} cache entries for user {}", keysToRemove.size(), userId);
 	}
+
+	/**
+	 * Estimated heap footprint of all live entries
+	 */
+	private long estimatedBytes() {
+		long total = 0;
+		for (TaskCacheEntry entry : userTaskCache.values()) {
+			total += estimateBytes(entry);
+		}
+		return total;
+	}
+
+	private static long estimateBytes(TaskCacheEntry entry) {
+		synchronized (entry) {
+			return TaskCacheMetrics.estimateBytes(entry.instruction) + TaskCacheMetrics.estimateBytes(entry.actions)
+					+ TaskCacheMetrics.estimateBytes(entry.actionObjects) + TaskCacheMetrics.estimateBytes(entry.outputs)
+					+ TaskCacheMetrics.estimateBytes(entry.edges) + TaskCacheMetrics.estimateBytes(entry.resultData)
+					+ TaskCacheMetrics.estimateBytes(entry.taskJson);
+		}
+	}
+
+	/**
+	 * Requesting user of an entry, taken from its cache key (entry.userId may be
+	 * overwritten by the task JSON's user_id)
+	 */
+	private static String ownerOf(String cacheKey, TaskCacheEntry entry) {
+		String suffix = "_" + entry.taskId;
+		return cacheKey.endsWith(suffix) ? cacheKey.substring(0, cacheKey.length() - suffix.length()) : entry.userId;
+	}
+
+	/**
+	 * Cache statistics: hit ratio, load/save latency, eviction counts, entry
+	 * count and size, a per-user breakdown and the largest entries
+	 */
+	public Map<String, Object> statistics(int topN) {
+		Map<String, Object> stats = new LinkedHashMap<>(metrics.summary());
+
+		Map<String, long[]> perUser = new HashMap<>();
+		List<Map<String, Object>> entries = new ArrayList<>();
+		long totalBytes = 0;
+		long spilledBytes = 0;
+		LocalDateTime now = LocalDateTime.now();
+		for (Map.Entry<String, TaskCacheEntry> e : userTaskCache.entrySet()) {
+			TaskCacheEntry entry = e.getValue();
+			String owner = ownerOf(e.getKey(), entry);
+			long bytes = estimateBytes(entry);
+			totalBytes += bytes;
+			ResultSpillStore.SpilledResult spill = entry.resultSpill;
+			if (spill != null) {
+				spilledBytes += spill.getBytes();
+			}
+			long[] userTotals = perUser.computeIfAbsent(owner, k -> new long[2]);
+			userTotals[0]++;
+			userTotals[1] += bytes;
+
+			Map<String, Object> row = new LinkedHashMap<>();
+			row.put("userId", owner);
+			row.put("taskId", entry.taskId);
+			row.put("estimatedBytes", bytes);
+			row.put("actions", entry.actions.size());
+			row.put("edges", entry.edges.size());
+			row.put("hasResult", hasResult(entry));
+			row.put("spilledResultBytes", entry.resultSpill != null ? entry.resultSpill.getBytes() : 0L);
+			row.put("ageSeconds", Duration.between(entry.getCreatedTime(), now).getSeconds());
+			entries.add(row);
+		}
+
+		stats.put("entryCount", entries.size());
+		stats.put("estimatedBytes", totalBytes);
+		stats.put("spilledResultBytes", spilledBytes);
+		stats.put("users", perUser.entrySet().stream()
+				.sorted((a, b) -> Long.compare(b.getValue()[1], a.getValue()[1]))
+				.map(e -> {
+					Map<String, Object> row = new LinkedHashMap<>();
+					row.put("userId", e.getKey());
+					row.put("entries", e.getValue()[0]);
+					row.put("estimatedBytes", e.getValue()[1]);
+					return row;
+				}).collect(Collectors.toList()));
+		stats.put("largestEntries", entries.stream()
+				.sorted((a, b) -> Long.compare((Long) b.get("estimatedBytes"), (Long) a.get("estimatedBytes")))
+				.limit(Math.max(topN, 0)).collect(Collectors.toList()));
+		return stats;
+	}
 }
@@ -0,0 +1,114 @@
+package com.amazon.agenticworkstation.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serializable image of the in-memory task cache. Written on graceful shutdown
+ * and restored at startup by {@link TaskCacheSnapshotService} so restarted
+ * instances serve warm entries, including state that never reached the
+ * database (repository path, in-memory result data).
+ */
+public class TaskCacheSnapshot {
+
+	public static final int FORMAT_VERSION = 3;
+
+	private int formatVersion = FORMAT_VERSION;
+	private long writtenAt;
+	private List<Entry> entries = new ArrayList<>();
+
+	public int getFormatVersion() {
+		return formatVersion;
+	}
+
+	public void setFormatVersion(int formatVersion) {
+		this.formatVersion = formatVersion;
+	}
+
+	public long getWrittenAt() {
+		return writtenAt;
+	}
+
+	public void setWrittenAt(long writtenAt) {
+		this.writtenAt = writtenAt;
+	}
+
+	public List<Entry> getEntries() {
+		return entries;
+	}
+
+	public void setEntries(List<Entry> entries) {
+		this.entries = entries;
+	}
+
+	/**
+	 * One cache entry, keyed by the cache key it was stored under
+	 */
+	public static class Entry {
+		private String cacheKey;
+		private long createdTime;
+		private long version;
+		private String repositoryPath;
+		private String env;
+		private Integer interfaceNum;
+		private String instruction;
+		private String userId;
+		private String taskId;
+		private List<String> actions;
+		private List<Map<String, Object>> actionObjects;
+		private List<String> outputs;
+		private List<Map<String, Object>> edges;
+		private Map<String, Object> resultData;
+		private String resultFilePath;
+		private String taskJson;
+
+		public String getCacheKey() { return cacheKey; }
+		public void setCacheKey(String cacheKey) { this.cacheKey = cacheKey; }
+
+		public long getCreatedTime() { return createdTime; }
+		public void setCreatedTime(long createdTime) { this.createdTime = createdTime; }
+
+		public long getVersion() { return version; }
+		public void setVersion(long version) { this.version = version; }
+
+		public String getRepositoryPath() { return repositoryPath; }
+		public void setRepositoryPath(String repositoryPath) { this.repositoryPath = repositoryPath; }
+
+		public String getEnv() { return env; }
+		public void setEnv(String env) { this.env = env; }
+
+		public Integer getInterfaceNum() { return interfaceNum; }
+		public void setInterfaceNum(Integer interfaceNum) { this.interfaceNum = interfaceNum; }
+
+		public String getInstruction() { return instruction; }
+		public void setInstruction(String instruction) { this.instruction = instruction; }
+
+		public String getUserId() { return userId; }
+		public void setUserId(String userId) { this.userId = userId; }
+
+		public String getTaskId() { return taskId; }
+		public void setTaskId(String taskId) { this.taskId = taskId; }
+
+		public List<String> getActions() { return actions; }
+		public void setActions(List<String> actions) { this.actions = actions; }
+
+		public List<Map<String, Object>> getActionObjects() { return actionObjects; }
+		public void setActionObjects(List<Map<String, Object>> actionObjects) { this.actionObjects = actionObjects; }
+
+		public List<String> getOutputs() { return outputs; }
+		public void setOutputs(List<String> outputs) { this.outputs = outputs; }
+
+		public List<Map<String, Object>> getEdges() { return edges; }
+		public void setEdges(List<Map<String, Object>> edges) { this.edges = edges; }
+
+		public Map<String, Object> getResultData() { return resultData; }
+		public void setResultData(Map<String, Object> resultData) { this.resultData = resultData; }
+
+		public String getResultFilePath() { return resultFilePath; }
+		public void setResultFilePath(String resultFilePath) { this.resultFilePath = resultFilePath; }
+
+		public String getTaskJson() { return taskJson; }
+		public void setTaskJson(String taskJson) { this.taskJson = taskJson; }
+	}
+}
@@ -0,0 +1,148 @@
+package com.amazon.agenticworkstation.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+/**
+ * Optional warm-restart support for {@link TaskCacheService}. On graceful
+ * shutdown the live cache entries are written to a Smile-encoded snapshot file;
+ * at startup the file is memory-mapped and restored in the background so the
+ * first request per user does not have to reload and re-parse its task from
+ * the database.
+ */
+@Service
+public class TaskCacheSnapshotService {
+
+	private static final Logger logger = LoggerFactory.getLogger(TaskCacheSnapshotService.class);
+
+	private final ObjectMapper smileMapper = new SmileMapper();
+	private final TaskCacheService taskCacheService;
+
+	@Value("${task-cache.snapshot.enabled:false}")
+	private boolean enabled;
+
+	@Value("${task-cache.snapshot.path:cache/task-cache.snapshot}")
+	private String snapshotPath;
+
+	public TaskCacheSnapshotService(TaskCacheService taskCacheService) {
+		this.taskCacheService = taskCacheService;
+	}
+
+	/**
+	 * Restore the previous snapshot in the background once the application is
+	 * ready to serve requests
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void restoreOnStartup() {
+		if (!enabled) {
+			return;
+		}
+		Path file = Path.of(snapshotPath);
+		if (!Files.exists(file)) {
+			logger.info("No task cache snapshot found at {}, starting cold", file);
+			return;
+		}
+		Thread restoreThread = new Thread(() -> restore(file), "task-cache-restore");
+		restoreThread.setDaemon(true);
+		restoreThread.start();
+	}
+
+	/**
+	 * Write the current cache contents to the snapshot file before the context
+	 * shuts down
+	 */
+	@PreDestroy
+	public void snapshotOnShutdown() {
+		if (!enabled) {
+			return;
+		}
+		try {
+			int written = writeSnapshot(Path.of(snapshotPath));
+			logger.info("Wrote task cache snapshot with {} entries to {}", written, snapshotPath);
+		} catch (Exception e) {
+			logger.error("Failed to write task cache snapshot to {}: {}", snapshotPath, e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Serialize all live cache entries to the given file. The snapshot is written
+	 * to a temporary file first and moved into place so a crash mid-write never
+	 * leaves a truncated snapshot behind.
+	 */
+	public int writeSnapshot(Path file) throws IOException {
+		TaskCacheSnapshot snapshot = new TaskCacheSnapshot();
+		snapshot.setWrittenAt(System.currentTimeMillis());
+		snapshot.setEntries(taskCacheService.exportSnapshotEntries());
+
+		Path parent = file.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+		try (OutputStream out = Files.newOutputStream(tmp)) {
+			smileMapper.writeValue(out, snapshot);
+		}
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		return snapshot.getEntries().size();
+	}
+
+	/**
+	 * Read a snapshot file through a read-only memory mapping and restore its
+	 * entries into the cache. The file is removed afterwards so a stale snapshot
+	 * is never restored twice.
+	 */
+	public int restore(Path file) {
+		long start = System.currentTimeMillis();
+		try {
+			TaskCacheSnapshot snapshot;
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+				MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+				try (InputStream in = new ByteBufferBackedInputStream(buffer)) {
+					snapshot = smileMapper.readValue(in, TaskCacheSnapshot.class);
+				}
+			}
+
+			if (snapshot.getFormatVersion() != TaskCacheSnapshot.FORMAT_VERSION) {
+				logger.warn("Ignoring task cache snapshot with unsupported format version {}",
+						snapshot.getFormatVersion());
+				return 0;
+			}
+
+			List<TaskCacheSnapshot.Entry> entries = snapshot.getEntries();
+			int restored = taskCacheService.restoreSnapshotEntries(entries);
+			logger.info("Restored {} of {} task cache entries from snapshot in {} ms", restored, entries.size(),
+					System.currentTimeMillis() - start);
+			return restored;
+		} catch (Exception e) {
+			logger.warn("Failed to restore task cache snapshot from {}: {}", file, e.getMessage());
+			return 0;
+		} finally {
+			try {
+				Files.deleteIfExists(file);
+			} catch (IOException e) {
+				logger.warn("Failed to delete task cache snapshot {}: {}", file, e.getMessage());
+			}
+		}
+	}
+}
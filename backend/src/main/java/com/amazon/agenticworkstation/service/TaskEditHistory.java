@@ -0,0 +1,74 @@
+package com.amazon.agenticworkstation.service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Bounded undo/redo history for one cache entry. Holds {@link TaskEditState}
+ * steps that share structure with their neighbours, so memory grows with the
+ * size of each edit rather than the size of the task. Not thread-safe: callers
+ * hold the cache entry's lock.
+ */
+final class TaskEditHistory {
+
+	private final int maxSteps;
+	private final Deque<TaskEditState> undo = new ArrayDeque<>();
+	private final Deque<TaskEditState> redo = new ArrayDeque<>();
+	// State after the most recent edit/undo/redo; new captures share with it
+	private TaskEditState latest;
+
+	TaskEditHistory(int maxSteps) {
+		this.maxSteps = maxSteps;
+	}
+
+	TaskEditState latest() {
+		return latest;
+	}
+
+	/**
+	 * Record a user edit that moved the task from before to after. Any redo
+	 * steps are discarded, and the oldest step is dropped beyond maxSteps.
+	 */
+	void record(TaskEditState before, TaskEditState after) {
+		undo.push(before);
+		while (undo.size() > maxSteps) {
+			undo.removeLast();
+		}
+		redo.clear();
+		latest = after;
+	}
+
+	TaskEditState peekUndo() {
+		return undo.peek();
+	}
+
+	TaskEditState peekRedo() {
+		return redo.peek();
+	}
+
+	/**
+	 * Commit an undo once its target state has been saved
+	 */
+	void undone(TaskEditState current) {
+		TaskEditState target = undo.pop();
+		redo.push(current);
+		latest = target;
+	}
+
+	/**
+	 * Commit a redo once its target state has been saved
+	 */
+	void redone(TaskEditState current) {
+		TaskEditState target = redo.pop();
+		undo.push(current);
+		latest = target;
+	}
+
+	int undoDepth() {
+		return undo.size();
+	}
+
+	int redoDepth() {
+		return redo.size();
+	}
+}
@@ -0,0 +1,121 @@
+package com.amazon.agenticworkstation.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable image of the editable fields of a cached task, used as one step of
+ * {@link TaskEditHistory}. States are captured relative to a base state and
+ * share structure with it: an unchanged list is the very same list instance,
+ * and within a changed list every element equal to one in the base is reused
+ * rather than copied. A step therefore costs only a list spine plus the
+ * elements that actually changed.
+ */
+final class TaskEditState {
+
+	private final String env;
+	private final Integer interfaceNum;
+	private final String instruction;
+	private final String userId;
+	private final List<String> actions;
+	private final List<Map<String, Object>> actionObjects;
+	private final List<String> outputs;
+	private final List<Map<String, Object>> edges;
+
+	private TaskEditState(String env, Integer interfaceNum, String instruction, String userId, List<String> actions,
+			List<Map<String, Object>> actionObjects, List<String> outputs, List<Map<String, Object>> edges) {
+		this.env = env;
+		this.interfaceNum = interfaceNum;
+		this.instruction = instruction;
+		this.userId = userId;
+		this.actions = actions;
+		this.actionObjects = actionObjects;
+		this.outputs = outputs;
+		this.edges = edges;
+	}
+
+	/**
+	 * Capture the given field values, sharing everything unchanged with base
+	 * (which may be null)
+	 */
+	static TaskEditState capture(String env, Integer interfaceNum, String instruction, String userId,
+			List<String> actions, List<Map<String, Object>> actionObjects, List<String> outputs,
+			List<Map<String, Object>> edges, TaskEditState base) {
+		return new TaskEditState(
+				base != null && Objects.equals(base.env, env) ? base.env : env,
+				interfaceNum,
+				base != null && Objects.equals(base.instruction, instruction) ? base.instruction : instruction,
+				base != null && Objects.equals(base.userId, userId) ? base.userId : userId,
+				share(actions, base != null ? base.actions : null),
+				share(actionObjects, base != null ? base.actionObjects : null),
+				share(outputs, base != null ? base.outputs : null),
+				share(edges, base != null ? base.edges : null));
+	}
+
+	/**
+	 * Reuse the base list when equal, otherwise build a frozen list whose
+	 * unchanged elements are the base's instances
+	 */
+	private static <T> List<T> share(List<T> current, List<T> base) {
+		if (base != null && base.equals(current)) {
+			return base;
+		}
+		Map<T, T> pool = new HashMap<>();
+		if (base != null) {
+			for (T element : base) {
+				pool.putIfAbsent(element, element);
+			}
+		}
+		List<T> shared = new ArrayList<>(current.size());
+		for (T element : current) {
+			shared.add(pool.getOrDefault(element, element));
+		}
+		return Collections.unmodifiableList(shared);
+	}
+
+	/**
+	 * True when nothing changed between base and this state (captured from it)
+	 */
+	boolean sameAs(TaskEditState base) {
+		return base != null && Objects.equals(env, base.env) && Objects.equals(interfaceNum, base.interfaceNum)
+				&& Objects.equals(instruction, base.instruction) && Objects.equals(userId, base.userId)
+				&& actions == base.actions && actionObjects == base.actionObjects && outputs == base.outputs
+				&& edges == base.edges;
+	}
+
+	String getEnv() {
+		return env;
+	}
+
+	Integer getInterfaceNum() {
+		return interfaceNum;
+	}
+
+	String getInstruction() {
+		return instruction;
+	}
+
+	String getUserId() {
+		return userId;
+	}
+
+	List<String> getActions() {
+		return actions;
+	}
+
+	List<Map<String, Object>> getActionObjects() {
+		return actionObjects;
+	}
+
+	List<String> getOutputs() {
+		return outputs;
+	}
+
+	List<Map<String, Object>> getEdges() {
+		return edges;
+	}
+}
@@ -0,0 +1,102 @@
+package com.amazon.agenticworkstation.service;
+
+import java.util.Map;
+
+import com.amazon.agenticworkstation.dto.TaskDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Shared JSON serialization for task documents. Readers and writers are built
+ * once per type and reused, since {@link ObjectReader}/{@link ObjectWriter} are
+ * immutable and thread-safe.
+ *
+ * Everything is written compact by default: that is what gets stored in
+ * task.task_json and sent to the Tau Bench API. Pretty printing is only used
+ * when a client explicitly asks for it.
+ */
+public final class TaskJsonCodec {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private static final ObjectReader TREE_READER = MAPPER.reader();
+	private static final ObjectReader TASK_READER = MAPPER.readerFor(TaskDto.class);
+	private static final ObjectReader MAP_READER = MAPPER.readerFor(new TypeReference<Map<String, Object>>() {
+	});
+
+	private static final ObjectWriter TASK_WRITER = MAPPER.writerFor(TaskDto.class);
+	private static final ObjectWriter TASK_PRETTY_WRITER = TASK_WRITER.withDefaultPrettyPrinter();
+	private static final ObjectWriter COMPACT_WRITER = MAPPER.writer();
+	private static final ObjectWriter PRETTY_WRITER = COMPACT_WRITER.withDefaultPrettyPrinter();
+
+	private TaskJsonCodec() {
+	}
+
+	/**
+	 * Parse a task document into its typed DTO
+	 */
+	public static TaskDto readTask(String json) throws JsonProcessingException {
+		return TASK_READER.readValue(json);
+	}
+
+	/**
+	 * Serialize a task DTO in compact form (storage and transfer format)
+	 */
+	public static String writeTask(TaskDto dto) throws JsonProcessingException {
+		return TASK_WRITER.writeValueAsString(dto);
+	}
+
+	/**
+	 * Serialize a task DTO, pretty printed only when requested by the client
+	 */
+	public static String writeTask(TaskDto dto, boolean pretty) throws JsonProcessingException {
+		return (pretty ? TASK_PRETTY_WRITER : TASK_WRITER).writeValueAsString(dto);
+	}
+
+	/**
+	 * Parse arbitrary JSON into a tree
+	 */
+	public static JsonNode readTree(String json) throws JsonProcessingException {
+		return TREE_READER.readTree(json);
+	}
+
+	/**
+	 * Parse a JSON object into a map
+	 */
+	public static Map<String, Object> readMap(String json) throws JsonProcessingException {
+		return MAP_READER.readValue(json);
+	}
+
+	/**
+	 * Convert a tree node into a map without a serialization round trip
+	 */
+	public static Map<String, Object> toMap(JsonNode node) {
+		return MAPPER.convertValue(node, new TypeReference<Map<String, Object>>() {
+		});
+	}
+
+	/**
+	 * Serialize any value in compact form
+	 */
+	public static String write(Object value) throws JsonProcessingException {
+		return COMPACT_WRITER.writeValueAsString(value);
+	}
+
+	/**
+	 * Serialize any value, pretty printed only when requested by the client
+	 */
+	public static String write(Object value, boolean pretty) throws JsonProcessingException {
+		return (pretty ? PRETTY_WRITER : COMPACT_WRITER).writeValueAsString(value);
+	}
+
+	/**
+	 * Re-emit a JSON document without insignificant whitespace
+	 */
+	public static String minify(String json) throws JsonProcessingException {
+		return COMPACT_WRITER.writeValueAsString(TREE_READER.readTree(json));
+	}
+}
@@ -17,13 +17,11 @@ import org.springframework.stereotype.Service;
 import com.amazon.agenticworkstation.dto.TaskDto;
 import com.amazon.agenticworkstation.entity.LoginEntity;
 import com.amazon.agenticworkstation.repository.LoginRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 @Service
 public class TaskService {
     
     private static final Logger logger = LoggerFactory.getLogger(TaskService.class);
-    private final ObjectMapper objectMapper = new ObjectMapper();
     
     @Autowired(required = false)
     private LoginRepository loginRepository;
@@ -53,14 +51,18 @@ public class TaskService {
         return "Instruction is valid.";
     }
 
-    // Generate task.json
+    // Generate task.json (compact unless the client asks for pretty output)
     public String generateTaskJson(TaskDto dto) {
+        return generateTaskJson(dto, false);
+    }
+
+    public String generateTaskJson(TaskDto dto, boolean pretty) {
         logger.info("Generating task JSON for instruction: {}", 
                    dto.getTask() != null && dto.getTask().getInstruction() != null ? 
                    dto.getTask().getInstruction().substring(0, Math.min(50, dto.getTask().getInstruction().length())) + "..." : "null");
         
         try {
-            String taskJson = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(dto);
+            String taskJson = TaskJsonCodec.writeTask(dto, pretty);
             
             // Log task creation if database is available
             if (loginRepository != null) {
@@ -94,7 +96,7 @@ public class TaskService {
         
         try {
             // Step 1: Parse JSON to verify it's valid
-            objectMapper.readTree(taskJson);
+            TaskJsonCodec.readTree(taskJson);
             logger.info("Step 1: JSON parsing - PASSED");
             
             // Step 2: Validate required fields (compute_complexity)
@@ -0,0 +1,35 @@
+package com.amazon.agenticworkstation.service;
+
+/**
+ * Thrown when a task write was based on a version that is no longer current,
+ * i.e. someone else saved the task in between. The caller should reload the
+ * task at {@link #getCurrentVersion()}, merge its edit and retry.
+ */
+public class TaskVersionConflictException extends IllegalStateException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final String taskId;
+	private final long expectedVersion;
+	private final long currentVersion;
+
+	public TaskVersionConflictException(String taskId, long expectedVersion, long currentVersion) {
+		super("Task " + taskId + " was modified concurrently: expected version " + expectedVersion
+				+ " but current version is " + currentVersion);
+		this.taskId = taskId;
+		this.expectedVersion = expectedVersion;
+		this.currentVersion = currentVersion;
+	}
+
+	public String getTaskId() {
+		return taskId;
+	}
+
+	public long getExpectedVersion() {
+		return expectedVersion;
+	}
+
+	public long getCurrentVersion() {
+		return currentVersion;
+	}
+}
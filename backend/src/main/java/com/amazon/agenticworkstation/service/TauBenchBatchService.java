@@ -0,0 +1,190 @@
+package com.amazon.agenticworkstation.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.amazon.agenticworkstation.dto.TauBenchBatchRequest;
+import com.amazon.agenticworkstation.entity.TaskEntity.TaskStatus;
+import com.amazon.agenticworkstation.entity.TauBenchJobEntity;
+import com.amazon.agenticworkstation.entity.TauBenchJobEntity.JobStatus;
+import com.amazon.agenticworkstation.repository.TaskRepository;
+import com.amazon.agenticworkstation.repository.TauBenchJobRepository;
+import com.amazon.agenticworkstation.service.ComputeComplexityService.Endpoint;
+
+/**
+ * Runs one endpoint over many tasks. Each task becomes a batch-lane job, so
+ * concurrency is bounded by the batch workers, calls are paced by
+ * {@link TauBenchRateLimiter}, and the run survives restarts. The summary is
+ * aggregated from the job table.
+ */
+@Service
+public class TauBenchBatchService {
+
+	private static final Logger logger = LoggerFactory.getLogger(TauBenchBatchService.class);
+
+	@Autowired
+	private TaskRepository taskRepository;
+
+	@Autowired
+	private TauBenchJobRepository jobRepository;
+
+	@Autowired
+	private TauBenchJobService jobService;
+
+	@Value("${tau.bench.batch.max-tasks:10000}")
+	private int maxTasks;
+
+	@Value("${tau.bench.batch.failures-listed:50}")
+	private int failuresListed;
+
+	/**
+	 * Resolve the tasks of a request and queue them
+	 * 
+	 * @return the new batch's summary
+	 * @throws IllegalArgumentException for an invalid request or one matching
+	 *                                  no tasks
+	 */
+	public Map<String, Object> submit(TauBenchBatchRequest request) {
+		Endpoint endpoint = TauBenchExecutionService.parseEndpoint(request.getEndpoint());
+		List<String[]> tasks = resolveTasks(request);
+		if (tasks.isEmpty()) {
+			throw new IllegalArgumentException("No active tasks match the batch request");
+		}
+		if (tasks.size() > maxTasks) {
+			throw new IllegalArgumentException(
+					"Batch matches " + tasks.size() + " tasks, more than the limit of " + maxTasks);
+		}
+		String batchId = UUID.randomUUID().toString();
+		jobService.submitBatch(batchId, tasks, endpoint);
+		return summary(batchId);
+	}
+
+	private List<String[]> resolveTasks(TauBenchBatchRequest request) {
+		List<Object[]> rows;
+		if (request.getTaskIds() != null && !request.getTaskIds().isEmpty()) {
+			rows = taskRepository.findTaskOwnersByTaskIds(request.getTaskIds());
+			if (rows.size() < request.getTaskIds().size()) {
+				logger.warn("Batch request named {} tasks, {} are active", request.getTaskIds().size(), rows.size());
+			}
+		} else {
+			rows = taskRepository.findTaskOwnersForBatch(blankToNull(request.getUserId()),
+					blankToNull(request.getEnv()), request.getInterfaceNum(), parseStatus(request.getStatus()));
+		}
+		List<String[]> tasks = new ArrayList<>(rows.size());
+		for (Object[] row : rows) {
+			tasks.add(new String[] { (String) row[0], (String) row[1] });
+		}
+		return tasks;
+	}
+
+	/**
+	 * Progress and pass/fail counts of a batch. The pass rate covers jobs whose
+	 * response carried a verdict; calls that failed are reported as
+	 * transportFailures and do not count against it.
+	 * 
+	 * @throws IllegalArgumentException if the batch does not exist
+	 */
+	public Map<String, Object> summary(String batchId) {
+		Map<String, Long> counts = new LinkedHashMap<>();
+		for (JobStatus status : JobStatus.values()) {
+			counts.put(status.name().toLowerCase(), 0L);
+		}
+		long total = 0;
+		long passed = 0;
+		long verdictFailed = 0;
+		long noVerdict = 0;
+		for (Object[] row : jobRepository.countBatchOutcomes(batchId)) {
+			JobStatus status = (JobStatus) row[0];
+			long count = ((Number) row[2]).longValue();
+			counts.merge(status.name().toLowerCase(), count, Long::sum);
+			if (status == JobStatus.SUCCEEDED) {
+				if (Boolean.TRUE.equals(row[1])) {
+					passed += count;
+				} else if (Boolean.FALSE.equals(row[1])) {
+					verdictFailed += count;
+				} else {
+					noVerdict += count;
+				}
+			}
+			total += count;
+		}
+		if (total == 0) {
+			throw new IllegalArgumentException("Batch not found: " + batchId);
+		}
+
+		long finished = counts.get("succeeded") + counts.get("failed") + counts.get("cancelled");
+		Object[] times = jobRepository.findBatchTimes(batchId).get(0);
+		LocalDateTime startedAt = (LocalDateTime) times[0];
+		LocalDateTime lastFinishedAt = (LocalDateTime) times[1];
+		boolean done = finished == total;
+
+		Map<String, Object> summary = new LinkedHashMap<>();
+		summary.put("batchId", batchId);
+		summary.put("endpoint", times[2]);
+		summary.put("total", total);
+		summary.put("done", done);
+		summary.putAll(counts);
+		summary.put("passed", passed);
+		summary.put("verdictFailed", verdictFailed);
+		summary.put("noVerdict", noVerdict);
+		summary.put("transportFailures", counts.get("failed"));
+		long judged = passed + verdictFailed;
+		summary.put("passRate", judged > 0 ? (double) passed / judged : null);
+		summary.put("createdAt", startedAt);
+		summary.put("finishedAt", done ? lastFinishedAt : null);
+		LocalDateTime end = done && lastFinishedAt != null ? lastFinishedAt : LocalDateTime.now();
+		summary.put("elapsedMs", startedAt != null ? Duration.between(startedAt, end).toMillis() : 0);
+
+		List<Map<String, Object>> failures = new ArrayList<>();
+		for (TauBenchJobEntity job : jobRepository.findByBatchIdAndStatusOrderByFinishedAtAsc(batchId,
+				JobStatus.FAILED, PageRequest.of(0, failuresListed))) {
+			Map<String, Object> failure = new LinkedHashMap<>();
+			failure.put("jobId", job.getJobId());
+			failure.put("taskId", job.getTaskId());
+			failure.put("userId", job.getUserId());
+			failure.put("message", job.getMessage());
+			failures.add(failure);
+		}
+		summary.put("failures", failures);
+		return summary;
+	}
+
+	/**
+	 * Cancel the jobs of a batch that have not started
+	 * 
+	 * @return number of jobs cancelled
+	 */
+	public int cancel(String batchId) {
+		int cancelled = jobRepository.cancelQueuedBatch(batchId, LocalDateTime.now(), JobStatus.QUEUED,
+				JobStatus.CANCELLED);
+		logger.info("Cancelled {} queued jobs of batch {}", cancelled, batchId);
+		return cancelled;
+	}
+
+	private static String blankToNull(String value) {
+		return value == null || value.trim().isEmpty() ? null : value.trim();
+	}
+
+	private static TaskStatus parseStatus(String status) {
+		if (status == null || status.trim().isEmpty()) {
+			return null;
+		}
+		try {
+			return TaskStatus.valueOf(status.trim().toUpperCase());
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Unknown task status: " + status);
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package com.amazon.agenticworkstation.service;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.amazon.agenticworkstation.service.ComputeComplexityService.ApiResponse;
+import com.amazon.agenticworkstation.service.ComputeComplexityService.Endpoint;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Runs a Tau Bench endpoint against a stored task: loads the task through the
+ * cache, calls the API, caches the result and shapes it the way the frontend
+ * expects. Shared by the synchronous execute-by-id endpoint and background jobs.
+ */
+@Service
+public class TauBenchExecutionService {
+
+	@Autowired
+	private ComputeComplexityService computeComplexityService;
+
+	@Autowired
+	private TaskCacheService taskCacheService;
+
+	/**
+	 * Execute an endpoint for a task. The returned future completes normally;
+	 * API failures are reported as unsuccessful responses.
+	 * 
+	 * @throws IOException if the task cannot be loaded or serialized
+	 */
+	public CompletableFuture<ApiResponse> executeById(String userId, String taskId, Endpoint endpoint)
+			throws IOException {
+		// Load task into cache if not already present
+		taskCacheService.loadTaskIntoCache(userId, taskId);
+
+		// Get task JSON directly from cache/database
+		String taskJson = taskCacheService.aggregatedJson(userId, taskId);
+
+		if (taskJson == null || taskJson.trim().isEmpty()) {
+			return CompletableFuture.completedFuture(new ApiResponse(false,
+					"Task not found in database for userId: " + userId + ", taskId: " + taskId, null, null));
+		}
+
+		return computeComplexityService.executeTaskFromJsonAsync(endpoint, taskJson, userId, taskId)
+				.thenApply(response -> afterExecution(userId, taskId, endpoint, response));
+	}
+
+	/**
+	 * Cache the result and shape it for the frontend
+	 */
+	private ApiResponse afterExecution(String userId, String taskId, Endpoint endpoint, ApiResponse response) {
+		if (!response.isSuccess() || response.getData() == null) {
+			return response;
+		}
+
+		// Store result in cache (run_task results are stored by the response handler)
+		if (endpoint != Endpoint.RUN_TASK) {
+			cacheResult(userId, taskId, endpoint, response.getData());
+		}
+		return shapeForFrontend(endpoint, response);
+	}
+
+	/**
+	 * Keep the latest result of an endpoint with the cached task
+	 */
+	void cacheResult(String userId, String taskId, Endpoint endpoint, JsonNode data) {
+		Map<String, Object> resultData = new HashMap<>();
+		resultData.put("endpoint", endpoint.name().toLowerCase());
+		resultData.put("result", data);
+		resultData.put("timestamp", System.currentTimeMillis());
+
+		taskCacheService.storeResultData(userId, taskId, resultData, "memory://" + userId + "_" + taskId);
+	}
+
+	/**
+	 * Wrap a successful response the way the frontend reads it
+	 */
+	static ApiResponse shapeForFrontend(Endpoint endpoint, ApiResponse response) {
+		// The frontend reads evaluate output from notebook_result.evaluation_data
+		if (endpoint == Endpoint.EVALUATE && response.isSuccess() && response.getData() != null) {
+			ObjectNode wrapped = JsonNodeFactory.instance.objectNode();
+			wrapped.putObject("notebook_result").set("evaluation_data", response.getData());
+			return new ApiResponse(true, response.getMessage(), wrapped, response.getPlotBase64(),
+					response.getPlotHash());
+		}
+		return response;
+	}
+
+	/**
+	 * Parse an endpoint name as accepted by the REST API (e.g. "run_task")
+	 */
+	public static Endpoint parseEndpoint(String endpoint) {
+		try {
+			return Endpoint.valueOf(endpoint.trim().toUpperCase());
+		} catch (RuntimeException e) {
+			throw new IllegalArgumentException("Unknown endpoint: " + endpoint);
+		}
+	}
+}
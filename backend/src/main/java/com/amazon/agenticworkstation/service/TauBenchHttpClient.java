@@ -0,0 +1,171 @@
+package com.amazon.agenticworkstation.service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.amazon.agenticworkstation.config.TauBenchConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Non-blocking client for the Tau Bench API. Built on the JDK HttpClient, which
+ * keeps pooled keep-alive connections and negotiates HTTP/2 over TLS where the
+ * server supports it; plain http:// URLs use HTTP/1.1, since asking for h2c
+ * adds upgrade headers that many servers and proxies mishandle. Calls return a
+ * future, so a slow run-task call ties up no thread while it waits; response
+ * callbacks run on a fixed pool of callback-threads. Timeouts are applied per
+ * endpoint.
+ */
+@Component
+public class TauBenchHttpClient {
+
+	private static final Logger logger = LoggerFactory.getLogger(TauBenchHttpClient.class);
+
+	private final TauBenchConfig.Api config;
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final ThreadPoolExecutor executor;
+	private final HttpClient httpClient;
+
+	@Autowired
+	public TauBenchHttpClient(TauBenchConfig tauBenchConfig) {
+		this(tauBenchConfig.getApi());
+	}
+
+	public TauBenchHttpClient(TauBenchConfig.Api config) {
+		this.config = config;
+		AtomicInteger counter = new AtomicInteger();
+		int threads = Math.max(1, config.getCallbackThreads());
+		// Runs response callbacks (parsing, result handling); the wait itself uses no thread.
+		// The queue is unbounded because HttpClient must never see a rejection.
+		this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+				runnable -> {
+					Thread thread = new Thread(runnable, "tau-bench-http-" + counter.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		this.httpClient = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofMillis(config.getConnectTimeout()))
+				.followRedirects(HttpClient.Redirect.NORMAL)
+				.executor(executor)
+				.build();
+	}
+
+	/**
+	 * Status and parsed body of a Tau Bench API response. The body is null when
+	 * it was empty, or when an error response was not JSON (such as a gateway's
+	 * HTML error page).
+	 */
+	public static class Response {
+		private final int statusCode;
+		private final JsonNode body;
+
+		public Response(int statusCode, JsonNode body) {
+			this.statusCode = statusCode;
+			this.body = body;
+		}
+
+		public int getStatusCode() {
+			return statusCode;
+		}
+
+		public JsonNode getBody() {
+			return body;
+		}
+	}
+
+	/**
+	 * POST a JSON payload to an endpoint URL
+	 * 
+	 * @param endpointName lower-case endpoint name used to look up its timeout
+	 * @return future completing with the response, or exceptionally on I/O
+	 *         failure or timeout
+	 */
+	public CompletableFuture<Response> postJson(String url, String endpointName, JsonNode payload) {
+		return postJson(url, endpointName, payload, null);
+	}
+
+	/**
+	 * POST with a caller deadline: the response timeout is shortened to the
+	 * time left, and the deadline is passed on in the X-Request-Deadline header
+	 * 
+	 * @param deadlineEpochMs absolute deadline, or null for the endpoint timeout
+	 */
+	public CompletableFuture<Response> postJson(String url, String endpointName, JsonNode payload,
+			Long deadlineEpochMs) {
+		byte[] body;
+		try {
+			body = objectMapper.writeValueAsBytes(payload);
+		} catch (IOException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+		long timeoutMs = config.timeoutFor(endpointName);
+		if (deadlineEpochMs != null) {
+			long remainingMs = deadlineEpochMs - System.currentTimeMillis();
+			if (remainingMs <= 0) {
+				return CompletableFuture.failedFuture(new TauBenchUnavailableException(endpointName,
+						"Deadline passed before calling Tau Bench endpoint " + endpointName, 0));
+			}
+			timeoutMs = Math.min(timeoutMs, remainingMs);
+		}
+		URI uri = URI.create(url);
+		HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+				.version("https".equalsIgnoreCase(uri.getScheme()) ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+				.timeout(Duration.ofMillis(timeoutMs))
+				.header("Content-Type", "application/json")
+				.header("Accept", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofByteArray(body));
+		if (deadlineEpochMs != null) {
+			builder.header(RequestDeadline.DEADLINE_HEADER, String.valueOf(deadlineEpochMs));
+		}
+		HttpRequest request = builder.build();
+		logger.debug("POST {} ({} bytes, timeout {} ms)", url, body.length, timeoutMs);
+		return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+				.thenApply(response -> new Response(response.statusCode(),
+						parse(response.statusCode(), response.body())));
+	}
+
+	/**
+	 * Parse a response body. Only a successful response has to be JSON; error
+	 * bodies that are not keep just their status, so the resilience layer can
+	 * still classify them.
+	 */
+	private JsonNode parse(int status, byte[] body) {
+		if (body == null || body.length == 0) {
+			return null;
+		}
+		try {
+			return objectMapper.readTree(body);
+		} catch (IOException e) {
+			if (status < 200 || status >= 300) {
+				logger.debug("Ignoring non-JSON body of HTTP {} response: {}", status,
+						new String(body, 0, Math.min(body.length, 200), StandardCharsets.UTF_8));
+				return null;
+			}
+			throw new IllegalStateException("Tau Bench API returned invalid JSON: " + e.getMessage(), e);
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		executor.shutdownNow();
+	}
+}
@@ -0,0 +1,466 @@
+package com.amazon.agenticworkstation.service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.amazon.agenticworkstation.entity.TauBenchJobEntity;
+import com.amazon.agenticworkstation.entity.TauBenchJobEntity.JobLane;
+import com.amazon.agenticworkstation.entity.TauBenchJobEntity.JobStatus;
+import com.amazon.agenticworkstation.repository.TauBenchJobRepository;
+import com.amazon.agenticworkstation.service.ComputeComplexityService.ApiResponse;
+import com.amazon.agenticworkstation.service.ComputeComplexityService.Endpoint;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Persistent background queue for Tau Bench executions. Submitting returns a
+ * job id at once; workers in two lanes (interactive and batch, each with its
+ * own threads so bulk runs never delay a user) execute jobs and record the
+ * outcome in the tau_bench_job table. Jobs are claimed with a conditional
+ * update, so several nodes can share the table, and queued or interrupted jobs
+ * are resumed after a restart.
+ */
+@Service
+public class TauBenchJobService {
+
+	private static final Logger logger = LoggerFactory.getLogger(TauBenchJobService.class);
+
+	// Full reward, allowing for float noise
+	private static final double PASS_REWARD = 1.0 - 1e-9;
+	// Fields task_verification has used for its verdict
+	private static final List<String> VERDICT_FIELDS = List.of("valid", "verified", "passed", "is_valid");
+
+	@Autowired
+	private TauBenchJobRepository jobRepository;
+
+	@Autowired
+	private TauBenchExecutionService executionService;
+
+	@Autowired
+	private TauBenchRateLimiter batchRateLimiter;
+
+	@Autowired
+	private PlotStore plotStore;
+
+	@Value("${tau.bench.jobs.interactive-workers:4}")
+	private int interactiveWorkers;
+
+	@Value("${tau.bench.jobs.batch-workers:8}")
+	private int batchWorkers;
+
+	@Value("${tau.bench.jobs.max-queued:20000}")
+	private int maxQueued;
+
+	@Value("${tau.bench.jobs.max-attempts:3}")
+	private int maxAttempts;
+
+	@Value("${tau.bench.jobs.stale-after-ms:120000}")
+	private long staleAfterMs;
+
+	@Value("${tau.bench.jobs.events-timeout-ms:600000}")
+	private long eventsTimeoutMs;
+
+	private ThreadPoolExecutor interactiveLane;
+	private ThreadPoolExecutor batchLane;
+
+	// Jobs handed to a lane on this node and not finished yet
+	private final Set<String> scheduled = ConcurrentHashMap.newKeySet();
+	// Jobs this node has claimed and is executing, with the attempt it owns
+	private final Map<String, Integer> running = new ConcurrentHashMap<>();
+	private final Map<String, Set<SseEmitter>> watchers = new ConcurrentHashMap<>();
+
+	@PostConstruct
+	public void init() {
+		interactiveLane = newLane("tau-bench-job-interactive", interactiveWorkers);
+		batchLane = newLane("tau-bench-job-batch", batchWorkers);
+		logger.info("Tau Bench job queue started: {} interactive / {} batch workers", interactiveWorkers,
+				batchWorkers);
+	}
+
+	private static ThreadPoolExecutor newLane(String name, int threads) {
+		AtomicInteger counter = new AtomicInteger();
+		int size = Math.max(1, threads);
+		return new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+			Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Queue an execution and return the stored job
+	 * 
+	 * @throws IllegalStateException if the queue is full
+	 */
+	public TauBenchJobEntity submit(String userId, String taskId, Endpoint endpoint, JobLane lane) {
+		if (scheduled.size() >= maxQueued) {
+			throw new IllegalStateException("Job queue is full (" + maxQueued + " jobs), try again later");
+		}
+		TauBenchJobEntity job = new TauBenchJobEntity(UUID.randomUUID().toString(), userId, taskId,
+				endpoint.name().toLowerCase(), lane != null ? lane : JobLane.INTERACTIVE);
+		job = jobRepository.save(job);
+		logger.info("Queued job {} ({} for task {} user {}, lane {})", job.getJobId(), job.getEndpoint(), taskId,
+				userId, job.getLane());
+		dispatch(job.getJobId(), job.getLane());
+		return job;
+	}
+
+	/**
+	 * Queue one batch-lane job per task under a shared batch id
+	 * 
+	 * @param tasks [taskId, userId] pairs
+	 * @throws IllegalStateException if the jobs do not fit in the queue
+	 */
+	public int submitBatch(String batchId, List<String[]> tasks, Endpoint endpoint) {
+		if (scheduled.size() + tasks.size() > maxQueued) {
+			throw new IllegalStateException("Batch of " + tasks.size() + " jobs does not fit in the job queue ("
+					+ scheduled.size() + " of " + maxQueued + " in use)");
+		}
+		List<TauBenchJobEntity> jobs = new ArrayList<>(tasks.size());
+		for (String[] task : tasks) {
+			TauBenchJobEntity job = new TauBenchJobEntity(UUID.randomUUID().toString(), task[1], task[0],
+					endpoint.name().toLowerCase(), JobLane.BATCH);
+			job.setBatchId(batchId);
+			jobs.add(job);
+		}
+		for (TauBenchJobEntity job : jobRepository.saveAll(jobs)) {
+			dispatch(job.getJobId(), JobLane.BATCH);
+		}
+		logger.info("Queued batch {} with {} {} jobs", batchId, jobs.size(), endpoint.name().toLowerCase());
+		return jobs.size();
+	}
+
+	public Optional<TauBenchJobEntity> find(String jobId) {
+		return jobRepository.findById(jobId);
+	}
+
+	public List<TauBenchJobEntity> recentJobs(String userId, int limit) {
+		return jobRepository.findByUserIdOrderByCreatedAtDesc(userId, PageRequest.of(0, Math.max(1, limit)));
+	}
+
+	/**
+	 * Cancel a job that has not started
+	 * 
+	 * @return false if the job is already running or finished
+	 */
+	public boolean cancel(String jobId) {
+		boolean cancelled = jobRepository.cancelQueued(jobId, LocalDateTime.now(), JobStatus.QUEUED,
+				JobStatus.CANCELLED) > 0;
+		if (cancelled) {
+			jobRepository.findById(jobId).ifPresent(this::notifyWatchers);
+		}
+		return cancelled;
+	}
+
+	/**
+	 * Stream status changes of one job; the stream ends when the job finishes
+	 */
+	public SseEmitter watch(TauBenchJobEntity job) {
+		SseEmitter emitter = new SseEmitter(eventsTimeoutMs);
+		String jobId = job.getJobId();
+		watchers.computeIfAbsent(jobId, k -> ConcurrentHashMap.newKeySet()).add(emitter);
+		Runnable remove = () -> watchers.computeIfPresent(jobId, (key, emitters) -> {
+			emitters.remove(emitter);
+			return emitters.isEmpty() ? null : emitters;
+		});
+		emitter.onCompletion(remove);
+		emitter.onTimeout(remove);
+		emitter.onError(e -> remove.run());
+
+		// Send the current state; the job may have finished before the client connected
+		TauBenchJobEntity current = jobRepository.findById(jobId).orElse(job);
+		send(emitter, current);
+		if (current.getStatus().isTerminal()) {
+			emitter.complete();
+		}
+		return emitter;
+	}
+
+	/**
+	 * Client-facing view of a job, including the result once it has finished
+	 */
+	public Map<String, Object> describe(TauBenchJobEntity job) {
+		Map<String, Object> view = new LinkedHashMap<>();
+		view.put("jobId", job.getJobId());
+		if (job.getBatchId() != null) {
+			view.put("batchId", job.getBatchId());
+		}
+		view.put("userId", job.getUserId());
+		view.put("taskId", job.getTaskId());
+		view.put("endpoint", job.getEndpoint());
+		view.put("lane", job.getLane().name().toLowerCase());
+		view.put("status", job.getStatus().name().toLowerCase());
+		view.put("progress", job.getProgress());
+		view.put("attempts", job.getAttempts());
+		view.put("createdAt", job.getCreatedAt());
+		view.put("startedAt", job.getStartedAt());
+		view.put("finishedAt", job.getFinishedAt());
+		if (job.getStatus().isTerminal()) {
+			Map<String, Object> result = new LinkedHashMap<>();
+			result.put("success", Boolean.TRUE.equals(job.getSuccess()));
+			result.put("message", job.getMessage());
+			result.put("data", parseResult(job));
+			result.put("plotBase64", job.getPlotBase64() != null ? job.getPlotBase64()
+					: plotStore.inlineBase64(job.getPlotHash()));
+			result.put("plotUrl", PlotStore.urlFor(job.getPlotHash()));
+			result.put("hasPlot", job.getPlotHash() != null
+					|| (job.getPlotBase64() != null && !job.getPlotBase64().isEmpty()));
+			view.put("result", result);
+		}
+		return view;
+	}
+
+	/**
+	 * Resume work left in the table by a previous run of this or another node
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void recoverOnStartup() {
+		int resumed = recover();
+		if (resumed > 0) {
+			logger.info("Resumed {} queued Tau Bench jobs", resumed);
+		}
+	}
+
+	/**
+	 * Periodically pick up jobs orphaned by a node that went away
+	 */
+	@Scheduled(fixedDelayString = "${tau.bench.jobs.recovery-interval-ms:60000}", initialDelayString = "${tau.bench.jobs.recovery-interval-ms:60000}")
+	public void recoverPeriodically() {
+		recover();
+	}
+
+	private int recover() {
+		try {
+			LocalDateTime now = LocalDateTime.now();
+			int requeued = jobRepository.requeueStale(now.minusNanos(staleAfterMs * 1_000_000L), now,
+					JobStatus.RUNNING, JobStatus.QUEUED);
+			if (requeued > 0) {
+				logger.warn("Requeued {} Tau Bench jobs whose worker stopped responding", requeued);
+			}
+			int resumed = 0;
+			for (TauBenchJobEntity job : jobRepository.findByStatusOrderByCreatedAtAsc(JobStatus.QUEUED)) {
+				if (dispatch(job.getJobId(), job.getLane())) {
+					resumed++;
+				}
+			}
+			return resumed;
+		} catch (Exception e) {
+			logger.warn("Tau Bench job recovery failed: {}", e.getMessage());
+			return 0;
+		}
+	}
+
+	private boolean dispatch(String jobId, JobLane lane) {
+		if (!scheduled.add(jobId)) {
+			return false;
+		}
+		try {
+			(lane == JobLane.BATCH ? batchLane : interactiveLane).execute(() -> run(jobId, lane));
+			return true;
+		} catch (RejectedExecutionException e) {
+			// Shutting down; the job stays QUEUED in the table for the next start
+			scheduled.remove(jobId);
+			return false;
+		}
+	}
+
+	private void run(String jobId, JobLane lane) {
+		try {
+			if (lane == JobLane.BATCH) {
+				// Bulk runs share a rate budget toward the Tau Bench host. Wait before
+				// claiming so the job does not sit RUNNING without a heartbeat.
+				batchRateLimiter.acquire();
+			}
+			if (jobRepository.claim(jobId, LocalDateTime.now(), JobStatus.QUEUED, JobStatus.RUNNING) == 0) {
+				return; // cancelled, or running elsewhere
+			}
+			TauBenchJobEntity job = jobRepository.findById(jobId).orElse(null);
+			if (job == null) {
+				return;
+			}
+			running.put(jobId, job.getAttempts());
+			notifyWatchers(job);
+
+			if (job.getAttempts() > maxAttempts) {
+				finish(job, new ApiResponse(false, "Job abandoned after " + maxAttempts + " attempts", null, null));
+				return;
+			}
+
+			ApiResponse response;
+			try {
+				// Blocks this lane worker (not a request thread) until the API answers
+				response = executionService
+						.executeById(job.getUserId(), job.getTaskId(), TauBenchExecutionService.parseEndpoint(job.getEndpoint()))
+						.join();
+			} catch (IOException | RuntimeException e) {
+				response = new ApiResponse(false, "Task execution failed: " + e.getMessage(), null, null);
+			}
+			finish(job, response);
+		} catch (InterruptedException e) {
+			// Shutting down while waiting for a token; the job is still QUEUED
+			Thread.currentThread().interrupt();
+		} catch (Exception e) {
+			logger.error("Tau Bench job {} failed unexpectedly", jobId, e);
+		} finally {
+			running.remove(jobId);
+			scheduled.remove(jobId);
+		}
+	}
+
+	/**
+	 * Store the outcome, unless this attempt lost the job to a requeue in the
+	 * meantime; the attempt that owns it now reports instead
+	 */
+	private void finish(TauBenchJobEntity job, ApiResponse response) {
+		JobStatus status = response.isSuccess() ? JobStatus.SUCCEEDED : JobStatus.FAILED;
+		String message = response.getMessage();
+		String resultJson = null;
+		try {
+			resultJson = response.getData() != null ? TaskJsonCodec.write(response.getData()) : null;
+		} catch (IOException e) {
+			message = response.getMessage() + " (result could not be stored: " + e.getMessage() + ")";
+		}
+		int updated = jobRepository.complete(job.getJobId(), job.getAttempts(), status, response.isSuccess(),
+				response.isSuccess() ? verdictOf(job.getEndpoint(), response.getData()) : null, message, resultJson,
+				response.getPlotBase64(), response.getPlotHash(), LocalDateTime.now(), JobStatus.RUNNING);
+		if (updated == 0) {
+			logger.warn("Job {} attempt {} finished after losing the job; outcome {} discarded", job.getJobId(),
+					job.getAttempts(), status);
+			return;
+		}
+		logger.info("Job {} finished: {}", job.getJobId(), status);
+		jobRepository.findById(job.getJobId()).ifPresent(this::notifyWatchers);
+	}
+
+	/**
+	 * Keep updatedAt of the jobs running here fresh, so recovery only requeues
+	 * jobs whose worker is gone
+	 */
+	@Scheduled(fixedDelayString = "${tau.bench.jobs.heartbeat-interval-ms:30000}")
+	public void heartbeat() {
+		LocalDateTime now = LocalDateTime.now();
+		running.forEach((jobId, attempt) -> {
+			try {
+				if (jobRepository.heartbeat(jobId, attempt, now, JobStatus.RUNNING) == 0) {
+					logger.warn("Job {} attempt {} is no longer owned by this node", jobId, attempt);
+				}
+			} catch (Exception e) {
+				logger.warn("Heartbeat for job {} failed: {}", jobId, e.getMessage());
+			}
+		});
+	}
+
+	/**
+	 * Whether the task passed according to the response body, or null when the
+	 * endpoint does not judge the task. run_task passes when every trial earned
+	 * full reward; task_verification reports a boolean verdict.
+	 */
+	static Boolean verdictOf(String endpoint, JsonNode data) {
+		if (data == null) {
+			return null;
+		}
+		Endpoint parsed = TauBenchExecutionService.parseEndpoint(endpoint);
+		if (parsed == Endpoint.RUN_TASK) {
+			List<JsonNode> trials = new ArrayList<>();
+			if (data.isArray()) {
+				data.forEach(trials::add);
+			} else {
+				trials.add(data);
+			}
+			boolean rewarded = false;
+			for (JsonNode trial : trials) {
+				if (!trial.path("reward").isNumber()) {
+					continue;
+				}
+				if (trial.path("reward").asDouble() < PASS_REWARD) {
+					return false;
+				}
+				rewarded = true;
+			}
+			return rewarded ? Boolean.TRUE : null;
+		}
+		if (parsed == Endpoint.TASK_VERIFICATION) {
+			for (String field : VERDICT_FIELDS) {
+				if (data.path(field).isBoolean()) {
+					return data.path(field).asBoolean();
+				}
+			}
+		}
+		return null;
+	}
+
+	private Object parseResult(TauBenchJobEntity job) {
+		if (job.getResultJson() == null) {
+			return null;
+		}
+		try {
+			return TaskJsonCodec.readTree(job.getResultJson());
+		} catch (IOException e) {
+			return job.getResultJson();
+		}
+	}
+
+	private void notifyWatchers(TauBenchJobEntity job) {
+		Set<SseEmitter> emitters = watchers.get(job.getJobId());
+		if (emitters == null) {
+			return;
+		}
+		for (SseEmitter emitter : new ArrayList<>(emitters)) {
+			send(emitter, job);
+			if (job.getStatus().isTerminal()) {
+				emitter.complete();
+			}
+		}
+	}
+
+	private void send(SseEmitter emitter, TauBenchJobEntity job) {
+		try {
+			emitter.send(SseEmitter.event().name("status").data(describe(job), MediaType.APPLICATION_JSON));
+		} catch (IOException | IllegalStateException e) {
+			emitter.completeWithError(e);
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		// Unstarted jobs remain QUEUED in the table; hand back the ones in flight too
+		interactiveLane.shutdownNow();
+		batchLane.shutdownNow();
+		for (String jobId : running.keySet()) {
+			try {
+				jobRepository.requeue(jobId, LocalDateTime.now(), JobStatus.RUNNING, JobStatus.QUEUED);
+			} catch (Exception e) {
+				logger.warn("Could not requeue job {} on shutdown: {}", jobId, e.getMessage());
+			}
+		}
+		watchers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+		watchers.clear();
+	}
+}
@@ -0,0 +1,76 @@
+package com.amazon.agenticworkstation.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.amazon.agenticworkstation.service.ComputeComplexityService.Endpoint;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * SHA-256 of a Tau Bench request: endpoint, a salt (such as the service
+ * version) and the payload with object keys sorted, so key order in the task
+ * JSON does not change the hash.
+ */
+final class TauBenchPayloadHash {
+
+	// Names the task a call was made for; identical task content may carry different names
+	static final String TASK_FILE_NAME = "task_file_name";
+
+	private TauBenchPayloadHash() {
+	}
+
+	/**
+	 * @param dropTaskFileName hash only the task content, ignoring which task
+	 *                         the payload was built for
+	 */
+	static String of(Endpoint endpoint, String salt, JsonNode payload, boolean dropTaskFileName) {
+		JsonNode canonical = canonicalize(payload);
+		if (dropTaskFileName && canonical instanceof ObjectNode) {
+			((ObjectNode) canonical).remove(TASK_FILE_NAME);
+		}
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(endpoint.getPath().getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) '\n');
+			digest.update(salt.getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) '\n');
+			digest.update(TaskJsonCodec.write(canonical).getBytes(StandardCharsets.UTF_8));
+			StringBuilder hex = new StringBuilder(64);
+			for (byte b : digest.digest()) {
+				hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return hex.toString();
+		} catch (NoSuchAlgorithmException | IOException e) {
+			throw new IllegalStateException("Cannot hash Tau Bench payload: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Deep copy with object fields in sorted order
+	 */
+	private static JsonNode canonicalize(JsonNode node) {
+		if (node.isObject()) {
+			List<String> names = new ArrayList<>();
+			node.fieldNames().forEachRemaining(names::add);
+			names.sort(null);
+			ObjectNode sorted = JsonNodeFactory.instance.objectNode();
+			for (String name : names) {
+				sorted.set(name, canonicalize(node.get(name)));
+			}
+			return sorted;
+		}
+		if (node.isArray()) {
+			ArrayNode copy = JsonNodeFactory.instance.arrayNode(node.size());
+			node.forEach(element -> copy.add(canonicalize(element)));
+			return copy;
+		}
+		return node;
+	}
+}
@@ -0,0 +1,207 @@
+package com.amazon.agenticworkstation.service;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.amazon.agenticworkstation.service.ComputeComplexityService.ApiResponse;
+import com.amazon.agenticworkstation.service.ComputeComplexityService.Endpoint;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * run_task followed by evaluate in one request. The run results go straight
+ * to the evaluate call instead of through result_json, and both results are
+ * written to the database on a separate executor while the client is already
+ * reading the outcome.
+ * <p>
+ * Progress is streamed as server-sent events:
+ * <ul>
+ * <li>"stage": {stage, status (started, completed or failed), durationMs}
+ * for run_task and evaluate</li>
+ * <li>"result": the evaluate response as execute-by-id would return it</li>
+ * <li>"persisted": whether each result was stored, then the stream ends</li>
+ * </ul>
+ * A plain evaluate started before "persisted" still sees the previous
+ * result_json.
+ */
+@Service
+public class TauBenchPipelineService {
+
+	private static final Logger logger = LoggerFactory.getLogger(TauBenchPipelineService.class);
+
+	@Autowired
+	private ComputeComplexityService computeComplexityService;
+
+	@Autowired
+	private TauBenchExecutionService executionService;
+
+	@Autowired
+	private TaskCacheService taskCacheService;
+
+	@Autowired
+	private PlotStore plotStore;
+
+	@Value("${tau.bench.pipeline.persist-threads:2}")
+	private int persistThreads;
+
+	@Value("${tau.bench.pipeline.events-timeout-ms:600000}")
+	private long eventsTimeoutMs;
+
+	private ExecutorService persistExecutor;
+
+	@PostConstruct
+	public void init() {
+		AtomicInteger counter = new AtomicInteger();
+		int size = Math.max(1, persistThreads);
+		persistExecutor = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+				runnable -> {
+					Thread thread = new Thread(runnable, "tau-bench-persist-" + counter.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+	}
+
+	/**
+	 * Run and evaluate a task, streaming progress to the returned emitter
+	 *
+	 * @throws IllegalArgumentException if the task does not exist
+	 * @throws IOException              if the task cannot be loaded
+	 */
+	public SseEmitter runAndEvaluate(String userId, String taskId) throws IOException {
+		taskCacheService.loadTaskIntoCache(userId, taskId);
+		String taskJson = taskCacheService.aggregatedJson(userId, taskId);
+		if (taskJson == null || taskJson.trim().isEmpty()) {
+			throw new IllegalArgumentException("Task not found for userId: " + userId + ", taskId: " + taskId);
+		}
+
+		SseEmitter emitter = new SseEmitter(eventsTimeoutMs);
+		long runStarted = System.currentTimeMillis();
+		send(emitter, "stage", stage(Endpoint.RUN_TASK, "started", null, null));
+
+		computeComplexityService.runTrialAsync(taskJson, userId, taskId).thenCompose(run -> {
+			long runMs = System.currentTimeMillis() - runStarted;
+			if (!run.isSuccess() || run.getData() == null) {
+				send(emitter, "stage", stage(Endpoint.RUN_TASK, "failed", runMs, run.getMessage()));
+				send(emitter, "result", result(run));
+				emitter.complete();
+				return CompletableFuture.completedFuture(null);
+			}
+			send(emitter, "stage", stage(Endpoint.RUN_TASK, "completed", runMs, run.getMessage()));
+
+			// Stored alongside the evaluate call rather than before it
+			JsonNode results = run.getData();
+			CompletableFuture<Boolean> runStored = CompletableFuture.supplyAsync(
+					() -> persistRunResult(taskId, userId, results), persistExecutor);
+
+			long evaluateStarted = System.currentTimeMillis();
+			send(emitter, "stage", stage(Endpoint.EVALUATE, "started", null, null));
+			return computeComplexityService.evaluateResultsAsync(taskJson, userId, taskId, results)
+					.thenCompose(evaluation -> {
+						long evaluateMs = System.currentTimeMillis() - evaluateStarted;
+						send(emitter, "stage", stage(Endpoint.EVALUATE, evaluation.isSuccess() ? "completed" : "failed",
+								evaluateMs, evaluation.getMessage()));
+						send(emitter, "result", result(TauBenchExecutionService.shapeForFrontend(Endpoint.EVALUATE,
+								evaluation)));
+
+						CompletableFuture<Boolean> evaluationStored = evaluation.isSuccess() && evaluation.getData() != null
+								? CompletableFuture.supplyAsync(() -> persistEvaluation(userId, taskId, evaluation),
+										persistExecutor)
+								: CompletableFuture.completedFuture(false);
+						return runStored.thenCombine(evaluationStored, (runOk, evaluationOk) -> {
+							Map<String, Object> persisted = new LinkedHashMap<>();
+							persisted.put("runResult", runOk);
+							persisted.put("evaluation", evaluationOk);
+							send(emitter, "persisted", persisted);
+							emitter.complete();
+							return null;
+						});
+					});
+		}).exceptionally(e -> {
+			logger.error("Run/evaluate pipeline failed for task {}", taskId, e);
+			send(emitter, "result", result(new ApiResponse(false, "Pipeline failed: " + e.getMessage(), null, null)));
+			emitter.complete();
+			return null;
+		});
+		return emitter;
+	}
+
+	private boolean persistRunResult(String taskId, String userId, JsonNode results) {
+		try {
+			String owner = taskCacheService.getUserIdForTask(taskId);
+			taskCacheService.saveResultJsonToDatabase(owner != null ? owner : userId, taskId,
+					TaskJsonCodec.write(results));
+			return true;
+		} catch (Exception e) {
+			logger.error("Could not store run_task result for task {}", taskId, e);
+			return false;
+		}
+	}
+
+	private boolean persistEvaluation(String userId, String taskId, ApiResponse evaluation) {
+		try {
+			executionService.cacheResult(userId, taskId, Endpoint.EVALUATE, evaluation.getData());
+			return true;
+		} catch (Exception e) {
+			logger.error("Could not store evaluation result for task {}", taskId, e);
+			return false;
+		}
+	}
+
+	private static Map<String, Object> stage(Endpoint endpoint, String status, Long durationMs, String message) {
+		Map<String, Object> stage = new LinkedHashMap<>();
+		stage.put("stage", endpoint.name().toLowerCase());
+		stage.put("status", status);
+		if (durationMs != null) {
+			stage.put("durationMs", durationMs);
+		}
+		if (message != null) {
+			stage.put("message", message);
+		}
+		return stage;
+	}
+
+	private Map<String, Object> result(ApiResponse response) {
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("success", response.isSuccess());
+		result.put("message", response.getMessage());
+		result.put("data", response.getData());
+		result.put("plotBase64", response.getPlotBase64() != null ? response.getPlotBase64()
+				: plotStore.inlineBase64(response.getPlotHash()));
+		result.put("plotUrl", response.getPlotUrl());
+		result.put("hasPlot", response.hasPlot());
+		return result;
+	}
+
+	private void send(SseEmitter emitter, String name, Object data) {
+		try {
+			emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+		} catch (IOException | IllegalStateException e) {
+			// The client went away; the pipeline and its writes carry on
+			logger.debug("Pipeline event {} not delivered: {}", name, e.getMessage());
+		}
+	}
+
+	@PreDestroy
+	void shutdown() throws InterruptedException {
+		// Let queued result writes finish
+		persistExecutor.shutdown();
+		persistExecutor.awaitTermination(10, TimeUnit.SECONDS);
+	}
+}
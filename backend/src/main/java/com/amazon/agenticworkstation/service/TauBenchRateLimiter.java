@@ -0,0 +1,54 @@
+package com.amazon.agenticworkstation.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token bucket that paces batch traffic to the Tau Bench host: up to
+ * {@code burst} calls at once, refilled at {@code ratePerSecond}. Callers block
+ * in {@link #acquire()} on their own worker thread until a token is available.
+ */
+@Component
+public class TauBenchRateLimiter {
+
+	private final double ratePerSecond;
+	private final double burst;
+	private double tokens;
+	private long lastRefillNanos = System.nanoTime();
+
+	public TauBenchRateLimiter(@Value("${tau.bench.batch.rate-per-second:10}") double ratePerSecond,
+			@Value("${tau.bench.batch.burst:10}") double burst) {
+		this.ratePerSecond = ratePerSecond;
+		this.burst = Math.max(1, burst);
+		this.tokens = this.burst;
+	}
+
+	/**
+	 * Wait for a token; a non-positive rate disables limiting
+	 */
+	public void acquire() throws InterruptedException {
+		if (ratePerSecond <= 0) {
+			return;
+		}
+		while (true) {
+			long waitNanos;
+			synchronized (this) {
+				refill();
+				if (tokens >= 1) {
+					tokens -= 1;
+					return;
+				}
+				waitNanos = (long) ((1 - tokens) / ratePerSecond * TimeUnit.SECONDS.toNanos(1));
+			}
+			TimeUnit.NANOSECONDS.sleep(Math.max(waitNanos, 1_000_000L));
+		}
+	}
+
+	private void refill() {
+		long now = System.nanoTime();
+		tokens = Math.min(burst, tokens + (now - lastRefillNanos) / 1e9 * ratePerSecond);
+		lastRefillNanos = now;
+	}
+}
@@ -0,0 +1,93 @@
+package com.amazon.agenticworkstation.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import jakarta.annotation.PostConstruct;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.amazon.agenticworkstation.service.ComputeComplexityService.Endpoint;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Single-flight for Tau Bench calls: while a request with the same endpoint and
+ * payload is outstanding, later callers attach to it instead of sending their
+ * own. Only the remote call is shared; every caller still runs its own
+ * response handling (result persistence, cache updates), so per-task side
+ * effects stay correct.
+ */
+@Component
+public class TauBenchRequestCoalescer {
+
+	private static final Logger logger = LoggerFactory.getLogger(TauBenchRequestCoalescer.class);
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${tau.bench.coalescing.enabled:true}")
+	private boolean enabled;
+
+	private final Map<String, CompletableFuture<TauBenchHttpClient.Response>> inFlight = new ConcurrentHashMap<>();
+
+	@PostConstruct
+	public void init() {
+		Gauge.builder("tau.bench.requests.inflight", inFlight::size)
+				.description("Distinct Tau Bench calls currently outstanding").register(meterRegistry);
+	}
+
+	/**
+	 * Run {@code call} unless an identical request is already in flight, in
+	 * which case share its response
+	 */
+	public CompletableFuture<TauBenchHttpClient.Response> execute(Endpoint endpoint, JsonNode payload,
+			Supplier<CompletableFuture<TauBenchHttpClient.Response>> call) {
+		if (!enabled) {
+			return call.get();
+		}
+		// The full payload, including which task it is for, so the shared response really is the same
+		String key = TauBenchPayloadHash.of(endpoint, "coalesce", payload, false);
+		CompletableFuture<TauBenchHttpClient.Response> leader = new CompletableFuture<>();
+		CompletableFuture<TauBenchHttpClient.Response> existing = inFlight.putIfAbsent(key, leader);
+		if (existing != null) {
+			Counter.builder("tau.bench.requests.coalesced").tag("endpoint", endpoint.getPath())
+					.description("Tau Bench calls that attached to an identical in-flight call")
+					.register(meterRegistry).increment();
+			logger.info("Attaching to in-flight {} call {}", endpoint.getPath(), key.substring(0, 12));
+			// Each follower gets its own copy of the body so handlers cannot interfere
+			return existing.thenApply(response -> new TauBenchHttpClient.Response(response.getStatusCode(),
+					response.getBody() != null ? response.getBody().deepCopy() : null));
+		}
+
+		CompletableFuture<TauBenchHttpClient.Response> remote;
+		try {
+			remote = call.get();
+		} catch (RuntimeException e) {
+			remote = CompletableFuture.failedFuture(e);
+		}
+		remote.whenComplete((response, error) -> {
+			// Leave the map before completing so callers arriving afterwards start a fresh call
+			inFlight.remove(key, leader);
+			if (error != null) {
+				leader.completeExceptionally(error);
+			} else {
+				leader.complete(response);
+			}
+		});
+		return leader;
+	}
+
+	public int inFlightCount() {
+		return inFlight.size();
+	}
+}
@@ -0,0 +1,387 @@
+package com.amazon.agenticworkstation.service;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.amazon.agenticworkstation.config.TauBenchConfig;
+import com.amazon.agenticworkstation.service.ComputeComplexityService.Endpoint;
+
+/**
+ * Guards outbound Tau Bench calls, one guard per {@link Endpoint} so a failing
+ * evaluation backend cannot starve the others:
+ * <ul>
+ * <li>a bulkhead caps concurrent calls; a caller waits for a slot without
+ * holding its thread;</li>
+ * <li>a count-based circuit breaker fails fast while the endpoint is failing
+ * and lets a single probe through after the open period;</li>
+ * <li>transient failures are retried with exponential backoff and full
+ * jitter, within the caller's deadline. Only compute_complexity and
+ * task_verification are idempotent, so only they retry resets and
+ * 429/502/503/504 answers; run-task and evaluate retry only when the request
+ * was never sent (connect failures) or was refused outright (429/503).
+ * Response timeouts are never retried: the host is slow, and retrying adds
+ * load.</li>
+ * </ul>
+ * Meters are published per endpoint under tau.bench.calls,
+ * tau.bench.retries, tau.bench.circuit.state and tau.bench.bulkhead.available.
+ */
+@Component
+public class TauBenchResilience {
+
+	private static final Logger logger = LoggerFactory.getLogger(TauBenchResilience.class);
+
+	// Safe to repeat: same request, same answer, no side effects
+	private static final Set<Endpoint> IDEMPOTENT = EnumSet.of(Endpoint.COMPUTE_COMPLEXITY, Endpoint.TASK_VERIFICATION);
+	// How often a caller waiting for a bulkhead slot checks again
+	private static final long BULKHEAD_POLL_MS = 25;
+
+	private final TauBenchConfig.Resilience config;
+	private final Map<Endpoint, Guard> guards = new EnumMap<>(Endpoint.class);
+
+	enum State {
+		CLOSED, HALF_OPEN, OPEN
+	}
+
+	/**
+	 * Outcome of asking the breaker for a call; only the probe's own result
+	 * may close or reopen a half-open circuit
+	 */
+	enum Permit {
+		DENIED, CALL, PROBE
+	}
+
+	public TauBenchResilience(TauBenchConfig tauBenchConfig, MeterRegistry registry) {
+		this.config = tauBenchConfig.getResilience();
+		for (Endpoint endpoint : Endpoint.values()) {
+			guards.put(endpoint, new Guard(endpoint, config, registry));
+		}
+	}
+
+	/**
+	 * Run {@code attempt} under the endpoint's guard, retrying transient
+	 * failures. The returned future fails with
+	 * {@link TauBenchUnavailableException} when the call is refused locally.
+	 */
+	public CompletableFuture<TauBenchHttpClient.Response> execute(Endpoint endpoint, Long deadlineEpochMs,
+			Supplier<CompletableFuture<TauBenchHttpClient.Response>> attempt) {
+		CompletableFuture<TauBenchHttpClient.Response> result = new CompletableFuture<>();
+		runAttempt(guards.get(endpoint), 1, deadlineEpochMs, attempt, result);
+		return result;
+	}
+
+	private void runAttempt(Guard guard, int attemptNumber, Long deadlineEpochMs,
+			Supplier<CompletableFuture<TauBenchHttpClient.Response>> attempt,
+			CompletableFuture<TauBenchHttpClient.Response> result) {
+		String path = guard.endpoint.getPath();
+		if (deadlineEpochMs != null && System.currentTimeMillis() >= deadlineEpochMs) {
+			result.completeExceptionally(new TauBenchUnavailableException(path,
+					"Deadline passed before calling Tau Bench endpoint " + path, 0));
+			return;
+		}
+		Permit permit = guard.tryAcquirePermission();
+		if (permit == Permit.DENIED) {
+			guard.shortCircuited.increment();
+			long retryAfterMs = guard.retryAfterMs();
+			result.completeExceptionally(new TauBenchUnavailableException(path, "Tau Bench endpoint " + path
+					+ " is unavailable (circuit open after repeated failures), retry in " + (retryAfterMs / 1000 + 1) + "s",
+					retryAfterMs));
+			return;
+		}
+		long giveUpAt = System.currentTimeMillis() + Math.max(0, config.getBulkheadMaxWaitMs());
+		acquireBulkhead(guard, giveUpAt, () -> call(guard, permit, attemptNumber, deadlineEpochMs, attempt, result), () -> {
+			if (permit == Permit.PROBE) {
+				guard.releaseProbe();
+			}
+			guard.rejected.increment();
+			result.completeExceptionally(new TauBenchUnavailableException(path, "Too many concurrent calls to Tau Bench endpoint "
+					+ path + " (limit " + guard.maxConcurrent + "), try again shortly", config.getBulkheadMaxWaitMs()));
+		});
+	}
+
+	/**
+	 * Take a bulkhead slot, re-checking on a timer until {@code giveUpAt}
+	 * instead of blocking the calling (servlet or pool) thread
+	 */
+	private void acquireBulkhead(Guard guard, long giveUpAt, Runnable acquired, Runnable rejected) {
+		if (guard.bulkhead.tryAcquire()) {
+			acquired.run();
+			return;
+		}
+		long remainingMs = giveUpAt - System.currentTimeMillis();
+		if (remainingMs <= 0) {
+			rejected.run();
+			return;
+		}
+		CompletableFuture.delayedExecutor(Math.min(BULKHEAD_POLL_MS, remainingMs), TimeUnit.MILLISECONDS)
+				.execute(() -> acquireBulkhead(guard, giveUpAt, acquired, rejected));
+	}
+
+	private void call(Guard guard, Permit permit, int attemptNumber, Long deadlineEpochMs,
+			Supplier<CompletableFuture<TauBenchHttpClient.Response>> attempt,
+			CompletableFuture<TauBenchHttpClient.Response> result) {
+		String path = guard.endpoint.getPath();
+		CompletableFuture<TauBenchHttpClient.Response> call;
+		try {
+			call = attempt.get();
+		} catch (RuntimeException e) {
+			call = CompletableFuture.failedFuture(e);
+		}
+		call.whenComplete((response, error) -> {
+			guard.bulkhead.release();
+			Throwable cause = unwrap(error);
+			boolean failed = cause != null || response.getStatusCode() >= 500;
+			guard.record(!failed, permit == Permit.PROBE);
+			(failed ? guard.failures : guard.successes).increment();
+
+			boolean idempotent = IDEMPOTENT.contains(guard.endpoint);
+			boolean retryable = cause != null ? isTransient(cause, idempotent)
+					: isTransientStatus(response.getStatusCode(), idempotent);
+			if (retryable && attemptNumber < config.getMaxAttempts()) {
+				long delayMs = backoffMs(attemptNumber);
+				if (deadlineEpochMs == null || System.currentTimeMillis() + delayMs < deadlineEpochMs) {
+					guard.retries.increment();
+					logger.warn("Retrying Tau Bench {} in {} ms (attempt {} of {}): {}", path, delayMs, attemptNumber + 1,
+							config.getMaxAttempts(), cause != null ? cause.toString() : "HTTP " + response.getStatusCode());
+					CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS)
+							.execute(() -> runAttempt(guard, attemptNumber + 1, deadlineEpochMs, attempt, result));
+					return;
+				}
+			}
+			if (cause != null) {
+				result.completeExceptionally(cause);
+			} else {
+				result.complete(response);
+			}
+		});
+	}
+
+	/**
+	 * Full jitter: uniform in [0, min(max, base * 2^(attempt-1))]
+	 */
+	private long backoffMs(int attemptNumber) {
+		long ceiling = Math.min(config.getBackoffMaxMs(), config.getBackoffBaseMs() << Math.min(attemptNumber - 1, 20));
+		return ThreadLocalRandom.current().nextLong(ceiling + 1);
+	}
+
+	private static boolean isTransient(Throwable cause, boolean idempotent) {
+		if (cause instanceof TauBenchUnavailableException) {
+			return false;
+		}
+		// The request never left: safe to repeat for any endpoint
+		if (cause instanceof HttpConnectTimeoutException || cause instanceof ConnectException) {
+			return true;
+		}
+		// A reset may come after the host started the work; a response timeout
+		// means the host is slow and another attempt would only add load
+		return idempotent && cause instanceof IOException && !(cause instanceof HttpTimeoutException);
+	}
+
+	private static boolean isTransientStatus(int status, boolean idempotent) {
+		// 429 and 503 refuse the request before any work is done
+		if (status == 429 || status == 503) {
+			return true;
+		}
+		// A gateway error says nothing about whether the host ran the request
+		return idempotent && (status == 502 || status == 504);
+	}
+
+	private static Throwable unwrap(Throwable error) {
+		Throwable cause = error;
+		while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+			cause = cause.getCause();
+		}
+		return cause;
+	}
+
+	/**
+	 * Whether optional background work may call the endpoint now: the circuit
+	 * is closed and at least half of the bulkhead is free for user requests
+	 */
+	public boolean hasSpareCapacity(Endpoint endpoint) {
+		Guard guard = guards.get(endpoint);
+		return guard.currentState() == State.CLOSED && guard.bulkhead.availablePermits() * 2 >= guard.maxConcurrent;
+	}
+
+	/**
+	 * Breaker state, failure rate and bulkhead usage per endpoint
+	 */
+	public Map<String, Object> status() {
+		Map<String, Object> status = new LinkedHashMap<>();
+		for (Guard guard : guards.values()) {
+			status.put(guard.endpoint.name().toLowerCase(), guard.describe());
+		}
+		return status;
+	}
+
+	/**
+	 * Bulkhead, breaker and counters for one endpoint
+	 */
+	private static final class Guard {
+		private final Endpoint endpoint;
+		private final TauBenchConfig.Resilience config;
+		private final int maxConcurrent;
+		private final Semaphore bulkhead;
+		private final Counter successes;
+		private final Counter failures;
+		private final Counter rejected;
+		private final Counter shortCircuited;
+		private final Counter retries;
+
+		// Breaker state, guarded by this
+		private State state = State.CLOSED;
+		private long openedAt;
+		private boolean probeInFlight;
+		private final boolean[] window;
+		private int windowNext;
+		private int windowCount;
+		private int windowFailures;
+
+		Guard(Endpoint endpoint, TauBenchConfig.Resilience config, MeterRegistry registry) {
+			this.endpoint = endpoint;
+			this.config = config;
+			this.maxConcurrent = config.maxConcurrentFor(endpoint.name().toLowerCase());
+			this.bulkhead = new Semaphore(maxConcurrent);
+			this.window = new boolean[Math.max(1, config.getWindowSize())];
+			String tag = endpoint.getPath();
+			successes = callCounter(registry, tag, "success");
+			failures = callCounter(registry, tag, "failure");
+			rejected = callCounter(registry, tag, "rejected");
+			shortCircuited = callCounter(registry, tag, "short_circuited");
+			retries = Counter.builder("tau.bench.retries").tag("endpoint", tag)
+					.description("Tau Bench call attempts repeated after a transient failure").register(registry);
+			Gauge.builder("tau.bench.circuit.state", this, guard -> guard.currentState().ordinal()).tag("endpoint", tag)
+					.description("Circuit breaker state: 0 closed, 1 half-open, 2 open").register(registry);
+			Gauge.builder("tau.bench.bulkhead.available", bulkhead, Semaphore::availablePermits).tag("endpoint", tag)
+					.description("Free concurrent-call slots").register(registry);
+		}
+
+		private static Counter callCounter(MeterRegistry registry, String endpoint, String outcome) {
+			return Counter.builder("tau.bench.calls").tag("endpoint", endpoint).tag("outcome", outcome)
+					.description("Outbound Tau Bench call attempts by outcome").register(registry);
+		}
+
+		synchronized Permit tryAcquirePermission() {
+			switch (state) {
+			case CLOSED:
+				return Permit.CALL;
+			case OPEN:
+				if (System.currentTimeMillis() - openedAt < config.getOpenDurationMs()) {
+					return Permit.DENIED;
+				}
+				state = State.HALF_OPEN;
+				probeInFlight = true;
+				logger.info("Circuit for Tau Bench {} half-open, sending a probe", endpoint.getPath());
+				return Permit.PROBE;
+			default:
+				if (probeInFlight) {
+					return Permit.DENIED;
+				}
+				probeInFlight = true;
+				return Permit.PROBE;
+			}
+		}
+
+		synchronized void releaseProbe() {
+			probeInFlight = false;
+		}
+
+		synchronized void record(boolean success, boolean probe) {
+			if (state == State.HALF_OPEN) {
+				if (!probe) {
+					return; // late result of a call started before the circuit opened
+				}
+				probeInFlight = false;
+				if (success) {
+					state = State.CLOSED;
+					resetWindow();
+					logger.info("Circuit for Tau Bench {} closed", endpoint.getPath());
+				} else {
+					open();
+				}
+				return;
+			}
+			if (state == State.OPEN) {
+				return; // late result of a call started before the circuit opened
+			}
+			if (windowCount == window.length) {
+				if (!window[windowNext]) {
+					windowFailures--;
+				}
+			} else {
+				windowCount++;
+			}
+			window[windowNext] = success;
+			if (!success) {
+				windowFailures++;
+			}
+			windowNext = (windowNext + 1) % window.length;
+			if (windowCount >= config.getMinimumCalls()
+					&& windowFailures * 100 >= config.getFailureRateThreshold() * windowCount) {
+				open();
+			}
+		}
+
+		private void open() {
+			state = State.OPEN;
+			openedAt = System.currentTimeMillis();
+			resetWindow();
+			logger.warn("Circuit for Tau Bench {} opened for {} ms", endpoint.getPath(), config.getOpenDurationMs());
+		}
+
+		private void resetWindow() {
+			windowNext = 0;
+			windowCount = 0;
+			windowFailures = 0;
+		}
+
+		synchronized State currentState() {
+			return state;
+		}
+
+		synchronized long retryAfterMs() {
+			if (state != State.OPEN) {
+				return 0;
+			}
+			return Math.max(0, config.getOpenDurationMs() - (System.currentTimeMillis() - openedAt));
+		}
+
+		synchronized Map<String, Object> describe() {
+			Map<String, Object> view = new LinkedHashMap<>();
+			view.put("endpoint", endpoint.getPath());
+			view.put("state", state.name().toLowerCase());
+			view.put("failureRate", windowCount > 0 ? (double) windowFailures / windowCount : 0.0);
+			view.put("windowCalls", windowCount);
+			view.put("retryAfterMs", retryAfterMs());
+			view.put("maxConcurrent", maxConcurrent);
+			view.put("available", bulkhead.availablePermits());
+			view.put("successes", (long) successes.count());
+			view.put("failures", (long) failures.count());
+			view.put("rejected", (long) rejected.count());
+			view.put("shortCircuited", (long) shortCircuited.count());
+			view.put("retries", (long) retries.count());
+			return view;
+		}
+	}
+}
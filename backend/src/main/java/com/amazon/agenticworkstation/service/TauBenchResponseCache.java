@@ -0,0 +1,329 @@
+package com.amazon.agenticworkstation.service;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.annotation.PostConstruct;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.amazon.agenticworkstation.entity.TauBenchResponseCacheEntity;
+import com.amazon.agenticworkstation.entity.TauBenchResponseCacheTaskEntity;
+import com.amazon.agenticworkstation.repository.TauBenchResponseCacheRepository;
+import com.amazon.agenticworkstation.repository.TauBenchResponseCacheTaskRepository;
+import com.amazon.agenticworkstation.service.ComputeComplexityService.ApiResponse;
+import com.amazon.agenticworkstation.service.ComputeComplexityService.Endpoint;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Response cache for the deterministic Tau Bench endpoints (compute_complexity
+ * and task_verification). Keys are a SHA-256 of the endpoint, a configured
+ * service version and the canonical request payload (object keys sorted, the
+ * per-call task_file_name dropped), so an unchanged task hits regardless of who
+ * sends it. A bounded LRU map sits in front of the tau_bench_response_cache
+ * table; bumping the service version retires every entry at once.
+ * <p>
+ * Because one response can serve several tasks, every task it was served for
+ * is recorded in tau_bench_response_cache_task and invalidating any of them
+ * drops it. Cached bodies never carry task_file_name; a hit gets the caller's.
+ */
+@Component
+public class TauBenchResponseCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(TauBenchResponseCache.class);
+
+	private static final Set<Endpoint> CACHEABLE = EnumSet.of(Endpoint.COMPUTE_COMPLEXITY, Endpoint.TASK_VERIFICATION);
+
+	@Autowired
+	private TauBenchResponseCacheRepository repository;
+
+	@Autowired
+	private TauBenchResponseCacheTaskRepository taskLinks;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${tau.bench.response-cache.enabled:true}")
+	private boolean enabled;
+
+	@Value("${tau.bench.response-cache.service-version:1}")
+	private String serviceVersion;
+
+	@Value("${tau.bench.response-cache.memory-entries:500}")
+	private int memoryEntries;
+
+	@Value("${tau.bench.response-cache.max-age-hours:168}")
+	private long maxAgeHours;
+
+	private Map<String, CachedResponse> memory;
+
+	private Counter memoryHits;
+	private Counter databaseHits;
+	private Counter misses;
+	private Counter stores;
+
+	/**
+	 * A cached successful response
+	 */
+	public static class CachedResponse {
+		private final String endpoint;
+		// Tasks this response is known to have been served for
+		private final Set<String> taskIds = ConcurrentHashMap.newKeySet();
+		// Without task_file_name
+		private final JsonNode data;
+		// Inline only when the plot could not be put in the plot store
+		private final String plotBase64;
+		private final String plotHash;
+		private final LocalDateTime createdAt;
+
+		CachedResponse(String endpoint, String taskId, JsonNode data, String plotBase64, String plotHash,
+				LocalDateTime createdAt) {
+			this.endpoint = endpoint;
+			if (taskId != null) {
+				taskIds.add(taskId);
+			}
+			this.data = data;
+			this.plotBase64 = plotBase64;
+			this.plotHash = plotHash;
+			this.createdAt = createdAt;
+		}
+
+		/**
+		 * The response as the given call would have received it
+		 */
+		public ApiResponse toApiResponse(String taskFileName) {
+			JsonNode copy = data.deepCopy();
+			if (taskFileName != null && copy instanceof ObjectNode) {
+				((ObjectNode) copy).put(TauBenchPayloadHash.TASK_FILE_NAME, taskFileName);
+			}
+			return new ApiResponse(true, "Success", copy, plotBase64, plotHash);
+		}
+	}
+
+	@PostConstruct
+	public void init() {
+		memory = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+				return size() > memoryEntries;
+			}
+		};
+		memoryHits = Counter.builder("tau.bench.response.cache.requests").tag("result", "hit").tag("tier", "memory")
+				.description("Tau Bench responses served from the in-memory tier").register(meterRegistry);
+		databaseHits = Counter.builder("tau.bench.response.cache.requests").tag("result", "hit").tag("tier", "database")
+				.description("Tau Bench responses served from the database tier").register(meterRegistry);
+		misses = Counter.builder("tau.bench.response.cache.requests").tag("result", "miss").tag("tier", "none")
+				.description("Tau Bench calls that had to go to the remote service").register(meterRegistry);
+		stores = Counter.builder("tau.bench.response.cache.stores").description("Responses added to the cache")
+				.register(meterRegistry);
+		Gauge.builder("tau.bench.response.cache.entries", this::memorySize)
+				.description("Responses held in the in-memory tier").register(meterRegistry);
+	}
+
+	public boolean isCacheable(Endpoint endpoint) {
+		return enabled && CACHEABLE.contains(endpoint);
+	}
+
+	/**
+	 * Cache key for a prepared request payload. The per-call task_file_name is
+	 * left out so identical task content hits whichever task it came from.
+	 */
+	public String keyFor(Endpoint endpoint, JsonNode payload) {
+		return TauBenchPayloadHash.of(endpoint, serviceVersion, payload, true);
+	}
+
+	/**
+	 * Cached response for a key, checking memory then the database, and
+	 * recorded as served for the calling task
+	 * 
+	 * @param taskFileName the call's task_file_name, echoed in the response
+	 */
+	public Optional<ApiResponse> lookup(String key, String taskId, String taskFileName) {
+		CachedResponse cached;
+		synchronized (memory) {
+			cached = memory.get(key);
+		}
+		if (cached != null && isFresh(cached.createdAt)) {
+			memoryHits.increment();
+			link(key, cached, taskId);
+			return Optional.of(cached.toApiResponse(taskFileName));
+		}
+		try {
+			Optional<TauBenchResponseCacheEntity> row = repository.findById(key);
+			if (row.isPresent() && isFresh(row.get().getCreatedAt())) {
+				TauBenchResponseCacheEntity entity = row.get();
+				cached = new CachedResponse(entity.getEndpoint(), entity.getTaskId(),
+						TaskJsonCodec.readTree(entity.getResponseJson()), entity.getPlotBase64(), entity.getPlotHash(),
+						entity.getCreatedAt());
+				remember(key, cached);
+				databaseHits.increment();
+				link(key, cached, taskId);
+				return Optional.of(cached.toApiResponse(taskFileName));
+			}
+		} catch (Exception e) {
+			logger.warn("Tau Bench response cache lookup failed for {}: {}", key, e.getMessage());
+		}
+		misses.increment();
+		return Optional.empty();
+	}
+
+	/**
+	 * Remember a successful response in both tiers; failures are never cached
+	 */
+	public void store(String key, Endpoint endpoint, String taskId, ApiResponse response) {
+		if (!response.isSuccess() || response.getData() == null) {
+			return;
+		}
+		JsonNode data = response.getData().deepCopy();
+		if (data instanceof ObjectNode) {
+			// Names the task of this call only; hits get their own
+			((ObjectNode) data).remove(TauBenchPayloadHash.TASK_FILE_NAME);
+		}
+		CachedResponse cached = new CachedResponse(endpoint.getPath(), taskId, data, response.getPlotBase64(),
+				response.getPlotHash(), LocalDateTime.now());
+		remember(key, cached);
+		stores.increment();
+		try {
+			TauBenchResponseCacheEntity entity = new TauBenchResponseCacheEntity(key, endpoint.getPath(),
+					serviceVersion, taskId, TaskJsonCodec.write(data), response.getPlotBase64());
+			entity.setPlotHash(response.getPlotHash());
+			repository.save(entity);
+			if (taskId != null) {
+				taskLinks.save(new TauBenchResponseCacheTaskEntity(key, taskId));
+			}
+		} catch (Exception e) {
+			logger.warn("Could not persist Tau Bench response for task {}: {}", taskId, e.getMessage());
+		}
+	}
+
+	/**
+	 * Record that a cached response was served for a task, once per task
+	 */
+	private void link(String key, CachedResponse cached, String taskId) {
+		if (taskId == null || !cached.taskIds.add(taskId)) {
+			return;
+		}
+		try {
+			taskLinks.save(new TauBenchResponseCacheTaskEntity(key, taskId));
+		} catch (Exception e) {
+			logger.warn("Could not link cached Tau Bench response to task {}: {}", taskId, e.getMessage());
+		}
+	}
+
+	private void dropFromMemory(Set<String> keys) {
+		synchronized (memory) {
+			memory.keySet().removeAll(keys);
+		}
+	}
+
+	private void remember(String key, CachedResponse cached) {
+		synchronized (memory) {
+			memory.put(key, cached);
+		}
+	}
+
+	/**
+	 * Drop cached responses; null arguments match everything
+	 * 
+	 * @return number of database rows removed
+	 */
+	public int invalidate(String taskId, Endpoint endpoint) {
+		String path = endpoint != null ? endpoint.getPath() : null;
+		Set<String> keys = new HashSet<>();
+		synchronized (memory) {
+			Iterator<Map.Entry<String, CachedResponse>> it = memory.entrySet().iterator();
+			while (it.hasNext()) {
+				Map.Entry<String, CachedResponse> entry = it.next();
+				CachedResponse cached = entry.getValue();
+				if ((taskId == null || cached.taskIds.contains(taskId))
+						&& (path == null || path.equals(cached.endpoint))) {
+					keys.add(entry.getKey());
+					it.remove();
+				}
+			}
+		}
+		int removed;
+		if (taskId == null) {
+			removed = repository.deleteMatching(null, path);
+			taskLinks.deleteOrphans();
+		} else {
+			keys.addAll(taskLinks.findKeysForTask(taskId, path));
+			// Rows from before task links were recorded only name their first writer
+			removed = repository.deleteMatching(taskId, path);
+			if (!keys.isEmpty()) {
+				removed += repository.deleteByKeys(keys, path);
+				taskLinks.deleteByKeys(keys);
+				// Linked in the database but possibly held in memory without this task
+				dropFromMemory(keys);
+			}
+		}
+		logger.info("Invalidated {} cached Tau Bench responses (task {}, endpoint {})", removed,
+				taskId != null ? taskId : "*", path != null ? path : "*");
+		return removed;
+	}
+
+	public Map<String, Object> statistics() {
+		double memoryHitCount = memoryHits.count();
+		double databaseHitCount = databaseHits.count();
+		double missCount = misses.count();
+		double lookups = memoryHitCount + databaseHitCount + missCount;
+		Map<String, Object> stats = new LinkedHashMap<>();
+		stats.put("enabled", enabled);
+		stats.put("serviceVersion", serviceVersion);
+		stats.put("memoryEntries", memorySize());
+		stats.put("memoryHits", (long) memoryHitCount);
+		stats.put("databaseHits", (long) databaseHitCount);
+		stats.put("misses", (long) missCount);
+		stats.put("hitRatio", lookups > 0 ? (memoryHitCount + databaseHitCount) / lookups : 0.0);
+		stats.put("stores", (long) stores.count());
+		return stats;
+	}
+
+	/**
+	 * Remove rows past their maximum age
+	 */
+	@Scheduled(fixedDelayString = "${tau.bench.response-cache.purge-interval-ms:3600000}")
+	public void purgeExpired() {
+		if (maxAgeHours <= 0) {
+			return;
+		}
+		try {
+			int removed = repository.deleteOlderThan(LocalDateTime.now().minusHours(maxAgeHours));
+			if (removed > 0) {
+				taskLinks.deleteOrphans();
+				logger.info("Purged {} expired Tau Bench responses", removed);
+			}
+		} catch (Exception e) {
+			logger.warn("Tau Bench response cache purge failed: {}", e.getMessage());
+		}
+	}
+
+	private boolean isFresh(LocalDateTime createdAt) {
+		return maxAgeHours <= 0 || createdAt == null || createdAt.isAfter(LocalDateTime.now().minusHours(maxAgeHours));
+	}
+
+	private int memorySize() {
+		synchronized (memory) {
+			return memory.size();
+		}
+	}
+}
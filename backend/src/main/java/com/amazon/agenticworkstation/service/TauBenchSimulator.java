@@ -0,0 +1,229 @@
+package com.amazon.agenticworkstation.service;
+
+import java.util.Base64;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import com.amazon.agenticworkstation.config.TauBenchSimulatorConfig;
+import com.amazon.agenticworkstation.config.TauBenchSimulatorConfig.EndpointProfile;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Answers Tau Bench requests locally with configurable latency, failures and
+ * payload sizes, so the client side can be load tested without the remote
+ * host. Responses have the fields ComputeComplexityService reads; the content
+ * is synthetic.
+ */
+@Service
+@Profile("tau-sim")
+public class TauBenchSimulator {
+
+	private static final Logger logger = LoggerFactory.getLogger(TauBenchSimulator.class);
+
+	// z-score of the 99th percentile of a standard normal distribution
+	private static final double Z_99 = 2.326;
+
+	private static final Map<String, String> KNOWN_PATHS = Map.of("compute_complexity", "compute_complexity",
+			"task_verification", "task_verification", "run-task", "run-task", "run_task", "run-task", "evaluate",
+			"evaluate");
+
+	private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+	@Autowired
+	private TauBenchSimulatorConfig config;
+
+	public boolean isKnown(String path) {
+		return KNOWN_PATHS.containsKey(path);
+	}
+
+	/**
+	 * Simulated answer to a request, completed after the sampled latency
+	 * without holding a thread while waiting
+	 */
+	public CompletableFuture<ResponseEntity<JsonNode>> respond(String path, JsonNode request) {
+		String endpoint = KNOWN_PATHS.get(path);
+		EndpointProfile profile = config.profileFor(endpoint);
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		long latencyMs = sampleLatency(profile, random);
+
+		ResponseEntity<JsonNode> response;
+		if (random.nextDouble() < profile.getFailureRate()) {
+			ObjectNode error = NODES.objectNode();
+			error.put("success", false);
+			error.put("error", "Simulated failure");
+			response = ResponseEntity.status(profile.getFailureStatus()).body(error);
+		} else {
+			response = ResponseEntity.ok(body(endpoint, request, profile, random));
+		}
+		logger.debug("Simulated {} answers {} after {} ms", endpoint, response.getStatusCode().value(), latencyMs);
+
+		CompletableFuture<ResponseEntity<JsonNode>> result = new CompletableFuture<>();
+		CompletableFuture.delayedExecutor(latencyMs, TimeUnit.MILLISECONDS).execute(() -> result.complete(response));
+		return result;
+	}
+
+	/**
+	 * Log-normal sample with the configured median and 99th percentile
+	 */
+	static long sampleLatency(EndpointProfile profile, Random random) {
+		double median = Math.max(1, profile.getLatencyMedianMs());
+		double p99 = Math.max(median, profile.getLatencyP99Ms());
+		double sigma = Math.log(p99 / median) / Z_99;
+		return Math.round(median * Math.exp(sigma * random.nextGaussian()));
+	}
+
+	private JsonNode body(String endpoint, JsonNode request, EndpointProfile profile, Random random) {
+		switch (endpoint) {
+		case "run-task":
+			return runTask(request, profile, random);
+		case "evaluate":
+			return evaluate(request, profile, random);
+		default:
+			ObjectNode body = NODES.objectNode();
+			body.put("success", true);
+			body.put("task_file_name", request.path("task_file_name").asText(null));
+			if ("compute_complexity".equals(endpoint)) {
+				ObjectNode complexity = body.putObject("complexity");
+				complexity.put("num_actions", taskActions(request).size());
+				complexity.put("score", Math.round(random.nextDouble() * 1000) / 100.0);
+			} else {
+				body.put("valid", true);
+				body.putArray("issues");
+			}
+			pad(body, profile.getPayloadBytes());
+			if (profile.getPlotBytes() > 0) {
+				// Same request, same plot, as with the real service
+				Random plotRandom = new Random(request.toString().hashCode());
+				body.put("plot_base64", Base64.getEncoder().encodeToString(fakePng(profile.getPlotBytes(), plotRandom)));
+			}
+			return body;
+		}
+	}
+
+	/**
+	 * Actions of the task being sent. Requests are the task JSON, so they sit
+	 * under task.actions as {name, arguments}.
+	 */
+	private static JsonNode taskActions(JsonNode request) {
+		JsonNode actions = request.path("task").path("actions");
+		return actions.isArray() ? actions : NODES.arrayNode();
+	}
+
+	/**
+	 * The task's actions as Tau Bench reports them in results: {name, kwargs}
+	 */
+	private static ArrayNode expectedActions(JsonNode request) {
+		ArrayNode expected = NODES.arrayNode();
+		for (JsonNode action : taskActions(request)) {
+			ObjectNode call = expected.addObject();
+			call.put("name", action.path("name").asText());
+			JsonNode arguments = action.path("arguments");
+			call.set("kwargs", arguments.isObject() ? arguments : NODES.objectNode());
+		}
+		return expected;
+	}
+
+	/**
+	 * One result per requested trial; passing trials repeat the expected
+	 * actions exactly, failing ones drop the last action
+	 */
+	private JsonNode runTask(JsonNode request, EndpointProfile profile, Random random) {
+		ArrayNode actions = expectedActions(request);
+		int trials = Math.max(1, request.path("num_trials").asInt(1));
+		ArrayNode results = NODES.arrayNode();
+		for (int trial = 0; trial < trials; trial++) {
+			boolean passed = random.nextDouble() < config.getPassRate();
+			ObjectNode result = results.addObject();
+			result.put("task_id", 0);
+			result.put("reward", passed ? 1.0 : 0.0);
+			ObjectNode info = result.putObject("info");
+			info.putObject("task").set("actions", actions);
+			ObjectNode rewardInfo = info.putObject("reward_info");
+			rewardInfo.put("reward", passed ? 1.0 : 0.0);
+			rewardInfo.set("actions", actions);
+
+			ArrayNode trajectory = result.putArray("traj");
+			trajectory.addObject().put("role", "system").put("content", "Simulated environment");
+			int calls = passed ? actions.size() : Math.max(0, actions.size() - 1);
+			for (int i = 0; i < calls; i++) {
+				JsonNode action = actions.get(i);
+				ObjectNode message = trajectory.addObject();
+				message.put("role", "assistant");
+				ObjectNode function = message.putArray("tool_calls").addObject().put("type", "function")
+						.putObject("function");
+				function.put("name", action.path("name").asText());
+				function.put("arguments", action.path("kwargs").toString());
+				trajectory.addObject().put("role", "tool").put("content", "{\"success\": true}");
+			}
+			result.put("trial", trial);
+			pad(result, profile.getPayloadBytes() / trials);
+		}
+		return results;
+	}
+
+	private JsonNode evaluate(JsonNode request, EndpointProfile profile, Random random) {
+		JsonNode results = request.path("results_data");
+		int total = results.isArray() ? results.size() : 0;
+		int failed = 0;
+		for (JsonNode result : results) {
+			if (result.path("reward").asDouble() < 1.0) {
+				failed++;
+			}
+		}
+		ObjectNode body = NODES.objectNode();
+		body.put("success", true);
+		ObjectNode summary = body.putObject("summary");
+		summary.put("total_results", total);
+		summary.put("failed_results", failed);
+		summary.put("analyzed_results", failed);
+		ObjectNode distribution = summary.putObject("fault_distribution");
+		int agent = failed > 0 ? 1 + random.nextInt(failed) : 0;
+		distribution.putObject("agent").put("count", agent).put("percentage", failed > 0 ? 100.0 * agent / failed : 0.0);
+		distribution.putObject("user").put("count", failed - agent)
+				.put("percentage", failed > 0 ? 100.0 * (failed - agent) / failed : 0.0);
+		distribution.putObject("environment").put("count", 0).put("percentage", 0.0);
+
+		ArrayNode assignments = body.putArray("fault_assignment_analysis");
+		ArrayNode types = body.putArray("fault_type_analysis");
+		for (int i = 0; i < failed; i++) {
+			boolean agentFault = i < agent;
+			assignments.addObject().put("task_id", String.valueOf(i)).put("author", agentFault ? "agent" : "user")
+					.put("description", "Simulated fault assignment");
+			if (agentFault) {
+				types.addObject().put("task_id", String.valueOf(i)).put("fault_type", "wrong_arguments")
+						.put("description", "Simulated fault type");
+			}
+		}
+		pad(body, profile.getPayloadBytes());
+		return body;
+	}
+
+	private static void pad(ObjectNode body, int targetBytes) {
+		int missing = targetBytes - body.toString().length();
+		if (missing > 0) {
+			body.put("simulator_padding", "x".repeat(missing));
+		}
+	}
+
+	// PNG signature followed by filler: stored and served as image/png
+	private static byte[] fakePng(int size, Random random) {
+		byte[] bytes = new byte[Math.max(8, size)];
+		random.nextBytes(bytes);
+		byte[] signature = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+		System.arraycopy(signature, 0, bytes, 0, signature.length);
+		return bytes;
+	}
+}
@@ -0,0 +1,168 @@
+package com.amazon.agenticworkstation.service;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.amazon.agenticworkstation.service.ComputeComplexityService.Endpoint;
+
+/**
+ * Opt-in speculative compute_complexity after edits. Authors nearly always
+ * check complexity right after saving, so once a task has been quiet for
+ * debounce-ms the new version is sent in the background and its answer lands
+ * in the response cache, where the explicit request then finds it (or joins
+ * the call still in flight through request coalescing).
+ * <p>
+ * The work is low priority: one low-priority thread, a small in-flight cap,
+ * and nothing is started unless the endpoint's circuit is closed with at
+ * least half its bulkhead free. A newer version of the task cancels the
+ * pending speculation, and a version that is no longer current when its turn
+ * comes is dropped. A call already sent is left to finish: its answer is
+ * still valid for that content and may be shared with a user request.
+ */
+@Component
+public class TauBenchSpeculativeCompute {
+
+	private static final Logger logger = LoggerFactory.getLogger(TauBenchSpeculativeCompute.class);
+
+	private static final Set<String> TRIGGERS = Set.of(TaskCacheChangedEvent.UPDATE, TaskCacheChangedEvent.UNDO,
+			TaskCacheChangedEvent.REDO);
+
+	@Autowired
+	private TaskCacheService taskCacheService;
+
+	@Autowired
+	private ComputeComplexityService computeComplexityService;
+
+	@Autowired(required = false)
+	private TauBenchResponseCache responseCache;
+
+	@Autowired(required = false)
+	private TauBenchResilience resilience;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${tau.bench.speculative.enabled:false}")
+	private boolean enabled;
+
+	@Value("${tau.bench.speculative.debounce-ms:3000}")
+	private long debounceMs;
+
+	@Value("${tau.bench.speculative.max-in-flight:2}")
+	private int maxInFlight;
+
+	private ScheduledThreadPoolExecutor scheduler;
+
+	// Latest scheduled speculation per user/task
+	private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	private Counter started;
+	private Counter superseded;
+	private Counter skipped;
+
+	private static final class Pending {
+		private final long version;
+		private volatile ScheduledFuture<?> timer;
+
+		Pending(long version) {
+			this.version = version;
+		}
+	}
+
+	@PostConstruct
+	public void init() {
+		scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+			Thread thread = new Thread(runnable, "tau-bench-speculative");
+			thread.setDaemon(true);
+			thread.setPriority(Thread.MIN_PRIORITY);
+			return thread;
+		});
+		scheduler.setRemoveOnCancelPolicy(true);
+		started = counter("started");
+		superseded = counter("superseded");
+		skipped = counter("skipped");
+		if (enabled) {
+			logger.info("Speculative compute_complexity enabled (debounce {} ms, {} in flight)", debounceMs, maxInFlight);
+		}
+	}
+
+	private Counter counter(String outcome) {
+		return Counter.builder("tau.bench.speculative").tag("outcome", outcome)
+				.description("Speculative compute_complexity calls by outcome").register(meterRegistry);
+	}
+
+	@EventListener
+	public void onCacheChanged(TaskCacheChangedEvent event) {
+		if (!enabled || !TRIGGERS.contains(event.getKind()) || responseCache == null
+				|| !responseCache.isCacheable(Endpoint.COMPUTE_COMPLEXITY)) {
+			return;
+		}
+		String key = event.getUserId() + ":" + event.getTaskId();
+		Pending next = new Pending(event.getVersion());
+		Pending previous = pending.put(key, next);
+		if (previous != null && previous.timer != null && previous.timer.cancel(false)) {
+			superseded.increment();
+		}
+		next.timer = scheduler.schedule(() -> speculate(key, event.getUserId(), event.getTaskId(), next), debounceMs,
+				TimeUnit.MILLISECONDS);
+	}
+
+	private void speculate(String key, String userId, String taskId, Pending scheduled) {
+		if (!pending.remove(key, scheduled)) {
+			superseded.increment();
+			return;
+		}
+		if (taskCacheService.getVersion(userId, taskId) != scheduled.version) {
+			superseded.increment();
+			return;
+		}
+		if (resilience != null && !resilience.hasSpareCapacity(Endpoint.COMPUTE_COMPLEXITY)) {
+			skipped.increment();
+			logger.debug("Skipping speculative compute_complexity for task {}: endpoint busy", taskId);
+			return;
+		}
+		if (inFlight.incrementAndGet() > Math.max(1, maxInFlight)) {
+			inFlight.decrementAndGet();
+			skipped.increment();
+			return;
+		}
+		try {
+			String taskJson = taskCacheService.aggregatedJson(userId, taskId);
+			started.increment();
+			logger.debug("Speculative compute_complexity for task {} version {}", taskId, scheduled.version);
+			// Same payload as an explicit request, so the answer is cached under the same key
+			CompletableFuture<?> call = computeComplexityService.executeTaskFromJsonAsync(Endpoint.COMPUTE_COMPLEXITY,
+					taskJson, userId, taskId);
+			call.whenComplete((response, error) -> inFlight.decrementAndGet());
+		} catch (Exception e) {
+			inFlight.decrementAndGet();
+			logger.warn("Speculative compute_complexity for task {} failed: {}", taskId, e.getMessage());
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		scheduler.shutdownNow();
+		pending.clear();
+	}
+}
@@ -0,0 +1,470 @@
+package com.amazon.agenticworkstation.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.amazon.agenticworkstation.service.ComputeComplexityService.ApiResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+/**
+ * Multi-trial run_task: fans out k independent single-trial calls for one
+ * task, at most max-concurrent at a time, and aggregates pass rate, per-action
+ * divergence and timing once all trials are back. The trial results are
+ * stored together as the task's result.json (each entry tagged with its trial
+ * number), so evaluate sees every trial.
+ * <p>
+ * Runs live in memory; the most recent retained-runs are kept for polling.
+ */
+@Service
+public class TauBenchTrialService {
+
+	private static final Logger logger = LoggerFactory.getLogger(TauBenchTrialService.class);
+
+	// A trial passes when the environment gives full reward
+	private static final double PASS_REWARD = 1.0 - 1e-9;
+
+	// Integer and floating point forms of the same number count as equal kwargs
+	private static final Comparator<JsonNode> LENIENT_NUMBERS = (a, b) -> {
+		if (a.isNumber() && b.isNumber()) {
+			return Double.compare(a.doubleValue(), b.doubleValue());
+		}
+		return a.equals(b) ? 0 : 1;
+	};
+
+	@Autowired
+	private ComputeComplexityService computeComplexityService;
+
+	@Autowired
+	private TaskCacheService taskCacheService;
+
+	@Value("${tau.bench.trials.max-trials:10}")
+	private int maxTrials;
+
+	@Value("${tau.bench.trials.max-concurrent:4}")
+	private int maxConcurrent;
+
+	@Value("${tau.bench.trials.retained-runs:100}")
+	private int retainedRuns;
+
+	@Value("${tau.bench.trials.events-timeout-ms:900000}")
+	private long eventsTimeoutMs;
+
+	private final Map<String, TrialRun> runs = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, false) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, TrialRun> eldest) {
+			return size() > retainedRuns && eldest.getValue().isDone();
+		}
+	});
+
+	/**
+	 * Start k trials of a task
+	 *
+	 * @throws IllegalArgumentException if trials is out of range or the task
+	 *                                  does not exist
+	 * @throws IOException              if the task cannot be loaded
+	 */
+	public TrialRun start(String userId, String taskId, int trials) throws IOException {
+		if (trials < 1 || trials > maxTrials) {
+			throw new IllegalArgumentException("trials must be between 1 and " + maxTrials);
+		}
+		taskCacheService.loadTaskIntoCache(userId, taskId);
+		String taskJson = taskCacheService.aggregatedJson(userId, taskId);
+		if (taskJson == null || taskJson.trim().isEmpty()) {
+			throw new IllegalArgumentException("Task not found for userId: " + userId + ", taskId: " + taskId);
+		}
+
+		TrialRun run = new TrialRun(UUID.randomUUID().toString(), userId, taskId, trials, taskJson);
+		runs.put(run.runId, run);
+		logger.info("Starting {} trials of task {} for user {} (run {}, {} at a time)", trials, taskId, userId,
+				run.runId, Math.max(1, maxConcurrent));
+		launchNext(run);
+		return run;
+	}
+
+	public Optional<TrialRun> find(String runId) {
+		return Optional.ofNullable(runs.get(runId));
+	}
+
+	/**
+	 * Keep up to max-concurrent trials of the run in flight
+	 */
+	private void launchNext(TrialRun run) {
+		while (true) {
+			int index;
+			synchronized (run) {
+				if (run.launched >= run.trials || run.launched - run.completed() >= Math.max(1, maxConcurrent)) {
+					return;
+				}
+				index = run.launched++;
+			}
+			long startedNanos = System.nanoTime();
+			computeComplexityService.runTrialAsync(run.taskJson, run.userId, run.taskId)
+					.whenComplete((response, error) -> onTrialDone(run, index, response, error, startedNanos));
+		}
+	}
+
+	private void onTrialDone(TrialRun run, int index, ApiResponse response, Throwable error, long startedNanos) {
+		long durationMs = (System.nanoTime() - startedNanos) / 1_000_000;
+		TrialOutcome outcome = error != null
+				? new TrialOutcome(index, false, "Error executing trial: " + error.getMessage(), null, durationMs)
+				: new TrialOutcome(index, response.isSuccess(), response.getMessage(), response.getData(), durationMs);
+		boolean finished;
+		synchronized (run) {
+			run.outcomes[index] = outcome;
+			finished = run.completed() == run.trials;
+		}
+		logger.info("Trial {}/{} of run {} finished in {} ms (success={}, reward={})", index + 1, run.trials,
+				run.runId, durationMs, outcome.success, outcome.reward);
+		notifyWatchers(run, "trial", trialEvent(run, outcome));
+
+		if (finished) {
+			finish(run);
+		} else {
+			launchNext(run);
+		}
+	}
+
+	private void finish(TrialRun run) {
+		Map<String, Object> summary = summarize(run);
+		try {
+			storeCombinedResults(run);
+		} catch (Exception e) {
+			logger.error("Could not store combined trial results for task {} (run {})", run.taskId, run.runId, e);
+			summary.put("storeError", e.getMessage());
+		}
+		synchronized (run) {
+			run.summary = summary;
+			run.finishedAt = System.currentTimeMillis();
+		}
+		notifyWatchers(run, "summary", describe(run));
+		Set<SseEmitter> emitters = run.watchers;
+		emitters.forEach(SseEmitter::complete);
+		emitters.clear();
+	}
+
+	/**
+	 * Store every successful trial's results as one result.json array
+	 */
+	private void storeCombinedResults(TrialRun run) throws IOException {
+		ArrayNode combined = JsonNodeFactory.instance.arrayNode();
+		for (TrialOutcome outcome : run.outcomes) {
+			for (JsonNode result : outcome.results) {
+				ObjectNode entry = result.isObject() ? ((ObjectNode) result).deepCopy()
+						: JsonNodeFactory.instance.objectNode().set("result", result);
+				entry.put("trial", outcome.index);
+				combined.add(entry);
+			}
+		}
+		if (combined.isEmpty()) {
+			return;
+		}
+		String owner = taskCacheService.getUserIdForTask(run.taskId);
+		taskCacheService.saveResultJsonToDatabase(owner != null ? owner : run.userId, run.taskId,
+				TaskJsonCodec.write(combined));
+	}
+
+	/**
+	 * Pass rate, per-action divergence and timing over the finished trials
+	 */
+	private Map<String, Object> summarize(TrialRun run) {
+		List<TrialOutcome> outcomes = Arrays.asList(run.outcomes);
+		List<TrialOutcome> succeeded = outcomes.stream().filter(o -> o.success).toList();
+		long passed = succeeded.stream().filter(o -> o.passed).count();
+		double rewardSum = succeeded.stream().filter(o -> o.reward != null).mapToDouble(o -> o.reward).sum();
+
+		Map<String, Object> summary = new LinkedHashMap<>();
+		summary.put("trials", run.trials);
+		summary.put("succeeded", succeeded.size());
+		summary.put("failed", run.trials - succeeded.size());
+		summary.put("passed", passed);
+		summary.put("passRate", succeeded.isEmpty() ? 0.0 : (double) passed / succeeded.size());
+		// pass^k: every one of the k trials passed
+		summary.put("passAll", passed == run.trials);
+		summary.put("meanReward", succeeded.isEmpty() ? 0.0 : rewardSum / succeeded.size());
+		summary.put("timing", timing(run, outcomes));
+		summary.put("actions", actionDivergence(succeeded));
+		summary.put("unexpectedCalls", unexpectedCalls(succeeded));
+		return summary;
+	}
+
+	private static Map<String, Object> timing(TrialRun run, List<TrialOutcome> outcomes) {
+		List<Long> durations = outcomes.stream().map(o -> o.durationMs).sorted().toList();
+		Map<String, Object> timing = new LinkedHashMap<>();
+		timing.put("wallClockMs", System.currentTimeMillis() - run.startedAt);
+		timing.put("minMs", durations.get(0));
+		timing.put("p50Ms", durations.get((durations.size() - 1) / 2));
+		timing.put("maxMs", durations.get(durations.size() - 1));
+		timing.put("meanMs", durations.stream().mapToLong(Long::longValue).sum() / durations.size());
+		return timing;
+	}
+
+	/**
+	 * For each expected action, how many trials made that exact call (same
+	 * tool, same arguments)
+	 */
+	private static List<Map<String, Object>> actionDivergence(List<TrialOutcome> succeeded) {
+		List<JsonNode> expected = succeeded.stream().map(o -> o.expectedActions).filter(a -> !a.isEmpty())
+				.findFirst().orElse(List.of());
+		List<Map<String, Object>> actions = new ArrayList<>();
+		for (int i = 0; i < expected.size(); i++) {
+			JsonNode action = expected.get(i);
+			String name = action.path("name").asText();
+			JsonNode kwargs = action.path("kwargs");
+			long matched = succeeded.stream()
+					.filter(o -> o.calls.stream().anyMatch(call -> name.equals(call.path("name").asText())
+							&& kwargs.equals(LENIENT_NUMBERS, call.path("kwargs"))))
+					.count();
+			Map<String, Object> view = new LinkedHashMap<>();
+			view.put("index", i);
+			view.put("name", name);
+			view.put("matchedTrials", matched);
+			view.put("divergenceRate", succeeded.isEmpty() ? 0.0 : 1.0 - (double) matched / succeeded.size());
+			actions.add(view);
+		}
+		return actions;
+	}
+
+	/**
+	 * Calls to tools that no expected action uses, counted over all trials
+	 */
+	private static Map<String, Integer> unexpectedCalls(List<TrialOutcome> succeeded) {
+		Set<String> expectedNames = new LinkedHashSet<>();
+		succeeded.forEach(o -> o.expectedActions.forEach(a -> expectedNames.add(a.path("name").asText())));
+		Map<String, Integer> counts = new LinkedHashMap<>();
+		for (TrialOutcome outcome : succeeded) {
+			for (JsonNode call : outcome.calls) {
+				String name = call.path("name").asText();
+				if (!expectedNames.contains(name)) {
+					counts.merge(name, 1, Integer::sum);
+				}
+			}
+		}
+		return counts;
+	}
+
+	/**
+	 * Stream "trial" events as trials finish and a final "summary" event
+	 */
+	public SseEmitter watch(TrialRun run) {
+		SseEmitter emitter = new SseEmitter(eventsTimeoutMs);
+		run.watchers.add(emitter);
+		emitter.onCompletion(() -> run.watchers.remove(emitter));
+		emitter.onTimeout(() -> run.watchers.remove(emitter));
+		emitter.onError(e -> run.watchers.remove(emitter));
+
+		// Replay what the client missed; the run may already be over
+		boolean done;
+		List<TrialOutcome> finished = new ArrayList<>();
+		synchronized (run) {
+			for (TrialOutcome outcome : run.outcomes) {
+				if (outcome != null) {
+					finished.add(outcome);
+				}
+			}
+			done = run.isDone();
+		}
+		finished.forEach(outcome -> send(emitter, "trial", trialEvent(run, outcome)));
+		if (done) {
+			send(emitter, "summary", describe(run));
+			emitter.complete();
+		}
+		return emitter;
+	}
+
+	private void notifyWatchers(TrialRun run, String name, Object data) {
+		for (SseEmitter emitter : new ArrayList<>(run.watchers)) {
+			send(emitter, name, data);
+		}
+	}
+
+	private void send(SseEmitter emitter, String name, Object data) {
+		try {
+			emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+		} catch (IOException | IllegalStateException e) {
+			emitter.completeWithError(e);
+		}
+	}
+
+	private static Map<String, Object> trialEvent(TrialRun run, TrialOutcome outcome) {
+		Map<String, Object> event = new LinkedHashMap<>();
+		event.put("runId", run.runId);
+		event.put("trial", outcome.index);
+		event.put("success", outcome.success);
+		event.put("message", outcome.message);
+		event.put("reward", outcome.reward);
+		event.put("passed", outcome.passed);
+		event.put("durationMs", outcome.durationMs);
+		synchronized (run) {
+			event.put("completed", run.completed());
+		}
+		event.put("total", run.trials);
+		return event;
+	}
+
+	/**
+	 * Client-facing view of a run, including the summary once it has finished
+	 */
+	public Map<String, Object> describe(TrialRun run) {
+		Map<String, Object> view = new LinkedHashMap<>();
+		synchronized (run) {
+			view.put("runId", run.runId);
+			view.put("userId", run.userId);
+			view.put("taskId", run.taskId);
+			view.put("trials", run.trials);
+			view.put("completed", run.completed());
+			view.put("done", run.isDone());
+			view.put("startedAt", run.startedAt);
+			view.put("finishedAt", run.finishedAt);
+			if (run.summary != null) {
+				view.put("summary", run.summary);
+			}
+		}
+		return view;
+	}
+
+	@PreDestroy
+	void shutdown() {
+		synchronized (runs) {
+			runs.values().forEach(run -> run.watchers.forEach(SseEmitter::complete));
+		}
+	}
+
+	/**
+	 * One multi-trial execution; mutable state is guarded by the instance
+	 */
+	public static final class TrialRun {
+		private final String runId;
+		private final String userId;
+		private final String taskId;
+		private final int trials;
+		private final String taskJson;
+		private final long startedAt = System.currentTimeMillis();
+		private final TrialOutcome[] outcomes;
+		private final Set<SseEmitter> watchers = ConcurrentHashMap.newKeySet();
+		private int launched;
+		private Long finishedAt;
+		private Map<String, Object> summary;
+
+		TrialRun(String runId, String userId, String taskId, int trials, String taskJson) {
+			this.runId = runId;
+			this.userId = userId;
+			this.taskId = taskId;
+			this.trials = trials;
+			this.taskJson = taskJson;
+			this.outcomes = new TrialOutcome[trials];
+		}
+
+		public String getRunId() {
+			return runId;
+		}
+
+		private int completed() {
+			int count = 0;
+			for (TrialOutcome outcome : outcomes) {
+				if (outcome != null) {
+					count++;
+				}
+			}
+			return count;
+		}
+
+		synchronized boolean isDone() {
+			return summary != null;
+		}
+	}
+
+	/**
+	 * Result of one trial, with the reward and the expected and actual tool
+	 * calls pulled out of the run_task response
+	 */
+	private static final class TrialOutcome {
+		private final int index;
+		private final boolean success;
+		private final String message;
+		private final long durationMs;
+		private final List<JsonNode> results = new ArrayList<>();
+		private final List<JsonNode> expectedActions = new ArrayList<>();
+		// {name, kwargs} for every tool call the agent made
+		private final List<JsonNode> calls = new ArrayList<>();
+		private final Double reward;
+		private final boolean passed;
+
+		TrialOutcome(int index, boolean success, String message, JsonNode data, long durationMs) {
+			this.index = index;
+			this.success = success && data != null;
+			this.message = message;
+			this.durationMs = durationMs;
+			if (this.success) {
+				if (data.isArray()) {
+					data.forEach(results::add);
+				} else {
+					results.add(data);
+				}
+			}
+			Double rewardSum = null;
+			for (JsonNode result : results) {
+				if (result.path("reward").isNumber()) {
+					rewardSum = (rewardSum != null ? rewardSum : 0.0) + result.path("reward").asDouble();
+				}
+				JsonNode expected = result.path("info").path("reward_info").path("actions");
+				if (!expected.isArray()) {
+					expected = result.path("info").path("task").path("actions");
+				}
+				expected.forEach(expectedActions::add);
+				collectCalls(result.path("traj"));
+			}
+			this.reward = rewardSum != null ? rewardSum / results.size() : null;
+			this.passed = reward != null && reward >= PASS_REWARD;
+		}
+
+		private void collectCalls(JsonNode trajectory) {
+			for (JsonNode message : trajectory) {
+				for (JsonNode toolCall : message.path("tool_calls")) {
+					JsonNode function = toolCall.path("function");
+					ObjectNode call = JsonNodeFactory.instance.objectNode();
+					call.put("name", function.path("name").asText());
+					call.set("kwargs", parseArguments(function.path("arguments")));
+					calls.add(call);
+				}
+			}
+		}
+
+		private static JsonNode parseArguments(JsonNode arguments) {
+			if (!arguments.isTextual()) {
+				return arguments;
+			}
+			try {
+				return TaskJsonCodec.readTree(arguments.asText());
+			} catch (IOException e) {
+				return TextNode.valueOf(arguments.asText());
+			}
+		}
+	}
+}
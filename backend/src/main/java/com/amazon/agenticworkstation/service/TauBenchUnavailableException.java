@@ -0,0 +1,31 @@
+package com.amazon.agenticworkstation.service;
+
+/**
+ * Thrown (as the failure of a call's future) when a Tau Bench call is refused
+ * locally: the endpoint's circuit is open, its bulkhead is full, or the
+ * caller's deadline has passed.
+ */
+public class TauBenchUnavailableException extends IllegalStateException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final String endpoint;
+	private final long retryAfterMs;
+
+	public TauBenchUnavailableException(String endpoint, String message, long retryAfterMs) {
+		super(message);
+		this.endpoint = endpoint;
+		this.retryAfterMs = retryAfterMs;
+	}
+
+	public String getEndpoint() {
+		return endpoint;
+	}
+
+	/**
+	 * Suggested wait before trying again, 0 if unknown
+	 */
+	public long getRetryAfterMs() {
+		return retryAfterMs;
+	}
+}
@@ -6,28 +6,73 @@ import java.io.InputStreamReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
+import com.amazon.agenticworkstation.service.ComputeComplexityService.ApiResponse;
+import com.amazon.agenticworkstation.service.ComputeComplexityService.Endpoint;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
  * Service that executes the compute_complexity.ipynb notebook programmatically
  * to perform validation steps against the remote tau-bench API.
+ * <p>
+ * With tau.bench.validation.mode=jvm (the default) the four Tau Bench steps
+ * call the API through {@link ComputeComplexityService} instead, writing the
+ * same response files and returning the same result map as the notebook. The
+ * notebook remains for other steps and for mode=notebook; notebook runs are
+ * admitted through {@link ValidationScheduler}.
  */
 @Service
 public class TauBenchValidationService {
     private static final Logger log = LoggerFactory.getLogger(TauBenchValidationService.class);
     private final ObjectMapper mapper = new ObjectMapper();
 
+    @Autowired
+    private PlotStore plotStore;
+
+    @Autowired
+    private NotebookWorkerPool workerPool;
+
+    @Autowired
+    private ComputeComplexityService computeComplexityService;
+
+    @Autowired
+    private ValidationScheduler scheduler;
+
+    @Value("${tau.bench.validation.mode:jvm}")
+    private String mode;
+
+    private static final Map<String, Endpoint> JVM_STEPS = Map.of(
+            "compute_complexity", Endpoint.COMPUTE_COMPLEXITY,
+            "task_verification", Endpoint.TASK_VERIFICATION,
+            "run_task", Endpoint.RUN_TASK,
+            "evaluate", Endpoint.EVALUATE);
+
     public Map<String, Object> run(String step, Path repositoryPath) throws IOException {
+        return run(step, repositoryPath, null);
+    }
+
+    /**
+     * Run a validation step; notebook runs wait for a slot in the
+     * {@link ValidationScheduler}, queued fairly by userId
+     *
+     * @throws ValidationRejectedException if the validation queue is full
+     */
+    public Map<String, Object> run(String step, Path repositoryPath, String userId) throws IOException {
         log.info("Starting TauBench validation for step='{}' with repository path='{}'", step, repositoryPath);
         
         if (repositoryPath == null) {
@@ -51,6 +96,28 @@ public class TauBenchValidationService {
         result.put("timestamp", Instant.now().toString());
         log.debug("Initialized result map with step='{}' and timestamp", step);
 
+        Endpoint endpoint = JVM_STEPS.get(step);
+        if (endpoint != null && "jvm".equalsIgnoreCase(mode)) {
+            return runInJvm(endpoint, step, repositoryPath, taskFile, result);
+        }
+
+        try {
+            return scheduler.run(userId, () -> runNotebook(step, repositoryPath, taskFile, result));
+        } catch (ValidationRejectedException | IOException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            log.error("Interrupted while waiting for a validation slot for step='{}'", step);
+            Thread.currentThread().interrupt();
+            result.put("success", false);
+            result.put("error", "Notebook execution was interrupted: " + e.getMessage());
+            return result;
+        } catch (Exception e) {
+            throw new IOException("Validation failed for step " + step + ": " + e.getMessage(), e);
+        }
+    }
+
+    private Map<String, Object> runNotebook(String step, Path repositoryPath, Path taskFile,
+            Map<String, Object> result) {
         try {
             log.debug("Loading notebook and Python script resources from classpath");
             // Get the notebook and python script paths
@@ -78,6 +145,27 @@ public class TauBenchValidationService {
             log.debug("Output notebook will be saved to: {}", outputNotebook);
             
             log.info("Executing notebook for step='{}' using task='{}'", step, taskPath);
+
+            // A warm pooled worker when one is available, else a one-off process below
+            if (workerPool.isEnabled()) {
+                Map<String, Object> notebookResult = workerPool.execute(pythonScriptPath, notebookPath, taskPath, step,
+                        outputNotebook, repositoryPath);
+                if (notebookResult != null) {
+                    if (Boolean.TRUE.equals(notebookResult.get("success"))) {
+                        applyNotebookResult(result, notebookResult, outputNotebook, repositoryPath);
+                    } else {
+                        log.error("Notebook execution failed on pooled worker: {}", notebookResult.get("error"));
+                        result.put("success", false);
+                        result.put("error", "Notebook execution failed: "
+                                + notebookResult.getOrDefault("error", "errors in notebook cells"));
+                        result.put("output", mapper.writeValueAsString(notebookResult));
+                    }
+                    log.info("TauBench validation completed for step='{}' with success={} (pooled worker)",
+                            step, result.get("success"));
+                    return result;
+                }
+                log.warn("No notebook worker available, starting a one-off process for step='{}'", step);
+            }
             
             // Build the command to execute the Python script
             ProcessBuilder pb = new ProcessBuilder(
@@ -135,55 +223,7 @@ public class TauBenchValidationService {
                     log.info("Successfully parsed JSON output with {} keys", notebookResult.size());
                     log.debug("Parsed JSON keys: {}", notebookResult.keySet());
                     
-                    result.put("success", true);
-                    result.put("notebook_result", notebookResult);
-                    result.put("executed_notebook", outputNotebook.toString());
-                    
-                    // Extract specific results based on step
-                    if (notebookResult.containsKey("result_file")) {
-                        result.put("result_file", notebookResult.get("result_file"));
-                        log.debug("Found result_file: {}", notebookResult.get("result_file"));
-                    }
-                    if (notebookResult.containsKey("response_file")) {
-                        result.put("response_file", notebookResult.get("response_file"));
-                        log.debug("Found response_file: {}", notebookResult.get("response_file"));
-                    }
-                    if (notebookResult.containsKey("evaluation_file")) {
-                        result.put("evaluation_file", notebookResult.get("evaluation_file"));
-                        log.debug("Found evaluation_file: {}", notebookResult.get("evaluation_file"));
-                    }
-                    
-                    // Include any data that was parsed
-                    if (notebookResult.containsKey("result_data")) {
-                        result.put("result_data", notebookResult.get("result_data"));
-                        log.debug("Included result_data in response");
-                    }
-                    if (notebookResult.containsKey("response_data")) {
-                        result.put("response_data", notebookResult.get("response_data"));
-                        log.debug("Included response_data in response");
-                    }
-                    if (notebookResult.containsKey("evaluation_data")) {
-                        result.put("evaluation_data", notebookResult.get("evaluation_data"));
-                        log.debug("Included evaluation_data in response");
-                    }
-                    
-                    // Check for generated image files and include their paths
-                    Path taskDir = repositoryPath.getParent() != null ? repositoryPath.getParent() : repositoryPath;
-                    Path outputImage = taskDir.resolve("output.png");
-                    if (Files.exists(outputImage)) {
-                        result.put("output_image_path", outputImage.toString());
-                        result.put("has_visualization", true);
-                        log.debug("Found output.png at: {}", outputImage);
-                    }
-                    
-                    // Also check in the task directory itself
-                    Path taskDirImage = repositoryPath.resolve("output.png");
-                    if (Files.exists(taskDirImage)) {
-                        result.put("output_image_path", taskDirImage.toString());
-                        result.put("has_visualization", true);
-                        log.debug("Found output.png in task directory: {}", taskDirImage);
-                    }
-                    
+                    applyNotebookResult(result, notebookResult, outputNotebook, repositoryPath);
                 } catch (Exception e) {
                     // If JSON parsing fails, treat as text output
                     log.warn("Could not parse notebook output as JSON, treating as text: {}", e.getMessage());
@@ -215,4 +255,135 @@ public class TauBenchValidationService {
                 step, result.get("success"));
         return result;
     }
+
+    /**
+     * Run a step through the Java client. The raw response is written where
+     * the notebook writes it, so result_file, response_file and
+     * evaluation_file, and the result.json read by a later evaluate, look the
+     * same to callers.
+     */
+    private Map<String, Object> runInJvm(Endpoint endpoint, String step, Path repositoryPath, Path taskFile,
+            Map<String, Object> result) {
+        String taskPath = taskFile.toAbsolutePath().toString();
+        log.info("Running step='{}' in-process for task='{}'", step, taskPath);
+        try {
+            ApiResponse response = computeComplexityService.executeRawAsync(endpoint, taskPath).join();
+            if (!response.isSuccess() || response.getData() == null) {
+                log.error("In-process validation failed for step='{}': {}", step, response.getMessage());
+                result.put("success", false);
+                result.put("error", response.getMessage());
+                return result;
+            }
+
+            JsonNode data = response.getData();
+            Object dataValue = mapper.convertValue(data, Object.class);
+            // Same keys run_notebook.py reports
+            Map<String, Object> notebookResult = new LinkedHashMap<>();
+            notebookResult.put("success", true);
+            notebookResult.put("step", step);
+            notebookResult.put("task_path", taskPath);
+            notebookResult.put("executed_notebook", null);
+            notebookResult.put("outputs", List.of());
+            if (endpoint == Endpoint.RUN_TASK) {
+                Path resultFile = writeResponse(repositoryPath.resolve("result.json"), data);
+                notebookResult.put("result_file", resultFile.toString());
+                notebookResult.put("result_data", dataValue);
+            } else if (endpoint == Endpoint.EVALUATE) {
+                Path evaluationFile = writeResponse(repositoryPath.resolve("evaluate_response.json"), data);
+                notebookResult.put("evaluation_file", evaluationFile.toString());
+                notebookResult.put("evaluation_data", dataValue);
+            } else {
+                Path responseFile = writeResponse(repositoryPath.resolve(step + "_response.json"), data);
+                notebookResult.put("response_file", responseFile.toString());
+                notebookResult.put("response_data", dataValue);
+                String plot = data.path("plot_base64").asText(null);
+                if (plot != null && !plot.isEmpty()) {
+                    Files.write(repositoryPath.resolve("output.png"), Base64.getDecoder().decode(plot));
+                }
+            }
+
+            applyNotebookResult(result, notebookResult, null, repositoryPath);
+            result.put("engine", "jvm");
+        } catch (Exception e) {
+            log.error("Failed to run step '{}' in-process: {}", step, e.getMessage(), e);
+            result.put("success", false);
+            result.put("error", "Failed to run validation: " + e.getMessage());
+        }
+        log.info("TauBench validation completed for step='{}' with success={} (in-process)",
+                step, result.get("success"));
+        return result;
+    }
+
+    private static Path writeResponse(Path file, JsonNode data) throws IOException {
+        Files.writeString(file, TaskJsonCodec.write(data, true));
+        return file;
+    }
+
+    /**
+     * Copy a successful notebook result into the response map and register
+     * any output.png it produced
+     */
+    private void applyNotebookResult(Map<String, Object> result, Map<String, Object> notebookResult,
+            Path outputNotebook, Path repositoryPath) throws IOException {
+        result.put("success", true);
+        result.put("notebook_result", notebookResult);
+        // No executed notebook when the step ran in-process
+        if (outputNotebook != null) {
+            result.put("executed_notebook", outputNotebook.toString());
+        }
+
+        // Extract specific results based on step
+        if (notebookResult.containsKey("result_file")) {
+            result.put("result_file", notebookResult.get("result_file"));
+            log.debug("Found result_file: {}", notebookResult.get("result_file"));
+        }
+        if (notebookResult.containsKey("response_file")) {
+            result.put("response_file", notebookResult.get("response_file"));
+            log.debug("Found response_file: {}", notebookResult.get("response_file"));
+        }
+        if (notebookResult.containsKey("evaluation_file")) {
+            result.put("evaluation_file", notebookResult.get("evaluation_file"));
+            log.debug("Found evaluation_file: {}", notebookResult.get("evaluation_file"));
+        }
+
+        // Include any data that was parsed
+        if (notebookResult.containsKey("result_data")) {
+            result.put("result_data", notebookResult.get("result_data"));
+            log.debug("Included result_data in response");
+        }
+        if (notebookResult.containsKey("response_data")) {
+            result.put("response_data", notebookResult.get("response_data"));
+            log.debug("Included response_data in response");
+        }
+        if (notebookResult.containsKey("evaluation_data")) {
+            result.put("evaluation_data", notebookResult.get("evaluation_data"));
+            log.debug("Included evaluation_data in response");
+        }
+
+        // Check for generated image files and include their paths
+        Path taskDir = repositoryPath.getParent() != null ? repositoryPath.getParent() : repositoryPath;
+        Path outputImage = taskDir.resolve("output.png");
+        if (Files.exists(outputImage)) {
+            result.put("output_image_path", outputImage.toString());
+            result.put("has_visualization", true);
+            log.debug("Found output.png at: {}", outputImage);
+        }
+
+        // Also check in the task directory itself
+        Path taskDirImage = repositoryPath.resolve("output.png");
+        if (Files.exists(taskDirImage)) {
+            result.put("output_image_path", taskDirImage.toString());
+            result.put("has_visualization", true);
+            log.debug("Found output.png in task directory: {}", taskDirImage);
+        }
+
+        // Serve the image by hash so clients can cache it
+        if (result.containsKey("output_image_path")) {
+            String hash = plotStore.put(Files.readAllBytes(Path.of((String) result.get("output_image_path"))));
+            if (hash != null) {
+                result.put("output_image_hash", hash);
+                result.put("output_image_url", PlotStore.urlFor(hash));
+            }
+        }
+    }
 }
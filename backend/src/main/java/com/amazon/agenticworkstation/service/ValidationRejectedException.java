@@ -0,0 +1,33 @@
+package com.amazon.agenticworkstation.service;
+
+/**
+ * Thrown when a validation is not queued because the validation queue, or the
+ * caller's share of it, is full
+ */
+public class ValidationRejectedException extends IllegalStateException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final int queued;
+	private final long retryAfterMs;
+
+	public ValidationRejectedException(String message, int queued, long retryAfterMs) {
+		super(message);
+		this.queued = queued;
+		this.retryAfterMs = retryAfterMs;
+	}
+
+	/**
+	 * Validations waiting when this one was refused
+	 */
+	public int getQueued() {
+		return queued;
+	}
+
+	/**
+	 * Estimated wait until a slot is likely free
+	 */
+	public long getRetryAfterMs() {
+		return retryAfterMs;
+	}
+}
@@ -0,0 +1,239 @@
+package com.amazon.agenticworkstation.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import jakarta.annotation.PostConstruct;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Admission for notebook validations, which each hold a Python process. At
+ * most {@code max-concurrent} run at once; the rest wait in one queue per
+ * user, served round-robin so a burst from one user does not hold back
+ * everyone else. Work is refused with a retry-after estimate once
+ * {@code max-queued} validations (or {@code max-queued-per-user} of one user)
+ * are waiting, instead of piling up blocked request threads.
+ */
+@Component
+public class ValidationScheduler {
+
+	private static final Logger logger = LoggerFactory.getLogger(ValidationScheduler.class);
+
+	// Until a validation has finished, assume this long per run
+	private static final long INITIAL_ESTIMATE_MS = 30_000;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Value("${tau.bench.validation.scheduler.max-concurrent:${tau.bench.validation.workers.size:2}}")
+	private int maxConcurrent;
+
+	@Value("${tau.bench.validation.scheduler.max-queued:20}")
+	private int maxQueued;
+
+	@Value("${tau.bench.validation.scheduler.max-queued-per-user:5}")
+	private int maxQueuedPerUser;
+
+	@Value("${tau.bench.validation.scheduler.queue-timeout-ms:600000}")
+	private long queueTimeoutMs;
+
+	// Users with waiting validations, in round-robin order; guarded by this
+	private final LinkedHashMap<String, Deque<Ticket>> queues = new LinkedHashMap<>();
+	private int queued;
+	private int running;
+	// Moving average of run time, for retry-after and wait estimates
+	private double averageRunMs = INITIAL_ESTIMATE_MS;
+
+	private Counter admitted;
+	private Counter rejected;
+
+	private static final class Ticket {
+		private final String userId;
+		private final CompletableFuture<Void> granted = new CompletableFuture<>();
+
+		Ticket(String userId) {
+			this.userId = userId;
+		}
+	}
+
+	@PostConstruct
+	public void init() {
+		maxConcurrent = Math.max(1, maxConcurrent);
+		admitted = Counter.builder("validation.scheduler.admitted").description("Validations started")
+				.register(meterRegistry);
+		rejected = Counter.builder("validation.scheduler.rejected").description("Validations refused, queue full")
+				.register(meterRegistry);
+		Gauge.builder("validation.scheduler.queued", this, ValidationScheduler::queuedCount)
+				.description("Validations waiting for a slot").register(meterRegistry);
+		Gauge.builder("validation.scheduler.running", this, ValidationScheduler::runningCount)
+				.description("Validations holding a slot").register(meterRegistry);
+	}
+
+	/**
+	 * Run {@code work} once a slot is free and it is this user's turn
+	 *
+	 * @throws ValidationRejectedException if the queue is full or the wait
+	 *                                     exceeds queue-timeout-ms
+	 */
+	public <T> T run(String userId, Callable<T> work) throws Exception {
+		Ticket ticket = enqueue(userId != null && !userId.isBlank() ? userId : "anonymous");
+		awaitTurn(ticket);
+		admitted.increment();
+		long started = System.currentTimeMillis();
+		try {
+			return work.call();
+		} finally {
+			finished(System.currentTimeMillis() - started);
+		}
+	}
+
+	private synchronized Ticket enqueue(String userId) {
+		Deque<Ticket> queue = queues.get(userId);
+		int userQueued = queue != null ? queue.size() : 0;
+		if (running >= maxConcurrent && (queued >= maxQueued || userQueued >= maxQueuedPerUser)) {
+			rejected.increment();
+			long retryAfterMs = estimateWaitMs(queued + 1);
+			logger.warn("Rejecting validation for user {}: {} queued ({} theirs), retry in ~{} ms", userId, queued,
+					userQueued, retryAfterMs);
+			throw new ValidationRejectedException(queued >= maxQueued ? "Validation queue is full"
+					: "Too many validations queued for this user", queued, retryAfterMs);
+		}
+		Ticket ticket = new Ticket(userId);
+		queues.computeIfAbsent(userId, id -> new ArrayDeque<>()).addLast(ticket);
+		queued++;
+		dispatch();
+		return ticket;
+	}
+
+	private void awaitTurn(Ticket ticket) throws InterruptedException {
+		try {
+			ticket.granted.get(queueTimeoutMs, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException | InterruptedException e) {
+			if (withdraw(ticket)) {
+				if (e instanceof InterruptedException) {
+					throw (InterruptedException) e;
+				}
+				rejected.increment();
+				throw new ValidationRejectedException("Timed out waiting for a validation slot", queuedCount(),
+						estimateWaitMs(queuedCount()));
+			}
+			// Granted while timing out: the slot is ours, so use it
+			if (e instanceof InterruptedException) {
+				Thread.currentThread().interrupt();
+			}
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Validation ticket failed", e.getCause());
+		}
+	}
+
+	/**
+	 * Remove a ticket that is still waiting; false if it was already granted
+	 */
+	private synchronized boolean withdraw(Ticket ticket) {
+		Deque<Ticket> queue = queues.get(ticket.userId);
+		if (queue == null || !queue.remove(ticket)) {
+			return false;
+		}
+		queued--;
+		if (queue.isEmpty()) {
+			queues.remove(ticket.userId);
+		}
+		return true;
+	}
+
+	private synchronized void finished(long durationMs) {
+		running--;
+		averageRunMs = 0.8 * averageRunMs + 0.2 * durationMs;
+		dispatch();
+	}
+
+	/**
+	 * Hand free slots to the user at the head of the rotation, who then moves
+	 * to the back
+	 */
+	private void dispatch() {
+		while (running < maxConcurrent && !queues.isEmpty()) {
+			Iterator<Map.Entry<String, Deque<Ticket>>> head = queues.entrySet().iterator();
+			Map.Entry<String, Deque<Ticket>> next = head.next();
+			head.remove();
+			Deque<Ticket> queue = next.getValue();
+			Ticket ticket = queue.pollFirst();
+			if (!queue.isEmpty()) {
+				queues.put(next.getKey(), queue);
+			}
+			queued--;
+			running++;
+			ticket.granted.complete(null);
+		}
+	}
+
+	/**
+	 * Queue state as seen by one user: the 1-based start positions of their
+	 * waiting validations under the current rotation, and a wait estimate for
+	 * the first of them
+	 */
+	public synchronized Map<String, Object> status(String userId) {
+		List<Integer> positions = new ArrayList<>();
+		Deque<Ticket> own = userId != null ? queues.get(userId) : null;
+		if (own != null) {
+			List<Deque<Ticket>> order = new ArrayList<>(queues.values());
+			int index = order.indexOf(own);
+			for (int k = 0; k < own.size(); k++) {
+				// Each earlier round serves every user once; users ahead in the rotation also go first in round k
+				int ahead = k;
+				for (int i = 0; i < order.size(); i++) {
+					if (i != index) {
+						ahead += Math.min(order.get(i).size(), k + (i < index ? 1 : 0));
+					}
+				}
+				positions.add(ahead + 1);
+			}
+		}
+		Map<String, Object> status = new LinkedHashMap<>();
+		status.put("running", running);
+		status.put("queued", queued);
+		status.put("maxConcurrent", maxConcurrent);
+		status.put("maxQueued", maxQueued);
+		status.put("positions", positions);
+		if (!positions.isEmpty()) {
+			status.put("estimatedWaitMs", estimateWaitMs(positions.get(0)));
+		}
+		return status;
+	}
+
+	private synchronized long estimateWaitMs(int position) {
+		if (running < maxConcurrent) {
+			return 0;
+		}
+		// Slots free up at maxConcurrent per average run, roughly
+		long rounds = (position + maxConcurrent - 1) / maxConcurrent;
+		return Math.max(1000, Math.round(rounds * averageRunMs));
+	}
+
+	private synchronized int queuedCount() {
+		return queued;
+	}
+
+	private synchronized int runningCount() {
+		return running;
+	}
+}
@@ -0,0 +1,257 @@
+package com.amazon.agenticworkstation.test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop load test for the Tau Bench endpoints. Virtual users call
+ * /api/tau-bench/execute-by-id with a weighted mix of endpoints and think time
+ * between calls, then throughput and latency percentiles are printed per
+ * endpoint. Meant to run against a backend started with the tau-sim profile
+ * (e.g. SPRING_PROFILES_ACTIVE=dev,tau-sim) so no remote host is involved.
+ * <p>
+ * Usage: java ... TauBenchLoadTestMain --tasks user1:task1,user2:task2
+ * [--tasks-file file] [--base-url http://localhost:8080] [--users 20]
+ * [--duration 60] [--ramp 10] [--think-ms 1000]
+ * [--mix task_verification=50,compute_complexity=30,run_task=15,evaluate=5]
+ * <p>
+ * A tasks file has one userId:taskId per line.
+ */
+public class TauBenchLoadTestMain {
+
+	private static final String DEFAULT_MIX = "task_verification=50,compute_complexity=30,run_task=15,evaluate=5";
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = parseOptions(args);
+		String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+		int users = Integer.parseInt(options.getOrDefault("users", "20"));
+		long durationMs = TimeUnit.SECONDS.toMillis(Long.parseLong(options.getOrDefault("duration", "60")));
+		long rampMs = TimeUnit.SECONDS.toMillis(Long.parseLong(options.getOrDefault("ramp", "10")));
+		long thinkMs = Long.parseLong(options.getOrDefault("think-ms", "1000"));
+		Map<String, Integer> mix = parseMix(options.getOrDefault("mix", DEFAULT_MIX));
+		List<String[]> tasks = parseTasks(options);
+		if (tasks.isEmpty()) {
+			System.err.println("No tasks given: use --tasks userId:taskId,... or --tasks-file");
+			System.exit(2);
+		}
+
+		System.out.printf("Load test: %d users for %ds (ramp %ds) against %s, %d tasks, mix %s%n", users,
+				durationMs / 1000, rampMs / 1000, baseUrl, tasks.size(), mix);
+
+		HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+		Map<String, Stats> stats = new LinkedHashMap<>();
+		mix.keySet().forEach(endpoint -> stats.put(endpoint, new Stats()));
+
+		long start = System.currentTimeMillis();
+		long end = start + durationMs;
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < users; i++) {
+			long startDelay = users > 1 ? rampMs * i / (users - 1) : 0;
+			Thread user = new Thread(() -> runUser(client, baseUrl, tasks, mix, stats, thinkMs, start + startDelay, end),
+					"load-user-" + i);
+			user.setDaemon(true);
+			user.start();
+			threads.add(user);
+		}
+
+		while (System.currentTimeMillis() < end) {
+			Thread.sleep(Math.min(10_000, Math.max(1, end - System.currentTimeMillis())));
+			long done = stats.values().stream().mapToLong(Stats::count).sum();
+			System.out.printf("  %3ds: %d requests%n", (System.currentTimeMillis() - start) / 1000, done);
+		}
+		for (Thread thread : threads) {
+			// Let in-flight requests finish so their latency is counted
+			thread.join(TimeUnit.MINUTES.toMillis(5));
+		}
+		report(stats, System.currentTimeMillis() - start);
+	}
+
+	private static void runUser(HttpClient client, String baseUrl, List<String[]> tasks, Map<String, Integer> mix,
+			Map<String, Stats> stats, long thinkMs, long startAt, long end) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		sleepUntil(startAt);
+		while (System.currentTimeMillis() < end) {
+			String[] task = tasks.get(random.nextInt(tasks.size()));
+			String endpoint = pick(mix, random);
+			String url = baseUrl + "/api/tau-bench/execute-by-id?userId=" + encode(task[0]) + "&taskId="
+					+ encode(task[1]) + "&endpoint=" + encode(endpoint);
+			HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+					.timeout(Duration.ofMinutes(6))
+					.POST(HttpRequest.BodyPublishers.noBody())
+					.build();
+			long started = System.nanoTime();
+			boolean ok;
+			try {
+				HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+				// execute-by-id answers 200 with success=false when the call failed
+				ok = response.statusCode() == 200 && response.body().contains("\"success\":true");
+			} catch (IOException e) {
+				ok = false;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+			stats.get(endpoint).record((System.nanoTime() - started) / 1_000_000, ok);
+			if (thinkMs > 0) {
+				// Exponential think time around the mean
+				sleepUntil(System.currentTimeMillis() + (long) (-thinkMs * Math.log(1 - random.nextDouble())));
+			}
+		}
+	}
+
+	private static void report(Map<String, Stats> stats, long elapsedMs) {
+		double seconds = elapsedMs / 1000.0;
+		System.out.println();
+		System.out.printf("%-20s %8s %7s %9s %8s %8s %8s %8s%n", "endpoint", "requests", "errors", "req/s", "p50 ms",
+				"p90 ms", "p99 ms", "max ms");
+		Stats total = new Stats();
+		stats.forEach((endpoint, s) -> {
+			print(endpoint, s, seconds);
+			total.addAll(s);
+		});
+		print("total", total, seconds);
+	}
+
+	private static void print(String name, Stats stats, double seconds) {
+		long[] sorted = stats.sortedLatencies();
+		System.out.printf("%-20s %8d %7d %9.2f %8d %8d %8d %8d%n", name, sorted.length, stats.errors(),
+				sorted.length / seconds, percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+				sorted.length > 0 ? sorted[sorted.length - 1] : 0);
+	}
+
+	private static long percentile(long[] sorted, double percentile) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+		return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+	}
+
+	private static String pick(Map<String, Integer> mix, ThreadLocalRandom random) {
+		int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+		int roll = random.nextInt(total);
+		for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+			roll -= entry.getValue();
+			if (roll < 0) {
+				return entry.getKey();
+			}
+		}
+		return mix.keySet().iterator().next();
+	}
+
+	private static void sleepUntil(long epochMs) {
+		long remaining;
+		while ((remaining = epochMs - System.currentTimeMillis()) > 0) {
+			try {
+				Thread.sleep(remaining);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	private static String encode(String value) {
+		return URLEncoder.encode(value, StandardCharsets.UTF_8);
+	}
+
+	private static Map<String, String> parseOptions(String[] args) {
+		Map<String, String> options = new HashMap<>();
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].startsWith("--") && i + 1 < args.length) {
+				options.put(args[i].substring(2), args[++i]);
+			}
+		}
+		return options;
+	}
+
+	private static Map<String, Integer> parseMix(String mix) {
+		Map<String, Integer> weights = new LinkedHashMap<>();
+		for (String part : mix.split(",")) {
+			String[] pair = part.trim().split("=");
+			int weight = pair.length > 1 ? Integer.parseInt(pair[1].trim()) : 1;
+			if (weight > 0) {
+				weights.put(pair[0].trim(), weight);
+			}
+		}
+		if (weights.isEmpty()) {
+			throw new IllegalArgumentException("Empty endpoint mix: " + mix);
+		}
+		return weights;
+	}
+
+	private static List<String[]> parseTasks(Map<String, String> options) throws IOException {
+		List<String> entries = new ArrayList<>();
+		if (options.containsKey("tasks")) {
+			entries.addAll(Arrays.asList(options.get("tasks").split(",")));
+		}
+		if (options.containsKey("tasks-file")) {
+			entries.addAll(Files.readAllLines(Path.of(options.get("tasks-file"))));
+		}
+		List<String[]> tasks = new ArrayList<>();
+		for (String entry : entries) {
+			String[] pair = entry.trim().split(":", 2);
+			if (pair.length == 2 && !pair[0].isBlank() && !pair[1].isBlank()) {
+				tasks.add(pair);
+			}
+		}
+		return tasks;
+	}
+
+	/**
+	 * Latencies and error count of one endpoint
+	 */
+	private static final class Stats {
+		private long[] latencies = new long[1024];
+		private int size;
+		private long errors;
+
+		synchronized void record(long latencyMs, boolean ok) {
+			if (size == latencies.length) {
+				latencies = Arrays.copyOf(latencies, size * 2);
+			}
+			latencies[size++] = latencyMs;
+			if (!ok) {
+				errors++;
+			}
+		}
+
+		synchronized void addAll(Stats other) {
+			long[] otherLatencies = other.sortedLatencies();
+			for (long latency : otherLatencies) {
+				record(latency, true);
+			}
+			errors += other.errors();
+		}
+
+		synchronized long count() {
+			return size;
+		}
+
+		synchronized long errors() {
+			return errors;
+		}
+
+		synchronized long[] sortedLatencies() {
+			long[] sorted = Arrays.copyOf(latencies, size);
+			Arrays.sort(sorted);
+			return sorted;
+		}
+	}
+}
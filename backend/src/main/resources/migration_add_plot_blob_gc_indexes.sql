@@ -0,0 +1,15 @@
+-- Migration to support cleanup of unreferenced plots
+-- PlotStore periodically deletes plot_blob rows past the retention period that
+-- no tau_bench_job or tau_bench_response_cache row references
+
+-- Optimizes: WHERE created_at < ? (retention cutoff)
+CREATE INDEX IF NOT EXISTS idx_plot_blob_created ON plot_blob(created_at);
+
+-- Optimizes: NOT EXISTS (... WHERE plot_hash = ?) reference checks
+CREATE INDEX IF NOT EXISTS idx_tau_bench_job_plot_hash ON tau_bench_job(plot_hash);
+CREATE INDEX IF NOT EXISTS idx_tau_bench_response_cache_plot_hash ON tau_bench_response_cache(plot_hash);
+
+-- Verify the indexes were created
+SELECT indexname, tablename
+FROM pg_indexes
+WHERE indexname IN ('idx_plot_blob_created', 'idx_tau_bench_job_plot_hash', 'idx_tau_bench_response_cache_plot_hash');
@@ -0,0 +1,30 @@
+-- Migration to track when each plot was last handed out
+-- PlotStore touches last_used_at whenever a plot is stored again, and cleanup
+-- keys off it, so a plot that is still being returned is never deleted
+
+DO $$
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1 FROM information_schema.columns
+        WHERE table_name = 'plot_blob' AND column_name = 'last_used_at'
+    ) THEN
+        ALTER TABLE plot_blob ADD COLUMN last_used_at TIMESTAMP;
+        UPDATE plot_blob SET last_used_at = created_at WHERE last_used_at IS NULL;
+
+        RAISE NOTICE 'Column plot_blob.last_used_at added successfully';
+    ELSE
+        RAISE NOTICE 'Column plot_blob.last_used_at already exists';
+    END IF;
+END $$;
+
+-- Optimizes: WHERE last_used_at < ? (retention cutoff)
+CREATE INDEX IF NOT EXISTS idx_plot_blob_last_used ON plot_blob(last_used_at);
+
+-- Verify the column and index were created
+SELECT column_name, data_type, is_nullable, column_default
+FROM information_schema.columns
+WHERE table_name = 'plot_blob' AND column_name = 'last_used_at';
+
+SELECT indexname, tablename
+FROM pg_indexes
+WHERE indexname = 'idx_plot_blob_last_used';
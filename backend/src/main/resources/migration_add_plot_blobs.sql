@@ -0,0 +1,22 @@
+-- Migration to add the plot_blob table
+-- Plot images are stored once, keyed by the SHA-256 of their bytes, and served
+-- from /api/plots/{hash}; results reference them by hash instead of carrying
+-- the image as base64
+
+CREATE TABLE IF NOT EXISTS plot_blob (
+    hash VARCHAR(64) PRIMARY KEY,
+    content_type VARCHAR(50) NOT NULL,
+    size_bytes INT NOT NULL,
+    data BYTEA NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- New rows reference the plot by hash; plot_base64 stays for existing rows
+ALTER TABLE tau_bench_job ADD COLUMN IF NOT EXISTS plot_hash VARCHAR(64);
+ALTER TABLE tau_bench_response_cache ADD COLUMN IF NOT EXISTS plot_hash VARCHAR(64);
+
+-- Verify table creation
+SELECT column_name, data_type, is_nullable, column_default
+FROM information_schema.columns
+WHERE table_name = 'plot_blob'
+ORDER BY ordinal_position;
@@ -0,0 +1,23 @@
+-- Migration to add optimistic locking to the task table
+-- Every task update is conditioned on the version it was read at (JPA @Version),
+-- so concurrent edits from different sessions or replicas are detected instead
+-- of silently overwriting each other
+
+DO $$
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1 FROM information_schema.columns
+        WHERE table_name = 'task' AND column_name = 'version'
+    ) THEN
+        ALTER TABLE task ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+        RAISE NOTICE 'Column task.version added successfully';
+    ELSE
+        RAISE NOTICE 'Column task.version already exists';
+    END IF;
+END $$;
+
+-- Verify the column was added
+SELECT column_name, data_type, is_nullable, column_default
+FROM information_schema.columns
+WHERE table_name = 'task' AND column_name = 'version';
@@ -0,0 +1,25 @@
+-- Migration to group Tau Bench jobs into batch runs
+-- Jobs submitted through /api/tau-bench/batches share a batch_id, and the batch
+-- summary is aggregated from them
+
+DO $$
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1 FROM information_schema.columns
+        WHERE table_name = 'tau_bench_job' AND column_name = 'batch_id'
+    ) THEN
+        ALTER TABLE tau_bench_job ADD COLUMN batch_id VARCHAR(36);
+
+        RAISE NOTICE 'Column tau_bench_job.batch_id added successfully';
+    ELSE
+        RAISE NOTICE 'Column tau_bench_job.batch_id already exists';
+    END IF;
+END $$;
+
+-- Optimizes: WHERE batch_id=? GROUP BY status, success (batch summary)
+CREATE INDEX IF NOT EXISTS idx_tau_bench_job_batch_status ON tau_bench_job(batch_id, status);
+
+-- Verify the column was added
+SELECT column_name, data_type, is_nullable, column_default
+FROM information_schema.columns
+WHERE table_name = 'tau_bench_job' AND column_name = 'batch_id';
@@ -0,0 +1,22 @@
+-- Migration to record the pass/fail verdict of Tau Bench jobs
+-- success only says whether the call went through; verdict is the run_task
+-- reward or task_verification result, and batch pass rates are computed from it
+
+DO $$
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1 FROM information_schema.columns
+        WHERE table_name = 'tau_bench_job' AND column_name = 'verdict'
+    ) THEN
+        ALTER TABLE tau_bench_job ADD COLUMN verdict BOOLEAN;
+
+        RAISE NOTICE 'Column tau_bench_job.verdict added successfully';
+    ELSE
+        RAISE NOTICE 'Column tau_bench_job.verdict already exists';
+    END IF;
+END $$;
+
+-- Verify the column was added
+SELECT column_name, data_type, is_nullable, column_default
+FROM information_schema.columns
+WHERE table_name = 'tau_bench_job' AND column_name = 'verdict';
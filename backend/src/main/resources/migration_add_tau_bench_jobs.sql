@@ -0,0 +1,33 @@
+-- Migration to add the tau_bench_job table
+-- Background Tau Bench executions are recorded here so a submit can return
+-- immediately and queued or interrupted jobs resume after a restart
+
+CREATE TABLE IF NOT EXISTS tau_bench_job (
+    job_id VARCHAR(36) PRIMARY KEY,
+    user_id VARCHAR(50) NOT NULL,
+    task_id VARCHAR(100) NOT NULL,
+    endpoint VARCHAR(50) NOT NULL,
+    lane VARCHAR(20) NOT NULL DEFAULT 'INTERACTIVE',
+    status VARCHAR(20) NOT NULL DEFAULT 'QUEUED',
+    progress INT NOT NULL DEFAULT 0,
+    attempts INT NOT NULL DEFAULT 0,
+    success BOOLEAN,
+    message TEXT,
+    result_json TEXT,
+    plot_base64 TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Optimizes: WHERE status=? ORDER BY created_at (queue recovery)
+CREATE INDEX IF NOT EXISTS idx_tau_bench_job_status_created ON tau_bench_job(status, created_at);
+-- Optimizes: WHERE user_id=? ORDER BY created_at DESC (job list)
+CREATE INDEX IF NOT EXISTS idx_tau_bench_job_user_created ON tau_bench_job(user_id, created_at DESC);
+
+-- Verify table creation
+SELECT column_name, data_type, is_nullable, column_default
+FROM information_schema.columns
+WHERE table_name = 'tau_bench_job'
+ORDER BY ordinal_position;
@@ -0,0 +1,25 @@
+-- Migration to add the tau_bench_response_cache table
+-- compute_complexity and task_verification answers are stored by a SHA-256 of
+-- the canonical request payload, endpoint and service version, so re-checking
+-- an unchanged task does not call the remote service again
+
+CREATE TABLE IF NOT EXISTS tau_bench_response_cache (
+    cache_key VARCHAR(64) PRIMARY KEY,
+    endpoint VARCHAR(50) NOT NULL,
+    service_version VARCHAR(50) NOT NULL,
+    task_id VARCHAR(100),
+    response_json TEXT NOT NULL,
+    plot_base64 TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Optimizes: DELETE WHERE task_id=? [AND endpoint=?] (explicit invalidation)
+CREATE INDEX IF NOT EXISTS idx_tau_bench_response_cache_task ON tau_bench_response_cache(task_id, endpoint);
+-- Optimizes: DELETE WHERE created_at < ? (age purge)
+CREATE INDEX IF NOT EXISTS idx_tau_bench_response_cache_created ON tau_bench_response_cache(created_at);
+
+-- Verify table creation
+SELECT column_name, data_type, is_nullable, column_default
+FROM information_schema.columns
+WHERE table_name = 'tau_bench_response_cache'
+ORDER BY ordinal_position;
@@ -0,0 +1,24 @@
+-- Migration to add the tau_bench_response_cache_task table
+-- Cache keys ignore which task sent the payload, so a response can be served to
+-- several tasks with the same content; invalidating a task must drop all of them,
+-- not only the rows whose task_id names the first writer
+
+CREATE TABLE IF NOT EXISTS tau_bench_response_cache_task (
+    cache_key VARCHAR(64) NOT NULL,
+    task_id VARCHAR(100) NOT NULL,
+    PRIMARY KEY (cache_key, task_id)
+);
+
+-- Optimizes: WHERE task_id=? (explicit invalidation)
+CREATE INDEX IF NOT EXISTS idx_tau_bench_response_cache_task_task ON tau_bench_response_cache_task(task_id);
+
+-- Existing rows are linked to the task that first stored them
+INSERT INTO tau_bench_response_cache_task (cache_key, task_id)
+SELECT cache_key, task_id FROM tau_bench_response_cache WHERE task_id IS NOT NULL
+ON CONFLICT DO NOTHING;
+
+-- Verify table creation
+SELECT column_name, data_type, is_nullable, column_default
+FROM information_schema.columns
+WHERE table_name = 'tau_bench_response_cache_task'
+ORDER BY ordinal_position;
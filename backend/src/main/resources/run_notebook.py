@@ -2,6 +2,11 @@
 """
 Python script to execute compute_complexity.ipynb notebook programmatically.
 This script is called from Java TauBenchValidationService.
+
+With --worker the script stays running and reads one JSON request per line
+from stdin, answering each with one JSON line on stdout (see worker_loop).
+The kernel is started once and reused, so later requests skip the
+interpreter and kernel startup.
 """
 
 import sys
@@ -20,7 +25,7 @@ except ImportError as e:
     sys.exit(1)
 
 
-def execute_notebook(notebook_path, task_path, step, output_path=None):
+def execute_notebook(notebook_path, task_path, step, output_path=None, km=None, workdir=None):
     """
     Execute the compute_complexity notebook with given parameters.
     
@@ -29,6 +34,8 @@ def execute_notebook(notebook_path, task_path, step, output_path=None):
         task_path: Path to the task.json file 
         step: The validation step to run (compute_complexity, task_verification, run_task, evaluate)
         output_path: Optional path to save executed notebook
+        km: Optional running KernelManager to execute in (worker mode)
+        workdir: Directory the kernel switches to first (worker mode)
     
     Returns:
         dict: Result containing success status and any outputs
@@ -61,6 +68,15 @@ def execute_notebook(notebook_path, task_path, step, output_path=None):
                 else:
                     new_lines.append(line)
             
+            if km is not None:
+                # Reused kernel: drop the previous job's variables and move to
+                # this task's directory, as a fresh process would start there
+                prefix = ['%reset -f']
+                if workdir:
+                    prefix.append('import os as _os')
+                    prefix.append(f'_os.chdir({json.dumps(workdir)})')
+                new_lines = prefix + new_lines
+
             nb.cells[0].source = '\n'.join(new_lines)
         
         # Create a client to execute the notebook
@@ -68,7 +84,8 @@ def execute_notebook(notebook_path, task_path, step, output_path=None):
             nb, 
             timeout=600,  # 10 minutes timeout
             kernel_name='python3',
-            allow_errors=True  # Don't stop on errors, capture them
+            allow_errors=True,  # Don't stop on errors, capture them
+            km=km
         )
         
         # Execute all cells
@@ -158,7 +175,80 @@ def execute_notebook(notebook_path, task_path, step, output_path=None):
         }
 
 
+def worker_loop(ready_timeout=60):
+    """
+    Serve requests until stdin closes. Requests and responses are single
+    JSON lines:
+        {"id": 1, "op": "run", "notebook_path": ..., "task_path": ...,
+         "step": ..., "output": ..., "workdir": ...}
+            -> {"id": 1, "result": {...same dict as --json-output...},
+                "kernel_alive": true}
+        {"id": 2, "op": "ping"} -> {"id": 2, "op": "pong"}
+    A {"op": "ready"} line is written once the kernel is up. A run whose
+    kernel died replies with "kernel_alive": false and the worker exits, so
+    it is replaced instead of failing every later job.
+    """
+    from jupyter_client.manager import KernelManager
+
+    # Anything printed by the notebook machinery goes to stderr; stdout only
+    # carries protocol lines
+    protocol = sys.stdout
+    sys.stdout = sys.stderr
+
+    def reply(message):
+        protocol.write(json.dumps(message) + "\n")
+        protocol.flush()
+
+    km = KernelManager(kernel_name='python3')
+    km.start_kernel()
+    kc = km.client()
+    kc.start_channels()
+    kc.wait_for_ready(timeout=ready_timeout)
+    kc.stop_channels()
+    reply({"op": "ready", "pid": os.getpid()})
+
+    try:
+        for line in sys.stdin:
+            line = line.strip()
+            if not line:
+                continue
+            try:
+                request = json.loads(line)
+            except ValueError as e:
+                reply({"error": f"Invalid request: {e}"})
+                continue
+            request_id = request.get("id")
+            op = request.get("op", "run")
+            if op == "ping":
+                alive = km.is_alive()
+                reply({"id": request_id, "op": "pong" if alive else "dead"})
+                if not alive:
+                    return 1
+            elif op == "run":
+                result = execute_notebook(
+                    request.get("notebook_path"),
+                    request.get("task_path"),
+                    request.get("step"),
+                    request.get("output"),
+                    km=km,
+                    workdir=request.get("workdir")
+                )
+                alive = km.is_alive()
+                reply({"id": request_id, "result": result, "kernel_alive": alive})
+                if not alive:
+                    return 1
+            else:
+                reply({"id": request_id, "error": f"Unknown op: {op}"})
+    finally:
+        km.shutdown_kernel(now=True)
+    return 0
+
+
 def main():
+    if "--worker" in sys.argv[1:]:
+        return worker_loop()
+
+
     parser = argparse.ArgumentParser(description='Execute compute_complexity notebook')
     parser.add_argument('notebook_path', help='Path to the .ipynb file')
     parser.add_argument('task_path', help='Path to the task.json file')
@@ -47,6 +47,7 @@ CREATE TABLE IF NOT EXISTS task (
     is_active BOOLEAN DEFAULT TRUE,
     created_date_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_date_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
     FOREIGN KEY (user_id) REFERENCES login(user_id) ON DELETE CASCADE
 );
 CREATE TABLE IF NOT EXISTS task_history (
@@ -151,5 +152,71 @@ $$ LANGUAGE plpgsql;
 ALTER TABLE "policy_actions"
 ADD COLUMN "status" text DEFAULT draft NOT NULL;
 
+-- Background Tau Bench executions (job queue)
+CREATE TABLE IF NOT EXISTS tau_bench_job (
+    job_id VARCHAR(36) PRIMARY KEY,
+    user_id VARCHAR(50) NOT NULL,
+    task_id VARCHAR(100) NOT NULL,
+    endpoint VARCHAR(50) NOT NULL,
+    batch_id VARCHAR(36),
+    lane VARCHAR(20) NOT NULL DEFAULT 'INTERACTIVE',
+    status VARCHAR(20) NOT NULL DEFAULT 'QUEUED',
+    progress INT NOT NULL DEFAULT 0,
+    attempts INT NOT NULL DEFAULT 0,
+    success BOOLEAN,
+    verdict BOOLEAN,
+    message TEXT,
+    result_json TEXT,
+    plot_base64 TEXT,
+    plot_hash VARCHAR(64),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_tau_bench_job_status_created ON tau_bench_job(status, created_at);
+CREATE INDEX IF NOT EXISTS idx_tau_bench_job_user_created ON tau_bench_job(user_id, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_tau_bench_job_batch_status ON tau_bench_job(batch_id, status);
+CREATE INDEX IF NOT EXISTS idx_tau_bench_job_plot_hash ON tau_bench_job(plot_hash);
+
+-- Cached responses of deterministic Tau Bench endpoints, keyed by payload hash
+CREATE TABLE IF NOT EXISTS tau_bench_response_cache (
+    cache_key VARCHAR(64) PRIMARY KEY,
+    endpoint VARCHAR(50) NOT NULL,
+    service_version VARCHAR(50) NOT NULL,
+    task_id VARCHAR(100),
+    response_json TEXT NOT NULL,
+    plot_base64 TEXT,
+    plot_hash VARCHAR(64),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_tau_bench_response_cache_task ON tau_bench_response_cache(task_id, endpoint);
+CREATE INDEX IF NOT EXISTS idx_tau_bench_response_cache_created ON tau_bench_response_cache(created_at);
+CREATE INDEX IF NOT EXISTS idx_tau_bench_response_cache_plot_hash ON tau_bench_response_cache(plot_hash);
+
+-- Tasks each cached response was served for (keys ignore the task)
+CREATE TABLE IF NOT EXISTS tau_bench_response_cache_task (
+    cache_key VARCHAR(64) NOT NULL,
+    task_id VARCHAR(100) NOT NULL,
+    PRIMARY KEY (cache_key, task_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_tau_bench_response_cache_task_task ON tau_bench_response_cache_task(task_id);
+
+-- Plot images by SHA-256 of their bytes, served from /api/plots/{hash}
+CREATE TABLE IF NOT EXISTS plot_blob (
+    hash VARCHAR(64) PRIMARY KEY,
+    content_type VARCHAR(50) NOT NULL,
+    size_bytes INT NOT NULL,
+    data BYTEA NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    last_used_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_plot_blob_created ON plot_blob(created_at);
+CREATE INDEX IF NOT EXISTS idx_plot_blob_last_used ON plot_blob(last_used_at);
+
 INSERT INTO login (user_id, password) VALUES 
 ('mayank', '$2a$10$92IXUNpkjO0rOQ5byMi.Ye4oKoEa3Ro9llC/.og/at2.uheWG/igi');
\ No newline at end of file
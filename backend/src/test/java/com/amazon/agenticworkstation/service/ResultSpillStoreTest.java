@@ -0,0 +1,64 @@
+package com.amazon.agenticworkstation.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class ResultSpillStoreTest {
+
+	@TempDir
+	Path root;
+
+	private ResultSpillStore start() {
+		ResultSpillStore store = new ResultSpillStore();
+		ReflectionTestUtils.setField(store, "enabled", true);
+		ReflectionTestUtils.setField(store, "thresholdBytes", 0L);
+		ReflectionTestUtils.setField(store, "spillDir", root.toString());
+		store.init();
+		return store;
+	}
+
+	private long instanceDirectories() throws Exception {
+		try (Stream<Path> entries = Files.list(root)) {
+			return entries.filter(Files::isDirectory).count();
+		}
+	}
+
+	@Test
+	void startingAnotherInstanceKeepsTheFirstInstancesFiles() throws Exception {
+		ResultSpillStore first = start();
+		ResultSpillStore.SpilledResult spilled = first.spill(Map.of("reward", 1.0));
+		assertNotNull(spilled);
+
+		ResultSpillStore second = start();
+		assertEquals(Map.of("reward", 1.0), first.read(spilled));
+		assertEquals(2, instanceDirectories());
+
+		second.shutdown();
+		assertEquals(Map.of("reward", 1.0), first.read(spilled));
+		first.shutdown();
+		assertNull(first.read(spilled));
+		assertEquals(0, instanceDirectories());
+	}
+
+	@Test
+	void abandonedInstanceDirectoriesAreRemovedAtStartup() throws Exception {
+		Path abandoned = Files.createDirectories(root.resolve("instance-1-gone"));
+		Files.writeString(abandoned.resolve("x.smile"), "stale");
+		Files.createFile(abandoned.resolve(".lock"));
+
+		ResultSpillStore store = start();
+		assertEquals(false, Files.exists(abandoned));
+		assertEquals(1, instanceDirectories());
+		store.shutdown();
+	}
+}
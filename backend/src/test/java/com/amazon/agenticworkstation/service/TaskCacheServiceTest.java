@@ -0,0 +1,307 @@
+package com.amazon.agenticworkstation.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import jakarta.persistence.Column;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.amazon.agenticworkstation.dto.CacheUpdateRequest;
+import com.amazon.agenticworkstation.entity.TaskEntity;
+import com.amazon.agenticworkstation.repository.TaskRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TaskCacheServiceTest {
+
+	private static final String TASK_JSON = "{\"env\":\"finance\",\"model\":\"gpt-4o\",\"interface_num\":4,"
+			+ "\"task\":{\"user_id\":\"alice\",\"instruction\":\"old\",\"actions\":[],\"edges\":[],\"outputs\":[]}}";
+
+	private TaskRepository taskRepository;
+	private TaskCacheService service;
+
+	// The task row as the database holds it
+	private TaskEntity row;
+	// Runs inside the next save, between the service's read and its write
+	private Runnable duringNextSave;
+
+	@BeforeEach
+	void setUp() {
+		row = new TaskEntity("t1", "finance", 4, "old", "alice");
+		row.setTaskJson(TASK_JSON);
+		row.setVersion(0L);
+
+		taskRepository = mock(TaskRepository.class);
+		when(taskRepository.findById(anyString())).thenAnswer(inv -> Optional.of(copy(row)));
+		when(taskRepository.findVersionByTaskId(anyString())).thenAnswer(inv -> Optional.of(row.getVersion()));
+		when(taskRepository.findVersionsByTaskIds(any())).thenAnswer(inv -> List.<Object[]>of(
+				new Object[] { row.getTaskId(), row.getVersion() }));
+		when(taskRepository.save(any(TaskEntity.class))).thenAnswer(inv -> merge(inv.getArgument(0)));
+		when(taskRepository.updateResultJson(anyString(), anyString())).thenAnswer(inv -> {
+			row.setResultJson(inv.getArgument(1));
+			return 1;
+		});
+
+		service = newService();
+	}
+
+	private TaskCacheService newService() {
+		return newService(new InProcessCacheInvalidationBus());
+	}
+
+	private TaskCacheService newService(CacheInvalidationBus bus) {
+		TaskCacheService cache = new TaskCacheService();
+		ReflectionTestUtils.setField(cache, "taskRepository", taskRepository);
+		ReflectionTestUtils.setField(cache, "invalidationBus", bus);
+		ReflectionTestUtils.setField(cache, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(cache, "resultSpillStore", mock(ResultSpillStore.class));
+		ReflectionTestUtils.setField(cache, "eventPublisher", mock(ApplicationEventPublisher.class));
+		ReflectionTestUtils.setField(cache, "historyMaxSteps", 10);
+		cache.init();
+		return cache;
+	}
+
+	/**
+	 * What a JPA merge of a detached entity does to the row: a version-checked
+	 * UPDATE of every updatable column
+	 */
+	private TaskEntity merge(TaskEntity entity) throws Exception {
+		Runnable interleaved = duringNextSave;
+		duringNextSave = null;
+		if (interleaved != null) {
+			interleaved.run();
+		}
+		if (!entity.getVersion().equals(row.getVersion())) {
+			throw new ObjectOptimisticLockingFailureException(TaskEntity.class, entity.getTaskId());
+		}
+		for (Field field : TaskEntity.class.getDeclaredFields()) {
+			Column column = field.getAnnotation(Column.class);
+			if (Modifier.isStatic(field.getModifiers()) || (column != null && !column.updatable())) {
+				continue;
+			}
+			field.setAccessible(true);
+			field.set(row, field.get(entity));
+		}
+		row.setVersion(entity.getVersion() + 1);
+		return copy(row);
+	}
+
+	private static TaskEntity copy(TaskEntity source) throws Exception {
+		TaskEntity target = new TaskEntity();
+		for (Field field : TaskEntity.class.getDeclaredFields()) {
+			if (!Modifier.isStatic(field.getModifiers())) {
+				field.setAccessible(true);
+				field.set(target, field.get(source));
+			}
+		}
+		return target;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Object cachedEntry(TaskCacheService cache, String key) {
+		return ((Map<String, Object>) ReflectionTestUtils.getField(cache, "userTaskCache")).get(key);
+	}
+
+	private static boolean isStale(TaskCacheService cache, String key) {
+		return (Boolean) ReflectionTestUtils.getField(cachedEntry(cache, key), "stale");
+	}
+
+	private static CacheUpdateRequest instruction(String text) {
+		CacheUpdateRequest req = new CacheUpdateRequest();
+		req.setInstruction(text);
+		return req;
+	}
+
+	@Test
+	void resultSavedDuringAnEditSurvivesTheEdit() {
+		service.loadTaskIntoCache("alice", "t1");
+		duringNextSave = () -> service.saveResultJsonToDatabase("alice", "t1", "[{\"reward\":1.0}]");
+
+		service.applyUpdate("alice", "t1", instruction("new"));
+
+		assertEquals("[{\"reward\":1.0}]", row.getResultJson());
+		assertEquals("new", row.getInstruction());
+		assertEquals(1L, row.getVersion());
+		assertEquals(1L, service.getVersion("alice", "t1"));
+	}
+
+	@Test
+	void resultSaveDoesNotBumpTheVersion() {
+		service.loadTaskIntoCache("alice", "t1");
+
+		service.saveResultJsonToDatabase("alice", "t1", "[{\"reward\":0.0}]");
+		service.applyUpdate("alice", "t1", instruction("new"));
+
+		assertEquals(1L, row.getVersion());
+		assertEquals("[{\"reward\":0.0}]", row.getResultJson());
+	}
+
+	@Test
+	void editBasedOnAnOldVersionIsRejected() {
+		service.loadTaskIntoCache("alice", "t1");
+		// Another replica saved the task after this one cached it
+		row.setVersion(3L);
+
+		TaskVersionConflictException conflict = assertThrows(TaskVersionConflictException.class,
+				() -> service.applyUpdate("alice", "t1", instruction("mine")));
+
+		assertEquals(0L, conflict.getExpectedVersion());
+		assertEquals(3L, conflict.getCurrentVersion());
+		assertEquals("old", row.getInstruction());
+		// The rejected entry reloads the winning version on next access
+		assertEquals(3L, service.getVersion("alice", "t1"));
+	}
+
+	@Test
+	void explicitExpectedVersionIsChecked() {
+		service.loadTaskIntoCache("alice", "t1");
+		CacheUpdateRequest req = instruction("mine");
+		req.setExpectedVersion(7L);
+
+		TaskVersionConflictException conflict = assertThrows(TaskVersionConflictException.class,
+				() -> service.applyUpdate("alice", "t1", req));
+
+		assertEquals(7L, conflict.getExpectedVersion());
+		assertEquals(0L, conflict.getCurrentVersion());
+	}
+
+	@Test
+	void saveOnOneNodeMarksTheOtherNodesCopyStale() {
+		InProcessCacheInvalidationBus bus = new InProcessCacheInvalidationBus();
+		TaskCacheService nodeA = newService(bus);
+		TaskCacheService nodeB = newService(bus);
+		nodeA.loadTaskIntoCache("alice", "t1");
+		nodeB.loadTaskIntoCache("alice", "t1");
+
+		nodeB.applyUpdate("alice", "t1", instruction("from b"));
+
+		assertFalse(isStale(nodeB, "alice_t1"));
+		assertTrue(isStale(nodeA, "alice_t1"));
+		assertEquals(1L, nodeA.getVersion("alice", "t1"));
+		assertEquals("from b", nodeA.buildAggregatedTaskDto("alice", "t1").getTask().getInstruction());
+	}
+
+	@Test
+	void localSaveMarksOtherUsersCopiesOfTheTaskStale() {
+		service.loadTaskIntoCache("alice", "t1");
+		service.loadTaskIntoCache("reviewer", "t1");
+
+		service.applyUpdate("alice", "t1", instruction("edited"));
+
+		assertFalse(isStale(service, "alice_t1"));
+		assertTrue(isStale(service, "reviewer_t1"));
+	}
+
+	@Test
+	void invalidationListenersRunAfterTheWritersLockIsReleased() {
+		InProcessCacheInvalidationBus bus = new InProcessCacheInvalidationBus();
+		TaskCacheService cache = newService(bus);
+		cache.loadTaskIntoCache("alice", "t1");
+		Object entry = cachedEntry(cache, "alice_t1");
+		AtomicBoolean heldLock = new AtomicBoolean();
+		AtomicBoolean delivered = new AtomicBoolean();
+		bus.subscribe(event -> {
+			delivered.set(true);
+			heldLock.set(Thread.holdsLock(entry));
+		});
+
+		cache.applyUpdate("alice", "t1", instruction("edited"));
+
+		assertTrue(delivered.get());
+		assertFalse(heldLock.get());
+	}
+
+	@Test
+	void settingTheRepositoryPathIsNotAnEdit() {
+		service.loadTaskIntoCache("alice", "t1");
+
+		service.setRepositoryPath("alice", "t1", "/tmp/repo");
+
+		assertEquals("/tmp/repo", service.getRepositoryPath("alice", "t1"));
+		assertEquals(0L, service.getVersion("alice", "t1"));
+		assertEquals(0, service.historyDepth("alice", "t1").get("undo"));
+		verify(taskRepository, never()).save(any(TaskEntity.class));
+	}
+
+	@Test
+	void revalidationMarksOnlyEntriesBehindTheDatabase() {
+		service.loadTaskIntoCache("alice", "t1");
+		assertEquals(0, service.revalidateEntries());
+
+		// Saved elsewhere while this node missed the invalidation
+		row.setVersion(2L);
+		row.setInstruction("theirs");
+		assertEquals(1, service.revalidateEntries());
+
+		assertEquals(2L, service.getVersion("alice", "t1"));
+	}
+
+	@Test
+	void revalidationMarksEverythingWhenVersionsCannotBeRead() {
+		service.loadTaskIntoCache("alice", "t1");
+		when(taskRepository.findVersionsByTaskIds(any())).thenThrow(new IllegalStateException("down"));
+
+		assertEquals(1, service.revalidateEntries());
+	}
+
+	@Test
+	void restoredEntryServesTheAggregateWithoutTheDatabase() throws Exception {
+		service.loadTaskIntoCache("alice", "t1");
+		List<TaskCacheSnapshot.Entry> snapshot = service.exportSnapshotEntries();
+
+		TaskCacheService restarted = newService();
+		assertEquals(1, restarted.restoreSnapshotEntries(snapshot));
+		clearInvocations(taskRepository);
+
+		assertEquals("gpt-4o", restarted.buildAggregatedTaskDto("alice", "t1").getModel());
+		verify(taskRepository, never()).findById(anyString());
+	}
+
+	@Test
+	void restoredEntrySavedElsewhereMeanwhileIsReloaded() throws Exception {
+		service.loadTaskIntoCache("alice", "t1");
+		List<TaskCacheSnapshot.Entry> snapshot = service.exportSnapshotEntries();
+		// Another replica edits the task while this one is down
+		row.setVersion(4L);
+		row.setTaskJson(TASK_JSON.replace("\"old\"", "\"theirs\""));
+
+		TaskCacheService restarted = newService();
+		restarted.restoreSnapshotEntries(snapshot);
+
+		assertEquals(4L, restarted.getVersion("alice", "t1"));
+		assertEquals("theirs", restarted.buildAggregatedTaskDto("alice", "t1").getTask().getInstruction());
+	}
+
+	@Test
+	void writeBetweenVersionCheckAndUpdateIsAConflict() {
+		service.loadTaskIntoCache("alice", "t1");
+		duringNextSave = () -> row.setVersion(row.getVersion() + 1);
+
+		TaskVersionConflictException conflict = assertThrows(TaskVersionConflictException.class,
+				() -> service.applyUpdate("alice", "t1", instruction("mine")));
+
+		assertEquals(1L, conflict.getCurrentVersion());
+		assertEquals("old", row.getInstruction());
+	}
+}
@@ -0,0 +1,38 @@
+package com.amazon.agenticworkstation.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class TauBenchJobServiceTest {
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	private JsonNode json(String body) throws Exception {
+		return mapper.readTree(body);
+	}
+
+	@Test
+	void runTaskPassesOnlyWhenEveryTrialEarnsFullReward() throws Exception {
+		assertEquals(Boolean.TRUE, TauBenchJobService.verdictOf("run_task", json("[{\"reward\":1.0},{\"reward\":1}]")));
+		assertEquals(Boolean.FALSE, TauBenchJobService.verdictOf("run_task", json("[{\"reward\":1.0},{\"reward\":0.0}]")));
+		assertNull(TauBenchJobService.verdictOf("run_task", json("[{\"task_id\":0}]")));
+	}
+
+	@Test
+	void taskVerificationUsesTheReportedVerdict() throws Exception {
+		assertEquals(Boolean.TRUE, TauBenchJobService.verdictOf("task_verification", json("{\"success\":true,\"valid\":true}")));
+		assertEquals(Boolean.FALSE, TauBenchJobService.verdictOf("task_verification", json("{\"success\":true,\"valid\":false}")));
+		assertNull(TauBenchJobService.verdictOf("task_verification", json("{\"success\":true}")));
+	}
+
+	@Test
+	void otherEndpointsGiveNoVerdict() throws Exception {
+		assertNull(TauBenchJobService.verdictOf("compute_complexity", json("{\"success\":true,\"valid\":true}")));
+		assertNull(TauBenchJobService.verdictOf("run_task", null));
+	}
+}
@@ -0,0 +1,143 @@
+package com.amazon.agenticworkstation.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.amazon.agenticworkstation.service.ComputeComplexityService.Endpoint;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TauBenchRequestCoalescerTest {
+
+	private final ObjectMapper mapper = new ObjectMapper();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private TauBenchRequestCoalescer coalescer;
+	private final AtomicInteger remoteCalls = new AtomicInteger();
+	private CompletableFuture<TauBenchHttpClient.Response> remote;
+
+	@BeforeEach
+	void setUp() {
+		coalescer = new TauBenchRequestCoalescer();
+		ReflectionTestUtils.setField(coalescer, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(coalescer, "enabled", true);
+		coalescer.init();
+	}
+
+	/**
+	 * A remote call that stays outstanding until the test completes {@link #remote}
+	 */
+	private Supplier<CompletableFuture<TauBenchHttpClient.Response>> call() {
+		return () -> {
+			remoteCalls.incrementAndGet();
+			remote = new CompletableFuture<>();
+			return remote;
+		};
+	}
+
+	private JsonNode payload(String taskId) {
+		return mapper.createObjectNode().put("task_id", taskId).put("num_trials", 1);
+	}
+
+	private TauBenchHttpClient.Response response() {
+		ObjectNode body = mapper.createObjectNode();
+		body.putObject("complexity").put("num_actions", 3);
+		return new TauBenchHttpClient.Response(200, body);
+	}
+
+	@Test
+	void identicalCallsInFlightShareOneRemoteCall() {
+		CompletableFuture<TauBenchHttpClient.Response> first = coalescer.execute(Endpoint.COMPUTE_COMPLEXITY,
+				payload("t1"), call());
+		CompletableFuture<TauBenchHttpClient.Response> second = coalescer.execute(Endpoint.COMPUTE_COMPLEXITY,
+				payload("t1"), call());
+
+		assertEquals(1, remoteCalls.get());
+		assertEquals(1, coalescer.inFlightCount());
+		TauBenchHttpClient.Response sent = response();
+		remote.complete(sent);
+
+		assertSame(sent, first.join());
+		assertEquals(200, second.join().getStatusCode());
+		assertEquals(sent.getBody(), second.join().getBody());
+		assertEquals(0, coalescer.inFlightCount());
+		assertEquals(1.0, meterRegistry.counter("tau.bench.requests.coalesced", "endpoint", "compute_complexity")
+				.count());
+	}
+
+	@Test
+	void followersGetTheirOwnCopyOfTheBody() {
+		CompletableFuture<TauBenchHttpClient.Response> leader = coalescer.execute(Endpoint.RUN_TASK, payload("t1"),
+				call());
+		CompletableFuture<TauBenchHttpClient.Response> follower = coalescer.execute(Endpoint.RUN_TASK,
+				payload("t1"), call());
+		remote.complete(response());
+
+		JsonNode leaderBody = leader.join().getBody();
+		JsonNode followerBody = follower.join().getBody();
+		assertNotSame(leaderBody, followerBody);
+		// A handler rewriting its response leaves the other caller's alone
+		((ObjectNode) followerBody.path("complexity")).put("num_actions", 99);
+		assertEquals(3, leaderBody.path("complexity").path("num_actions").asInt());
+	}
+
+	@Test
+	void differentPayloadsAreNotShared() {
+		coalescer.execute(Endpoint.COMPUTE_COMPLEXITY, payload("t1"), call());
+		coalescer.execute(Endpoint.COMPUTE_COMPLEXITY, payload("t2"), call());
+		coalescer.execute(Endpoint.TASK_VERIFICATION, payload("t1"), call());
+
+		assertEquals(3, remoteCalls.get());
+		assertEquals(3, coalescer.inFlightCount());
+	}
+
+	@Test
+	void aCallAfterTheSharedOneFinishedIsSentAgain() {
+		coalescer.execute(Endpoint.COMPUTE_COMPLEXITY, payload("t1"), call());
+		remote.complete(response());
+
+		coalescer.execute(Endpoint.COMPUTE_COMPLEXITY, payload("t1"), call());
+
+		assertEquals(2, remoteCalls.get());
+	}
+
+	@Test
+	void aFailureReachesEveryCallerAndIsNotShared() {
+		CompletableFuture<TauBenchHttpClient.Response> first = coalescer.execute(Endpoint.COMPUTE_COMPLEXITY,
+				payload("t1"), call());
+		CompletableFuture<TauBenchHttpClient.Response> second = coalescer.execute(Endpoint.COMPUTE_COMPLEXITY,
+				payload("t1"), call());
+		remote.completeExceptionally(new TauBenchUnavailableException("compute_complexity", "down", 1000));
+
+		assertThrows(CompletionException.class, first::join);
+		assertThrows(CompletionException.class, second::join);
+		assertEquals(0, coalescer.inFlightCount());
+		coalescer.execute(Endpoint.COMPUTE_COMPLEXITY, payload("t1"), call());
+		assertEquals(2, remoteCalls.get());
+	}
+
+	@Test
+	void disabledCoalescingSendsEveryCall() {
+		ReflectionTestUtils.setField(coalescer, "enabled", false);
+
+		coalescer.execute(Endpoint.COMPUTE_COMPLEXITY, payload("t1"), call());
+		coalescer.execute(Endpoint.COMPUTE_COMPLEXITY, payload("t1"), call());
+
+		assertEquals(2, remoteCalls.get());
+		assertEquals(0, coalescer.inFlightCount());
+	}
+}
@@ -0,0 +1,137 @@
+package com.amazon.agenticworkstation.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.amazon.agenticworkstation.config.TauBenchConfig;
+import com.amazon.agenticworkstation.service.ComputeComplexityService.Endpoint;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TauBenchResilienceTest {
+
+	private TauBenchConfig config;
+	private TauBenchResilience resilience;
+
+	@BeforeEach
+	void setUp() {
+		config = new TauBenchConfig();
+		TauBenchConfig.Resilience settings = config.getResilience();
+		settings.setMaxAttempts(3);
+		settings.setBackoffBaseMs(1);
+		settings.setBackoffMaxMs(1);
+		settings.setWindowSize(2);
+		settings.setMinimumCalls(2);
+		settings.setOpenDurationMs(0);
+		settings.setDefaultMaxConcurrent(4);
+		resilience = new TauBenchResilience(config, new SimpleMeterRegistry());
+	}
+
+	private int callsUntilDone(Endpoint endpoint, CompletableFuture<TauBenchHttpClient.Response> answer) {
+		AtomicInteger calls = new AtomicInteger();
+		try {
+			resilience.execute(endpoint, null, () -> {
+				calls.incrementAndGet();
+				return answer;
+			}).join();
+		} catch (CompletionException e) {
+			// Outcome is not under test, only the number of attempts
+		}
+		return calls.get();
+	}
+
+	private static CompletableFuture<TauBenchHttpClient.Response> status(int code) {
+		return CompletableFuture.completedFuture(new TauBenchHttpClient.Response(code, null));
+	}
+
+	@Test
+	void gatewayErrorsAreRetriedOnlyForIdempotentEndpoints() {
+		assertEquals(3, callsUntilDone(Endpoint.TASK_VERIFICATION, status(502)));
+		assertEquals(1, callsUntilDone(Endpoint.RUN_TASK, status(502)));
+		assertEquals(1, callsUntilDone(Endpoint.EVALUATE, status(504)));
+	}
+
+	@Test
+	void refusedOrUnsentRequestsAreRetriedForEveryEndpoint() {
+		assertEquals(3, callsUntilDone(Endpoint.RUN_TASK, status(503)));
+		assertEquals(3, callsUntilDone(Endpoint.RUN_TASK, CompletableFuture.failedFuture(new ConnectException("refused"))));
+		assertEquals(1, callsUntilDone(Endpoint.RUN_TASK,
+				CompletableFuture.failedFuture(new IOException("Connection reset"))));
+	}
+
+	@Test
+	void lateResultOfAnOldCallDoesNotDecideTheHalfOpenCircuit() {
+		config.getResilience().setMaxAttempts(1);
+		CompletableFuture<TauBenchHttpClient.Response> slow = new CompletableFuture<>();
+		CompletableFuture<TauBenchHttpClient.Response> slowResult = resilience.execute(Endpoint.EVALUATE, null,
+				() -> slow);
+		// Two failures open the circuit; with no open period the next call is the probe
+		callsUntilDone(Endpoint.EVALUATE, status(500));
+		callsUntilDone(Endpoint.EVALUATE, status(500));
+		CompletableFuture<TauBenchHttpClient.Response> probe = new CompletableFuture<>();
+		CompletableFuture<TauBenchHttpClient.Response> probeResult = resilience.execute(Endpoint.EVALUATE, null,
+				() -> probe);
+		assertEquals("half_open", state());
+
+		slow.complete(new TauBenchHttpClient.Response(200, null));
+		slowResult.join();
+		assertEquals("half_open", state());
+		// A second caller is still refused while the probe is out
+		assertThrows(CompletionException.class,
+				() -> resilience.execute(Endpoint.EVALUATE, null, () -> status(200)).join());
+
+		probe.complete(new TauBenchHttpClient.Response(200, null));
+		probeResult.join();
+		assertEquals("closed", state());
+	}
+
+	@Test
+	void gatewayHtmlErrorPageIsRetriedLikeAnyOther503() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/run-task", exchange -> {
+			boolean unavailable = calls.incrementAndGet() < 3;
+			byte[] body = (unavailable ? "<html><body><h1>503 Service Temporarily Unavailable</h1></body></html>"
+					: "[{\"reward\":1.0}]").getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", unavailable ? "text/html" : "application/json");
+			exchange.sendResponseHeaders(unavailable ? 503 : 200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		server.start();
+		TauBenchHttpClient client = new TauBenchHttpClient(config.getApi());
+		try {
+			String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/run-task";
+			TauBenchHttpClient.Response response = resilience.execute(Endpoint.RUN_TASK, null,
+					() -> client.postJson(url, "run_task", new ObjectMapper().createObjectNode())).join();
+
+			assertEquals(200, response.getStatusCode());
+			assertEquals(1.0, response.getBody().get(0).path("reward").asDouble());
+			assertEquals(3, calls.get());
+		} finally {
+			client.shutdown();
+			server.stop(0);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private String state() {
+		return (String) ((Map<String, Object>) resilience.status().get("evaluate")).get("state");
+	}
+}
@@ -0,0 +1,71 @@
+package com.amazon.agenticworkstation.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.amazon.agenticworkstation.config.TauBenchSimulatorConfig;
+import com.amazon.agenticworkstation.config.TauBenchSimulatorConfig.EndpointProfile;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class TauBenchSimulatorTest {
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	private TauBenchSimulator simulator;
+	private JsonNode task;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		TauBenchSimulatorConfig config = new TauBenchSimulatorConfig();
+		config.setPassRate(1.0);
+		for (String path : List.of("compute_complexity", "run-task")) {
+			EndpointProfile profile = new EndpointProfile();
+			profile.setLatencyMedianMs(1);
+			profile.setLatencyP99Ms(1);
+			profile.setPayloadBytes(0);
+			config.getEndpoints().put(path, profile);
+		}
+		simulator = new TauBenchSimulator();
+		ReflectionTestUtils.setField(simulator, "config", config);
+		// Requests are the task JSON, as ComputeComplexityService sends it
+		try (InputStream in = getClass().getResourceAsStream("/example-task.json")) {
+			task = mapper.readTree(in);
+		}
+	}
+
+	@Test
+	void computeComplexityCountsTheTasksActions() {
+		JsonNode body = simulator.respond("compute_complexity", task).join().getBody();
+
+		assertEquals(task.path("task").path("actions").size(), body.path("complexity").path("num_actions").asInt());
+	}
+
+	@Test
+	void passingTrialReplaysTheTasksActionsAsToolCalls() throws Exception {
+		JsonNode actions = task.path("task").path("actions");
+		assertTrue(actions.size() > 0);
+
+		JsonNode result = simulator.respond("run_task", task).join().getBody().get(0);
+
+		List<JsonNode> calls = new ArrayList<>();
+		for (JsonNode message : result.path("traj")) {
+			message.path("tool_calls").forEach(call -> calls.add(call.path("function")));
+		}
+		assertEquals(actions.size(), calls.size());
+		for (int i = 0; i < actions.size(); i++) {
+			assertEquals(actions.get(i).path("name").asText(), calls.get(i).path("name").asText());
+			assertEquals(actions.get(i).path("arguments"), mapper.readTree(calls.get(i).path("arguments").asText()));
+		}
+		JsonNode expected = result.path("info").path("reward_info").path("actions");
+		assertEquals(actions.get(0).path("arguments"), expected.get(0).path("kwargs"));
+	}
+}
@@ -0,0 +1,98 @@
+package com.amazon.agenticworkstation.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.amazon.agenticworkstation.service.ComputeComplexityService.ApiResponse;
+import com.amazon.agenticworkstation.service.ComputeComplexityService.Endpoint;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class TauBenchValidationServiceTest {
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	@TempDir
+	Path taskDir;
+
+	private TauBenchValidationService service;
+	private ComputeComplexityService computeComplexityService;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		Files.writeString(taskDir.resolve("task.json"), "{\"env\":\"test\",\"actions\":[]}");
+		computeComplexityService = mock(ComputeComplexityService.class);
+		PlotStore plotStore = mock(PlotStore.class);
+		when(plotStore.put(any())).thenReturn("abc123");
+
+		service = new TauBenchValidationService();
+		ReflectionTestUtils.setField(service, "computeComplexityService", computeComplexityService);
+		ReflectionTestUtils.setField(service, "plotStore", plotStore);
+		ReflectionTestUtils.setField(service, "mode", "jvm");
+	}
+
+	private void respond(Endpoint endpoint, String body) throws Exception {
+		JsonNode data = mapper.readTree(body);
+		when(computeComplexityService.executeRawAsync(eq(endpoint), anyString()))
+				.thenReturn(CompletableFuture.completedFuture(new ApiResponse(true, "Success", data, null)));
+	}
+
+	@Test
+	void computeComplexityWritesResponseFileAndPlot() throws Exception {
+		String plot = Base64.getEncoder().encodeToString(new byte[] { (byte) 0x89, 'P', 'N', 'G' });
+		respond(Endpoint.COMPUTE_COMPLEXITY, "{\"success\":true,\"plot_base64\":\"" + plot + "\"}");
+
+		Map<String, Object> result = service.run("compute_complexity", taskDir);
+
+		assertEquals(Boolean.TRUE, result.get("success"), () -> "result: " + result);
+		assertEquals("jvm", result.get("engine"));
+		assertFalse(result.containsKey("executed_notebook"));
+		Path responseFile = Path.of((String) result.get("response_file"));
+		assertTrue(Files.exists(responseFile));
+		assertEquals(true, mapper.readTree(responseFile.toFile()).path("success").asBoolean());
+		assertTrue(Files.exists(taskDir.resolve("output.png")));
+		assertEquals("abc123", result.get("output_image_hash"));
+	}
+
+	@Test
+	void runTaskWritesResultJson() throws Exception {
+		respond(Endpoint.RUN_TASK, "[{\"task_id\":0,\"reward\":1.0}]");
+
+		Map<String, Object> result = service.run("run_task", taskDir);
+
+		assertEquals(Boolean.TRUE, result.get("success"), () -> "result: " + result);
+		Path resultFile = Path.of((String) result.get("result_file"));
+		assertEquals(taskDir.resolve("result.json"), resultFile);
+		assertEquals(1.0, mapper.readTree(resultFile.toFile()).get(0).path("reward").asDouble());
+		assertTrue(result.containsKey("result_data"));
+	}
+
+	@Test
+	void evaluateReportsFailureWithoutFiles() throws Exception {
+		when(computeComplexityService.executeRawAsync(eq(Endpoint.EVALUATE), anyString()))
+				.thenReturn(CompletableFuture.completedFuture(new ApiResponse(false, "No results file", null, null)));
+
+		Map<String, Object> result = service.run("evaluate", taskDir);
+
+		assertEquals(Boolean.FALSE, result.get("success"));
+		assertEquals("No results file", result.get("error"));
+		assertFalse(Files.exists(taskDir.resolve("evaluate_response.json")));
+	}
+}
@@ -0,0 +1,221 @@
+package com.amazon.agenticworkstation.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ValidationSchedulerTest {
+
+	private final ExecutorService callers = Executors.newCachedThreadPool();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@AfterEach
+	void tearDown() {
+		callers.shutdownNow();
+	}
+
+	private ValidationScheduler newScheduler(int maxQueued, int maxQueuedPerUser, long queueTimeoutMs) {
+		ValidationScheduler scheduler = new ValidationScheduler();
+		ReflectionTestUtils.setField(scheduler, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(scheduler, "maxConcurrent", 1);
+		ReflectionTestUtils.setField(scheduler, "maxQueued", maxQueued);
+		ReflectionTestUtils.setField(scheduler, "maxQueuedPerUser", maxQueuedPerUser);
+		ReflectionTestUtils.setField(scheduler, "queueTimeoutMs", queueTimeoutMs);
+		scheduler.init();
+		return scheduler;
+	}
+
+	/**
+	 * Take the only slot as a validation already running would
+	 */
+	private static void occupySlot(ValidationScheduler scheduler) {
+		synchronized (scheduler) {
+			ReflectionTestUtils.setField(scheduler, "running", 1);
+		}
+	}
+
+	/**
+	 * Finish the validation holding the slot, which hands it to the next in turn
+	 */
+	private static void freeSlot(ValidationScheduler scheduler) {
+		ReflectionTestUtils.invokeMethod(scheduler, "finished", 0L);
+	}
+
+	private Future<String> submit(ValidationScheduler scheduler, String userId, String label, List<String> ran) {
+		return callers.submit(() -> scheduler.run(userId, () -> {
+			ran.add(label);
+			return label;
+		}));
+	}
+
+	private static void awaitQueued(ValidationScheduler scheduler, int queued) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while ((int) scheduler.status(null).get("queued") != queued) {
+			if (System.currentTimeMillis() > deadline) {
+				fail("Expected " + queued + " queued, status " + scheduler.status(null));
+			}
+			Thread.sleep(5);
+		}
+	}
+
+	@Test
+	void waitingValidationsAreServedRoundRobinByUser() throws Exception {
+		ValidationScheduler scheduler = newScheduler(20, 5, 10_000);
+		List<String> ran = Collections.synchronizedList(new ArrayList<>());
+		occupySlot(scheduler);
+
+		List<Future<String>> calls = new ArrayList<>();
+		// Queued one at a time so arrival order is fixed
+		String[][] arrivals = { { "alice", "a1" }, { "alice", "a2" }, { "alice", "a3" }, { "bob", "b1" },
+				{ "bob", "b2" }, { "carol", "c1" } };
+		for (String[] arrival : arrivals) {
+			calls.add(submit(scheduler, arrival[0], arrival[1], ran));
+			awaitQueued(scheduler, calls.size());
+		}
+
+		// Positions follow the rotation, not arrival
+		assertEquals(List.of(1, 4, 6), scheduler.status("alice").get("positions"));
+		assertEquals(List.of(2, 5), scheduler.status("bob").get("positions"));
+		assertEquals(List.of(3), scheduler.status("carol").get("positions"));
+
+		freeSlot(scheduler);
+		for (Future<String> call : calls) {
+			call.get(5, TimeUnit.SECONDS);
+		}
+
+		assertEquals(List.of("a1", "b1", "c1", "a2", "b2", "a3"), ran);
+		Map<String, Object> status = scheduler.status(null);
+		assertEquals(0, status.get("running"));
+		assertEquals(0, status.get("queued"));
+	}
+
+	@Test
+	void aUserOverTheirShareIsRejectedWhileOthersStillQueue() throws Exception {
+		ValidationScheduler scheduler = newScheduler(20, 2, 10_000);
+		List<String> ran = Collections.synchronizedList(new ArrayList<>());
+		occupySlot(scheduler);
+		submit(scheduler, "alice", "a1", ran);
+		submit(scheduler, "alice", "a2", ran);
+		awaitQueued(scheduler, 2);
+
+		ValidationRejectedException rejected = assertThrows(ValidationRejectedException.class,
+				() -> scheduler.run("alice", () -> ran.add("a3")));
+
+		assertEquals("Too many validations queued for this user", rejected.getMessage());
+		assertEquals(2, rejected.getQueued());
+		assertTrue(rejected.getRetryAfterMs() > 0);
+		submit(scheduler, "bob", "b1", ran);
+		awaitQueued(scheduler, 3);
+		assertEquals(1.0, meterRegistry.counter("validation.scheduler.rejected").count());
+		assertTrue(ran.isEmpty());
+	}
+
+	@Test
+	void everyoneIsRejectedOnceTheQueueIsFull() throws Exception {
+		ValidationScheduler scheduler = newScheduler(3, 2, 10_000);
+		List<String> ran = Collections.synchronizedList(new ArrayList<>());
+		occupySlot(scheduler);
+		submit(scheduler, "alice", "a1", ran);
+		submit(scheduler, "bob", "b1", ran);
+		submit(scheduler, "carol", "c1", ran);
+		awaitQueued(scheduler, 3);
+
+		ValidationRejectedException rejected = assertThrows(ValidationRejectedException.class,
+				() -> scheduler.run("dave", () -> ran.add("d1")));
+
+		assertEquals("Validation queue is full", rejected.getMessage());
+		assertEquals(3, rejected.getQueued());
+		assertTrue(rejected.getRetryAfterMs() > 0);
+		assertTrue(ran.isEmpty());
+	}
+
+	@Test
+	void nothingIsRejectedWhileASlotIsFree() throws Exception {
+		ValidationScheduler scheduler = newScheduler(0, 0, 10_000);
+
+		assertEquals("ran", scheduler.run("alice", () -> "ran"));
+	}
+
+	@Test
+	void aValidationThatWaitsTooLongIsWithdrawn() throws Exception {
+		ValidationScheduler scheduler = newScheduler(20, 5, 50);
+		AtomicBoolean ran = new AtomicBoolean();
+		occupySlot(scheduler);
+
+		ValidationRejectedException rejected = assertThrows(ValidationRejectedException.class,
+				() -> scheduler.run("alice", () -> ran.getAndSet(true)));
+
+		assertEquals("Timed out waiting for a validation slot", rejected.getMessage());
+		assertEquals(0, scheduler.status("alice").get("queued"));
+		assertEquals(List.of(), scheduler.status("alice").get("positions"));
+		// The freed slot is not handed to the withdrawn validation
+		freeSlot(scheduler);
+		assertEquals(0, scheduler.status(null).get("running"));
+		assertFalse(ran.get());
+	}
+
+	@Test
+	void aValidationGrantedAsItTimesOutStillRuns() throws Exception {
+		ValidationScheduler scheduler = newScheduler(20, 5, 50);
+		List<String> ran = Collections.synchronizedList(new ArrayList<>());
+		AtomicReference<Thread> caller = new AtomicReference<>();
+		occupySlot(scheduler);
+		Future<String> call = callers.submit(() -> {
+			caller.set(Thread.currentThread());
+			return scheduler.run("alice", () -> {
+				ran.add("a1");
+				return "a1";
+			});
+		});
+		awaitQueued(scheduler, 1);
+
+		synchronized (scheduler) {
+			// Holding the scheduler's lock keeps the timed-out caller from withdrawing
+			long deadline = System.currentTimeMillis() + 5000;
+			while (!blockedInWithdraw(caller.get())) {
+				if (System.currentTimeMillis() > deadline) {
+					fail("Caller never tried to withdraw");
+				}
+				Thread.sleep(5);
+			}
+			// The slot frees up between its timeout and its withdraw
+			freeSlot(scheduler);
+		}
+
+		assertEquals("a1", call.get(5, TimeUnit.SECONDS));
+		assertEquals(List.of("a1"), ran);
+		assertEquals(0, scheduler.status(null).get("running"));
+		assertEquals(0.0, meterRegistry.counter("validation.scheduler.rejected").count());
+	}
+
+	private static boolean blockedInWithdraw(Thread thread) {
+		if (thread.getState() != Thread.State.BLOCKED) {
+			return false;
+		}
+		for (StackTraceElement frame : thread.getStackTrace()) {
+			if (frame.getMethodName().equals("withdraw")) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -1,3 +1,4 @@
+import 'dart:async';
 import 'dart:convert';
 import 'dart:io';
 import 'dart:typed_data';
@@ -82,6 +83,12 @@ class TaskProvider extends ChangeNotifier {
   // Edge schema validation result
   ValidationResult? _edgeSchemaResult;
 
+  // Server-side change stream for the current task, see _watchCacheEvents
+  StreamSubscription<Map<String, dynamic>>? _cacheEvents;
+  Timer? _cacheEventsRetry;
+  String? _cacheEventsTaskId;
+  int _cacheVersion = -1;
+
   bool get dirtyInstruction => _dirtyInstruction;
   bool get dirtyActions => _dirtyActions;
   bool get dirtyUserId => _dirtyUserId;
@@ -89,6 +96,8 @@ class TaskProvider extends ChangeNotifier {
   bool get dirtyEdges => _dirtyEdges;
   bool get dirtyParams => _dirtyParams;
   bool get dirtyRepo => _dirtyRepo;
+  bool get _hasDirtyEdits => _dirtyInstruction || _dirtyActions || _dirtyUserId || _dirtyOutputs
+      || _dirtyEdges || _dirtyParams || _dirtyRepo;
 
   // Getters
   TaskModel get task => _task;
@@ -884,6 +893,7 @@ class TaskProvider extends ChangeNotifier {
         // Update local task with the backend-generated task ID and set as current
         _task = _task.copyWith(taskId: generatedTaskId);
         _currentTaskId = generatedTaskId;
+        _watchCacheEvents(dbUserId ?? userId, generatedTaskId);
       } catch (e) {
         // If backend import fails, we should fail the entire operation
         throw Exception('Failed to save task to backend database: $e');
@@ -937,6 +947,7 @@ class TaskProvider extends ChangeNotifier {
     _dirtyParams = false;
     _dirtyRepo = false;
     
+    _watchCacheEvents(taskData.userId, taskId);
     notifyListeners();
   }
 
@@ -1000,6 +1011,7 @@ class TaskProvider extends ChangeNotifier {
           _dirtyParams = false;
           _dirtyRepo = false;
           
+          _watchCacheEvents(userId, taskId);
           notifyListeners();
         } else {
           throw Exception('Task data is null');
@@ -1107,6 +1119,7 @@ class TaskProvider extends ChangeNotifier {
 
   /// Clear current task context (return to initial state)
   void clearTaskContext() {
+    _stopCacheEvents();
     _currentTaskId = null;
     _task = const TaskModel(
       instruction: '',
@@ -1139,6 +1152,92 @@ class TaskProvider extends ChangeNotifier {
     notifyListeners();
   }
 
+  /// Follow server-side changes to the current task (edits from another tab
+  /// or node, undo/redo, new results) instead of polling /cache/current
+  void _watchCacheEvents(String userId, String taskId) {
+    _stopCacheEvents();
+    if (userId.isEmpty || taskId.isEmpty) {
+      return;
+    }
+    if (_cacheEventsTaskId != taskId) {
+      _cacheEventsTaskId = taskId;
+      _cacheVersion = -1;
+    }
+    _cacheEvents = _apiService.cacheEvents(userId, taskId).listen(
+      (event) => _onCacheEvent(event, userId, taskId),
+      onError: (e) => print('Warning: Cache event stream for task $taskId failed: $e'),
+      onDone: () {
+        // Dropped by the server or the network; resubscribe while the task is open.
+        // The "subscribed" event then tells us whether anything was missed.
+        _cacheEvents = null;
+        if (_currentTaskId == taskId) {
+          _cacheEventsRetry = Timer(const Duration(seconds: 5), () {
+            if (_currentTaskId == taskId) _watchCacheEvents(userId, taskId);
+          });
+        }
+      },
+    );
+  }
+
+  void _stopCacheEvents() {
+    _cacheEventsRetry?.cancel();
+    _cacheEventsRetry = null;
+    _cacheEvents?.cancel();
+    _cacheEvents = null;
+  }
+
+  Future<void> _onCacheEvent(Map<String, dynamic> event, String userId, String taskId) async {
+    if (_currentTaskId != taskId) {
+      return;
+    }
+    try {
+      // Stored results do not bump the version; refetch them only if they are shown
+      if (event['kind'] == 'result') {
+        if (hasResultData) {
+          final response = await _apiService.getResults(userId, taskId);
+          if (response['success'] == true && _currentTaskId == taskId) {
+            _resultData = response['data'];
+            _resultFilePath = response['filePath']?.toString();
+            notifyListeners();
+          }
+        }
+        return;
+      }
+      final version = (event['version'] as num?)?.toInt() ?? -1;
+      if (version <= _cacheVersion) {
+        return;
+      }
+      final first = _cacheVersion < 0;
+      _cacheVersion = version;
+      // The first "subscribed" only says where the task stands; what we just loaded is that
+      if (first && event['kind'] == 'subscribed') {
+        return;
+      }
+      // Keep unsaved local edits; saving them reports the conflict
+      if (_hasDirtyEdits) {
+        return;
+      }
+      final current = await _apiService.fetchCurrentCache(userId: userId, taskId: taskId);
+      if (_currentTaskId != taskId || _hasDirtyEdits) {
+        return;
+      }
+      final resultData = _resultData;
+      final resultFilePath = _resultFilePath;
+      _loadTaskFromJson(jsonDecode(current) as Map<String, dynamic>, userId, taskId);
+      _resultData = resultData;
+      _resultFilePath = resultFilePath;
+      notifyListeners();
+    } catch (e) {
+      print('Warning: Failed to refresh task $taskId after a cache event: $e');
+    }
+  }
+
+  @override
+  void dispose() {
+    _stopCacheEvents();
+    super.dispose();
+  }
+
   /// Set validation step result
   void setValidationStepResult(String step, ValidationStepResult result) {
     _validationStepResults[step] = result;
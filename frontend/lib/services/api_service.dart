@@ -1,6 +1,8 @@
 import 'dart:convert';
 import 'dart:typed_data';
 import 'package:http/http.dart' as http;
+import 'http_client.dart';
+import 'cache_events.dart';
 import '../models/task_model.dart';
 
 class ApiService {
@@ -20,6 +22,9 @@ class ApiService {
   factory ApiService() => _instance;
   ApiService._internal();
 
+  // Sends the session cookie on the web, see http_client.dart
+  final http.Client _client = createHttpClient();
+
   // Headers for JSON requests
   Map<String, String> get _jsonHeaders => {
     'Content-Type': 'application/json',
@@ -59,7 +64,7 @@ class ApiService {
   /// Login user
   Future<Map<String, dynamic>> login(String userId, String password) async {
     try {
-      final response = await http.post(
+      final response = await _client.post(
         Uri.parse('$baseUrl/api/auth/login'),
         headers: _jsonHeaders,
         body: jsonEncode({
@@ -83,7 +88,7 @@ class ApiService {
   /// Logout user
   Future<Map<String, dynamic>> logout(String sessionId) async {
     try {
-      final response = await http.post(
+      final response = await _client.post(
         Uri.parse('$baseUrl/api/auth/logout'),
         headers: _authHeaders(sessionId),
       );
@@ -101,7 +106,7 @@ class ApiService {
   /// Validate session
   Future<bool> validateSession(String sessionId) async {
     try {
-      final response = await http.get(
+      final response = await _client.get(
         Uri.parse('$baseUrl/api/auth/validate'),
         headers: _authHeaders(sessionId),
       );
@@ -120,7 +125,7 @@ class ApiService {
   /// Get current user info
   Future<Map<String, dynamic>> getCurrentUser(String sessionId) async {
     try {
-      final response = await http.get(
+      final response = await _client.get(
         Uri.parse('$baseUrl/api/auth/user'),
         headers: _authHeaders(sessionId),
       );
@@ -138,7 +143,7 @@ class ApiService {
   /// Register new user (optional)
   Future<Map<String, dynamic>> register(String userId, String password) async {
     try {
-      final response = await http.post(
+      final response = await _client.post(
         Uri.parse('$baseUrl/api/auth/register'),
         headers: _jsonHeaders,
         body: jsonEncode({
@@ -160,7 +165,7 @@ class ApiService {
   /// Validate instruction text
   Future<String> validateInstruction(String instruction) async {
     try {
-      final response = await http.post(
+      final response = await _client.post(
         Uri.parse('$baseUrl/validate-instruction'),
         headers: _jsonHeaders,
         body: jsonEncode({'instruction': instruction}),
@@ -179,7 +184,7 @@ class ApiService {
   /// Generate task.json from TaskModel
   Future<String> generateTaskJson(TaskModel task) async {
     try {
-      final response = await http.post(
+      final response = await _client.post(
         Uri.parse('$baseUrl/generate-task'),
         headers: _jsonHeaders,
         body: jsonEncode(task.toJson()),
@@ -198,7 +203,7 @@ class ApiService {
   /// Validate task.json
   Future<String> validateTaskJson(String taskJson) async {
     try {
-      final response = await http.post(
+      final response = await _client.post(
         Uri.parse('$baseUrl/validate-task'),
         headers: _jsonHeaders,
         body: taskJson,
@@ -217,7 +222,7 @@ class ApiService {
   /// Download all files as zip
   Future<Uint8List> downloadAllFiles() async {
     try {
-      final response = await http.get(
+      final response = await _client.get(
         Uri.parse('$baseUrl/download-all'),
       );
 
@@ -234,7 +239,7 @@ class ApiService {
   /// Health check endpoint
   Future<bool> checkServerHealth() async {
     try {
-      final response = await http.get(
+      final response = await _client.get(
         Uri.parse('$baseUrl/actuator/health'),
       ).timeout(const Duration(seconds: 5));
 
@@ -247,7 +252,7 @@ class ApiService {
   /// Update cache with partial fields
   Future<Map<String, dynamic>> updateCache(Map<String, dynamic> payload) async {
     try {
-      final response = await http.post(
+      final response = await _client.post(
         Uri.parse('$baseUrl/cache/update'),
         headers: _jsonHeaders,
         body: jsonEncode(payload),
@@ -261,16 +266,38 @@ class ApiService {
     }
   }
 
-  Future<String> fetchCurrentCache() async {
-    final response = await http.get(Uri.parse('$baseUrl/cache/current'));
+  Future<String> fetchCurrentCache({String? userId, String? taskId}) async {
+    final uri = Uri.parse('$baseUrl/cache/current').replace(queryParameters: {
+      if (userId != null) 'userId': userId,
+      if (taskId != null) 'taskId': taskId,
+    });
+    final response = await _client.get(uri);
     if (response.statusCode == 200) {
       return response.body;
     }
     throw Exception('Failed to fetch cache: ${response.statusCode}');
   }
 
+  /// Changes to a cached task as they happen: each event carries the new
+  /// version, its kind (update, undo, redo, result or refresh) and a small
+  /// delta. The first one, "subscribed", carries the current version.
+  /// Refetch with [fetchCurrentCache] when one arrives instead of polling.
+  Stream<Map<String, dynamic>> cacheEvents(String userId, String taskId) {
+    final uri = Uri.parse('$baseUrl/cache/events').replace(queryParameters: {
+      'userId': userId,
+      'taskId': taskId,
+    });
+    const events = ['subscribed', 'update', 'undo', 'redo', 'result', 'refresh'];
+    return openEventStream(uri, events).map((e) {
+      final payload = jsonDecode(e.data) as Map<String, dynamic>;
+      // The first event, "subscribed", carries the current version but no kind
+      payload['kind'] ??= e.event;
+      return payload;
+    });
+  }
+
   Future<Map<String,dynamic>> saveTaskJson([String? directory]) async {
-    final response = await http.post(
+    final response = await _client.post(
       Uri.parse('$baseUrl/cache/save-file'),
       headers: _jsonHeaders,
       body: jsonEncode(directory != null ? {'directory': directory} : {}),
@@ -282,7 +309,7 @@ class ApiService {
   }
 
   Future<Map<String, dynamic>> runValidationStep(String step, [String? directory]) async {
-    final response = await http.post(
+    final response = await _client.post(
       Uri.parse('$baseUrl/cache/validate/$step'),
       headers: _jsonHeaders,
       body: jsonEncode(directory != null ? {'directory': directory} : {}),
@@ -300,7 +327,7 @@ class ApiService {
     
     print('API: Loading existing task from directory: $directory'); // Debug log
     
-    final response = await http.post(
+    final response = await _client.post(
       Uri.parse('$baseUrl/cache/load'),
       headers: _jsonHeaders,
       body: jsonEncode({'directory': directory}),
@@ -324,7 +351,7 @@ class ApiService {
         requestBody['taskId'] = taskId;
       }
       
-      final response = await http.post(
+      final response = await _client.post(
         Uri.parse('$baseUrl/cache/clear'),
         headers: _jsonHeaders,
         body: jsonEncode(requestBody),
@@ -343,7 +370,7 @@ class ApiService {
   /// List directory contents
   Future<List<Map<String, dynamic>>> listDirectoryContents(String directory) async {
     try {
-      final response = await http.post(
+      final response = await _client.post(
         Uri.parse('$baseUrl/files/list'),
         headers: _jsonHeaders,
         body: jsonEncode({'directory': directory}),
@@ -361,7 +388,7 @@ class ApiService {
   /// Read file content
   Future<String> readFileContent(String filePath) async {
     try {
-      final response = await http.post(
+      final response = await _client.post(
         Uri.parse('$baseUrl/files/read'),
         headers: _jsonHeaders,
         body: jsonEncode({'filePath': filePath}),
@@ -379,7 +406,7 @@ class ApiService {
   /// Write file content
   Future<void> writeFileContent(String filePath, String content) async {
     try {
-      final response = await http.post(
+      final response = await _client.post(
         Uri.parse('$baseUrl/files/write'),
         headers: _jsonHeaders,
         body: jsonEncode({'filePath': filePath, 'content': content}),
@@ -395,7 +422,7 @@ class ApiService {
   /// Delete file
   Future<void> deleteFile(String filePath) async {
     try {
-      final response = await http.post(
+      final response = await _client.post(
         Uri.parse('$baseUrl/files/delete'),
         headers: _jsonHeaders,
         body: jsonEncode({'filePath': filePath}),
@@ -421,7 +448,7 @@ class ApiService {
         'interfaceNum': interfaceNum.toString(),
       });
 
-      final response = await http.get(uri, headers: _jsonHeaders);
+      final response = await _client.get(uri, headers: _jsonHeaders);
       
       if (response.statusCode == 200) {
         return json.decode(response.body);
@@ -447,7 +474,7 @@ class ApiService {
       };
       final uriWithParams = uri.replace(queryParameters: queryParams);
 
-      final response = await http.post(uriWithParams, headers: _jsonHeaders);
+      final response = await _client.post(uriWithParams, headers: _jsonHeaders);
 
       if (response.statusCode == 200) {
         return jsonDecode(response.body) as Map<String, dynamic>;
@@ -462,7 +489,7 @@ class ApiService {
   /// Execute task with specified endpoint (legacy file-based method)
   Future<Map<String, dynamic>> executeTauBenchTask(String endpoint, String taskFilePath) async {
     try {
-      final response = await http.post(
+      final response = await _client.post(
         Uri.parse('$baseUrl/api/tau-bench/execute'),
         headers: _jsonHeaders,
         body: jsonEncode({
@@ -487,7 +514,7 @@ class ApiService {
       final uri = Uri.parse('$baseUrl/api/tau-bench/execute/default');
       final uriWithParams = uri.replace(queryParameters: {'taskFilePath': taskFilePath});
 
-      final response = await http.post(uriWithParams, headers: _jsonHeaders);
+      final response = await _client.post(uriWithParams, headers: _jsonHeaders);
 
       if (response.statusCode == 200) {
         return jsonDecode(response.body) as Map<String, dynamic>;
@@ -509,7 +536,7 @@ class ApiService {
       };
       final uriWithParams = uri.replace(queryParameters: queryParams);
 
-      final response = await http.post(uriWithParams, headers: _jsonHeaders);
+      final response = await _client.post(uriWithParams, headers: _jsonHeaders);
 
       if (response.statusCode == 200) {
         return jsonDecode(response.body) as Map<String, dynamic>;
@@ -532,7 +559,7 @@ class ApiService {
       };
       final uriWithParams = uri.replace(queryParameters: queryParams);
 
-      final response = await http.post(uriWithParams, headers: _jsonHeaders);
+      final response = await _client.post(uriWithParams, headers: _jsonHeaders);
 
       if (response.statusCode == 200) {
         return jsonDecode(response.body) as Map<String, dynamic>;
@@ -559,7 +586,7 @@ class ApiService {
       };
       final uriWithParams = uri.replace(queryParameters: queryParams);
 
-      final response = await http.post(uriWithParams, headers: _jsonHeaders);
+      final response = await _client.post(uriWithParams, headers: _jsonHeaders);
 
       if (response.statusCode == 200) {
         return jsonDecode(response.body) as Map<String, dynamic>;
@@ -581,7 +608,7 @@ class ApiService {
       };
       final uriWithParams = uri.replace(queryParameters: queryParams);
 
-      final response = await http.post(uriWithParams, headers: _jsonHeaders);
+      final response = await _client.post(uriWithParams, headers: _jsonHeaders);
 
       if (response.statusCode == 200) {
         return jsonDecode(response.body) as Map<String, dynamic>;
@@ -608,7 +635,7 @@ class ApiService {
       };
       final uriWithParams = uri.replace(queryParameters: queryParams);
 
-      final response = await http.post(uriWithParams, headers: _jsonHeaders);
+      final response = await _client.post(uriWithParams, headers: _jsonHeaders);
 
       if (response.statusCode == 200) {
         return jsonDecode(response.body) as Map<String, dynamic>;
@@ -631,7 +658,7 @@ class ApiService {
       };
       final uriWithParams = uri.replace(queryParameters: queryParams);
 
-      final response = await http.post(uriWithParams, headers: _jsonHeaders);
+      final response = await _client.post(uriWithParams, headers: _jsonHeaders);
 
       if (response.statusCode == 200) {
         return jsonDecode(response.body) as Map<String, dynamic>;
@@ -649,7 +676,7 @@ class ApiService {
       final uri = Uri.parse('$baseUrl/api/tau-bench/evaluate');
       final uriWithParams = uri.replace(queryParameters: {'taskFilePath': taskFilePath});
       
-      final response = await http.post(uriWithParams, headers: _jsonHeaders);
+      final response = await _client.post(uriWithParams, headers: _jsonHeaders);
 
       if (response.statusCode == 200) {
         return jsonDecode(response.body) as Map<String, dynamic>;
@@ -672,7 +699,7 @@ class ApiService {
       };
       final uriWithParams = uri.replace(queryParameters: queryParams);
 
-      final response = await http.post(uriWithParams, headers: _jsonHeaders);
+      final response = await _client.post(uriWithParams, headers: _jsonHeaders);
 
       if (response.statusCode == 200) {
         return jsonDecode(response.body) as Map<String, dynamic>;
@@ -690,7 +717,7 @@ class ApiService {
       final uri = Uri.parse('$baseUrl/api/tau-bench/results-status');
       final uriWithParams = uri.replace(queryParameters: {'taskFilePath': taskFilePath});
 
-      final response = await http.get(uriWithParams, headers: _jsonHeaders);
+      final response = await _client.get(uriWithParams, headers: _jsonHeaders);
 
       if (response.statusCode == 200) {
         return jsonDecode(response.body) as Map<String, dynamic>;
@@ -705,7 +732,7 @@ class ApiService {
   /// Get available endpoints
   Future<List<String>> getAvailableEndpoints() async {
     try {
-      final response = await http.get(
+      final response = await _client.get(
         Uri.parse('$baseUrl/api/tau-bench/endpoints'),
         headers: _jsonHeaders,
       );
@@ -727,7 +754,7 @@ class ApiService {
       final uri = Uri.parse('$baseUrl/api/tau-bench/generate-edges');
       final uriWithParams = uri.replace(queryParameters: {'taskFilePath': taskFilePath});
 
-      final response = await http.post(uriWithParams, headers: _jsonHeaders);
+      final response = await _client.post(uriWithParams, headers: _jsonHeaders);
 
       if (response.statusCode == 200) {
         return jsonDecode(response.body) as Map<String, dynamic>;
@@ -748,7 +775,7 @@ class ApiService {
         'taskId': taskId
       });
 
-      final response = await http.get(uriWithParams, headers: _jsonHeaders);
+      final response = await _client.get(uriWithParams, headers: _jsonHeaders);
 
       if (response.statusCode == 200) {
         return jsonDecode(response.body) as Map<String, dynamic>;
@@ -774,7 +801,7 @@ class ApiService {
         if (dbUserId != null) 'dbUserId': dbUserId,
       };
 
-      final response = await http.post(uri, 
+      final response = await _client.post(uri, 
         headers: _jsonHeaders,
         body: jsonEncode(requestBody));
 
@@ -807,7 +834,7 @@ class ApiService {
     
     try {
       final headers = sessionId != null ? _authHeaders(sessionId) : _jsonHeaders;
-      final response = await http.get(
+      final response = await _client.get(
         Uri.parse('$baseUrl/api/tasks-history/user/$userId'),
         headers: headers,
       );
@@ -830,7 +857,7 @@ class ApiService {
     
     try {
       final headers = sessionId != null ? _authHeaders(sessionId) : _jsonHeaders;
-      final response = await http.get(
+      final response = await _client.get(
         Uri.parse('$baseUrl/api/tasks-history/user/$userId/status/$status'),
         headers: headers,
       );
@@ -853,7 +880,7 @@ class ApiService {
     
     try {
       final headers = sessionId != null ? _authHeaders(sessionId) : _jsonHeaders;
-      final response = await http.get(
+      final response = await _client.get(
         Uri.parse('$baseUrl/api/tasks-history/user/$userId/statistics'),
         headers: headers,
       );
@@ -876,7 +903,7 @@ class ApiService {
     
     try {
       final headers = sessionId != null ? _authHeaders(sessionId) : _jsonHeaders;
-      final response = await http.get(
+      final response = await _client.get(
         Uri.parse('$baseUrl/api/tasks-history/user/$userId/task/$taskId'),
         headers: headers,
       );
@@ -899,7 +926,7 @@ class ApiService {
     
     try {
       final headers = sessionId != null ? _authHeaders(sessionId) : _jsonHeaders;
-      final response = await http.get(
+      final response = await _client.get(
         Uri.parse('$baseUrl/api/tasks-history/user/$userId/recent'),
         headers: headers,
       );
@@ -932,7 +959,7 @@ class ApiService {
         if (options != null) 'options': options,
       };
       
-      final response = await http.post(
+      final response = await _client.post(
         Uri.parse('$baseUrl/api/refine-task'),
         headers: _jsonHeaders,
         body: jsonEncode(requestBody),
@@ -963,7 +990,7 @@ class ApiService {
     required String actionsJson,
   }) async {
     try {
-      final response = await http.post(
+      final response = await _client.post(
         Uri.parse('$baseUrl/api/policy-actions/create'),
         headers: _jsonHeaders,
         body: jsonEncode({
@@ -997,7 +1024,7 @@ class ApiService {
     required String actionsJson,
   }) async {
     try {
-      final response = await http.put(
+      final response = await _client.put(
         Uri.parse('$baseUrl/api/policy-actions/update/$policyActionId'),
         headers: _jsonHeaders,
         body: jsonEncode({
@@ -1023,7 +1050,7 @@ class ApiService {
   /// Delete a policy action
   Future<Map<String, dynamic>> deletePolicyAction(int policyActionId) async {
     try {
-      final response = await http.delete(
+      final response = await _client.delete(
         Uri.parse('$baseUrl/api/policy-actions/delete/$policyActionId'),
         headers: _jsonHeaders,
       );
@@ -1041,7 +1068,7 @@ class ApiService {
   /// Get policy action by ID
   Future<Map<String, dynamic>> getPolicyActionById(int policyActionId) async {
     try {
-      final response = await http.get(
+      final response = await _client.get(
         Uri.parse('$baseUrl/api/policy-actions/$policyActionId'),
         headers: _jsonHeaders,
       );
@@ -1059,7 +1086,7 @@ class ApiService {
   /// Get all policy actions
   Future<Map<String, dynamic>> getAllPolicyActions() async {
     try {
-      final response = await http.get(
+      final response = await _client.get(
         Uri.parse('$baseUrl/api/policy-actions/list'),
         headers: _jsonHeaders,
       );
@@ -1090,7 +1117,7 @@ class ApiService {
       };
 
       final uri = Uri.parse('$baseUrl/api/policy-actions/filter').replace(queryParameters: queryParams);
-      final response = await http.get(uri, headers: _jsonHeaders);
+      final response = await _client.get(uri, headers: _jsonHeaders);
 
       if (response.statusCode == 200) {
         return jsonDecode(response.body) as Map<String, dynamic>;
@@ -1105,7 +1132,7 @@ class ApiService {
   /// Get distinct environment names
   Future<List<String>> getDistinctEnvNames() async {
     try {
-      final response = await http.get(
+      final response = await _client.get(
         Uri.parse('$baseUrl/api/policy-actions/distinct/env-names'),
         headers: _jsonHeaders,
       );
@@ -1126,7 +1153,7 @@ class ApiService {
     try {
       final uri = Uri.parse('$baseUrl/api/policy-actions/distinct/interface-nums')
           .replace(queryParameters: {'envName': envName});
-      final response = await http.get(uri, headers: _jsonHeaders);
+      final response = await _client.get(uri, headers: _jsonHeaders);
 
       if (response.statusCode == 200) {
         final data = jsonDecode(response.body) as Map<String, dynamic>;
@@ -1147,7 +1174,7 @@ class ApiService {
         'envName': envName,
         'interfaceNum': interfaceNum.toString(),
       });
-      final response = await http.get(uri, headers: _jsonHeaders);
+      final response = await _client.get(uri, headers: _jsonHeaders);
 
       if (response.statusCode == 200) {
         final data = jsonDecode(response.body) as Map<String, dynamic>;
@@ -1169,7 +1196,7 @@ class ApiService {
         'interfaceNum': interfaceNum.toString(),
         'policyCat1': policyCat1,
       });
-      final response = await http.get(uri, headers: _jsonHeaders);
+      final response = await _client.get(uri, headers: _jsonHeaders);
 
       if (response.statusCode == 200) {
         final data = jsonDecode(response.body) as Map<String, dynamic>;
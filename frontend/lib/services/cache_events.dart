@@ -0,0 +1,4 @@
+// Server-sent event stream used by ApiService.cacheEvents. On the web the
+// browser's EventSource does the streaming (and reconnects by itself), since
+// BrowserClient only hands back a response once it has finished.
+export 'cache_events_io.dart' if (dart.library.js_interop) 'cache_events_web.dart';
@@ -0,0 +1,55 @@
+import 'dart:async';
+import 'dart:convert';
+import 'package:http/http.dart' as http;
+
+/// Emits each event on the stream at [uri] as its name and data. Comment
+/// lines (the server's keep-alives) are skipped. The stream ends when the
+/// server or the network closes the connection; cancelling the subscription
+/// closes it.
+Stream<({String event, String data})> openEventStream(Uri uri, List<String> events) {
+  final client = http.Client();
+  late final StreamController<({String event, String data})> controller;
+  StreamSubscription<String>? lines;
+
+  Future<void> connect() async {
+    try {
+      final request = http.Request('GET', uri)..headers['Accept'] = 'text/event-stream';
+      final response = await client.send(request);
+      if (response.statusCode != 200) {
+        throw Exception('Event stream failed: ${response.statusCode}');
+      }
+      var name = 'message';
+      final data = StringBuffer();
+      lines = response.stream
+          .transform(utf8.decoder)
+          .transform(const LineSplitter())
+          .listen((line) {
+        if (line.isEmpty) {
+          // A blank line ends the event
+          if (data.isNotEmpty && events.contains(name)) {
+            controller.add((event: name, data: data.toString()));
+          }
+          name = 'message';
+          data.clear();
+        } else if (line.startsWith('event:')) {
+          name = line.substring(6).trim();
+        } else if (line.startsWith('data:')) {
+          if (data.isNotEmpty) data.write('\n');
+          data.write(line.substring(5).trimLeft());
+        }
+      }, onError: controller.addError, onDone: controller.close);
+    } catch (e) {
+      controller.addError(e);
+      await controller.close();
+    }
+  }
+
+  controller = StreamController<({String event, String data})>(
+    onListen: connect,
+    onCancel: () async {
+      await lines?.cancel();
+      client.close();
+    },
+  );
+  return controller.stream;
+}
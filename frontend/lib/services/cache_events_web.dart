@@ -0,0 +1,30 @@
+import 'dart:async';
+import 'dart:html' as html show EventSource, MessageEvent;
+
+/// Emits each of the named [events] on the stream at [uri] as its name and
+/// data. EventSource reconnects after dropped connections itself; the stream
+/// only ends once the browser gives up (for example when the server refuses
+/// the stream). Cancelling the subscription closes the connection.
+Stream<({String event, String data})> openEventStream(Uri uri, List<String> events) {
+  html.EventSource? source;
+  late final StreamController<({String event, String data})> controller;
+  controller = StreamController<({String event, String data})>(
+    onListen: () {
+      // Sends the session cookie like the http client does, see http_client_web.dart
+      source = html.EventSource(uri.toString(), withCredentials: true);
+      // onMessage only sees unnamed events, so listen for each name
+      for (final name in events) {
+        source!.on[name].listen((event) {
+          controller.add((event: name, data: (event as html.MessageEvent).data.toString()));
+        });
+      }
+      source!.onError.listen((_) {
+        if (source!.readyState == html.EventSource.CLOSED) {
+          controller.close();
+        }
+      });
+    },
+    onCancel: () => source?.close(),
+  );
+  return controller.stream;
+}
@@ -0,0 +1,4 @@
+// HTTP client shared by ApiService. On the web the backend's session cookie
+// has to travel with cross-origin requests in development, which needs a
+// BrowserClient with credentials enabled.
+export 'http_client_io.dart' if (dart.library.js_interop) 'http_client_web.dart';
@@ -0,0 +1,3 @@
+import 'package:http/http.dart' as http;
+
+http.Client createHttpClient() => http.Client();
@@ -0,0 +1,6 @@
+import 'package:http/browser_client.dart';
+import 'package:http/http.dart' as http;
+
+/// Sends cookies with cross-origin requests so the backend session (which
+/// holds the selected task) survives the dev setup on another localhost port
+http.Client createHttpClient() => BrowserClient()..withCredentials = true;